@@ -1,14 +1,24 @@
 package com.airline;
 
 import com.airline.model.Flight;
+import com.airline.service.CatalogLoader;
 import com.airline.service.FlightService;
+import com.airline.service.tenant.Tenant;
+import com.airline.service.tenant.TenantRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Spring Boot application entry point for the Flight Reservation System.
@@ -19,6 +29,12 @@ public class FlightReservationApplication {
     @Autowired
     private FlightService flightService;
 
+    @Autowired(required = false)
+    private TenantRegistry tenantRegistry;
+
+    @Value("${flight.catalog.async-load:false}")
+    private boolean asyncCatalogLoad;
+
     public static void main(String[] args) {
         SpringApplication.run(FlightReservationApplication.class, args);
     }
@@ -26,14 +42,54 @@ public class FlightReservationApplication {
     @Bean
     public CommandLineRunner initializeSampleFlights() {
         return args -> {
-            LocalDateTime now = LocalDateTime.now();
-            
-            flightService.addFlight(new Flight("AA101", "New York", now.plusDays(1).withHour(10).withMinute(0), 50));
-            flightService.addFlight(new Flight("AA102", "New York", now.plusDays(1).withHour(15).withMinute(30), 30));
-            flightService.addFlight(new Flight("UA201", "Los Angeles", now.plusDays(2).withHour(8).withMinute(0), 40));
-            flightService.addFlight(new Flight("UA202", "Los Angeles", now.plusDays(2).withHour(18).withMinute(45), 25));
-            flightService.addFlight(new Flight("DL301", "Chicago", now.plusDays(3).withHour(12).withMinute(0), 60));
-            flightService.addFlight(new Flight("SW401", "Miami", now.plusDays(1).withHour(14).withMinute(0), 20));
+            List<FlightService> services = new ArrayList<>();
+            if (tenantRegistry == null) {
+                services.add(flightService);
+            } else {
+                tenantRegistry.getTenants().stream().map(Tenant::getFlightService).forEach(services::add);
+            }
+            // Every tenant starts from its own copy of the sample catalog
+            for (FlightService service : services) {
+                loadSampleFlights(service);
+            }
         };
     }
+
+    private void loadSampleFlights(FlightService service) {
+        // A durable store still holds the catalog from the last run; seeding it again
+        // would collide with the flights there, or bring back ones since archived
+        if (service.getFlightCount() > 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Flight> sampleFlights = List.of(
+                new Flight("AA101", "Boston", "New York", now.plusDays(1).withHour(10).withMinute(0),
+                        now.plusDays(1).withHour(11).withMinute(30), 50),
+                new Flight("AA102", "Boston", "New York", now.plusDays(1).withHour(15).withMinute(30),
+                        now.plusDays(1).withHour(17).withMinute(0), 30),
+                new Flight("UA201", "Chicago", "Los Angeles", now.plusDays(2).withHour(8).withMinute(0),
+                        now.plusDays(2).withHour(10).withMinute(30), 40),
+                new Flight("UA202", "New York", "Los Angeles", now.plusDays(2).withHour(18).withMinute(45),
+                        now.plusDays(2).withHour(22).withMinute(45), 25),
+                new Flight("DL301", "New York", "Chicago", now.plusDays(3).withHour(12).withMinute(0),
+                        now.plusDays(3).withHour(14).withMinute(30), 60),
+                new Flight("SW401", "New York", "Miami", now.plusDays(1).withHour(14).withMinute(0),
+                        now.plusDays(1).withHour(17).withMinute(0), 20));
+
+        if (asyncCatalogLoad) {
+            new CatalogLoader(service).loadInBackground(sampleFlights);
+        } else {
+            sampleFlights.forEach(service::addFlight);
+        }
+    }
+
+    /**
+     * Shuts the application down as soon as it is ready. Used by the class-data sharing
+     * training run and the startup benchmark, which only care about getting to ready.
+     */
+    @Bean
+    @ConditionalOnProperty("flight.startup.exit-after-ready")
+    public ApplicationListener<ApplicationReadyEvent> exitAfterReady(ConfigurableApplicationContext context) {
+        return event -> System.exit(SpringApplication.exit(context));
+    }
 }
@@ -1,9 +1,20 @@
 package com.airline;
 
+import com.airline.batch.BatchRunner;
 import com.airline.model.Flight;
 import com.airline.model.Reservation;
 import com.airline.service.FlightService;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -19,11 +30,14 @@ public class Main {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     public static void main(String[] args) {
-        // Check if user wants console mode (--console flag) or GUI mode (default)
+        // Check if user wants console mode (--console flag), batch mode (--batch [file]) or GUI mode (default)
         boolean consoleMode = args.length > 0 && args[0].equals("--console");
+        boolean batchMode = args.length > 0 && args[0].equals("--batch");
         
         if (consoleMode) {
             runConsoleMode();
+        } else if (batchMode) {
+            runBatchMode(args.length > 1 ? args[1] : "-");
         } else {
             // Launch GUI mode
             try {
@@ -80,6 +94,28 @@ public class Main {
         scanner.close();
     }
 
+    /**
+     * Runs a command script from a file, or from standard input when the file is "-",
+     * writing one result line per command to standard output and a throughput report
+     * to standard error.
+     */
+    private static void runBatchMode(String file) {
+        flightService = new FlightService();
+        initializeSampleFlights();
+        
+        BatchRunner.Summary summary;
+        try (ReadableByteChannel input = file.equals("-")
+                     ? Channels.newChannel(System.in)
+                     : FileChannel.open(Paths.get(file));
+             Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                     BatchRunner.DEFAULT_BUFFER_SIZE)) {
+            summary = new BatchRunner(flightService).run(input, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not run batch " + file, e);
+        }
+        System.err.println(summary);
+    }
+
     private static void printMenu() {
         System.out.println("1. Search for flights");
         System.out.println("2. Book a flight");
@@ -191,7 +227,7 @@ public class Main {
             return;
         }
         
-        List<Reservation> reservations = flightService.getReservationsByCustomer(customerName);
+        List<Reservation> reservations = flightService.getReservationHistory(customerName);
         
         if (reservations.isEmpty()) {
             System.out.println("\nNo reservations found for " + customerName + ".\n");
@@ -214,12 +250,18 @@ public class Main {
     private static void initializeSampleFlights() {
         LocalDateTime now = LocalDateTime.now();
         
-        flightService.addFlight(new Flight("AA101", "New York", now.plusDays(1).withHour(10).withMinute(0), 50));
-        flightService.addFlight(new Flight("AA102", "New York", now.plusDays(1).withHour(15).withMinute(30), 30));
-        flightService.addFlight(new Flight("UA201", "Los Angeles", now.plusDays(2).withHour(8).withMinute(0), 40));
-        flightService.addFlight(new Flight("UA202", "Los Angeles", now.plusDays(2).withHour(18).withMinute(45), 25));
-        flightService.addFlight(new Flight("DL301", "Chicago", now.plusDays(3).withHour(12).withMinute(0), 60));
-        flightService.addFlight(new Flight("SW401", "Miami", now.plusDays(1).withHour(14).withMinute(0), 20));
+        flightService.addFlight(new Flight("AA101", "Boston", "New York", now.plusDays(1).withHour(10).withMinute(0),
+                now.plusDays(1).withHour(11).withMinute(30), 50));
+        flightService.addFlight(new Flight("AA102", "Boston", "New York", now.plusDays(1).withHour(15).withMinute(30),
+                now.plusDays(1).withHour(17).withMinute(0), 30));
+        flightService.addFlight(new Flight("UA201", "Chicago", "Los Angeles", now.plusDays(2).withHour(8).withMinute(0),
+                now.plusDays(2).withHour(10).withMinute(30), 40));
+        flightService.addFlight(new Flight("UA202", "New York", "Los Angeles", now.plusDays(2).withHour(18).withMinute(45),
+                now.plusDays(2).withHour(22).withMinute(45), 25));
+        flightService.addFlight(new Flight("DL301", "New York", "Chicago", now.plusDays(3).withHour(12).withMinute(0),
+                now.plusDays(3).withHour(14).withMinute(30), 60));
+        flightService.addFlight(new Flight("SW401", "New York", "Miami", now.plusDays(1).withHour(14).withMinute(0),
+                now.plusDays(1).withHour(17).withMinute(0), 20));
     }
 }
 
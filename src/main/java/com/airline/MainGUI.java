@@ -1,19 +1,22 @@
 package com.airline;
 
+import com.airline.gui.RowTableModel;
+import com.airline.gui.SeatCountListener;
 import com.airline.model.Flight;
 import com.airline.model.Reservation;
 import com.airline.service.FlightService;
+import com.airline.service.event.EventBus;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -27,7 +30,7 @@ public class MainGUI extends JFrame {
     private JTextField destinationField;
     private JTextField dateTimeField;
     private JTable flightResultsTable;
-    private DefaultTableModel flightTableModel;
+    private RowTableModel<Flight> flightTableModel;
     
     // Booking panel components
     private JTextField bookingNameField;
@@ -38,12 +41,18 @@ public class MainGUI extends JFrame {
     // Reservations panel components
     private JTextField reservationNameField;
     private JTable reservationTable;
-    private DefaultTableModel reservationTableModel;
+    private RowTableModel<Reservation> reservationTableModel;
 
     public MainGUI() {
         flightService = new FlightService();
         initializeSampleFlights();
         initializeGUI();
+
+        // Seat counts shown in the search results follow bookings as they happen
+        EventBus eventBus = new EventBus(1024, 64, 50);
+        eventBus.subscribe(SeatCountListener.SUBSCRIBER_NAME,
+                new SeatCountListener(flightNumbers -> flightTableModel.refresh(flightNumbers)));
+        flightService.setEventPublisher(eventBus);
     }
 
     private void initializeGUI() {
@@ -110,13 +119,11 @@ public class MainGUI extends JFrame {
         panel.add(inputPanel, BorderLayout.NORTH);
         
         // Results table
-        String[] columnNames = {"Flight Number", "Destination", "Departure", "Available Seats"};
-        flightTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        flightTableModel = new RowTableModel<>(Flight::getFlightNumber, Arrays.asList(
+                new RowTableModel.Column<>("Flight Number", Flight::getFlightNumber),
+                new RowTableModel.Column<>("Destination", Flight::getDestination),
+                new RowTableModel.Column<>("Departure", flight -> flight.getDepartureTime().format(DATE_TIME_FORMATTER)),
+                new RowTableModel.Column<>("Available Seats", Flight::getAvailableSeats)));
         flightResultsTable = new JTable(flightTableModel);
         flightResultsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         flightResultsTable.setRowHeight(25);
@@ -215,13 +222,16 @@ public class MainGUI extends JFrame {
         panel.add(inputPanel, BorderLayout.NORTH);
         
         // Reservations table
-        String[] columnNames = {"Flight Number", "Destination", "Departure", "Seats Booked"};
-        reservationTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Reservations have no id; one that cannot be told apart from another just reloads the table
+        reservationTableModel = new RowTableModel<>(
+                reservation -> Arrays.asList(reservation.getFlight().getFlightNumber(), reservation.getSeatsBooked(),
+                        reservation.getFareClass(), reservation.getSeatNumbers()),
+                Arrays.asList(
+                        new RowTableModel.Column<>("Flight Number", reservation -> reservation.getFlight().getFlightNumber()),
+                        new RowTableModel.Column<>("Destination", reservation -> reservation.getFlight().getDestination()),
+                        new RowTableModel.Column<>("Departure",
+                                reservation -> reservation.getFlight().getDepartureTime().format(DATE_TIME_FORMATTER)),
+                        new RowTableModel.Column<>("Seats Booked", Reservation::getSeatsBooked)));
         reservationTable = new JTable(reservationTableModel);
         reservationTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         reservationTable.setRowHeight(25);
@@ -261,22 +271,13 @@ public class MainGUI extends JFrame {
         
         List<Flight> flights = flightService.searchFlights(destination, dateTime);
         
-        // Clear existing results
-        flightTableModel.setRowCount(0);
+        // Only rows that differ from the previous results are repainted
+        flightTableModel.setRows(flights);
         
         if (flights.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
                     "No available flights found for " + destination + " on " + dateTime.toLocalDate() + ".", 
                     "No Results", JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            for (Flight flight : flights) {
-                flightTableModel.addRow(new Object[]{
-                    flight.getFlightNumber(),
-                    flight.getDestination(),
-                    flight.getDepartureTime().format(DATE_TIME_FORMATTER),
-                    flight.getAvailableSeats()
-                });
-            }
         }
     }
 
@@ -342,36 +343,33 @@ public class MainGUI extends JFrame {
             return;
         }
         
-        List<Reservation> reservations = flightService.getReservationsByCustomer(customerName);
+        List<Reservation> reservations = flightService.getReservationHistory(customerName);
         
-        // Clear existing results
-        reservationTableModel.setRowCount(0);
+        // Only rows that differ from the previous results are repainted
+        reservationTableModel.setRows(reservations);
         
         if (reservations.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
                     "No reservations found for " + customerName + ".", 
                     "No Results", JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            for (Reservation reservation : reservations) {
-                reservationTableModel.addRow(new Object[]{
-                    reservation.getFlight().getFlightNumber(),
-                    reservation.getFlight().getDestination(),
-                    reservation.getFlight().getDepartureTime().format(DATE_TIME_FORMATTER),
-                    reservation.getSeatsBooked()
-                });
-            }
         }
     }
 
     private void initializeSampleFlights() {
         LocalDateTime now = LocalDateTime.now();
         
-        flightService.addFlight(new Flight("AA101", "New York", now.plusDays(1).withHour(10).withMinute(0), 50));
-        flightService.addFlight(new Flight("AA102", "New York", now.plusDays(1).withHour(15).withMinute(30), 30));
-        flightService.addFlight(new Flight("UA201", "Los Angeles", now.plusDays(2).withHour(8).withMinute(0), 40));
-        flightService.addFlight(new Flight("UA202", "Los Angeles", now.plusDays(2).withHour(18).withMinute(45), 25));
-        flightService.addFlight(new Flight("DL301", "Chicago", now.plusDays(3).withHour(12).withMinute(0), 60));
-        flightService.addFlight(new Flight("SW401", "Miami", now.plusDays(1).withHour(14).withMinute(0), 20));
+        flightService.addFlight(new Flight("AA101", "Boston", "New York", now.plusDays(1).withHour(10).withMinute(0),
+                now.plusDays(1).withHour(11).withMinute(30), 50));
+        flightService.addFlight(new Flight("AA102", "Boston", "New York", now.plusDays(1).withHour(15).withMinute(30),
+                now.plusDays(1).withHour(17).withMinute(0), 30));
+        flightService.addFlight(new Flight("UA201", "Chicago", "Los Angeles", now.plusDays(2).withHour(8).withMinute(0),
+                now.plusDays(2).withHour(10).withMinute(30), 40));
+        flightService.addFlight(new Flight("UA202", "New York", "Los Angeles", now.plusDays(2).withHour(18).withMinute(45),
+                now.plusDays(2).withHour(22).withMinute(45), 25));
+        flightService.addFlight(new Flight("DL301", "New York", "Chicago", now.plusDays(3).withHour(12).withMinute(0),
+                now.plusDays(3).withHour(14).withMinute(30), 60));
+        flightService.addFlight(new Flight("SW401", "New York", "Miami", now.plusDays(1).withHour(14).withMinute(0),
+                now.plusDays(1).withHour(17).withMinute(0), 20));
     }
 
     public static void main(String[] args) {
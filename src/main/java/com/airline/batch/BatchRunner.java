@@ -0,0 +1,217 @@
+package com.airline.batch;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.ReadableByteChannel;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs a script of console commands against a flight service, one command per line.
+ *
+ * <p>Fields are separated by "|", so names and destinations may contain spaces:
+ * <pre>
+ * add|AA901|New York|2030-12-25 10:00|50
+ * add|AA902|New York|2030-12-25 16:00|50|Boston|2030-12-25 17:30
+ * search|New York|2030-12-25 08:00
+ * book|John Doe|AA901|2
+ * reservations|John Doe
+ * </pre>
+ * A flight's origin and arrival time are optional; only flights with both can be legs of
+ * connecting itineraries. Blank lines and lines starting with "#" are skipped. Each
+ * command writes one line, starting with its line number and OK or ERROR, so results
+ * can be matched back to the script. A failing command does not stop the batch.
+ */
+public class BatchRunner {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final FlightService flightService;
+    private final int bufferSize;
+
+    public BatchRunner(FlightService flightService) {
+        this(flightService, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param flightService the service the commands run against
+     * @param bufferSize the size of each read from the input, in bytes
+     */
+    public BatchRunner(FlightService flightService, int bufferSize) {
+        this.flightService = flightService;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Runs every command in the input. The output is flushed once, at the end, so it
+     * should be buffered.
+     *
+     * @param input the script
+     * @param output where the result of each command is written
+     * @return how many commands ran and how long they took
+     * @throws IOException if the input cannot be read or the output written
+     */
+    public Summary run(ReadableByteChannel input, Writer output) throws IOException {
+        long start = System.nanoTime();
+        ChannelLineReader reader = new ChannelLineReader(input, bufferSize);
+        long commands = 0;
+        long failed = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String command = line.trim();
+            if (command.isEmpty() || command.startsWith("#")) {
+                continue;
+            }
+            commands++;
+            output.write(Long.toString(lineNumber));
+            try {
+                String result = execute(command.split("\\|", -1));
+                output.write(" OK ");
+                output.write(result);
+            } catch (RuntimeException e) {
+                // Not only bad input: a store or journal failure fails this command, not the batch
+                failed++;
+                output.write(" ERROR ");
+                output.write(e instanceof IllegalArgumentException ? String.valueOf(e.getMessage()) : e.toString());
+            }
+            output.write('\n');
+        }
+        output.flush();
+        return new Summary(commands, failed, System.nanoTime() - start);
+    }
+
+    private String execute(String[] fields) {
+        String name = fields[0].trim().toLowerCase(Locale.ROOT);
+        switch (name) {
+            case "add":
+                // Origin and arrival are optional, but a flight needs both to be a leg of an itinerary
+                if (fields.length != 5) {
+                    expectFields(fields, 7, "add|flight number|destination|yyyy-MM-dd HH:mm|seats[|origin|arrival yyyy-MM-dd HH:mm]");
+                }
+                Flight added = new Flight(fields[1].trim(), fields[2].trim(), parseDateTime(fields[3]),
+                        parseInt(fields[4], "seats"));
+                if (fields.length == 7) {
+                    added.setOrigin(fields[5].trim());
+                    added.setArrivalTime(parseDateTime(fields[6]));
+                }
+                flightService.addFlight(added);
+                return "added " + added.getFlightNumber();
+            case "search":
+                expectFields(fields, 3, "search|destination|yyyy-MM-dd HH:mm");
+                return describeFlights(flightService.searchFlights(fields[1].trim(), parseDateTime(fields[2])));
+            case "book":
+                expectFields(fields, 4, "book|customer|flight number|seats");
+                Flight flight = flightService.findFlight(fields[2].trim());
+                if (flight == null) {
+                    throw new IllegalArgumentException("Flight " + fields[2].trim() + " not found");
+                }
+                Reservation reservation = flightService.bookFlight(fields[1].trim(), flight,
+                        parseInt(fields[3], "seats"));
+                StringBuilder booked = new StringBuilder()
+                        .append("booked ").append(reservation.getSeatsBooked())
+                        .append(" on ").append(flight.getFlightNumber())
+                        .append(" for ").append(reservation.getCustomerName());
+                if (reservation.getTotalFare() != null) {
+                    booked.append(", fare ").append(reservation.getTotalFare().toPlainString());
+                }
+                return booked.append(", ").append(flight.getAvailableSeats()).append(" left").toString();
+            case "reservations":
+                expectFields(fields, 2, "reservations|customer");
+                return describeReservations(flightService.getReservationHistory(fields[1].trim()));
+            default:
+                throw new IllegalArgumentException("Unknown command: " + fields[0].trim());
+        }
+    }
+
+    private static String describeFlights(List<Flight> flights) {
+        StringBuilder result = new StringBuilder().append(flights.size()).append(" flights");
+        for (int i = 0; i < flights.size(); i++) {
+            Flight flight = flights.get(i);
+            result.append(i == 0 ? ": " : ", ")
+                    .append(flight.getFlightNumber())
+                    .append(" (").append(flight.getDepartureTime().format(DATE_TIME_FORMATTER))
+                    .append(", ").append(flight.getAvailableSeats()).append(" seats)");
+        }
+        return result.toString();
+    }
+
+    private static String describeReservations(List<Reservation> reservations) {
+        StringBuilder result = new StringBuilder().append(reservations.size()).append(" reservations");
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            result.append(i == 0 ? ": " : ", ")
+                    .append(reservation.getFlight().getFlightNumber())
+                    .append(" x").append(reservation.getSeatsBooked());
+        }
+        return result.toString();
+    }
+
+    private static void expectFields(String[] fields, int count, String usage) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException("Expected " + usage);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value.trim(), DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date " + value.trim() + ", expected yyyy-MM-dd HH:mm");
+        }
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value.trim());
+        }
+    }
+
+    /**
+     * What a batch did and how fast.
+     */
+    public static final class Summary {
+        private final long commands;
+        private final long failed;
+        private final long elapsedNanos;
+
+        Summary(long commands, long failed, long elapsedNanos) {
+            this.commands = commands;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getCommandsPerSecond() {
+            return elapsedNanos == 0 ? 0 : commands * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Ran %d commands (%d failed) in %.3f s, %.0f commands/s",
+                    commands, failed, elapsedNanos / 1_000_000_000.0, getCommandsPerSecond());
+        }
+    }
+}
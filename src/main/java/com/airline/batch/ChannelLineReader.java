@@ -0,0 +1,89 @@
+package com.airline.batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads UTF-8 lines from a channel through one reusable byte buffer and one char buffer.
+ *
+ * <p>Bytes are read a buffer at a time and decoded in place; a character split across two
+ * reads is kept in the byte buffer until the rest arrives. Lines end at "\n" or "\r\n".
+ * Invalid UTF-8 is replaced rather than rejected, so one bad line cannot stop a batch.
+ */
+class ChannelLineReader {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder line = new StringBuilder();
+    private boolean finished;
+
+    /**
+     * @param channel the channel to read, e.g. a file channel or standard input
+     * @param bufferSize the size of each read in bytes
+     */
+    ChannelLineReader(ReadableByteChannel channel, int bufferSize) {
+        if (bufferSize < 4) {
+            throw new IllegalArgumentException("Buffer size must be at least 4 bytes");
+        }
+        this.channel = channel;
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        // UTF-8 never decodes to more chars than it has bytes
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.chars.flip();
+    }
+
+    /**
+     * Reads the next line, without its line ending.
+     *
+     * @return the line, or null at the end of the input
+     * @throws IOException if the channel cannot be read
+     */
+    String readLine() throws IOException {
+        while (true) {
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (c == '\n') {
+                    int end = line.length();
+                    if (end > 0 && line.charAt(end - 1) == '\r') {
+                        line.setLength(end - 1);
+                    }
+                    return take();
+                }
+                line.append(c);
+            }
+            if (!fill()) {
+                return line.length() > 0 ? take() : null;
+            }
+        }
+    }
+
+    private String take() {
+        String result = line.toString();
+        line.setLength(0);
+        return result;
+    }
+
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (!finished && chars.position() == 0) {
+            boolean endOfInput = channel.read(bytes) < 0;
+            bytes.flip();
+            decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+            if (endOfInput) {
+                decoder.flush(chars);
+                finished = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,242 @@
+package com.airline.gui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-only table model over a list of rows that updates by diffing rather than rebuilding.
+ *
+ * <p>Each row is identified by a key, e.g. the flight number. Replacing the rows removes
+ * the rows whose keys are gone, inserts the new ones and updates the ones whose cells
+ * changed, firing one event per run of adjacent rows rather than one per row, so a
+ * table keeps its selection and only repaints what moved. If the surviving rows come
+ * back in a different order, or keys are not unique, the table is simply reloaded.
+ *
+ * <p>Cell values are captured when a row is set, so the table never reads a row object
+ * while another thread changes it; {@link #refresh(Collection)} recaptures the rows
+ * that changed in place. Like any Swing model, it must only be used on the event
+ * dispatch thread.
+ *
+ * @param <T> the row type
+ */
+public class RowTableModel<T> extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    private final Function<T, ?> keyOf;
+    private final List<Column<T>> columns;
+    private final List<Row<T>> rows = new ArrayList<>();
+    private final Map<Object, Integer> indexByKey = new HashMap<>();
+
+    /**
+     * Creates an empty model.
+     *
+     * @param keyOf gets the key that identifies a row across updates
+     * @param columns the columns, left to right
+     */
+    public RowTableModel(Function<T, ?> keyOf, List<Column<T>> columns) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        this.keyOf = keyOf;
+        this.columns = new ArrayList<>(columns);
+    }
+
+    /**
+     * Replaces the rows, firing events only for the rows that were removed, inserted or changed.
+     *
+     * @param newRows the rows to show, in display order
+     */
+    public void setRows(List<T> newRows) {
+        Map<Object, Integer> newIndex = new HashMap<>();
+        for (int i = 0; i < newRows.size(); i++) {
+            if (newIndex.put(keyOf.apply(newRows.get(i)), i) != null) {
+                reload(newRows);
+                return;
+            }
+        }
+
+        // Remove the rows that are gone, bottom up so earlier indexes stay valid
+        int end = rows.size() - 1;
+        while (end >= 0) {
+            if (newIndex.containsKey(rows.get(end).key)) {
+                end--;
+                continue;
+            }
+            int start = end;
+            while (start > 0 && !newIndex.containsKey(rows.get(start - 1).key)) {
+                start--;
+            }
+            rows.subList(start, end + 1).clear();
+            fireTableRowsDeleted(start, end);
+            end = start - 1;
+        }
+
+        int previous = -1;
+        Set<Object> kept = new HashSet<>();
+        for (Row<T> row : rows) {
+            int position = newIndex.get(row.key);
+            if (position < previous) {
+                reload(newRows);
+                return;
+            }
+            previous = position;
+            kept.add(row.key);
+        }
+
+        // The kept rows are now in order, so each new row either matches the row at its
+        // position or is inserted there
+        List<Integer> changed = new ArrayList<>();
+        int i = 0;
+        while (i < newRows.size()) {
+            T item = newRows.get(i);
+            if (!kept.contains(keyOf.apply(item))) {
+                int start = i;
+                List<Row<T>> inserted = new ArrayList<>();
+                while (i < newRows.size() && !kept.contains(keyOf.apply(newRows.get(i)))) {
+                    inserted.add(capture(newRows.get(i)));
+                    i++;
+                }
+                rows.addAll(start, inserted);
+                fireTableRowsInserted(start, i - 1);
+                continue;
+            }
+            Row<T> updated = capture(item);
+            if (!Arrays.equals(rows.get(i).cells, updated.cells)) {
+                changed.add(i);
+            }
+            rows.set(i, updated);
+            i++;
+        }
+        reindex();
+        fireUpdated(changed);
+    }
+
+    /**
+     * Recaptures the cells of rows whose objects changed in place, e.g. a flight's seat
+     * count, and repaints the cells that now differ. Keys not in the table are ignored.
+     *
+     * @param keys the keys of the rows that may have changed
+     */
+    public void refresh(Collection<?> keys) {
+        List<Integer> changed = new ArrayList<>();
+        for (Object key : keys) {
+            Integer index = indexByKey.get(key);
+            if (index == null) {
+                continue;
+            }
+            Row<T> updated = capture(rows.get(index).item);
+            if (!Arrays.equals(rows.get(index).cells, updated.cells)) {
+                rows.set(index, updated);
+                changed.add(index);
+            }
+        }
+        changed.sort(null);
+        fireUpdated(changed);
+    }
+
+    /**
+     * Gets the row object shown at a table row.
+     *
+     * @param rowIndex the model row index
+     * @return the row object
+     */
+    public T getRow(int rowIndex) {
+        return rows.get(rowIndex).item;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return rows.get(rowIndex).cells[columnIndex];
+    }
+
+    private void reload(List<T> newRows) {
+        rows.clear();
+        for (T item : newRows) {
+            rows.add(capture(item));
+        }
+        reindex();
+        fireTableDataChanged();
+    }
+
+    private void reindex() {
+        indexByKey.clear();
+        for (int i = 0; i < rows.size(); i++) {
+            indexByKey.put(rows.get(i).key, i);
+        }
+    }
+
+    /**
+     * Fires one update event per run of adjacent row indexes.
+     */
+    private void fireUpdated(List<Integer> sortedIndexes) {
+        int i = 0;
+        while (i < sortedIndexes.size()) {
+            int start = sortedIndexes.get(i);
+            int end = start;
+            while (i + 1 < sortedIndexes.size() && sortedIndexes.get(i + 1) == end + 1) {
+                end = sortedIndexes.get(++i);
+            }
+            fireTableRowsUpdated(start, end);
+            i++;
+        }
+    }
+
+    private Row<T> capture(T item) {
+        Object[] cells = new Object[columns.size()];
+        for (int c = 0; c < cells.length; c++) {
+            cells[c] = columns.get(c).valueOf.apply(item);
+        }
+        return new Row<>(keyOf.apply(item), item, cells);
+    }
+
+    /**
+     * A named column and how to get its value from a row.
+     *
+     * @param <T> the row type
+     */
+    public static final class Column<T> {
+        private final String name;
+        private final Function<T, ?> valueOf;
+
+        public Column(String name, Function<T, ?> valueOf) {
+            this.name = Objects.requireNonNull(name);
+            this.valueOf = Objects.requireNonNull(valueOf);
+        }
+    }
+
+    private static final class Row<T> {
+        final Object key;
+        final T item;
+        final Object[] cells;
+
+        Row(Object key, T item, Object[] cells) {
+            this.key = key;
+            this.item = item;
+            this.cells = cells;
+        }
+    }
+}
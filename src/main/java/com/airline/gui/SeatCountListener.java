@@ -0,0 +1,60 @@
+package com.airline.gui;
+
+import com.airline.service.event.DomainEvent;
+import com.airline.service.event.EventSubscriber;
+import com.airline.service.event.SeatsChangedEvent;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Passes the flight numbers whose seat counts changed to the event dispatch thread.
+ *
+ * <p>Changes pile up until the dispatch thread gets to them, so a burst of bookings
+ * costs one refresh of the affected rows rather than one per booking.
+ */
+public class SeatCountListener implements EventSubscriber {
+    public static final String SUBSCRIBER_NAME = "gui-seat-counts";
+
+    private final Consumer<List<String>> onChanged;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param onChanged runs on the event dispatch thread with the changed flight numbers
+     */
+    public SeatCountListener(Consumer<List<String>> onChanged) {
+        this.onChanged = onChanged;
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof SeatsChangedEvent) {
+                pending.add(((SeatsChangedEvent) event).getFlightNumber());
+            }
+        }
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        // Clear the flag first, so changes added while draining schedule another run
+        scheduled.set(false);
+        List<String> changed = new ArrayList<>();
+        for (String flightNumber : pending) {
+            if (pending.remove(flightNumber)) {
+                changed.add(flightNumber);
+            }
+        }
+        if (!changed.isEmpty()) {
+            onChanged.accept(changed);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.airline.loadgen;
+
+import java.util.Random;
+
+/**
+ * When requests are sent, independent of how fast the target answers. Arrivals come at
+ * a base rate, multiplied during periodic fare-sale bursts, and are either evenly spaced
+ * or Poisson distributed.
+ */
+public class ArrivalSchedule {
+    private final double ratePerSecond;
+    private final long burstEveryNanos;
+    private final long burstLengthNanos;
+    private final double burstMultiplier;
+    private final boolean poisson;
+
+    /**
+     * Creates a schedule without bursts.
+     * 
+     * @param ratePerSecond the arrival rate
+     * @param poisson true for exponentially distributed gaps, false for even spacing
+     */
+    public ArrivalSchedule(double ratePerSecond, boolean poisson) {
+        this(ratePerSecond, 0, 0, 1, poisson);
+    }
+
+    /**
+     * Creates a schedule with periodic bursts.
+     * 
+     * @param ratePerSecond the base arrival rate
+     * @param burstEverySeconds seconds from the start of one burst to the next; 0 for none
+     * @param burstLengthSeconds how long each burst lasts
+     * @param burstMultiplier how many times the base rate arrives during a burst
+     * @param poisson true for exponentially distributed gaps, false for even spacing
+     */
+    public ArrivalSchedule(double ratePerSecond, double burstEverySeconds, double burstLengthSeconds,
+                           double burstMultiplier, boolean poisson) {
+        if (ratePerSecond <= 0 || burstMultiplier <= 0) {
+            throw new IllegalArgumentException("Rate and burst multiplier must be positive");
+        }
+        if (burstEverySeconds < 0 || burstLengthSeconds < 0 || burstLengthSeconds > burstEverySeconds) {
+            throw new IllegalArgumentException("Bursts must fit inside the burst period");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burstEveryNanos = (long) (burstEverySeconds * 1e9);
+        this.burstLengthNanos = (long) (burstLengthSeconds * 1e9);
+        this.burstMultiplier = burstMultiplier;
+        this.poisson = poisson;
+    }
+
+    /**
+     * Gets the gap before the next arrival.
+     * 
+     * @param elapsedNanos time since the run started
+     * @param random the random source
+     * @return nanoseconds until the next request should be sent
+     */
+    public long nextGapNanos(long elapsedNanos, Random random) {
+        double rate = ratePerSecond;
+        if (burstEveryNanos > 0 && elapsedNanos % burstEveryNanos < burstLengthNanos) {
+            rate *= burstMultiplier;
+        }
+        double meanGap = 1e9 / rate;
+        double gap = poisson ? -Math.log(1 - random.nextDouble()) * meanGap : meanGap;
+        return Math.max(1, (long) gap);
+    }
+}
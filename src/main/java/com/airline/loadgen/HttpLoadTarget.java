@@ -0,0 +1,73 @@
+package com.airline.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Drives the web endpoints of a running application: {@code GET /search} and
+ * {@code POST /book}, the same requests the browser forms send.
+ */
+public class HttpLoadTarget implements LoadTarget {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final String baseUrl;
+    private final HttpClient client;
+
+    /**
+     * Creates a target for the application at the given base URL.
+     * 
+     * @param baseUrl the base URL, e.g. "http://localhost:8080"
+     */
+    public HttpLoadTarget(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public Outcome search(String destination, LocalDateTime date) {
+        String query = "destination=" + encode(destination) + "&dateTime=" + encode(date.format(DATE_TIME_FORMATTER));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/search?" + query)).GET());
+    }
+
+    @Override
+    public Outcome book(String customerName, String flightNumber, int seats) {
+        String form = "customerName=" + encode(customerName) + "&flightNumber=" + encode(flightNumber)
+                + "&seats=" + seats;
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/book"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+    }
+
+    private Outcome send(HttpRequest.Builder request) {
+        try {
+            int status = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 429) {
+                return Outcome.REJECTED;
+            }
+            // Successful bookings redirect back to the booking page; refused ones re-render
+            // the form with 200, so over HTTP they count as OK
+            return status < 400 ? Outcome.OK : Outcome.FAILED;
+        } catch (IOException e) {
+            return Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.FAILED;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
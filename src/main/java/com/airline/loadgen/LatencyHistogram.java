@@ -0,0 +1,94 @@
+package com.airline.loadgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram. Each power of two is split
+ * into 64 linear sub-buckets, so every recorded value is kept to within about 1.6%
+ * whatever its magnitude. Recording is lock-free and safe from many threads.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records one value.
+     * 
+     * @param value the value, usually a latency in nanoseconds; negative values count as 0
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        totalCount.incrementAndGet();
+        maxValue.accumulateAndGet(v, Math::max);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Gets the value at a percentile: the largest value that could have been recorded in
+     * the bucket holding that rank.
+     * 
+     * @param percentile the percentile, from 0 to 100
+     * @return the value at the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     * 
+     * @param other the histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        maxValue.accumulateAndGet(other.maxValue.get(), Math::max);
+    }
+
+    static int indexOf(long value) {
+        // Values below SUB_BUCKET_COUNT map one to one; above that, keep the top 7 bits
+        int magnitude = 63 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int shift = magnitude - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return shift * HALF_SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueIn(int index) {
+        int shift = index < SUB_BUCKET_COUNT ? 0 : index / HALF_SUB_BUCKET_COUNT - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,115 @@
+package com.airline.loadgen;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line load generator that replays a production-like traffic mix, either against
+ * a {@link FlightService} in this JVM or against a running application over HTTP.
+ * <p>
+ * Run with, for example:
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="com.airline.loadgen.LoadGenerator" -Dexec.args="--rate=2000 --duration=30"
+ * mvn compile exec:java -Dexec.mainClass="com.airline.loadgen.LoadGenerator" -Dexec.args="--target=http://localhost:8080 --rate=50"
+ * </pre>
+ * Options, with defaults:
+ * <ul>
+ *   <li>{@code --target=service} or a base URL</li>
+ *   <li>{@code --rate=1000} base arrivals per second</li>
+ *   <li>{@code --duration=30} and {@code --warmup=5} in seconds; warm-up results are discarded</li>
+ *   <li>{@code --search-ratio=0.95}, {@code --hot-skew=1.0}, {@code --max-seats=2}</li>
+ *   <li>{@code --burst-every=0}, {@code --burst-length=0}, {@code --burst-multiplier=5} fare-sale bursts, in seconds</li>
+ *   <li>{@code --poisson=true} exponential gaps between arrivals</li>
+ *   <li>{@code --threads=32} concurrent requests</li>
+ *   <li>{@code --flights=200}, {@code --seats=100000} size of the in-process catalog</li>
+ * </ul>
+ */
+public class LoadGenerator {
+    private static final String[] DESTINATIONS = {
+            "New York", "Los Angeles", "Chicago", "Miami", "Seattle",
+            "Boston", "Denver", "Atlanta", "Dallas", "San Francisco"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String target = options.getOrDefault("target", "service");
+        double rate = Double.parseDouble(options.getOrDefault("rate", "1000"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "30"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+
+        LoadTarget loadTarget;
+        List<Flight> catalog;
+        if ("service".equals(target)) {
+            FlightService flightService = new FlightService();
+            catalog = generatedCatalog(Integer.parseInt(options.getOrDefault("flights", "200")),
+                    Integer.parseInt(options.getOrDefault("seats", "100000")));
+            catalog.forEach(flightService::addFlight);
+            loadTarget = new ServiceLoadTarget(flightService);
+        } else {
+            catalog = sampleCatalog();
+            loadTarget = new HttpLoadTarget(target);
+        }
+
+        WorkloadProfile workload = new WorkloadProfile(catalog,
+                Double.parseDouble(options.getOrDefault("search-ratio", "0.95")),
+                Double.parseDouble(options.getOrDefault("hot-skew", "1.0")),
+                Integer.parseInt(options.getOrDefault("max-seats", "2")));
+        ArrivalSchedule schedule = new ArrivalSchedule(rate,
+                Double.parseDouble(options.getOrDefault("burst-every", "0")),
+                Double.parseDouble(options.getOrDefault("burst-length", "0")),
+                Double.parseDouble(options.getOrDefault("burst-multiplier", "5")),
+                Boolean.parseBoolean(options.getOrDefault("poisson", "true")));
+        OpenLoopDriver driver = new OpenLoopDriver(loadTarget, workload, schedule, threads);
+
+        if (warmup > 0) {
+            System.out.printf("Warming up for %d s...%n", warmup);
+            driver.run(Duration.ofSeconds(warmup));
+        }
+        System.out.printf("Running %s at %.0f/s for %d s%n", target, rate, duration);
+        driver.run(Duration.ofSeconds(duration)).print(System.out);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static List<Flight> generatedCatalog(int count, int seats) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(6).withMinute(0).withSecond(0).withNano(0);
+        List<Flight> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String destination = DESTINATIONS[i % DESTINATIONS.length];
+            LocalDateTime departure = base.plusDays(i / 40 % 7).plusMinutes(i % 40 * 20L);
+            flights.add(new Flight(String.format("LG%04d", i), destination, departure, seats));
+        }
+        return flights;
+    }
+
+    /**
+     * Mirrors the sample flights the web application loads at startup.
+     */
+    private static List<Flight> sampleCatalog() {
+        LocalDateTime now = LocalDateTime.now();
+        return List.of(
+                new Flight("AA101", "New York", now.plusDays(1).withHour(10).withMinute(0), 50),
+                new Flight("AA102", "New York", now.plusDays(1).withHour(15).withMinute(30), 30),
+                new Flight("UA201", "Los Angeles", now.plusDays(2).withHour(8).withMinute(0), 40),
+                new Flight("UA202", "Los Angeles", now.plusDays(2).withHour(18).withMinute(45), 25),
+                new Flight("DL301", "Chicago", now.plusDays(3).withHour(12).withMinute(0), 60),
+                new Flight("SW401", "Miami", now.plusDays(1).withHour(14).withMinute(0), 20));
+    }
+}
@@ -0,0 +1,102 @@
+package com.airline.loadgen;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Results of a load run: per operation, outcome counts and latency histograms with and
+ * without the coordinated-omission correction.
+ */
+public class LoadReport {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<WorkloadProfile.Operation, OperationStats> stats;
+    private final long requestsSent;
+    private final long elapsedNanos;
+
+    LoadReport(Map<WorkloadProfile.Operation, OperationStats> stats, long requestsSent, long elapsedNanos) {
+        this.stats = new EnumMap<>(stats);
+        this.requestsSent = requestsSent;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public OperationStats getStats(WorkloadProfile.Operation operation) {
+        return stats.get(operation);
+    }
+
+    public long getRequestsSent() {
+        return requestsSent;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Prints a summary table, latencies in milliseconds.
+     * 
+     * @param out where to print
+     */
+    public void print(PrintStream out) {
+        out.printf("Sent %d requests in %.1f s (%.0f/s)%n", requestsSent, elapsedNanos / 1e9,
+                requestsSent / (elapsedNanos / 1e9));
+        for (Map.Entry<WorkloadProfile.Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats s = entry.getValue();
+            if (s.corrected.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf("%n%s: ok=%d rejected=%d failed=%d%n", entry.getKey(),
+                    s.getCount(LoadTarget.Outcome.OK), s.getCount(LoadTarget.Outcome.REJECTED),
+                    s.getCount(LoadTarget.Outcome.FAILED));
+            printRow(out, "corrected", s.corrected);
+            printRow(out, "uncorrected", s.uncorrected);
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, LatencyHistogram histogram) {
+        out.printf("  %-12s", label);
+        for (double percentile : PERCENTILES) {
+            out.printf(" p%-5s %9.3f", format(percentile), histogram.getValueAtPercentile(percentile) / 1e6);
+        }
+        out.printf(" max %9.3f ms%n", histogram.getMaxValue() / 1e6);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    /**
+     * Outcome counts and latencies for one kind of request.
+     */
+    public static final class OperationStats {
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram uncorrected = new LatencyHistogram();
+        private final AtomicLongArray outcomes = new AtomicLongArray(LoadTarget.Outcome.values().length);
+
+        void record(LoadTarget.Outcome outcome, long correctedNanos, long uncorrectedNanos) {
+            outcomes.incrementAndGet(outcome.ordinal());
+            corrected.record(correctedNanos);
+            uncorrected.record(uncorrectedNanos);
+        }
+
+        /**
+         * Gets latencies measured from when each request was meant to be sent.
+         */
+        public LatencyHistogram getCorrected() {
+            return corrected;
+        }
+
+        /**
+         * Gets latencies measured from when each request was actually sent.
+         */
+        public LatencyHistogram getUncorrected() {
+            return uncorrected;
+        }
+
+        public long getCount(LoadTarget.Outcome outcome) {
+            return outcomes.get(outcome.ordinal());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.airline.loadgen;
+
+import java.time.LocalDateTime;
+
+/**
+ * The system under load: either a {@code FlightService} in this JVM or a running
+ * application reached over HTTP.
+ */
+public interface LoadTarget {
+
+    /**
+     * How a single request ended.
+     */
+    enum Outcome {
+        /** The request succeeded. */
+        OK,
+        /** The request was refused, e.g. sold out or shed with 429. */
+        REJECTED,
+        /** The request failed unexpectedly. */
+        FAILED
+    }
+
+    /**
+     * Searches for flights to a destination on a date.
+     */
+    Outcome search(String destination, LocalDateTime date);
+
+    /**
+     * Books seats on a flight.
+     */
+    Outcome book(String customerName, String flightNumber, int seats);
+}
@@ -0,0 +1,101 @@
+package com.airline.loadgen;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on the arrival schedule no matter how the target keeps up, the way real
+ * customers do. A closed-loop tester that waits for each answer before sending the next
+ * stops sending exactly when the target stalls, so the stall hides in a handful of slow
+ * samples (coordinated omission). Here every request is timed from when it was meant to
+ * be sent, so time spent queued behind a stall counts against the target.
+ * <p>
+ * Both views are reported: corrected (from intended send time) and uncorrected (from
+ * actual send time), so the gap between them shows how much queueing there was.
+ */
+public class OpenLoopDriver {
+    private final LoadTarget target;
+    private final WorkloadProfile workload;
+    private final ArrivalSchedule schedule;
+    private final int threads;
+
+    /**
+     * Creates a driver.
+     * 
+     * @param target the system under load
+     * @param workload what to send
+     * @param schedule when to send it
+     * @param threads worker threads sending requests; arrivals beyond that wait in a queue
+     */
+    public OpenLoopDriver(LoadTarget target, WorkloadProfile workload, ArrivalSchedule schedule, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.target = target;
+        this.workload = workload;
+        this.schedule = schedule;
+        this.threads = threads;
+    }
+
+    /**
+     * Sends load for the given duration, then waits for outstanding requests.
+     * 
+     * @param duration how long to keep sending
+     * @return the results
+     * @throws InterruptedException if interrupted while running
+     */
+    public LoadReport run(Duration duration) throws InterruptedException {
+        Map<WorkloadProfile.Operation, LoadReport.OperationStats> stats = new EnumMap<>(WorkloadProfile.Operation.class);
+        for (WorkloadProfile.Operation operation : WorkloadProfile.Operation.values()) {
+            stats.put(operation, new LoadReport.OperationStats());
+        }
+        ExecutorService workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        AtomicLong sent = new AtomicLong();
+        Random random = new Random();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+        while (intended < end) {
+            long now = System.nanoTime();
+            if (intended > now) {
+                LockSupport.parkNanos(intended - now);
+                continue;
+            }
+            WorkloadProfile.Request request = workload.next(random);
+            long intendedStart = intended;
+            workers.execute(() -> send(request, intendedStart, stats.get(request.getOperation())));
+            sent.incrementAndGet();
+            intended += schedule.nextGapNanos(intended - start, random);
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        return new LoadReport(stats, sent.get(), System.nanoTime() - start);
+    }
+
+    private void send(WorkloadProfile.Request request, long intendedStart, LoadReport.OperationStats stats) {
+        long actualStart = System.nanoTime();
+        LoadTarget.Outcome outcome;
+        try {
+            if (request.getOperation() == WorkloadProfile.Operation.SEARCH) {
+                outcome = target.search(request.getFlight().getDestination(), request.getFlight().getDepartureTime());
+            } else {
+                outcome = target.book(request.getCustomerName(), request.getFlight().getFlightNumber(),
+                        request.getSeats());
+            }
+        } catch (RuntimeException e) {
+            outcome = LoadTarget.Outcome.FAILED;
+        }
+        long finished = System.nanoTime();
+        stats.record(outcome, finished - intendedStart, finished - actualStart);
+    }
+}
@@ -0,0 +1,37 @@
+package com.airline.loadgen;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+
+import java.time.LocalDateTime;
+
+/**
+ * Drives a {@link FlightService} directly, measuring the service without HTTP overhead.
+ */
+public class ServiceLoadTarget implements LoadTarget {
+    private final FlightService flightService;
+
+    public ServiceLoadTarget(FlightService flightService) {
+        this.flightService = flightService;
+    }
+
+    @Override
+    public Outcome search(String destination, LocalDateTime date) {
+        flightService.searchFlights(destination, date);
+        return Outcome.OK;
+    }
+
+    @Override
+    public Outcome book(String customerName, String flightNumber, int seats) {
+        Flight flight = flightService.findFlight(flightNumber);
+        if (flight == null) {
+            return Outcome.FAILED;
+        }
+        try {
+            flightService.bookFlight(customerName, flight, seats);
+            return Outcome.OK;
+        } catch (IllegalArgumentException e) {
+            return Outcome.REJECTED;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.airline.loadgen;
+
+import com.airline.model.Flight;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * What the simulated customers ask for: the share of searches versus bookings, and how
+ * strongly traffic concentrates on a few hot flights. Flight popularity follows a Zipf
+ * distribution, so with the default skew of 1.0 the hottest flight gets about as much
+ * traffic as the next two combined.
+ */
+public class WorkloadProfile {
+
+    /**
+     * Kind of request to send.
+     */
+    public enum Operation {
+        SEARCH,
+        BOOK
+    }
+
+    private final List<Flight> flights;
+    private final double searchRatio;
+    private final int maxSeatsPerBooking;
+    private final double[] cumulative;
+
+    /**
+     * Creates a workload over the given flights.
+     * 
+     * @param flights the catalog; shuffled with a fixed seed to pick which flights are hot
+     * @param searchRatio the fraction of requests that are searches, e.g. 0.95
+     * @param hotFlightSkew the Zipf exponent; 0 spreads traffic evenly
+     * @param maxSeatsPerBooking bookings ask for 1 to this many seats
+     */
+    public WorkloadProfile(List<Flight> flights, double searchRatio, double hotFlightSkew, int maxSeatsPerBooking) {
+        if (flights.isEmpty()) {
+            throw new IllegalArgumentException("Workload needs at least one flight");
+        }
+        if (searchRatio < 0 || searchRatio > 1) {
+            throw new IllegalArgumentException("Search ratio must be between 0 and 1");
+        }
+        if (hotFlightSkew < 0 || maxSeatsPerBooking <= 0) {
+            throw new IllegalArgumentException("Skew cannot be negative and seats must be positive");
+        }
+        this.flights = new ArrayList<>(flights);
+        Collections.shuffle(this.flights, new Random(7));
+        this.searchRatio = searchRatio;
+        this.maxSeatsPerBooking = maxSeatsPerBooking;
+        this.cumulative = new double[flights.size()];
+        double sum = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += 1.0 / Math.pow(i + 1, hotFlightSkew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Picks the next request.
+     * 
+     * @param random the random source of the calling thread
+     * @return the request
+     */
+    public Request next(Random random) {
+        Operation operation = random.nextDouble() < searchRatio ? Operation.SEARCH : Operation.BOOK;
+        Flight flight = pickFlight(random);
+        int seats = 1 + random.nextInt(maxSeatsPerBooking);
+        return new Request(operation, flight, "customer-" + random.nextInt(100_000), seats);
+    }
+
+    private Flight pickFlight(Random random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return flights.get(low);
+    }
+
+    /**
+     * One request to send. Searches use the flight's destination and departure date.
+     */
+    public static final class Request {
+        private final Operation operation;
+        private final Flight flight;
+        private final String customerName;
+        private final int seats;
+
+        Request(Operation operation, Flight flight, String customerName, int seats) {
+            this.operation = operation;
+            this.flight = flight;
+            this.customerName = customerName;
+            this.seats = seats;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public Flight getFlight() {
+            return flight;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+
+        public int getSeats() {
+            return seats;
+        }
+    }
+}
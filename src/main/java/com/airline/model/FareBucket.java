@@ -0,0 +1,31 @@
+package com.airline.model;
+
+/**
+ * A fare class on a flight (e.g. "Y" economy, "J" business) with its own seat allocation.
+ */
+public class FareBucket {
+    private final String fareClass;
+    private final SeatCounter seatCounter;
+
+    public FareBucket(String fareClass, int seats) {
+        this.fareClass = fareClass;
+        this.seatCounter = new HeapSeatCounter(seats);
+    }
+
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public int getAvailableSeats() {
+        return seatCounter.get();
+    }
+
+    SeatCounter getSeatCounter() {
+        return seatCounter;
+    }
+
+    @Override
+    public String toString() {
+        return fareClass + "=" + getAvailableSeats();
+    }
+}
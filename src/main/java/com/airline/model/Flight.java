@@ -1,6 +1,11 @@
 package com.airline.model;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -8,15 +13,38 @@ import java.util.Objects;
  */
 public class Flight {
     private String flightNumber;
+    private String origin;
     private String destination;
     private LocalDateTime departureTime;
-    private int availableSeats;
+    private LocalDateTime arrivalTime;
+    private SeatCounter seatCounter;
+    private int overbookingAllowance;
+    private volatile Map<String, FareBucket> fareBuckets = Collections.emptyMap();
+    private SeatMap seatMap;
 
     public Flight(String flightNumber, String destination, LocalDateTime departureTime, int availableSeats) {
         this.flightNumber = flightNumber;
         this.destination = destination;
         this.departureTime = departureTime;
-        this.availableSeats = availableSeats;
+        this.seatCounter = new HeapSeatCounter(availableSeats);
+    }
+
+    /**
+     * Creates a flight with a known origin and arrival time, so it can be used as a leg
+     * of a connecting itinerary.
+     * 
+     * @param flightNumber the flight number
+     * @param origin the departure city
+     * @param destination the arrival city
+     * @param departureTime the departure time
+     * @param arrivalTime the arrival time, in the same local time as the departure
+     * @param availableSeats the number of available seats
+     */
+    public Flight(String flightNumber, String origin, String destination, LocalDateTime departureTime,
+                  LocalDateTime arrivalTime, int availableSeats) {
+        this(flightNumber, destination, departureTime, availableSeats);
+        this.origin = origin;
+        this.arrivalTime = arrivalTime;
     }
 
     public String getFlightNumber() {
@@ -27,6 +55,19 @@ public class Flight {
         this.flightNumber = flightNumber;
     }
 
+    /**
+     * Gets the departure city.
+     * 
+     * @return the origin, or null if the flight was created without one
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
     public String getDestination() {
         return destination;
     }
@@ -43,12 +84,113 @@ public class Flight {
         this.departureTime = departureTime;
     }
 
+    /**
+     * Gets the arrival time.
+     * 
+     * @return the arrival time, or null if the flight was created without one
+     */
+    public LocalDateTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(LocalDateTime arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
     public int getAvailableSeats() {
-        return availableSeats;
+        return seatCounter.get();
     }
 
     public void setAvailableSeats(int availableSeats) {
-        this.availableSeats = availableSeats;
+        seatCounter.set(availableSeats);
+    }
+
+    public SeatCounter getSeatCounter() {
+        return seatCounter;
+    }
+
+    /**
+     * Replaces the storage behind the available seat count, e.g. with an off-heap counter.
+     * The new counter is expected to already hold the correct seat count.
+     * 
+     * @param seatCounter the counter to use from now on
+     */
+    public void setSeatCounter(SeatCounter seatCounter) {
+        this.seatCounter = Objects.requireNonNull(seatCounter);
+    }
+
+    public int getOverbookingAllowance() {
+        return overbookingAllowance;
+    }
+
+    /**
+     * Sets how many seats may be sold beyond the physical seat count.
+     * 
+     * @param overbookingAllowance the number of extra seats that may be sold
+     */
+    public void setOverbookingAllowance(int overbookingAllowance) {
+        if (overbookingAllowance < 0) {
+            throw new IllegalArgumentException("Overbooking allowance cannot be negative");
+        }
+        this.overbookingAllowance = overbookingAllowance;
+    }
+
+    /**
+     * Gets the number of seats that can still be sold, including the overbooking allowance.
+     * 
+     * @return the sellable seats
+     */
+    public int getSellableSeats() {
+        return getAvailableSeats() + overbookingAllowance;
+    }
+
+    /**
+     * Adds a fare class with its own seat allocation. Once a flight has fare classes,
+     * class-aware bookings must name one of them.
+     * 
+     * @param fareClass the fare class code, e.g. "Y"
+     * @param seats the number of seats allocated to the class
+     */
+    public synchronized void addFareBucket(String fareClass, int seats) {
+        if (fareClass == null || fareClass.trim().isEmpty()) {
+            throw new IllegalArgumentException("Fare class cannot be null or empty");
+        }
+        Map<String, FareBucket> updated = new LinkedHashMap<>(fareBuckets);
+        String key = fareClassKey(fareClass);
+        updated.put(key, new FareBucket(key, seats));
+        fareBuckets = Collections.unmodifiableMap(updated);
+    }
+
+    public Collection<FareBucket> getFareBuckets() {
+        return fareBuckets.values();
+    }
+
+    /**
+     * Gets a fare class by code, ignoring case.
+     * 
+     * @param fareClass the fare class code
+     * @return the bucket, or null if the flight has no such class
+     */
+    public FareBucket getFareBucket(String fareClass) {
+        if (fareClass == null) {
+            return null;
+        }
+        // Codes are stored normalized; try the code as given first to avoid allocating on the booking path
+        FareBucket bucket = fareBuckets.get(fareClass);
+        return bucket != null ? bucket : fareBuckets.get(fareClassKey(fareClass));
+    }
+
+    /**
+     * Gets the per-seat map of the flight.
+     * 
+     * @return the seat map, or null if seats on this flight are not assigned individually
+     */
+    public SeatMap getSeatMap() {
+        return seatMap;
+    }
+
+    public void setSeatMap(SeatMap seatMap) {
+        this.seatMap = seatMap;
     }
 
     /**
@@ -57,7 +199,68 @@ public class Flight {
      * @param seats the number of seats to reduce
      */
     public void reduceAvailableSeats(int seats) {
-        this.availableSeats -= seats;
+        seatCounter.release(-seats);
+    }
+
+    /**
+     * Atomically reduces the available seats if enough are left.
+     * 
+     * @param seats the number of seats to reduce
+     * @return true if the seats were reduced, false if not enough seats were available
+     */
+    public boolean tryReduceAvailableSeats(int seats) {
+        return seatCounter.tryReduce(seats, -overbookingAllowance);
+    }
+
+    /**
+     * Atomically takes seats from a fare class and from the flight. If the flight itself
+     * is full the class seats are handed back, so neither count is ever oversold.
+     * 
+     * @param fareClass the fare class to book in
+     * @param seats the number of seats to reduce
+     * @return true if the seats were reduced, false if the class or the flight is full
+     * @throws IllegalArgumentException if the flight has no such fare class
+     */
+    public boolean tryReduceAvailableSeats(String fareClass, int seats) {
+        FareBucket bucket = getFareBucket(fareClass);
+        if (bucket == null) {
+            throw new IllegalArgumentException("Unknown fare class: " + fareClass);
+        }
+        if (!bucket.getSeatCounter().tryReduce(seats)) {
+            return false;
+        }
+        if (!tryReduceAvailableSeats(seats)) {
+            bucket.getSeatCounter().release(seats);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns previously reduced seats to the flight.
+     * 
+     * @param seats the number of seats to release
+     */
+    public void releaseSeats(int seats) {
+        seatCounter.release(seats);
+    }
+
+    /**
+     * Returns previously reduced seats to a fare class and to the flight.
+     * 
+     * @param fareClass the fare class the seats were booked in
+     * @param seats the number of seats to release
+     */
+    public void releaseSeats(String fareClass, int seats) {
+        FareBucket bucket = getFareBucket(fareClass);
+        if (bucket != null) {
+            bucket.getSeatCounter().release(seats);
+        }
+        seatCounter.release(seats);
+    }
+
+    private static String fareClassKey(String fareClass) {
+        return fareClass.trim().toUpperCase(Locale.ROOT);
     }
 
     @Override
@@ -77,9 +280,11 @@ public class Flight {
     public String toString() {
         return "Flight{" +
                 "flightNumber='" + flightNumber + '\'' +
+                ", origin='" + origin + '\'' +
                 ", destination='" + destination + '\'' +
                 ", departureTime=" + departureTime +
-                ", availableSeats=" + availableSeats +
+                ", arrivalTime=" + arrivalTime +
+                ", availableSeats=" + getAvailableSeats() +
                 '}';
     }
 }
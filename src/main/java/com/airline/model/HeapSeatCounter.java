@@ -0,0 +1,41 @@
+package com.airline.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default on-heap seat counter backed by an {@link AtomicInteger}.
+ */
+public class HeapSeatCounter implements SeatCounter {
+    private final AtomicInteger seats;
+
+    public HeapSeatCounter(int seats) {
+        this.seats = new AtomicInteger(seats);
+    }
+
+    @Override
+    public int get() {
+        return seats.get();
+    }
+
+    @Override
+    public void set(int seats) {
+        this.seats.set(seats);
+    }
+
+    @Override
+    public boolean tryReduce(int seats, int floor) {
+        int current;
+        do {
+            current = this.seats.get();
+            if (current - seats < floor) {
+                return false;
+            }
+        } while (!this.seats.compareAndSet(current, current - seats));
+        return true;
+    }
+
+    @Override
+    public void release(int seats) {
+        this.seats.addAndGet(seats);
+    }
+}
@@ -1,5 +1,8 @@
 package com.airline.model;
 
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -7,13 +10,22 @@ import java.util.Objects;
  */
 public class Reservation {
     private String customerName;
+    private int customerId = -1;
     private Flight flight;
     private int seatsBooked;
+    private String fareClass;
+    private List<String> seatNumbers = Collections.emptyList();
+    private BigDecimal totalFare;
 
     public Reservation(String customerName, Flight flight, int seatsBooked) {
+        this(customerName, flight, seatsBooked, null);
+    }
+
+    public Reservation(String customerName, Flight flight, int seatsBooked, String fareClass) {
         this.customerName = customerName;
         this.flight = flight;
         this.seatsBooked = seatsBooked;
+        this.fareClass = fareClass;
     }
 
     public String getCustomerName() {
@@ -24,6 +36,20 @@ public class Reservation {
         this.customerName = customerName;
     }
 
+    /**
+     * Gets the id the booking service gave the customer, so reservations can be matched
+     * to a customer without comparing names.
+     * 
+     * @return the customer id, or -1 if the customer has not been given one
+     */
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(int customerId) {
+        this.customerId = customerId;
+    }
+
     public Flight getFlight() {
         return flight;
     }
@@ -40,6 +66,45 @@ public class Reservation {
         this.seatsBooked = seatsBooked;
     }
 
+    /**
+     * Gets the fare class the seats were booked in.
+     * 
+     * @return the fare class code, or null for bookings made without a fare class
+     */
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public void setFareClass(String fareClass) {
+        this.fareClass = fareClass;
+    }
+
+    /**
+     * Gets the seats assigned to this reservation.
+     * 
+     * @return the seat numbers, e.g. "12A", or an empty list if seats are assigned at check-in
+     */
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers == null ? Collections.emptyList() : Collections.unmodifiableList(seatNumbers);
+    }
+
+    /**
+     * Gets the price paid for all seats in this reservation.
+     * 
+     * @return the total fare, or null if the booking was not priced
+     */
+    public BigDecimal getTotalFare() {
+        return totalFare;
+    }
+
+    public void setTotalFare(BigDecimal totalFare) {
+        this.totalFare = totalFare;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -62,6 +127,9 @@ public class Reservation {
                 ", destination='" + flight.getDestination() + '\'' +
                 ", departureTime=" + flight.getDepartureTime() +
                 ", seatsBooked=" + seatsBooked +
+                (fareClass != null ? ", fareClass='" + fareClass + '\'' : "") +
+                (!seatNumbers.isEmpty() ? ", seatNumbers=" + seatNumbers : "") +
+                (totalFare != null ? ", totalFare=" + totalFare : "") +
                 '}';
     }
 }
@@ -0,0 +1,50 @@
+package com.airline.model;
+
+/**
+ * Holds the number of seats still available on a flight.
+ * Implementations must make {@link #tryReduce(int)} atomic so that concurrent
+ * bookings can never push the count below zero.
+ */
+public interface SeatCounter {
+
+    /**
+     * Gets the number of seats currently available.
+     *
+     * @return the available seats
+     */
+    int get();
+
+    /**
+     * Overwrites the number of available seats.
+     *
+     * @param seats the new seat count
+     */
+    void set(int seats);
+
+    /**
+     * Atomically reduces the available seats if enough are left.
+     *
+     * @param seats the number of seats to take
+     * @return true if the seats were taken, false if not enough were available
+     */
+    default boolean tryReduce(int seats) {
+        return tryReduce(seats, 0);
+    }
+
+    /**
+     * Atomically reduces the available seats unless that would take the count below
+     * {@code floor}. A negative floor allows controlled overbooking.
+     *
+     * @param seats the number of seats to take
+     * @param floor the lowest count the counter may reach
+     * @return true if the seats were taken, false if not enough were available
+     */
+    boolean tryReduce(int seats, int floor);
+
+    /**
+     * Atomically returns seats to the counter.
+     *
+     * @param seats the number of seats to give back
+     */
+    void release(int seats);
+}
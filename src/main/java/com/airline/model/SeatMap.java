@@ -0,0 +1,216 @@
+package com.airline.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-seat occupancy for a flight, stored as one bit per seat.
+ *
+ * <p>Each row occupies one {@code long} word (bit {@code i} is seat {@code i} of the row,
+ * set when taken), so a cabin of 30 rows costs 240 bytes and claiming several seats in
+ * a row is a single compare-and-set. Seats are labelled row number plus letter, e.g.
+ * {@code "12A"}.
+ */
+public class SeatMap {
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final String SEAT_LETTERS = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+
+    private final int rows;
+    private final int seatsPerRow;
+    private final long[] words;
+    private final long rowMask;
+
+    public SeatMap(int rows, int seatsPerRow) {
+        if (rows <= 0 || seatsPerRow <= 0 || seatsPerRow > SEAT_LETTERS.length()) {
+            throw new IllegalArgumentException("A seat map needs at least one row and 1-"
+                    + SEAT_LETTERS.length() + " seats per row");
+        }
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.words = new long[rows];
+        this.rowMask = (1L << seatsPerRow) - 1;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int getCapacity() {
+        return rows * seatsPerRow;
+    }
+
+    /**
+     * Counts the seats that are not taken.
+     * 
+     * @return the number of free seats
+     */
+    public int getFreeSeats() {
+        int taken = 0;
+        for (int row = 0; row < rows; row++) {
+            taken += Long.bitCount((long) WORDS.getVolatile(words, row));
+        }
+        return getCapacity() - taken;
+    }
+
+    public boolean isTaken(String seatNumber) {
+        int seat = parse(seatNumber);
+        return ((long) WORDS.getVolatile(words, seat / seatsPerRow) & (1L << (seat % seatsPerRow))) != 0;
+    }
+
+    /**
+     * Claims specific seats. Either all of them are claimed or none are.
+     * 
+     * @param seatNumbers the seats to claim, e.g. "12A"
+     * @return true if all seats were free and are now taken
+     * @throws IllegalArgumentException if a seat number is not on this map
+     */
+    public boolean claim(List<String> seatNumbers) {
+        long[] masks = new long[rows];
+        for (String seatNumber : seatNumbers) {
+            int seat = parse(seatNumber);
+            long bit = 1L << (seat % seatsPerRow);
+            if ((masks[seat / seatsPerRow] & bit) != 0) {
+                throw new IllegalArgumentException("Seat " + seatNumber + " was requested twice");
+            }
+            masks[seat / seatsPerRow] |= bit;
+        }
+        for (int row = 0; row < rows; row++) {
+            if (masks[row] != 0 && !claimInRow(row, masks[row])) {
+                for (int claimed = 0; claimed < row; claimed++) {
+                    releaseInRow(claimed, masks[claimed]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Claims {@code count} adjacent seats in the same row, taking the first row with room.
+     * 
+     * @param count the number of seats
+     * @return the claimed seat numbers, or null if no row has that many adjacent free seats
+     */
+    public List<String> claimAdjacent(int count) {
+        if (count <= 0 || count > seatsPerRow) {
+            return null;
+        }
+        long block = (1L << count) - 1;
+        for (int row = 0; row < rows; row++) {
+            long word;
+            boolean retry;
+            do {
+                retry = false;
+                word = (long) WORDS.getVolatile(words, row);
+                for (int start = 0; start + count <= seatsPerRow; start++) {
+                    long mask = block << start;
+                    if ((word & mask) == 0) {
+                        if (WORDS.compareAndSet(words, row, word, word | mask)) {
+                            return labels(row, mask);
+                        }
+                        // Row changed under us; re-read it and try again
+                        retry = true;
+                        break;
+                    }
+                }
+            } while (retry);
+        }
+        return null;
+    }
+
+    /**
+     * Claims any {@code count} free seats, filling rows front to back.
+     * 
+     * @param count the number of seats
+     * @return the claimed seat numbers, or null if fewer seats are free
+     */
+    public List<String> claimAny(int count) {
+        List<String> claimed = new ArrayList<>(count);
+        long[] masks = new long[rows];
+        for (int row = 0; row < rows && claimed.size() < count; row++) {
+            long word;
+            long mask;
+            do {
+                word = (long) WORDS.getVolatile(words, row);
+                long free = ~word & rowMask;
+                mask = 0;
+                for (int needed = count - claimed.size(); free != 0 && needed > 0; needed--) {
+                    long lowest = Long.lowestOneBit(free);
+                    mask |= lowest;
+                    free &= ~lowest;
+                }
+            } while (mask != 0 && !WORDS.compareAndSet(words, row, word, word | mask));
+            masks[row] = mask;
+            claimed.addAll(labels(row, mask));
+        }
+        if (claimed.size() < count) {
+            for (int row = 0; row < rows; row++) {
+                if (masks[row] != 0) {
+                    releaseInRow(row, masks[row]);
+                }
+            }
+            return null;
+        }
+        return claimed;
+    }
+
+    /**
+     * Frees previously claimed seats.
+     * 
+     * @param seatNumbers the seats to free
+     */
+    public void release(List<String> seatNumbers) {
+        for (String seatNumber : seatNumbers) {
+            int seat = parse(seatNumber);
+            releaseInRow(seat / seatsPerRow, 1L << (seat % seatsPerRow));
+        }
+    }
+
+    private boolean claimInRow(int row, long mask) {
+        long word;
+        do {
+            word = (long) WORDS.getVolatile(words, row);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!WORDS.compareAndSet(words, row, word, word | mask));
+        return true;
+    }
+
+    private void releaseInRow(int row, long mask) {
+        long word;
+        do {
+            word = (long) WORDS.getVolatile(words, row);
+        } while (!WORDS.compareAndSet(words, row, word, word & ~mask));
+    }
+
+    private List<String> labels(int row, long mask) {
+        List<String> labels = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            labels.add((row + 1) + String.valueOf(SEAT_LETTERS.charAt(Long.numberOfTrailingZeros(remaining))));
+        }
+        return labels;
+    }
+
+    private int parse(String seatNumber) {
+        String label = seatNumber == null ? "" : seatNumber.trim().toUpperCase(Locale.ROOT);
+        int letterIndex = label.isEmpty() ? -1 : SEAT_LETTERS.indexOf(label.charAt(label.length() - 1));
+        int row;
+        try {
+            row = Integer.parseInt(label.substring(0, Math.max(0, label.length() - 1))) - 1;
+        } catch (NumberFormatException e) {
+            row = -1;
+        }
+        if (row < 0 || row >= rows || letterIndex < 0 || letterIndex >= seatsPerRow) {
+            throw new IllegalArgumentException("Invalid seat number: " + seatNumber);
+        }
+        return row * seatsPerRow + letterIndex;
+    }
+}
@@ -0,0 +1,75 @@
+package com.airline.service;
+
+import com.airline.model.Flight;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the flight catalog on a background thread so the application can take traffic
+ * before every flight is in. Flights are added soonest departure first, since those are
+ * the ones customers are most likely to search for right away.
+ */
+public class CatalogLoader {
+    private final FlightService flightService;
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile int total = -1;
+
+    public CatalogLoader(FlightService flightService) {
+        this.flightService = flightService;
+    }
+
+    /**
+     * Starts adding the given flights in the background and returns immediately.
+     * 
+     * @param flights the flights to load
+     */
+    public void loadInBackground(List<Flight> flights) {
+        List<Flight> ordered = new ArrayList<>(flights);
+        ordered.sort(Comparator.comparing(Flight::getDepartureTime));
+        total = ordered.size();
+        Thread loader = new Thread(() -> {
+            try {
+                for (Flight flight : ordered) {
+                    flightService.addFlight(flight);
+                    loaded.incrementAndGet();
+                }
+            } finally {
+                done.countDown();
+            }
+        }, "catalog-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Gets the number of flights added so far.
+     */
+    public int getLoadedCount() {
+        return loaded.get();
+    }
+
+    /**
+     * Checks whether loading has finished.
+     */
+    public boolean isComplete() {
+        return done.getCount() == 0;
+    }
+
+    /**
+     * Waits for loading to finish.
+     * 
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if loading finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitComplete(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+}
@@ -1,13 +1,56 @@
 package com.airline.service;
 
+import com.airline.model.FareBucket;
 import com.airline.model.Flight;
 import com.airline.model.Reservation;
+import com.airline.model.SeatMap;
+import com.airline.service.archive.FlightArchive;
+import com.airline.service.customer.CustomerRegistry;
+import com.airline.service.event.DomainEvent;
+import com.airline.service.event.EventPublisher;
+import com.airline.service.event.FlightAddedEvent;
+import com.airline.service.event.ReservationCreatedEvent;
+import com.airline.service.event.SeatsChangedEvent;
+import com.airline.service.idempotency.IdempotencyCache;
+import com.airline.service.inventory.HeapSeatStore;
+import com.airline.service.inventory.SeatStore;
+import com.airline.service.pricing.PriceCurve;
+import com.airline.service.pricing.PricingEngine;
+import com.airline.service.report.BookingAggregates;
+import com.airline.service.route.ConnectionRules;
+import com.airline.service.route.Itinerary;
+import com.airline.service.route.RouteIndex;
+import com.airline.service.search.DestinationIndex;
+import com.airline.service.snapshot.CatalogSnapshot;
+import com.airline.service.snapshot.SnapshotLog;
+import com.airline.service.store.FlightStore;
+import com.airline.service.store.InMemoryFlightStore;
+import com.airline.service.store.InMemoryReservationStore;
+import com.airline.service.store.ReservationStore;
+import com.airline.service.waitlist.Waitlist;
+import com.airline.service.waitlist.WaitlistEntry;
+import com.airline.tracing.Span;
+import com.airline.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -15,12 +58,239 @@ import java.util.stream.Collectors;
  */
 @Service
 public class FlightService {
-    private List<Flight> flights;
-    private List<Reservation> reservations;
+    private static final Logger log = LoggerFactory.getLogger(FlightService.class);
+    private static final BigDecimal DEFAULT_BASE_FARE = new BigDecimal("150.00");
+    private static final int MAX_PENDING_SNAPSHOT_CHANGES = 1024;
+
+    private volatile FlightStore flights;
+    private volatile ReservationStore reservations;
+    private final SeatStore seatStore;
+    private final DestinationIndex destinationIndex = new DestinationIndex();
+    private final RouteIndex routeIndex = new RouteIndex();
+    private final Waitlist waitlist = new Waitlist();
+    private final CustomerRegistry customers = new CustomerRegistry();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final SnapshotLog snapshot = new SnapshotLog(CatalogSnapshot.empty(), MAX_PENDING_SNAPSHOT_CHANGES);
+    // Counted here so limits are checked without asking the stores
+    private final AtomicInteger flightCount = new AtomicInteger();
+    private final AtomicInteger reservationCount = new AtomicInteger();
+    private volatile int maxFlights = Integer.MAX_VALUE;
+    private volatile int maxReservations = Integer.MAX_VALUE;
+    private volatile long lastModified = System.currentTimeMillis();
+    private volatile EventPublisher eventPublisher = EventPublisher.NONE;
+    private volatile FlightArchive flightArchive;
+    // Flights departing before this have been archived; bookings on them are refused
+    private volatile LocalDateTime archivedBefore;
+    private volatile Tracer tracer = Tracer.NOOP;
+    private volatile IdempotencyCache idempotencyCache = new IdempotencyCache(10_000, Duration.ofHours(24));
+    private volatile PricingEngine pricingEngine = new PricingEngine(PriceCurve.DEFAULT, DEFAULT_BASE_FARE);
+    private volatile BookingAggregates bookingAggregates = new BookingAggregates(100, 168);
 
     public FlightService() {
-        this.flights = new ArrayList<>();
-        this.reservations = new ArrayList<>();
+        this(new HeapSeatStore());
+    }
+
+    /**
+     * Creates a service that keeps available seat counts in the given store.
+     * 
+     * @param seatStore the store backing each flight's available seats
+     */
+    public FlightService(SeatStore seatStore) {
+        this(seatStore, new InMemoryFlightStore(), new InMemoryReservationStore());
+    }
+
+    /**
+     * Creates a service on the given stores. Flights already in the flight store are
+     * indexed for destination suggestions.
+     * 
+     * @param seatStore the store backing each new flight's available seats
+     * @param flightStore where flights are kept
+     * @param reservationStore where reservations are kept
+     */
+    public FlightService(SeatStore seatStore, FlightStore flightStore, ReservationStore reservationStore) {
+        this.seatStore = seatStore;
+        useStores(flightStore, reservationStore);
+    }
+
+    /**
+     * Switches to the given stores. Only allowed before any flight has been added.
+     * 
+     * @param flightStore where flights are kept
+     * @param reservationStore where reservations are kept
+     * @throws IllegalStateException if flights have already been added
+     */
+    @Autowired(required = false)
+    public synchronized void setStores(FlightStore flightStore, ReservationStore reservationStore) {
+        if (!flights.findAll().isEmpty()) {
+            throw new IllegalStateException("Stores must be set before any flight is added");
+        }
+        useStores(flightStore, reservationStore);
+    }
+
+    private void useStores(FlightStore flightStore, ReservationStore reservationStore) {
+        this.flights = flightStore;
+        this.reservations = reservationStore;
+        flightCount.set(flightStore.findAll().size());
+        reservationCount.set(reservationStore.findAll().size());
+        for (Reservation reservation : reservationStore.findAll()) {
+            registerCustomer(reservation);
+        }
+        destinationIndex.clear();
+        for (Flight flight : flightStore.findAll()) {
+            destinationIndex.add(flight.getDestination());
+            routeIndex.add(flight);
+        }
+        registerFares(pricingEngine);
+        snapshot.reset(loadSnapshot());
+        bookingAggregates.clear();
+        loadAggregates(bookingAggregates);
+    }
+
+    /**
+     * Registers every stored flight with a pricing engine. A flight's capacity is its
+     * available seats plus the seats already booked on it.
+     */
+    private void registerFares(PricingEngine engine) {
+        Map<Flight, Integer> booked = bookedSeatsByFlight();
+        for (Flight flight : flights.findAll()) {
+            engine.register(flight, flight.getAvailableSeats() + booked.getOrDefault(flight, 0));
+        }
+    }
+
+    /**
+     * Counts every stored flight and reservation in the booking aggregates.
+     */
+    private void loadAggregates(BookingAggregates aggregates) {
+        Map<Flight, Integer> booked = bookedSeatsByFlight();
+        for (Flight flight : flights.findAll()) {
+            aggregates.addFlight(flight, flight.getAvailableSeats() + booked.getOrDefault(flight, 0));
+        }
+        for (Reservation reservation : reservations.findAll()) {
+            aggregates.addReservation(reservation);
+        }
+    }
+
+    /**
+     * Builds a snapshot of the stored flights and reservations.
+     */
+    private CatalogSnapshot loadSnapshot() {
+        CatalogSnapshot loaded = CatalogSnapshot.empty();
+        // Reservations first: their seats are already off the stored flights' counts
+        for (Reservation reservation : reservations.findAll()) {
+            loaded = loaded.withReservation(reservation);
+        }
+        for (Flight flight : flights.findAll()) {
+            loaded = loaded.withFlight(flight);
+        }
+        return loaded;
+    }
+
+    private Map<Flight, Integer> bookedSeatsByFlight() {
+        Map<Flight, Integer> booked = new HashMap<>();
+        for (Reservation reservation : reservations.findAll()) {
+            booked.merge(reservation.getFlight(), reservation.getSeatsBooked(), Integer::sum);
+        }
+        return booked;
+    }
+
+    /**
+     * Sets where flight and booking events are sent. Events are discarded by default.
+     * 
+     * @param eventPublisher the publisher
+     */
+    @Autowired(required = false)
+    public void setEventPublisher(EventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher == null ? EventPublisher.NONE : eventPublisher;
+    }
+
+    /**
+     * Sets the archive that departed flights are moved to. Without one, compaction
+     * simply drops them.
+     * 
+     * @param flightArchive the archive
+     */
+    @Autowired(required = false)
+    public void setFlightArchive(FlightArchive flightArchive) {
+        this.flightArchive = flightArchive;
+    }
+
+    /**
+     * Sets the engine that prices seats. Flights already in the catalog are registered with it.
+     * 
+     * @param pricingEngine the pricing engine
+     */
+    @Autowired(required = false)
+    public synchronized void setPricingEngine(PricingEngine pricingEngine) {
+        if (pricingEngine == null) {
+            throw new IllegalArgumentException("Pricing engine cannot be null");
+        }
+        registerFares(pricingEngine);
+        this.pricingEngine = pricingEngine;
+    }
+
+    /**
+     * Sets the aggregates that booking reports are answered from. Flights and
+     * reservations already stored are counted first.
+     * 
+     * @param bookingAggregates the aggregates, empty
+     */
+    @Autowired(required = false)
+    public synchronized void setBookingAggregates(BookingAggregates bookingAggregates) {
+        if (bookingAggregates == null) {
+            throw new IllegalArgumentException("Booking aggregates cannot be null");
+        }
+        loadAggregates(bookingAggregates);
+        this.bookingAggregates = bookingAggregates;
+    }
+
+    /**
+     * Caps how many flights and reservations this service holds, e.g. so one tenant
+     * cannot use up the memory shared with others. Adding a flight or booking beyond
+     * a limit fails; what is already held is kept.
+     * 
+     * @param maxFlights the maximum number of flights
+     * @param maxReservations the maximum number of reservations
+     */
+    public void setLimits(int maxFlights, int maxReservations) {
+        if (maxFlights <= 0 || maxReservations <= 0) {
+            throw new IllegalArgumentException("Limits must be greater than zero");
+        }
+        this.maxFlights = maxFlights;
+        this.maxReservations = maxReservations;
+    }
+
+    /**
+     * Sets the cache that remembers bookings by idempotency key.
+     * 
+     * @param idempotencyCache the cache
+     */
+    @Autowired(required = false)
+    public void setIdempotencyCache(IdempotencyCache idempotencyCache) {
+        if (idempotencyCache == null) {
+            throw new IllegalArgumentException("Idempotency cache cannot be null");
+        }
+        this.idempotencyCache = idempotencyCache;
+    }
+
+    /**
+     * Sets the minimum connection times and layover limits used for itinerary searches.
+     * 
+     * @param connectionRules the rules
+     */
+    @Autowired(required = false)
+    public void setConnectionRules(ConnectionRules connectionRules) {
+        routeIndex.setRules(connectionRules == null ? ConnectionRules.DEFAULT : connectionRules);
+    }
+
+    /**
+     * Sets the tracer used to time each step of searches and bookings. Nothing is traced
+     * by default.
+     * 
+     * @param tracer the tracer
+     */
+    @Autowired(required = false)
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer == null ? Tracer.NOOP : tracer;
     }
 
     /**
@@ -32,11 +302,53 @@ public class FlightService {
      */
     public List<Flight> searchFlights(String destination, LocalDateTime date) {
         LocalDate searchDate = date.toLocalDate();
-        
-        return flights.stream()
-                .filter(flight -> flight.getDestination().equalsIgnoreCase(destination))
-                .filter(flight -> flight.getDepartureTime().toLocalDate().equals(searchDate))
-                .filter(flight -> flight.getAvailableSeats() > 0)
+
+        try (Span span = tracer.startSpan("FlightService.searchFlights")) {
+            List<Flight> results = flights.findByDestinationAndDate(destination, searchDate).stream()
+                    .filter(flight -> flight.getSellableSeats() > 0)
+                    .collect(Collectors.toList());
+            span.setAttribute("results", results.size());
+            return results;
+        }
+    }
+
+    /**
+     * Searches for available flights to a given destination on a specified date
+     * that still have seats in the given fare class.
+     * 
+     * @param destination the destination city
+     * @param date the departure date
+     * @param fareClass the fare class code, e.g. "Y"
+     * @return a list of available flights matching the criteria
+     */
+    public List<Flight> searchFlights(String destination, LocalDateTime date, String fareClass) {
+        return searchFlights(destination, date).stream()
+                .filter(flight -> {
+                    FareBucket bucket = flight.getFareBucket(fareClass);
+                    return bucket != null && bucket.getAvailableSeats() > 0;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Searches for flights to a given destination on a specified date that have no seats
+     * left, or none left in the given fare class, so customers can join their waitlists.
+     * 
+     * @param destination the destination city
+     * @param date the departure date
+     * @param fareClass the fare class code, or null for seats in any class
+     * @return the full flights matching the criteria
+     */
+    public List<Flight> searchSoldOutFlights(String destination, LocalDateTime date, String fareClass) {
+        boolean anyClass = fareClass == null || fareClass.trim().isEmpty();
+        return flights.findByDestinationAndDate(destination, date.toLocalDate()).stream()
+                .filter(flight -> {
+                    if (flight.getSellableSeats() <= 0) {
+                        return anyClass || flight.getFareBucket(fareClass) != null;
+                    }
+                    FareBucket bucket = anyClass ? null : flight.getFareBucket(fareClass);
+                    return bucket != null && bucket.getAvailableSeats() <= 0;
+                })
                 .collect(Collectors.toList());
     }
 
@@ -50,6 +362,225 @@ public class FlightService {
      * @throws IllegalArgumentException if seats requested exceed available seats
      */
     public Reservation bookFlight(String customerName, Flight flight, int seats) {
+        return bookFlight(customerName, flight, null, seats);
+    }
+
+    /**
+     * Books seats in a specific fare class. The seats are taken from both the fare class
+     * and the flight, without locking. On flights with a seat map, the seats are assigned
+     * next to each other when possible.
+     * 
+     * @param customerName the name of the customer
+     * @param flight the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seats the number of seats to book
+     * @return the created reservation
+     * @throws IllegalArgumentException if the fare class does not exist or has too few seats
+     */
+    public Reservation bookFlight(String customerName, Flight flight, String fareClass, int seats) {
+        return book(customerName, flight, fareClass, seats, null);
+    }
+
+    /**
+     * Books seats at a fare that was already worked out, e.g. by the replication leader,
+     * rather than at the current price.
+     * 
+     * @param customerName the name of the customer
+     * @param flight the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seats the number of seats to book
+     * @param totalFare the total fare for all seats
+     * @return the created reservation
+     * @throws IllegalArgumentException if the fare class does not exist or has too few seats
+     */
+    public Reservation bookFlightAtFare(String customerName, Flight flight, String fareClass, int seats,
+                                       BigDecimal totalFare) {
+        return book(customerName, flight, fareClass, seats, totalFare);
+    }
+
+    private Reservation book(String customerName, Flight flight, String fareClass, int seats, BigDecimal fare) {
+        try (Span span = tracer.startSpan("FlightService.bookFlight")) {
+            try {
+                Flight existingFlight = validateBooking(customerName, flight, seats);
+                span.setAttribute("flight", existingFlight.getFlightNumber()).setAttribute("seats", seats);
+                // Priced before the seats are taken, so the customer pays the fare they were shown
+                BigDecimal totalFare = fare != null ? fare : pricingEngine.quote(existingFlight, seats);
+                String bookedClass = takeSeats(existingFlight, fareClass, seats);
+
+                Reservation reservation = newReservation(customerName, existingFlight, seats, bookedClass);
+                reservation.setTotalFare(totalFare);
+                SeatMap seatMap = existingFlight.getSeatMap();
+                if (seatMap != null) {
+                    try (Span assign = tracer.startSpan("SeatMap.assign")) {
+                        List<String> assigned = seatMap.claimAdjacent(seats);
+                        assign.setAttribute("adjacent", assigned != null);
+                        if (assigned == null) {
+                            assigned = seatMap.claimAny(seats);
+                        }
+                        // Overbooked passengers get no seat here; they are seated at check-in
+                        reservation.setSeatNumbers(assigned);
+                    }
+                }
+                return recordReservation(reservation);
+            } catch (IllegalArgumentException e) {
+                span.recordError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Books specific seats on a flight that has a seat map.
+     * 
+     * @param customerName the name of the customer
+     * @param flight the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seatNumbers the seats to book, e.g. "12A", "12B"
+     * @return the created reservation
+     * @throws IllegalArgumentException if a seat is invalid or already taken, or there are too few seats
+     */
+    public Reservation bookSeats(String customerName, Flight flight, String fareClass, List<String> seatNumbers) {
+        return bookSeats(customerName, flight, fareClass, seatNumbers, (BigDecimal) null);
+    }
+
+    /**
+     * Books specific seats at a fare that was already worked out, e.g. by the replication
+     * leader, rather than at the current price.
+     * 
+     * @param customerName the name of the customer
+     * @param flight the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seatNumbers the seats to book, e.g. "12A", "12B"
+     * @param totalFare the total fare for all seats
+     * @return the created reservation
+     * @throws IllegalArgumentException if a seat is invalid or already taken, or there are too few seats
+     */
+    public Reservation bookSeatsAtFare(String customerName, Flight flight, String fareClass, List<String> seatNumbers,
+                                      BigDecimal totalFare) {
+        return bookSeats(customerName, flight, fareClass, seatNumbers, totalFare);
+    }
+
+    private Reservation bookSeats(String customerName, Flight flight, String fareClass, List<String> seatNumbers,
+                                  BigDecimal fare) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat must be selected");
+        }
+        try (Span span = tracer.startSpan("FlightService.bookSeats")) {
+            try {
+                Flight existingFlight = validateBooking(customerName, flight, seatNumbers.size());
+                span.setAttribute("flight", existingFlight.getFlightNumber()).setAttribute("seats", seatNumbers);
+                SeatMap seatMap = existingFlight.getSeatMap();
+                if (seatMap == null) {
+                    throw new IllegalArgumentException("Seat selection is not available on this flight");
+                }
+
+                BigDecimal totalFare = fare != null ? fare : pricingEngine.quote(existingFlight, seatNumbers.size());
+                if (!seatMap.claim(seatNumbers)) {
+                    throw new IllegalArgumentException("One or more selected seats are no longer available: " + seatNumbers);
+                }
+                String bookedClass;
+                try {
+                    bookedClass = takeSeats(existingFlight, fareClass, seatNumbers.size());
+                } catch (IllegalArgumentException e) {
+                    seatMap.release(seatNumbers);
+                    throw e;
+                }
+
+                Reservation reservation = newReservation(customerName, existingFlight, seatNumbers.size(), bookedClass);
+                reservation.setSeatNumbers(new ArrayList<>(seatNumbers));
+                reservation.setTotalFare(totalFare);
+                return recordReservation(reservation);
+            } catch (IllegalArgumentException e) {
+                span.recordError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Books a flight at most once per idempotency key. A retry with the same key gets
+     * the original reservation back and takes no more seats.
+     * 
+     * @param customerName the name of the customer
+     * @param flight the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seats the number of seats to book
+     * @param idempotencyKey a key chosen by the client for this booking, or null to always book
+     * @return the reservation made for the key
+     * @throws IllegalArgumentException if the booking fails, or the key was used for a different booking
+     */
+    public Reservation bookFlight(String customerName, Flight flight, String fareClass, int seats, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            return bookFlight(customerName, flight, fareClass, seats);
+        }
+        return idempotencyCache.execute(idempotencyKey.trim(),
+                fingerprint(customerName, flight, fareClass, Integer.toString(seats)),
+                flights::findByNumber, () -> bookFlight(customerName, flight, fareClass, seats));
+    }
+
+    /**
+     * Books specific seats at most once per idempotency key.
+     * 
+     * @param customerName the name of the customer
+     * @param flight the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seatNumbers the seats to book, e.g. "12A"
+     * @param idempotencyKey a key chosen by the client for this booking, or null to always book
+     * @return the reservation made for the key
+     * @throws IllegalArgumentException if the booking fails, or the key was used for a different booking
+     */
+    public Reservation bookSeats(String customerName, Flight flight, String fareClass, List<String> seatNumbers,
+                                 String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            return bookSeats(customerName, flight, fareClass, seatNumbers);
+        }
+        return idempotencyCache.execute(idempotencyKey.trim(),
+                fingerprint(customerName, flight, fareClass, String.valueOf(seatNumbers)),
+                flights::findByNumber, () -> bookSeats(customerName, flight, fareClass, seatNumbers));
+    }
+
+    private static String fingerprint(String customerName, Flight flight, String fareClass, String seats) {
+        return String.join("\n",
+                customerName == null ? "" : customerName.trim().toLowerCase(Locale.ROOT),
+                flight == null || flight.getFlightNumber() == null ? "" : flight.getFlightNumber().toUpperCase(Locale.ROOT),
+                fareClass == null ? "" : fareClass.trim().toUpperCase(Locale.ROOT),
+                seats);
+    }
+
+    /**
+     * Atomically takes seats from the flight and, if given, the fare class.
+     * 
+     * @return the normalized fare class code, or null when booking without a fare class
+     */
+    private String takeSeats(Flight flight, String fareClass, int seats) {
+        try (Span span = tracer.startSpan("FlightService.takeSeats")) {
+            span.setAttribute("fareClass", fareClass);
+            if (fareClass == null || fareClass.trim().isEmpty()) {
+                if (!flight.tryReduceAvailableSeats(seats)) {
+                    throw new IllegalArgumentException(
+                        String.format("Not enough seats available. Requested: %d, Available: %d", 
+                            seats, Math.max(0, flight.getSellableSeats()))
+                    );
+                }
+                return null;
+            }
+
+            FareBucket bucket = flight.getFareBucket(fareClass);
+            if (bucket == null) {
+                throw new IllegalArgumentException("Fare class " + fareClass + " is not offered on this flight");
+            }
+            if (!flight.tryReduceAvailableSeats(fareClass, seats)) {
+                throw new IllegalArgumentException(
+                    String.format("Not enough seats available in fare class %s. Requested: %d, Available: %d", 
+                        bucket.getFareClass(), seats,
+                        Math.max(0, Math.min(bucket.getAvailableSeats(), flight.getSellableSeats())))
+                );
+            }
+            return bucket.getFareClass();
+        }
+    }
+
+    private Flight validateBooking(String customerName, Flight flight, int seats) {
         if (customerName == null || customerName.trim().isEmpty()) {
             throw new IllegalArgumentException("Customer name cannot be null or empty");
         }
@@ -63,31 +594,193 @@ public class FlightService {
         }
 
         // Check if the flight exists in our system
-        Flight existingFlight = flights.stream()
-                .filter(f -> f.equals(flight))
-                .findFirst()
-                .orElse(null);
+        Flight existingFlight;
+        try (Span span = tracer.startSpan("FlightService.lookupFlight")) {
+            existingFlight = flights.findByNumber(flight.getFlightNumber());
+            span.setAttribute("found", existingFlight != null);
+        }
 
-        if (existingFlight == null) {
+        if (existingFlight == null || !existingFlight.equals(flight)) {
             throw new IllegalArgumentException("Flight not found in the system");
         }
-
-        // Check if there are enough available seats
-        if (existingFlight.getAvailableSeats() < seats) {
-            throw new IllegalArgumentException(
-                String.format("Not enough seats available. Requested: %d, Available: %d", 
-                    seats, existingFlight.getAvailableSeats())
-            );
+        if (isArchived(existingFlight)) {
+            throw new IllegalArgumentException("Flight " + existingFlight.getFlightNumber() + " has departed");
         }
+        return existingFlight;
+    }
 
-        // Create reservation and update available seats
-        Reservation reservation = new Reservation(customerName, existingFlight, seats);
-        existingFlight.reduceAvailableSeats(seats);
-        reservations.add(reservation);
+    private Reservation newReservation(String customerName, Flight flight, int seats, String fareClass) {
+        Reservation reservation = new Reservation(customerName, flight, seats, fareClass);
+        registerCustomer(reservation);
+        return reservation;
+    }
 
+    /**
+     * Gives a reservation its customer's id, and the shared copy of the customer's name.
+     */
+    private void registerCustomer(Reservation reservation) {
+        reservation.setCustomerId(customers.register(reservation.getCustomerName()));
+        reservation.setCustomerName(customers.intern(reservation.getCustomerName()));
+    }
+
+    private Reservation recordReservation(Reservation reservation) {
+        if (reservationCount.incrementAndGet() > maxReservations) {
+            reservationCount.decrementAndGet();
+            returnSeats(reservation);
+            throw new IllegalArgumentException("Reservation limit of " + maxReservations + " reached");
+        }
+        // Into the snapshot first, so a cancellation that finds it in the store finds it there too
+        snapshot.record(current -> current.withReservation(reservation));
+        try {
+            reservations.add(reservation);
+        } catch (RuntimeException e) {
+            snapshot.record(current -> current.withoutReservation(reservation));
+            reservationCount.decrementAndGet();
+            returnSeats(reservation);
+            throw e;
+        }
+        if (isArchived(reservation.getFlight())) {
+            // Checked before the flight was archived, recorded after its reservations were read
+            archiveLateReservation(reservation);
+            return reservation;
+        }
+        bookingAggregates.recordBooking(reservation);
+        markModified();
+        publish(ReservationCreatedEvent.of(reservation));
+        publish(SeatsChangedEvent.of(reservation.getFlight(), -reservation.getSeatsBooked()));
         return reservation;
     }
 
+    /**
+     * Cancels a reservation and gives its seats back. Customers waiting for the flight
+     * are booked by the waitlist promoter once it sees the seats come back.
+     * 
+     * @param reservation the reservation to cancel
+     * @throws IllegalArgumentException if the reservation does not exist or was already cancelled
+     */
+    public void cancelReservation(Reservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        if (reservation.getCustomerName() == null) {
+            throw new IllegalArgumentException("Customer name cannot be null or empty");
+        }
+        if (!reservations.remove(reservation)) {
+            throw new IllegalArgumentException("Reservation not found for " + reservation.getCustomerName()
+                    + " on flight " + reservation.getFlight().getFlightNumber());
+        }
+        reservationCount.decrementAndGet();
+        snapshot.record(current -> current.withoutReservation(reservation));
+        returnSeats(reservation);
+        flights.updateSeats(reservation.getFlight());
+        bookingAggregates.removeReservation(reservation);
+        markModified();
+        publish(SeatsChangedEvent.of(reservation.getFlight(), reservation.getSeatsBooked()));
+    }
+
+    /**
+     * Puts a customer on a full flight's waitlist.
+     * 
+     * @param customerName the name of the customer
+     * @param flight the flight
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seats the number of seats wanted
+     * @return the waitlist entry
+     * @throws IllegalArgumentException if the booking is invalid, or the seats can be booked right away
+     */
+    public WaitlistEntry joinWaitlist(String customerName, Flight flight, String fareClass, int seats) {
+        Flight existingFlight = validateBooking(customerName, flight, seats);
+        String bookedClass = null;
+        int free = existingFlight.getSellableSeats();
+        if (fareClass != null && !fareClass.trim().isEmpty()) {
+            FareBucket bucket = existingFlight.getFareBucket(fareClass);
+            if (bucket == null) {
+                throw new IllegalArgumentException("Fare class " + fareClass + " is not offered on this flight");
+            }
+            bookedClass = bucket.getFareClass();
+            free = Math.min(free, bucket.getAvailableSeats());
+        }
+        if (free >= seats) {
+            throw new IllegalArgumentException("Seats are available on this flight; book them instead");
+        }
+        WaitlistEntry entry = new WaitlistEntry(customerName.trim(), existingFlight.getFlightNumber(), bookedClass,
+                seats, Instant.now());
+        waitlist.add(entry);
+        // Seats may have come back between the check and joining; promote so nobody waits for nothing
+        promoteWaitlist(existingFlight.getFlightNumber());
+        return entry;
+    }
+
+    /**
+     * Takes a customer off a waitlist.
+     * 
+     * @param entry the waitlist entry
+     * @return true if the customer was still waiting
+     */
+    public boolean leaveWaitlist(WaitlistEntry entry) {
+        return waitlist.remove(entry);
+    }
+
+    /**
+     * Gets the customers waiting for a flight.
+     * 
+     * @param flightNumber the flight number, ignoring case
+     * @return the waiting customers, first in line first
+     */
+    public List<WaitlistEntry> getWaitlist(String flightNumber) {
+        return waitlist.getEntries(flightNumber);
+    }
+
+    /**
+     * Books waiting customers on a flight, first in line first, while seats allow.
+     * 
+     * @param flightNumber the flight number, ignoring case
+     * @return the reservations made for waiting customers
+     */
+    public List<Reservation> promoteWaitlist(String flightNumber) {
+        return promoteWaitlist(flightNumber, Collections.emptyList());
+    }
+
+    /**
+     * Books waiting customers on a flight as {@link #promoteWaitlist(String)} does, but
+     * at fares that were already worked out, e.g. by the replication leader.
+     * 
+     * @param flightNumber the flight number, ignoring case
+     * @param totalFares the total fare of each promoted customer in turn; customers
+     *                   past the end of the list pay the current price
+     * @return the reservations made for waiting customers
+     */
+    public List<Reservation> promoteWaitlist(String flightNumber, List<BigDecimal> totalFares) {
+        Flight flight = flights.findByNumber(flightNumber);
+        if (flight == null) {
+            waitlist.clear(flightNumber);
+            return new ArrayList<>();
+        }
+        try (Span span = tracer.startSpan("Waitlist.promote")) {
+            Iterator<BigDecimal> fares = totalFares.iterator();
+            List<Reservation> promoted = waitlist.promote(flight, entry -> book(entry.getCustomerName(), flight,
+                    entry.getFareClass(), entry.getSeats(), fares.hasNext() ? fares.next() : null));
+            span.setAttribute("promoted", promoted.size());
+            return promoted;
+        }
+    }
+
+    /**
+     * Gives a reservation's seats back to its flight, fare class and seat map.
+     */
+    private void returnSeats(Reservation reservation) {
+        Flight flight = reservation.getFlight();
+        if (reservation.getFareClass() != null) {
+            flight.releaseSeats(reservation.getFareClass(), reservation.getSeatsBooked());
+        } else {
+            flight.releaseSeats(reservation.getSeatsBooked());
+        }
+        SeatMap seatMap = flight.getSeatMap();
+        if (seatMap != null && !reservation.getSeatNumbers().isEmpty()) {
+            seatMap.release(reservation.getSeatNumbers());
+        }
+    }
+
     /**
      * Gets all reservations for a specific customer.
      * 
@@ -95,9 +788,105 @@ public class FlightService {
      * @return a list of reservations for the customer
      */
     public List<Reservation> getReservationsByCustomer(String customerName) {
-        return reservations.stream()
-                .filter(reservation -> reservation.getCustomerName().equalsIgnoreCase(customerName))
-                .collect(Collectors.toList());
+        int customerId = customers.idOf(customerName);
+        // Every stored reservation's customer is registered, so an unknown name has none
+        return customerId < 0 ? new ArrayList<>() : reservations.findByCustomerId(customerId, customerName);
+    }
+
+    /**
+     * Gets all reservations for a customer, including those on flights that have been
+     * archived. Archived reservations come first and are read from disk, so this is
+     * much slower than {@link #getReservationsByCustomer(String)}.
+     * 
+     * @param customerName the name of the customer
+     * @return archived reservations followed by current ones
+     */
+    public List<Reservation> getReservationHistory(String customerName) {
+        List<Reservation> history = new ArrayList<>();
+        FlightArchive archive = flightArchive;
+        if (archive != null) {
+            history.addAll(archive.findReservationsByCustomer(customerName));
+        }
+        history.addAll(getReservationsByCustomer(customerName));
+        return history;
+    }
+
+    /**
+     * Moves flights that departed before the cutoff, and their reservations, out of the
+     * stores and into the archive. If writing the archive fails, nothing is removed.
+     * <p>
+     * From the start, new bookings on those flights are refused. A booking that got past
+     * that check but is recorded after the reservations were read is archived on its own
+     * once this returns, so none is left behind in the store or dropped.
+     * 
+     * @param cutoff flights departing before this time are archived
+     * @return the number of flights archived
+     */
+    public synchronized int archiveDepartedFlights(LocalDateTime cutoff) {
+        List<Flight> departed = flights.findDepartedBefore(cutoff);
+        if (departed.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime previousCutoff = archivedBefore;
+        if (previousCutoff == null || cutoff.isAfter(previousCutoff)) {
+            archivedBefore = cutoff;
+        }
+        Map<Flight, List<Reservation>> reservationsByFlight = new HashMap<>();
+        List<Reservation> departedReservations = new ArrayList<>();
+        for (Flight flight : departed) {
+            List<Reservation> flightReservations = reservations.findByFlight(flight);
+            reservationsByFlight.put(flight, flightReservations);
+            departedReservations.addAll(flightReservations);
+        }
+
+        FlightArchive archive = flightArchive;
+        if (archive != null) {
+            try {
+                archive.write(departed, departedReservations);
+            } catch (RuntimeException e) {
+                archivedBefore = previousCutoff;
+                throw e;
+            }
+        }
+        for (Flight flight : departed) {
+            // Only what was archived; a late booking stays for archiveLateReservation
+            for (Reservation reservation : reservationsByFlight.get(flight)) {
+                reservations.remove(reservation);
+            }
+            flights.remove(flight);
+            destinationIndex.remove(flight.getDestination());
+            routeIndex.remove(flight);
+            pricingEngine.remove(flight);
+            waitlist.clear(flight.getFlightNumber());
+            bookingAggregates.removeFlight(flight, reservationsByFlight.get(flight));
+            snapshot.record(current -> current.withoutFlight(flight));
+        }
+        flightCount.addAndGet(-departed.size());
+        reservationCount.addAndGet(-departedReservations.size());
+        markModified();
+        return departed.size();
+    }
+
+    private boolean isArchived(Flight flight) {
+        LocalDateTime cutoff = archivedBefore;
+        return cutoff != null && flight.getDepartureTime().isBefore(cutoff);
+    }
+
+    /**
+     * Archives a reservation recorded on a flight while the flight was being archived.
+     * Waits for the archiving to finish, then moves the reservation over unless the
+     * archiving already took it.
+     */
+    private synchronized void archiveLateReservation(Reservation reservation) {
+        if (!reservations.remove(reservation)) {
+            return;
+        }
+        FlightArchive archive = flightArchive;
+        if (archive != null) {
+            archive.write(List.of(reservation.getFlight()), List.of(reservation));
+        }
+        reservationCount.decrementAndGet();
+        snapshot.record(current -> current.withoutReservation(reservation));
     }
 
     /**
@@ -109,7 +898,213 @@ public class FlightService {
         if (flight == null) {
             throw new IllegalArgumentException("Flight cannot be null");
         }
-        flights.add(flight);
+        if (flightCount.incrementAndGet() > maxFlights) {
+            flightCount.decrementAndGet();
+            throw new IllegalArgumentException("Flight limit of " + maxFlights + " reached");
+        }
+        flight.setSeatCounter(seatStore.bind(flight));
+        // Into the snapshot first, so no booking on it is recorded before its seat count,
+        // which is read now since the change may be applied after bookings
+        int availableSeats = flight.getAvailableSeats();
+        snapshot.record(current -> current.withFlight(flight, availableSeats));
+        try {
+            flights.add(flight);
+        } catch (RuntimeException e) {
+            snapshot.record(current -> current.withoutFlight(flight));
+            flightCount.decrementAndGet();
+            throw e;
+        }
+        pricingEngine.register(flight, flight.getAvailableSeats());
+        bookingAggregates.addFlight(flight, flight.getAvailableSeats());
+        destinationIndex.add(flight.getDestination());
+        routeIndex.add(flight);
+        markModified();
+        publish(FlightAddedEvent.of(flight));
+    }
+
+    /**
+     * Suggests destinations for a partially typed name. Matches on the start of any
+     * word in the destination, falling back to fuzzy matches for typos.
+     * 
+     * @param query what the user has typed so far
+     * @param limit the maximum number of suggestions
+     * @return suggested destinations, best matches first
+     */
+    public List<String> suggestDestinations(String query, int limit) {
+        try (Span span = tracer.startSpan("DestinationIndex.suggest")) {
+            List<String> suggestions = destinationIndex.suggest(query, limit);
+            span.setAttribute("results", suggestions.size());
+            return suggestions;
+        }
+    }
+
+    /**
+     * Gets the current price of one seat on a flight, which rises as the flight fills
+     * up and as departure gets closer.
+     * 
+     * @param flight the flight
+     * @return the fare per seat
+     */
+    public BigDecimal getFare(Flight flight) {
+        return pricingEngine.quote(flight);
+    }
+
+    /**
+     * Changes a flight's base fare. Change fares through here rather than on the pricing
+     * engine, so the catalog version moves and cached search results are refreshed.
+     * 
+     * @param flight the flight
+     * @param baseFare the fare on an empty flight a month or more before departure
+     */
+    public void setBaseFare(Flight flight, BigDecimal baseFare) {
+        pricingEngine.setBaseFare(flight, baseFare);
+        markModified();
+    }
+
+    /**
+     * Prices a list of flights, e.g. search results.
+     * 
+     * @param flights the flights
+     * @return the fare per seat of each flight, in the order given
+     */
+    public Map<Flight, BigDecimal> getFares(List<Flight> flights) {
+        try (Span span = tracer.startSpan("PricingEngine.quote")) {
+            Map<Flight, BigDecimal> fares = new LinkedHashMap<>();
+            for (Flight flight : flights) {
+                fares.put(flight, pricingEngine.quote(flight));
+            }
+            span.setAttribute("flights", fares.size());
+            return fares;
+        }
+    }
+
+    /**
+     * Finds direct and connecting itineraries between two cities, earliest arrival first.
+     * Only flights with an origin and arrival time are considered, and every leg must
+     * have seats left.
+     * 
+     * @param origin the departure city
+     * @param destination the arrival city
+     * @param earliestDeparture the earliest time the first flight may depart
+     * @param maxStops the maximum number of connections, at most {@value RouteIndex#MAX_STOPS}
+     * @param limit the maximum number of itineraries
+     * @return the itineraries that arrive first
+     */
+    public List<Itinerary> searchItineraries(String origin, String destination, LocalDateTime earliestDeparture,
+                                             int maxStops, int limit) {
+        try (Span span = tracer.startSpan("RouteIndex.search")) {
+            List<Itinerary> itineraries = routeIndex.search(origin, destination, earliestDeparture, maxStops, limit);
+            span.setAttribute("results", itineraries.size());
+            return itineraries;
+        }
+    }
+
+    /**
+     * Finds a flight by its flight number, ignoring case.
+     * 
+     * @param flightNumber the flight number
+     * @return the flight, or null if no flight has that number
+     */
+    public Flight findFlight(String flightNumber) {
+        try (Span span = tracer.startSpan("FlightService.findFlight")) {
+            span.setAttribute("flight", flightNumber);
+            return flights.findByNumber(flightNumber);
+        }
+    }
+
+    /**
+     * Gets the number of flights held, for comparing against the flight limit.
+     */
+    public int getFlightCount() {
+        return flightCount.get();
+    }
+
+    /**
+     * Gets the number of reservations held, for comparing against the reservation limit.
+     */
+    public int getReservationCount() {
+        return reservationCount.get();
+    }
+
+    /**
+     * Gets the running booking totals that reports are answered from, without scanning
+     * the reservations.
+     *
+     * @return the booking aggregates
+     */
+    public BookingAggregates getBookingAggregates() {
+        return bookingAggregates;
+    }
+
+    /**
+     * Gets a point-in-time view of all flights and reservations. Holding or iterating it
+     * never blocks bookings, and it does not change as bookings go on, so long reports
+     * and exports should read from it rather than from {@link #getAllReservations()}.
+     *
+     * @return the latest snapshot
+     */
+    public CatalogSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Gets a version number that changes whenever a flight is added, seats are booked or
+     * a base fare is changed, so callers can tell whether search results may have changed.
+     * Fares also move by themselves as departure nears, which this does not track.
+     * 
+     * @return the current catalog version
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Gets the time of the last change to flights or seat counts.
+     * 
+     * @return the last modification time in epoch milliseconds
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Gets a validator for the results of a search for flights departing on a day. It
+     * changes with the catalog version and whenever the fares of that day's flights may
+     * have moved to a new time tier, so it can be checked before searching.
+     * 
+     * @param date the departure day searched
+     * @return the validator
+     */
+    public String getSearchVersion(LocalDate date) {
+        return catalogVersion.get() + "-" + Long.toHexString(pricingEngine.tierChangedAt(date));
+    }
+
+    /**
+     * Gets the time of the last change to flights, seat counts or the fares of flights
+     * departing on a day.
+     * 
+     * @param date the departure day searched
+     * @return the last modification time in epoch milliseconds
+     */
+    public long getLastModified(LocalDate date) {
+        return Math.max(lastModified, pricingEngine.tierChangedAt(date));
+    }
+
+    /**
+     * Publishes an event about a change that is already made. A publisher that fails,
+     * such as a journal that cannot be written, is logged rather than undoing the change.
+     */
+    private void publish(DomainEvent event) {
+        try {
+            eventPublisher.publish(event);
+        } catch (RuntimeException e) {
+            log.error("Could not publish {}", event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private void markModified() {
+        lastModified = System.currentTimeMillis();
+        catalogVersion.incrementAndGet();
     }
 
     /**
@@ -118,7 +1113,7 @@ public class FlightService {
      * @return a list of all flights
      */
     public List<Flight> getAllFlights() {
-        return new ArrayList<>(flights);
+        return flights.findAll();
     }
 
     /**
@@ -127,7 +1122,7 @@ public class FlightService {
      * @return a list of all reservations
      */
     public List<Reservation> getAllReservations() {
-        return new ArrayList<>(reservations);
+        return reservations.findAll();
     }
 }
 
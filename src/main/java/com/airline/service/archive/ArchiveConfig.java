@@ -0,0 +1,77 @@
+package com.airline.service.archive;
+
+import com.airline.service.FlightService;
+import com.airline.service.tenant.Tenant;
+import com.airline.service.tenant.TenantRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+
+/**
+ * Spring configuration for archiving departed flights on a schedule. Never lazy, since
+ * a lazily created bean would never have its schedule registered.
+ */
+@Configuration
+@Lazy(false)
+@EnableScheduling
+public class ArchiveConfig {
+
+    @Value("${flight.archive.grace-minutes:60}")
+    private long graceMinutes;
+
+    @Value("${flight.archive.dir:flight-archive}")
+    private String archiveDir;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private ObjectProvider<TenantRegistry> tenantRegistry;
+
+    /**
+     * Static so the archive can be created without this configuration, which itself
+     * needs the {@link FlightService} that the archive is injected into.
+     */
+    @Bean
+    public static FlightArchive flightArchive(@Value("${flight.archive.dir:flight-archive}") String archiveDir)
+            throws IOException {
+        return new FlightArchive(Paths.get(archiveDir));
+    }
+
+    /**
+     * Opens an archive for a tenant's flight service, in a directory of its own.
+     *
+     * @param tenantId the tenant id
+     * @return the tenant's archive
+     * @throws IOException if the directory cannot be created
+     */
+    public FlightArchive newFlightArchive(String tenantId) throws IOException {
+        return new FlightArchive(TenantRegistry.pathFor(archiveDir, tenantId));
+    }
+
+    /**
+     * Archives flights that departed more than the grace period ago, for every tenant.
+     */
+    @Scheduled(fixedDelayString = "${flight.archive.interval-ms:900000}",
+            initialDelayString = "${flight.archive.interval-ms:900000}")
+    public void archiveDepartedFlights() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        TenantRegistry registry = tenantRegistry.getIfAvailable();
+        if (registry == null) {
+            flightService.archiveDepartedFlights(cutoff);
+            return;
+        }
+        for (Tenant tenant : registry.getTenants()) {
+            tenant.getFlightService().archiveDepartedFlights(cutoff);
+        }
+    }
+}
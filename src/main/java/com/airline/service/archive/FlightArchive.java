@@ -0,0 +1,224 @@
+package com.airline.service.archive;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.customer.CustomerRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressed on-disk archive for departed flights and their reservations.
+ * <p>
+ * Each compaction run writes one gzip segment file holding the flights it removed and
+ * the reservations that referenced them. Segments are written to a temporary file and
+ * moved into place, so a reader never sees a half-written segment. Lookups scan every
+ * segment, which is far slower than the in-memory lists but fine for history queries.
+ * Archived flights keep their number, route, departure and arrival times and seat
+ * counts, and reservations keep the fare paid; fare buckets and seat maps are not kept.
+ * Segments written before origins, arrival times and fares were kept (version 1) are
+ * still read, without them.
+ */
+public class FlightArchive {
+    private static final int MAGIC = 0x41524348; // "ARCH"
+    private static final int VERSION = 2;
+    private static final String SEGMENT_GLOB = "segment-*.gz";
+
+    private final Path directory;
+    private int segmentCounter;
+
+    /**
+     * Opens an archive in the given directory, creating it if needed.
+     * 
+     * @param directory directory holding the segment files
+     * @throws IOException if the directory cannot be created
+     */
+    public FlightArchive(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Writes flights and their reservations as a new segment.
+     * 
+     * @param flights the flights to archive
+     * @param reservations reservations on those flights
+     */
+    public synchronized void write(List<Flight> flights, List<Reservation> reservations) {
+        if (flights.isEmpty()) {
+            return;
+        }
+        String name = String.format("segment-%013d-%04d.gz", System.currentTimeMillis(), segmentCounter++ % 10000);
+        Path temp = directory.resolve(name + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(flights.size());
+            for (Flight flight : flights) {
+                out.writeUTF(flight.getFlightNumber());
+                out.writeUTF(flight.getDestination());
+                out.writeUTF(flight.getDepartureTime().toString());
+                out.writeInt(flight.getAvailableSeats());
+                out.writeInt(flight.getOverbookingAllowance());
+                writeOptional(out, flight.getOrigin());
+                writeOptional(out, flight.getArrivalTime() == null ? null : flight.getArrivalTime().toString());
+            }
+            out.writeInt(reservations.size());
+            for (Reservation reservation : reservations) {
+                out.writeUTF(reservation.getCustomerName());
+                out.writeUTF(reservation.getFlight().getFlightNumber());
+                out.writeInt(reservation.getSeatsBooked());
+                writeOptional(out, reservation.getFareClass());
+                out.writeUTF(String.join(",", reservation.getSeatNumbers()));
+                writeOptional(out, reservation.getTotalFare() == null ? null : reservation.getTotalFare().toPlainString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive segment " + name, e);
+        }
+        try {
+            Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish archive segment " + name, e);
+        }
+    }
+
+    /**
+     * Finds archived reservations for a customer, matching names the way
+     * {@link CustomerRegistry} does.
+     * 
+     * @param customerName the name of the customer
+     * @return the archived reservations, oldest segment first
+     */
+    public List<Reservation> findReservationsByCustomer(String customerName) {
+        List<Reservation> found = new ArrayList<>();
+        if (customerName == null) {
+            return found;
+        }
+        String key = CustomerRegistry.normalize(customerName);
+        for (Path segment : segments()) {
+            found.addAll(read(segment, r -> CustomerRegistry.normalize(r.getCustomerName()).equals(key)).reservations);
+        }
+        return found;
+    }
+
+    /**
+     * Finds an archived flight by its flight number, ignoring case.
+     * 
+     * @param flightNumber the flight number
+     * @return the most recently archived flight with that number, or null if none
+     */
+    public Flight findFlight(String flightNumber) {
+        Flight found = null;
+        for (Path segment : segments()) {
+            for (Flight flight : read(segment, r -> false).flights) {
+                if (flight.getFlightNumber().equalsIgnoreCase(flightNumber)) {
+                    found = flight;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gets the number of segment files in the archive.
+     */
+    public int getSegmentCount() {
+        return segments().size();
+    }
+
+    private List<Path> segments() {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_GLOB)) {
+            stream.forEach(segments::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list archive segments", e);
+        }
+        // Names start with a zero-padded timestamp, so this is oldest first
+        segments.sort(null);
+        return segments;
+    }
+
+    private static Segment read(Path file, Predicate<Reservation> filter) {
+        Segment segment = new Segment();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            int version = in.readInt() == MAGIC ? in.readInt() : 0;
+            if (version < 1 || version > VERSION) {
+                throw new IllegalStateException("Not an archive segment: " + file);
+            }
+            Map<String, Flight> byNumber = new HashMap<>();
+            int flightCount = in.readInt();
+            for (int i = 0; i < flightCount; i++) {
+                String flightNumber = in.readUTF();
+                String destination = in.readUTF();
+                LocalDateTime departureTime = LocalDateTime.parse(in.readUTF());
+                int availableSeats = in.readInt();
+                int overbookingAllowance = in.readInt();
+                String origin = version >= 2 ? readOptional(in) : null;
+                String arrivalTime = version >= 2 ? readOptional(in) : null;
+                Flight flight = new Flight(flightNumber, origin, destination, departureTime,
+                        arrivalTime == null ? null : LocalDateTime.parse(arrivalTime), availableSeats);
+                flight.setOverbookingAllowance(overbookingAllowance);
+                byNumber.put(flight.getFlightNumber(), flight);
+                segment.flights.add(flight);
+            }
+            int reservationCount = in.readInt();
+            for (int i = 0; i < reservationCount; i++) {
+                String customerName = in.readUTF();
+                Flight flight = byNumber.get(in.readUTF());
+                int seats = in.readInt();
+                String fareClass = readOptional(in);
+                String seatNumbers = in.readUTF();
+                String totalFare = version >= 2 ? readOptional(in) : null;
+                Reservation reservation = new Reservation(customerName, flight, seats, fareClass);
+                if (!seatNumbers.isEmpty()) {
+                    reservation.setSeatNumbers(Arrays.asList(seatNumbers.split(",")));
+                }
+                if (totalFare != null) {
+                    reservation.setTotalFare(new BigDecimal(totalFare));
+                }
+                if (filter.test(reservation)) {
+                    segment.reservations.add(reservation);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + file, e);
+        }
+        return segment;
+    }
+
+    private static void writeOptional(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static final class Segment {
+        final List<Flight> flights = new ArrayList<>();
+        final List<Reservation> reservations = new ArrayList<>();
+    }
+}
@@ -0,0 +1,73 @@
+package com.airline.service.customer;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives each customer a small integer id, so reservations can be matched to customers
+ * by comparing ints rather than comparing names ignoring case, and keeps one copy of
+ * each spelling of a name for all of a customer's reservations to share.
+ *
+ * <p>Names are matched after trimming and lower-casing, so "John Doe" and " JOHN DOE"
+ * are the same customer, while each keeps the spelling it was booked under. Customers
+ * are never removed; a customer who comes back keeps their id.
+ */
+public class CustomerRegistry {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<String, String> spellings = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Gets a customer's id, giving them one if they are new.
+     *
+     * @param customerName the name of the customer
+     * @return the customer id, 0 or more
+     */
+    public int register(String customerName) {
+        return ids.computeIfAbsent(normalize(customerName), key -> nextId.getAndIncrement());
+    }
+
+    /**
+     * Gets a customer's id without registering them.
+     *
+     * @param customerName the name of the customer, ignoring case
+     * @return the customer id, or -1 if no customer has that name
+     */
+    public int idOf(String customerName) {
+        if (customerName == null) {
+            return -1;
+        }
+        Integer id = ids.get(normalize(customerName));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the shared copy of a name, exactly as spelled.
+     *
+     * @param customerName the name of the customer
+     * @return an equal string, the same instance for every call with that spelling
+     */
+    public String intern(String customerName) {
+        String shared = spellings.putIfAbsent(customerName, customerName);
+        return shared == null ? customerName : shared;
+    }
+
+    /**
+     * Gets the number of customers registered.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Gets the form of a name that customers are matched by: trimmed and lower-cased.
+     *
+     * @param customerName the name of the customer
+     * @return the name as it is matched
+     */
+    public static String normalize(String customerName) {
+        return customerName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,34 @@
+package com.airline.service.diagnostics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Spring configuration for heap and garbage collection diagnostics.
+ */
+@Configuration
+public class DiagnosticsConfig {
+
+    @Value("${flight.diagnostics.sample-size:1000}")
+    private int sampleSize;
+
+    @Value("${flight.diagnostics.retained-gc-events:50}")
+    private int retainedGcEvents;
+
+    @Bean
+    public FootprintEstimator footprintEstimator() {
+        return new FootprintEstimator(ObjectLayout.detect(), sampleSize);
+    }
+
+    /**
+     * Never lazy: the monitor only sees collections after it is created, so created on the
+     * first diagnostics request it would miss everything since startup.
+     */
+    @Bean(destroyMethod = "close")
+    @Lazy(false)
+    public GcMonitor gcMonitor() {
+        return new GcMonitor(retainedGcEvents);
+    }
+}
@@ -0,0 +1,48 @@
+package com.airline.service.diagnostics;
+
+/**
+ * The estimated heap taken by one structure, or by all objects of one kind.
+ */
+public class Footprint {
+    private final String name;
+    private final long objects;
+    private final long bytes;
+
+    public Footprint(String name, long objects, long bytes) {
+        this.name = name;
+        this.objects = objects;
+        this.bytes = bytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the estimated number of objects, or for flights and reservations the number
+     * of flights or reservations.
+     */
+    public long getObjects() {
+        return objects;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the average bytes per object, or 0 when there are none.
+     */
+    public long getBytesPerObject() {
+        return objects == 0 ? 0 : bytes / objects;
+    }
+
+    @Override
+    public String toString() {
+        return "Footprint{" +
+                "name='" + name + '\'' +
+                ", objects=" + objects +
+                ", bytes=" + bytes +
+                '}';
+    }
+}
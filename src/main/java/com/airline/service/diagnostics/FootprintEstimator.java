@@ -0,0 +1,121 @@
+package com.airline.service.diagnostics;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import com.airline.service.snapshot.CatalogSnapshot;
+import com.airline.service.snapshot.FlightState;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Estimates how much heap a {@link FlightService} holds, for sizing heaps before the
+ * catalog grows.
+ *
+ * <p>Flights and reservations are measured on their own: a sample of each is measured
+ * and the average scaled to the number held, so the cost of one more reservation can
+ * be read off directly. Every other field of the service is then measured as a
+ * structure (stores, indexes, caches, the snapshot), counting only what it adds on top
+ * of the flights and reservations it refers to. Objects shared by two structures are
+ * counted with the first.
+ *
+ * <p>Data kept outside the heap, such as the embedded database or memory-mapped seat
+ * counts, is not counted.
+ */
+public class FootprintEstimator {
+    private final ObjectLayout layout;
+    private final int sampleSize;
+
+    /**
+     * Creates an estimator.
+     *
+     * @param layout the object layout of the JVM
+     * @param sampleSize how many flights, reservations and collection elements to
+     *                   measure before scaling up
+     */
+    public FootprintEstimator(ObjectLayout layout, int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be greater than zero");
+        }
+        this.layout = layout;
+        this.sampleSize = sampleSize;
+    }
+
+    public ObjectLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Estimates the heap held by a flight service.
+     *
+     * @param flightService the service
+     * @return "Flight" and "Reservation" first, then one entry per field of the service,
+     *         largest first
+     */
+    public List<Footprint> estimate(FlightService flightService) {
+        CatalogSnapshot snapshot = flightService.getSnapshot();
+        List<Footprint> footprints = new ArrayList<>();
+
+        List<Object> flights = new ArrayList<>();
+        for (FlightState state : snapshot.getFlights()) {
+            if (flights.size() == sampleSize) {
+                break;
+            }
+            flights.add(state.getFlight());
+        }
+        footprints.add(measureEach("Flight", flights, snapshot.getFlightCount(),
+                Collections.singletonList(Reservation.class)));
+
+        List<Object> reservations = new ArrayList<>();
+        for (Reservation reservation : snapshot.getReservations()) {
+            if (reservations.size() == sampleSize) {
+                break;
+            }
+            reservations.add(reservation);
+        }
+        footprints.add(measureEach("Reservation", reservations, snapshot.getReservationCount(),
+                Collections.singletonList(Flight.class)));
+
+        HeapWalker walker = new HeapWalker(layout, Arrays.asList(Flight.class, Reservation.class, FlightService.class),
+                sampleSize);
+        List<Footprint> structures = new ArrayList<>();
+        for (Field field : FlightService.class.getDeclaredFields()) {
+            // Counters and settings are not structures worth sizing
+            if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()
+                    || Number.class.isAssignableFrom(field.getType())) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                HeapWalker.Estimate estimate = walker.measure(field.get(flightService));
+                structures.add(new Footprint(field.getName(), estimate.objects, estimate.bytes));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                structures.add(new Footprint(field.getName(), 0, 0));
+            }
+        }
+        structures.sort(Comparator.comparingLong(Footprint::getBytes).reversed());
+        footprints.addAll(structures);
+        return footprints;
+    }
+
+    /**
+     * Measures a sample of objects of one kind and scales the average to the number held.
+     */
+    private Footprint measureEach(String name, List<Object> sample, int count, List<Class<?>> leafClasses) {
+        if (sample.isEmpty()) {
+            return new Footprint(name, count, 0);
+        }
+        HeapWalker walker = new HeapWalker(layout, leafClasses, sampleSize);
+        long sampleBytes = 0;
+        for (Object object : sample) {
+            sampleBytes += walker.measure(object).bytes;
+        }
+        return new Footprint(name, count, Math.round((double) sampleBytes / sample.size() * count));
+    }
+}
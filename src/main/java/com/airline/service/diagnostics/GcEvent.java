@@ -0,0 +1,78 @@
+package com.airline.service.diagnostics;
+
+/**
+ * One garbage collection, as reported by the JVM when it ends.
+ */
+public class GcEvent {
+    private final String collector;
+    private final String action;
+    private final String cause;
+    private final long startMillis;
+    private final long durationMillis;
+    private final long usedBeforeBytes;
+    private final long usedAfterBytes;
+
+    public GcEvent(String collector, String action, String cause, long startMillis, long durationMillis,
+                   long usedBeforeBytes, long usedAfterBytes) {
+        this.collector = collector;
+        this.action = action;
+        this.cause = cause;
+        this.startMillis = startMillis;
+        this.durationMillis = durationMillis;
+        this.usedBeforeBytes = usedBeforeBytes;
+        this.usedAfterBytes = usedAfterBytes;
+    }
+
+    /**
+     * Gets the collector's name, e.g. "G1 Young Generation".
+     */
+    public String getCollector() {
+        return collector;
+    }
+
+    /**
+     * Gets what was collected, e.g. "end of minor GC".
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Gets why the collection ran, e.g. "G1 Evacuation Pause".
+     */
+    public String getCause() {
+        return cause;
+    }
+
+    /**
+     * Gets when the collection started, in milliseconds since the JVM started.
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Gets how long the collection took. For collectors that work alongside the
+     * application this is longer than the time the application was paused.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getUsedBeforeBytes() {
+        return usedBeforeBytes;
+    }
+
+    public long getUsedAfterBytes() {
+        return usedAfterBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "GcEvent{" +
+                "collector='" + collector + '\'' +
+                ", cause='" + cause + '\'' +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,171 @@
+package com.airline.service.diagnostics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import com.sun.management.ThreadMXBean;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.Closeable;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Follows garbage collections and allocation as the application runs.
+ *
+ * <p>Collections are reported by the JVM's collector beans as they end, and the most
+ * recent are kept. The allocation rate is the growth in bytes allocated by all live
+ * threads since the previous reading, so allocation by threads that have since ended is
+ * not counted.
+ */
+public class GcMonitor implements Closeable {
+    private final int retainedEvents;
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener listener = this::onNotification;
+    private final Deque<GcEvent> recent = new ArrayDeque<>();
+    private final AtomicLong collections = new AtomicLong();
+    private final AtomicLong totalDurationMillis = new AtomicLong();
+    private final LongAccumulator maxDurationMillis = new LongAccumulator(Math::max, 0);
+    private final ThreadMXBean threads;
+    private long lastAllocatedBytes;
+    private long lastSampleNanos;
+
+    /**
+     * Starts following collections.
+     *
+     * @param retainedEvents how many recent collections are kept
+     */
+    public GcMonitor(int retainedEvents) {
+        if (retainedEvents <= 0) {
+            throw new IllegalArgumentException("Retained events must be greater than zero");
+        }
+        this.retainedEvents = retainedEvents;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(listener, null, null);
+                emitters.add(emitter);
+            }
+        }
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof ThreadMXBean && ((ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            threads = (ThreadMXBean) threadBean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threads = null;
+        }
+        lastAllocatedBytes = getAllocatedBytes();
+        lastSampleNanos = System.nanoTime();
+    }
+
+    private void onNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gc = info.getGcInfo();
+        GcEvent event = new GcEvent(info.getGcName(), info.getGcAction(), info.getGcCause(), gc.getStartTime(),
+                gc.getDuration(), used(gc.getMemoryUsageBeforeGc()), used(gc.getMemoryUsageAfterGc()));
+        collections.incrementAndGet();
+        totalDurationMillis.addAndGet(event.getDurationMillis());
+        maxDurationMillis.accumulate(event.getDurationMillis());
+        synchronized (recent) {
+            if (recent.size() == retainedEvents) {
+                recent.removeFirst();
+            }
+            recent.addLast(event);
+        }
+    }
+
+    private static long used(Map<String, MemoryUsage> pools) {
+        long used = 0;
+        for (MemoryUsage usage : pools.values()) {
+            used += usage.getUsed();
+        }
+        return used;
+    }
+
+    /**
+     * Gets the number of collections seen since the monitor started.
+     */
+    public long getCollections() {
+        return collections.get();
+    }
+
+    public long getTotalDurationMillis() {
+        return totalDurationMillis.get();
+    }
+
+    public long getMaxDurationMillis() {
+        return maxDurationMillis.get();
+    }
+
+    /**
+     * Gets the most recent collections, oldest first.
+     */
+    public List<GcEvent> getRecentEvents() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    /**
+     * Gets the bytes allocated so far by all live threads, or -1 if the JVM does not
+     * track allocation per thread.
+     */
+    public long getAllocatedBytes() {
+        if (threads == null) {
+            return -1;
+        }
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the allocation rate since the previous call, or since the monitor started.
+     *
+     * @return bytes allocated per second, or -1 if the JVM does not track allocation
+     */
+    public synchronized long sampleAllocationRate() {
+        long allocated = getAllocatedBytes();
+        long now = System.nanoTime();
+        if (allocated < 0) {
+            return -1;
+        }
+        long elapsed = now - lastSampleNanos;
+        // Threads that ended take their counts with them, so the total can go down
+        long rate = elapsed <= 0 ? 0 : Math.max(0, Math.round((allocated - lastAllocatedBytes) * 1e9 / elapsed));
+        lastAllocatedBytes = allocated;
+        lastSampleNanos = now;
+        return rate;
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
+            }
+        }
+        emitters.clear();
+    }
+}
@@ -0,0 +1,232 @@
+package com.airline.service.diagnostics;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adds up the heap taken by object graphs. Objects are counted once, by the first graph
+ * that reaches them, so graphs measured one after the other split shared objects
+ * between them rather than counting them twice.
+ *
+ * <p>Application classes are followed field by field. JDK classes cannot be opened on
+ * newer JVMs, so strings, arrays, collections and maps are measured from a model of
+ * their usual layout, atomic references are followed, and other JDK objects count only
+ * their own fields. Objects of the
+ * leaf classes are not counted at all, only the references to them. Large collections
+ * and arrays are measured from their first elements and scaled up to their size.
+ */
+class HeapWalker {
+    private static final String APPLICATION_PACKAGE = "com.airline.";
+
+    private final ObjectLayout layout;
+    private final List<Class<?>> leafClasses;
+    private final int sampleLimit;
+    private final Map<Object, Boolean> visited = new IdentityHashMap<>();
+    private final Map<Class<?>, List<Field>> fieldsByClass = new IdentityHashMap<>();
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    private double bytes;
+    private double objects;
+
+    HeapWalker(ObjectLayout layout, List<Class<?>> leafClasses, int sampleLimit) {
+        this.layout = layout;
+        this.leafClasses = leafClasses;
+        this.sampleLimit = sampleLimit;
+    }
+
+    /**
+     * Measures the objects reachable from a root that no earlier call has counted.
+     *
+     * @param root the root object
+     * @return the estimate for this graph
+     */
+    Estimate measure(Object root) {
+        bytes = 0;
+        objects = 0;
+        push(root, 1);
+        while (!pending.isEmpty()) {
+            Pending next = pending.pop();
+            visit(next.object, next.weight);
+        }
+        return new Estimate(Math.round(objects), Math.round(bytes));
+    }
+
+    private void push(Object object, double weight) {
+        if (object == null || visited.containsKey(object) || isLeaf(object)) {
+            return;
+        }
+        visited.put(object, Boolean.TRUE);
+        pending.push(new Pending(object, weight));
+    }
+
+    private boolean isLeaf(Object object) {
+        if (object instanceof Class || object instanceof Thread || object instanceof ClassLoader) {
+            return true;
+        }
+        for (Class<?> leaf : leafClasses) {
+            if (leaf.isInstance(object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void visit(Object object, double weight) {
+        objects += weight;
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(object);
+            bytes += weight * layout.arraySize(type.getComponentType(), length);
+            if (!type.getComponentType().isPrimitive()) {
+                List<Object> elements = new ArrayList<>();
+                for (int i = 0; i < length && elements.size() < sampleLimit; i++) {
+                    elements.add(Array.get(object, i));
+                }
+                pushSample(elements, length, weight);
+            }
+        } else if (object instanceof String) {
+            bytes += weight * layout.stringSize((String) object);
+        } else if (object instanceof Map) {
+            visitMap((Map<?, ?>) object, weight);
+        } else if (object instanceof Collection) {
+            visitCollection((Collection<?>) object, weight);
+        } else if (object instanceof AtomicReference) {
+            bytes += weight * layout.instanceSize(type);
+            push(((AtomicReference<?>) object).get(), weight);
+        } else if (type.getName().startsWith(APPLICATION_PACKAGE)) {
+            bytes += weight * layout.instanceSize(type);
+            for (Field field : fieldsOf(type)) {
+                try {
+                    push(field.get(object), weight);
+                } catch (IllegalAccessException e) {
+                    // Not opened to us; count the reference only
+                }
+            }
+        } else {
+            bytes += weight * layout.instanceSize(type);
+            if (object instanceof LocalDateTime) {
+                // A LocalDateTime holds a LocalDate and a LocalTime, not shared with others
+                bytes += weight * (layout.objectSize(0, 8) + layout.objectSize(0, 7));
+                objects += 2 * weight;
+            }
+        }
+    }
+
+    private void visitMap(Map<?, ?> map, double weight) {
+        List<Object> sample = new ArrayList<>();
+        int size;
+        try {
+            size = map.size();
+            Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+            while (entries.hasNext() && sample.size() < 2 * sampleLimit) {
+                Map.Entry<?, ?> entry = entries.next();
+                sample.add(entry.getKey());
+                sample.add(entry.getValue());
+            }
+        } catch (RuntimeException e) {
+            // Changed while iterating; count what was seen
+            size = sample.size() / 2;
+        }
+        bytes += weight * hashTableSize(size);
+        objects += weight * size;
+        pushSample(sample, 2L * size, weight);
+    }
+
+    private void visitCollection(Collection<?> collection, double weight) {
+        List<Object> sample = new ArrayList<>();
+        int size;
+        try {
+            size = collection.size();
+            Iterator<?> elements = collection.iterator();
+            while (elements.hasNext() && sample.size() < sampleLimit) {
+                sample.add(elements.next());
+            }
+        } catch (RuntimeException e) {
+            size = sample.size();
+        }
+        if (collection instanceof Set) {
+            // Hash sets are maps underneath
+            bytes += weight * hashTableSize(size);
+            objects += weight * size;
+        } else if (collection instanceof RandomAccess || collection instanceof ArrayDeque) {
+            bytes += weight * (layout.objectSize(2, 8) + layout.arraySize(Object.class, size));
+            objects += weight;
+        } else {
+            // Linked nodes, each with an item and one or two links
+            bytes += weight * (layout.objectSize(2, 0) + (double) size * layout.objectSize(3, 0));
+            objects += weight * (1 + size);
+        }
+        pushSample(sample, size, weight);
+    }
+
+    /**
+     * Gets the size of a hash map with its table and one node per entry.
+     */
+    private long hashTableSize(int size) {
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, (int) (size / 0.75f)) * 2 - 1));
+        return layout.objectSize(4, 16) + layout.arraySize(Object.class, capacity)
+                + (long) size * layout.objectSize(3, 4);
+    }
+
+    private void pushSample(List<Object> sample, long size, double weight) {
+        if (sample.isEmpty()) {
+            return;
+        }
+        double scaled = weight * Math.max(1, (double) size / sample.size());
+        for (Object element : sample) {
+            push(element, scaled);
+        }
+    }
+
+    private List<Field> fieldsOf(Class<?> type) {
+        List<Field> fields = fieldsByClass.get(type);
+        if (fields == null) {
+            fields = new ArrayList<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()
+                            && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            fieldsByClass.put(type, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * The objects and bytes found in one graph.
+     */
+    static final class Estimate {
+        final long objects;
+        final long bytes;
+
+        Estimate(long objects, long bytes) {
+            this.objects = objects;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Pending {
+        final Object object;
+        final double weight;
+
+        Pending(Object object, double weight) {
+            this.object = object;
+            this.weight = weight;
+        }
+    }
+}
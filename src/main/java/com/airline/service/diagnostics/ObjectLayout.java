@@ -0,0 +1,158 @@
+package com.airline.service.diagnostics;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * How much heap an object takes on a 64-bit HotSpot JVM: a header, its fields, and
+ * padding up to the object alignment. Field packing gaps are ignored, so sizes may be
+ * a few bytes low for classes that mix field widths.
+ */
+public final class ObjectLayout {
+    private final boolean compressedOops;
+    private final int referenceBytes;
+    private final int headerBytes;
+    private final int arrayHeaderBytes;
+    private final int alignment;
+    private final ClassValue<Long> instanceSizes = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = headerBytes;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldBytes(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        }
+    };
+
+    public ObjectLayout(boolean compressedOops, boolean compressedClassPointers, int alignment) {
+        if (alignment < 8 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("Object alignment must be a power of two of at least 8");
+        }
+        this.compressedOops = compressedOops;
+        this.referenceBytes = compressedOops ? 4 : 8;
+        this.headerBytes = compressedClassPointers ? 12 : 16;
+        this.arrayHeaderBytes = headerBytes + 4;
+        this.alignment = alignment;
+    }
+
+    /**
+     * Reads the layout of the running JVM, assuming compressed pointers and 8-byte
+     * alignment, the defaults for heaps under 32 GB, if the JVM does not say.
+     *
+     * @return the layout
+     */
+    public static ObjectLayout detect() {
+        boolean compressedOops = true;
+        boolean compressedClassPointers = true;
+        int alignment = 8;
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            if (hotSpot != null) {
+                compressedOops = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue());
+                compressedClassPointers =
+                        Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedClassPointers").getValue());
+                alignment = Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue());
+            }
+        } catch (RuntimeException e) {
+            // Not HotSpot, or the option is unknown; keep the defaults
+        }
+        return new ObjectLayout(compressedOops, compressedClassPointers, alignment);
+    }
+
+    public boolean isCompressedOops() {
+        return compressedOops;
+    }
+
+    public int getReferenceBytes() {
+        return referenceBytes;
+    }
+
+    public int getAlignment() {
+        return alignment;
+    }
+
+    /**
+     * Gets the size of an instance of a class, not counting the objects it refers to.
+     *
+     * @param type the class, not an array class
+     * @return the size in bytes
+     */
+    public long instanceSize(Class<?> type) {
+        return instanceSizes.get(type);
+    }
+
+    /**
+     * Gets the size of an object with the given fields, for classes that cannot be
+     * inspected.
+     *
+     * @param references the number of reference fields
+     * @param primitiveBytes the bytes taken by primitive fields
+     * @return the size in bytes
+     */
+    public long objectSize(int references, int primitiveBytes) {
+        return align((long) headerBytes + (long) references * referenceBytes + primitiveBytes);
+    }
+
+    /**
+     * Gets the size of an array.
+     *
+     * @param componentType the element type
+     * @param length the number of elements
+     * @return the size in bytes
+     */
+    public long arraySize(Class<?> componentType, long length) {
+        return align(arrayHeaderBytes + length * fieldBytes(componentType));
+    }
+
+    /**
+     * Gets the size of a string and its character array. Strings of Latin-1 characters
+     * take one byte per character.
+     *
+     * @param value the string
+     * @return the size in bytes
+     */
+    public long stringSize(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        return instanceSize(String.class) + arraySize(byte.class, latin1 ? value.length() : 2L * value.length());
+    }
+
+    long align(long size) {
+        return (size + alignment - 1) & -alignment;
+    }
+
+    private int fieldBytes(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return referenceBytes;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectLayout{" +
+                "compressedOops=" + compressedOops +
+                ", headerBytes=" + headerBytes +
+                ", alignment=" + alignment +
+                '}';
+    }
+}
@@ -0,0 +1,25 @@
+package com.airline.service.event;
+
+import java.time.Instant;
+
+/**
+ * Something that happened in the reservation system. Events carry copies of the
+ * values involved rather than live model objects, so subscribers running on other
+ * threads (or after a restart) see the state as it was when the event was raised.
+ */
+public abstract class DomainEvent {
+    private final Instant occurredAt;
+
+    protected DomainEvent(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    /**
+     * Gets the event's payload fields in a fixed order, used by the journal.
+     */
+    abstract String[] fields();
+}
@@ -0,0 +1,350 @@
+package com.airline.service.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process event bus that takes post-booking side effects off the request thread.
+ * <p>
+ * Every subscriber gets its own bounded queue and worker thread, and receives events
+ * in batches of up to {@code batchSize}.
+ * <p>
+ * Without a journal, delivery is best effort. When a queue is full the publisher waits
+ * up to {@code publishTimeoutMillis} for room, which slows bookings down instead of
+ * letting a slow subscriber grow memory without limit; an event that still finds the
+ * queue full, or a batch that keeps failing, is dropped and counted. With an
+ * {@link EventJournal}, events are written to disk before being queued, subscribers
+ * acknowledge by advancing their offset, and failed batches are retried until they
+ * succeed. A full queue then never holds up the publisher: the subscriber is marked as
+ * lagging and catches up from the journal.
+ * <p>
+ * Publishing holds the bus lock only to number the event. The journal write and the
+ * hand-off to each subscriber happen outside it; each subscription puts events back in
+ * sequence order before queueing them, so subscribers still see events in order. Waiting
+ * for queue room happens before that, so it never blocks other publishers.
+ */
+public class EventBus implements EventPublisher, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(EventBus.class);
+
+    private static final int MAX_ATTEMPTS_WITHOUT_JOURNAL = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long publishTimeoutMillis;
+    private final EventJournal journal;
+    private volatile Subscription[] subscriptions = new Subscription[0];
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * Creates a best-effort bus with no journal.
+     * 
+     * @param queueCapacity events buffered per subscriber
+     * @param batchSize largest batch handed to a subscriber
+     * @param publishTimeoutMillis how long a publisher waits for queue space
+     */
+    public EventBus(int queueCapacity, int batchSize, long publishTimeoutMillis) {
+        this(queueCapacity, batchSize, publishTimeoutMillis, null);
+    }
+
+    /**
+     * Creates a bus, delivering at least once when a journal is given.
+     * 
+     * @param queueCapacity events buffered per subscriber
+     * @param batchSize largest batch handed to a subscriber
+     * @param publishTimeoutMillis how long a publisher waits for queue space
+     * @param journal journal for at-least-once delivery, or null for best effort
+     */
+    public EventBus(int queueCapacity, int batchSize, long publishTimeoutMillis, EventJournal journal) {
+        if (queueCapacity <= 0 || batchSize <= 0 || publishTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.publishTimeoutMillis = publishTimeoutMillis;
+        this.journal = journal;
+    }
+
+    /**
+     * Registers a subscriber and starts its worker. With a journal, the subscriber first
+     * receives everything past its stored offset.
+     * 
+     * @param name unique subscriber name; also names its offset file
+     * @param subscriber the subscriber
+     */
+    public synchronized void subscribe(String name, EventSubscriber subscriber) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Subscriber name cannot be empty");
+        }
+        for (Subscription existing : subscriptions) {
+            if (existing.name.equals(name)) {
+                throw new IllegalArgumentException("Subscriber " + name + " is already registered");
+            }
+        }
+        Subscription subscription = new Subscription(name, subscriber);
+        if (journal != null) {
+            subscription.lastDelivered = journal.readOffset(name);
+            subscription.lagging = true;
+        }
+        // Events numbered before this point are not offered to the new subscription
+        subscription.nextSequence = (journal != null ? journal.getLastSequence() : sequence.get()) + 1;
+        Subscription[] updated = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        updated[subscriptions.length] = subscription;
+        subscriptions = updated;
+        subscription.worker.start();
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        if (!running) {
+            return;
+        }
+        long seq;
+        Subscription[] targets;
+        // Numbered together with reading the subscriptions, so every subscription that
+        // expects this number is offered it
+        synchronized (this) {
+            seq = journal != null ? journal.write(event) : sequence.incrementAndGet();
+            targets = subscriptions;
+        }
+        if (journal != null) {
+            try {
+                journal.flush(seq);
+            } catch (RuntimeException e) {
+                // Let later events past the gap
+                for (Subscription subscription : targets) {
+                    subscription.offer(new Delivery(seq, null));
+                }
+                throw e;
+            }
+        }
+        Delivery delivery = new Delivery(seq, event);
+        for (Subscription subscription : targets) {
+            subscription.offer(delivery);
+        }
+    }
+
+    /**
+     * Gets the number of events dropped by best-effort subscriptions.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting events, lets workers drain what is already queued, and closes
+     * the journal.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        for (Subscription subscription : subscriptions) {
+            try {
+                subscription.worker.join(MAX_BACKOFF_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private static final class Delivery {
+        final long sequence;
+        // Null for a number whose event was never published
+        final DomainEvent event;
+
+        Delivery(long sequence, DomainEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    private final class Subscription implements Runnable {
+        final String name;
+        final EventSubscriber subscriber;
+        final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final Thread worker;
+        // Deliveries that overtook an earlier one, held until it arrives; guarded by itself
+        final Map<Long, Delivery> early = new HashMap<>();
+        // Notified by the worker whenever it takes deliveries off the queue
+        final Object roomFreed = new Object();
+        long nextSequence;
+        // Only touched by the worker once started
+        long lastDelivered;
+        volatile boolean lagging;
+
+        Subscription(String name, EventSubscriber subscriber) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.worker = new Thread(this, "event-" + name);
+            this.worker.setDaemon(true);
+        }
+
+        /**
+         * Queues a delivery once every earlier one has been queued. Publishers of
+         * later events may get here first; whoever fills the gap queues them too.
+         */
+        void offer(Delivery delivery) {
+            if (journal == null && delivery.event != null) {
+                awaitRoom();
+            }
+            synchronized (early) {
+                if (delivery.sequence < nextSequence) {
+                    return;
+                }
+                early.put(delivery.sequence, delivery);
+                Delivery next;
+                while ((next = early.remove(nextSequence)) != null) {
+                    nextSequence++;
+                    if (next.event != null) {
+                        enqueue(next);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Waits up to the publish timeout for the queue to have room. Another publisher
+         * may still take the room first, in which case the event is dropped.
+         */
+        private void awaitRoom() {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+            synchronized (roomFreed) {
+                long left;
+                while (queue.remainingCapacity() == 0 && (left = deadline - System.nanoTime()) > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(roomFreed, left);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void enqueue(Delivery delivery) {
+            if (!queue.offer(delivery)) {
+                if (journal != null) {
+                    lagging = true;
+                } else {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Delivery> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty() || lagging) {
+                try {
+                    if (lagging) {
+                        lagging = false;
+                        if (!catchUp()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    Delivery first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    synchronized (roomFreed) {
+                        roomFreed.notifyAll();
+                    }
+                    if (lagging) {
+                        // An earlier event missed the queue; it and these are read back from the journal
+                        batch.clear();
+                        continue;
+                    }
+                    boolean delivered = deliver(batch);
+                    batch.clear();
+                    if (!delivered) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private boolean catchUp() throws InterruptedException {
+            List<Delivery> batch = new ArrayList<>(batchSize);
+            for (EventJournal.Entry entry : journal.readAfter(lastDelivered)) {
+                batch.add(new Delivery(entry.getSequence(), entry.getEvent()));
+                if (batch.size() == batchSize) {
+                    if (!deliver(batch)) {
+                        return false;
+                    }
+                    batch.clear();
+                }
+            }
+            return batch.isEmpty() || deliver(batch);
+        }
+
+        /**
+         * Hands a batch to the subscriber, retrying on failure.
+         * 
+         * @return false if the bus shut down before a journaled batch went through
+         */
+        private boolean deliver(List<Delivery> batch) throws InterruptedException {
+            List<DomainEvent> events = new ArrayList<>(batch.size());
+            long last = lastDelivered;
+            for (Delivery delivery : batch) {
+                // Skip anything already seen through a journal catch-up
+                if (delivery.sequence > last) {
+                    events.add(delivery.event);
+                    last = delivery.sequence;
+                }
+            }
+            if (events.isEmpty()) {
+                return true;
+            }
+            long backoff = INITIAL_BACKOFF_MILLIS;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    subscriber.onEvents(events);
+                    break;
+                } catch (Exception e) {
+                    if (journal == null && attempt >= MAX_ATTEMPTS_WITHOUT_JOURNAL) {
+                        log.warn("Subscriber {} failed {} times, dropping {} events", name, attempt, events.size(), e);
+                        dropped.addAndGet(events.size());
+                        break;
+                    }
+                    if (journal != null && !running) {
+                        // Left for replay after restart
+                        return false;
+                    }
+                    log.debug("Subscriber {} failed, retrying in {} ms", name, backoff, e);
+                    Thread.sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                }
+            }
+            lastDelivered = last;
+            if (journal != null) {
+                journal.writeOffset(name, last);
+            }
+            return true;
+        }
+    }
+}
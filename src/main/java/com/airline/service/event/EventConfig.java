@@ -0,0 +1,50 @@
+package com.airline.service.event;
+
+import com.airline.service.tenant.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Spring configuration for the domain event bus. Setting
+ * {@code flight.events.journal-dir} switches on at-least-once delivery.
+ */
+@Configuration
+public class EventConfig {
+
+    @Value("${flight.events.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${flight.events.batch-size:64}")
+    private int batchSize;
+
+    @Value("${flight.events.publish-timeout-ms:50}")
+    private long publishTimeoutMillis;
+
+    @Value("${flight.events.journal-dir:}")
+    private String journalDir;
+
+    @Value("${flight.events.segment-events:10000}")
+    private int segmentEvents;
+
+    @Bean
+    public EventBus eventBus() throws IOException {
+        return newEventBus(null);
+    }
+
+    /**
+     * Creates an event bus set up like the application's own. Each tenant's journal, if
+     * journaling is on, goes in a directory of its own.
+     *
+     * @param tenantId the tenant id, or null for the default tenant
+     * @return the new bus, which the caller must close
+     * @throws IOException if the journal cannot be opened
+     */
+    public EventBus newEventBus(String tenantId) throws IOException {
+        EventJournal journal = journalDir.isEmpty() ? null
+                : new EventJournal(TenantRegistry.pathFor(journalDir, tenantId), segmentEvents);
+        return new EventBus(queueCapacity, batchSize, publishTimeoutMillis, journal);
+    }
+}
@@ -0,0 +1,473 @@
+package com.airline.service.event;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only event log on the local file system, plus one offset file per subscriber
+ * recording the last sequence it has handled. Together they give at-least-once
+ * delivery across restarts: anything past a subscriber's offset is replayed.
+ * <p>
+ * Each event is one line of tab-separated fields: sequence, epoch millis, type, then
+ * the event's own fields with backslash, tab and line breaks escaped. A torn last
+ * line left by a crash is ignored on read.
+ * <p>
+ * The log is split into segments of a fixed number of events, each file named after
+ * the first sequence it holds. A segment is deleted once every subscriber with an
+ * offset has acknowledged all of it, so a subscriber that never comes back keeps the
+ * log growing until its offset file is removed, and a subscriber added later replays
+ * only what is left. Reads only open the segments past the requested sequence.
+ */
+public class EventJournal implements Closeable {
+    private static final String LEGACY_LOG_FILE = "events.log";
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String OFFSET_SUFFIX = ".offset";
+    private static final int DEFAULT_SEGMENT_EVENTS = 10_000;
+
+    private final Path directory;
+    private final int segmentEvents;
+    // Segment files by first sequence; guarded by this
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+    // Writers of segments rolled away from but not yet flushed; guarded by this
+    private final List<BufferedWriter> retired = new ArrayList<>();
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private BufferedWriter writer;
+    private long activeFirstSequence;
+    private long lastSequence;
+    // Guarded by flushLock
+    private long flushedSequence;
+
+    /**
+     * Opens the journal in the given directory, creating it if needed, with segments
+     * of 10,000 events.
+     * 
+     * @param directory directory holding the log and offset files
+     * @throws IOException if the directory or log cannot be opened
+     */
+    public EventJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_EVENTS);
+    }
+
+    /**
+     * Opens the journal in the given directory, creating it if needed.
+     * 
+     * @param directory directory holding the log and offset files
+     * @param segmentEvents number of events per segment file
+     * @throws IOException if the directory or log cannot be opened
+     * @throws IllegalArgumentException if segmentEvents is not positive
+     */
+    public EventJournal(Path directory, int segmentEvents) throws IOException {
+        if (segmentEvents <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        this.directory = directory;
+        this.segmentEvents = segmentEvents;
+        Files.createDirectories(directory);
+        migrateLegacyLog();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                long first = firstSequenceOf(file);
+                if (first > 0) {
+                    segments.put(first, file);
+                }
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + OFFSET_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                offsets.put(name.substring(0, name.length() - OFFSET_SUFFIX.length()), parseOffset(file));
+            }
+        }
+        boolean tornTail = false;
+        if (segments.isEmpty()) {
+            activeFirstSequence = 1;
+            segments.put(activeFirstSequence, segmentPath(activeFirstSequence));
+        } else {
+            Map.Entry<Long, Path> active = segments.lastEntry();
+            activeFirstSequence = active.getKey();
+            lastSequence = activeFirstSequence - 1;
+            for (Entry entry : read(active.getValue(), 0)) {
+                lastSequence = entry.getSequence();
+            }
+            try (RandomAccessFile file = new RandomAccessFile(active.getValue().toFile(), "r")) {
+                if (file.length() > 0) {
+                    file.seek(file.length() - 1);
+                    tornTail = file.read() != '\n';
+                }
+            }
+        }
+        this.writer = openSegment(segments.get(activeFirstSequence));
+        if (tornTail) {
+            writer.newLine();
+            writer.flush();
+        }
+        flushedSequence = lastSequence;
+    }
+
+    /**
+     * Appends an event and flushes it to the file.
+     * 
+     * @param event the event
+     * @return the sequence number assigned to the event, starting at 1
+     */
+    public long append(DomainEvent event) {
+        long sequence = write(event);
+        flush(sequence);
+        return sequence;
+    }
+
+    /**
+     * Numbers an event and buffers it, without waiting for it to reach the file. Follow
+     * with {@link #flush(long)} before relying on it being there.
+     * 
+     * @param event the event
+     * @return the sequence number assigned to the event, starting at 1
+     */
+    public long write(DomainEvent event) {
+        StringBuilder line = new StringBuilder(64)
+                .append('\t').append(event.getOccurredAt().toEpochMilli())
+                .append('\t').append(typeOf(event));
+        for (String field : event.fields()) {
+            line.append('\t');
+            escape(field, line);
+        }
+        String tail = line.append('\n').toString();
+        synchronized (this) {
+            long sequence = lastSequence + 1;
+            try {
+                if (sequence - activeFirstSequence >= segmentEvents) {
+                    Path next = segmentPath(sequence);
+                    BufferedWriter opened = openSegment(next);
+                    retired.add(writer);
+                    writer = opened;
+                    activeFirstSequence = sequence;
+                    segments.put(sequence, next);
+                }
+                writer.write(Long.toString(sequence));
+                writer.write(tail);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append event to journal", e);
+            }
+            lastSequence = sequence;
+            return sequence;
+        }
+    }
+
+    /**
+     * Makes sure every event up to a sequence number is in the file. Whoever flushes
+     * writes out everything buffered so far, so concurrent publishers share one write,
+     * and numbering new events carries on meanwhile.
+     * 
+     * @param sequence the sequence number that must be written
+     */
+    public void flush(long sequence) {
+        synchronized (flushLock) {
+            if (flushedSequence >= sequence) {
+                return;
+            }
+            long buffered;
+            BufferedWriter active;
+            List<BufferedWriter> rolled;
+            synchronized (this) {
+                buffered = lastSequence;
+                active = writer;
+                rolled = new ArrayList<>(retired);
+            }
+            try {
+                // Older segments first, so the files never have a gap
+                for (BufferedWriter old : rolled) {
+                    old.close();
+                    synchronized (this) {
+                        retired.remove(old);
+                    }
+                }
+                active.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append event to journal", e);
+            }
+            flushedSequence = buffered;
+        }
+    }
+
+    /**
+     * Reads every event with a sequence number greater than the given one.
+     * 
+     * @param sequence sequence to read after; 0 reads the whole log
+     * @return the entries in sequence order
+     */
+    public List<Entry> readAfter(long sequence) {
+        List<Path> files;
+        synchronized (this) {
+            Long from = segments.floorKey(sequence + 1);
+            files = new ArrayList<>(from == null ? segments.values() : segments.tailMap(from, true).values());
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (Path file : files) {
+            entries.addAll(read(file, sequence));
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the last sequence a subscriber has acknowledged. From then on the journal
+     * keeps every event past it until the subscriber acknowledges more.
+     * 
+     * @param subscriber subscriber name
+     * @return the acknowledged sequence, or 0 if the subscriber has none
+     */
+    public long readOffset(String subscriber) {
+        Long offset = offsets.get(subscriber);
+        if (offset == null) {
+            Path file = directory.resolve(subscriber + OFFSET_SUFFIX);
+            offset = Files.exists(file) ? parseOffset(file) : 0L;
+            Long existing = offsets.putIfAbsent(subscriber, offset);
+            if (existing != null) {
+                offset = existing;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Records that a subscriber has handled everything up to the given sequence, and
+     * deletes the segments every subscriber has now handled. The file is replaced
+     * atomically so a crash leaves either the old or new offset.
+     * 
+     * @param subscriber subscriber name
+     * @param sequence last handled sequence
+     */
+    public void writeOffset(String subscriber, long sequence) {
+        Path file = directory.resolve(subscriber + OFFSET_SUFFIX);
+        Path temp = directory.resolve(subscriber + OFFSET_SUFFIX + ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(sequence));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write offset for " + subscriber, e);
+        }
+        offsets.put(subscriber, sequence);
+        compact();
+    }
+
+    /**
+     * Gets the number of segment files the log currently spans.
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (BufferedWriter old : retired) {
+            old.close();
+        }
+        retired.clear();
+        writer.close();
+    }
+
+    private void compact() {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        long acknowledged = Long.MAX_VALUE;
+        for (long offset : offsets.values()) {
+            acknowledged = Math.min(acknowledged, offset);
+        }
+        List<Path> done = new ArrayList<>();
+        synchronized (this) {
+            // The active segment is never deleted
+            Map.Entry<Long, Path> segment = segments.firstEntry();
+            while (segment != null && segment.getKey() != activeFirstSequence) {
+                Long next = segments.higherKey(segment.getKey());
+                if (next - 1 > acknowledged) {
+                    break;
+                }
+                done.add(segment.getValue());
+                segments.remove(segment.getKey());
+                segment = segments.firstEntry();
+            }
+        }
+        for (Path file : done) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Found again and retried on the next start
+            }
+        }
+    }
+
+    private void migrateLegacyLog() throws IOException {
+        Path legacy = directory.resolve(LEGACY_LOG_FILE);
+        if (!Files.exists(legacy)) {
+            return;
+        }
+        List<Entry> entries = read(legacy, 0);
+        long first = entries.isEmpty() ? 1 : entries.get(0).getSequence();
+        Files.move(legacy, segmentPath(first), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static BufferedWriter openSegment(Path segment) throws IOException {
+        return Files.newBufferedWriter(segment, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long parseOffset(Path file) {
+        try {
+            return Long.parseLong(Files.readString(file).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read offset file " + file.getFileName(), e);
+        }
+    }
+
+    private static List<Entry> read(Path segment, long after) {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Entry entry = parse(line);
+                if (entry != null && entry.getSequence() > after) {
+                    entries.add(entry);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Compacted away or not written yet
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read event journal", e);
+        }
+        return entries;
+    }
+
+    private static String typeOf(DomainEvent event) {
+        if (event instanceof FlightAddedEvent) {
+            return "FlightAdded";
+        }
+        if (event instanceof ReservationCreatedEvent) {
+            return "ReservationCreated";
+        }
+        if (event instanceof SeatsChangedEvent) {
+            return "SeatsChanged";
+        }
+        throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+    }
+
+    private static Entry parse(String line) {
+        String[] parts = line.split("\t", -1);
+        if (parts.length < 3) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(parts[0]);
+            Instant occurredAt = Instant.ofEpochMilli(Long.parseLong(parts[1]));
+            String[] fields = new String[parts.length - 3];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = unescape(parts[i + 3]);
+            }
+            DomainEvent event;
+            switch (parts[2]) {
+                case "FlightAdded":
+                    event = FlightAddedEvent.fromFields(occurredAt, fields);
+                    break;
+                case "ReservationCreated":
+                    event = ReservationCreatedEvent.fromFields(occurredAt, fields);
+                    break;
+                case "SeatsChanged":
+                    event = SeatsChangedEvent.fromFields(occurredAt, fields);
+                    break;
+                default:
+                    return null;
+            }
+            return new Entry(sequence, event);
+        } catch (RuntimeException e) {
+            // Torn or foreign line; skip it
+            return null;
+        }
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': out.append("\\\\"); break;
+                case '\t': out.append("\\t"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                default: out.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                out.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * A journaled event with its sequence number.
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final DomainEvent event;
+
+        Entry(long sequence, DomainEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public DomainEvent getEvent() {
+            return event;
+        }
+    }
+}
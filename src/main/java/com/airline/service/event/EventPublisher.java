@@ -0,0 +1,19 @@
+package com.airline.service.event;
+
+/**
+ * Receives domain events raised by the service layer.
+ */
+public interface EventPublisher {
+
+    /**
+     * Publisher that discards every event.
+     */
+    EventPublisher NONE = event -> { };
+
+    /**
+     * Hands an event over for delivery. Must be cheap: heavy work belongs in subscribers.
+     * 
+     * @param event the event
+     */
+    void publish(DomainEvent event);
+}
@@ -0,0 +1,19 @@
+package com.airline.service.event;
+
+import java.util.List;
+
+/**
+ * Consumes domain events in batches on a dedicated thread.
+ */
+@FunctionalInterface
+public interface EventSubscriber {
+
+    /**
+     * Handles a batch of events, in publication order. Throwing makes the bus retry
+     * the whole batch, so handlers should tolerate seeing an event more than once.
+     * 
+     * @param events the events, never empty
+     * @throws Exception if the batch could not be handled
+     */
+    void onEvents(List<DomainEvent> events) throws Exception;
+}
@@ -0,0 +1,61 @@
+package com.airline.service.event;
+
+import com.airline.model.Flight;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Raised when a flight is added to the catalog.
+ */
+public class FlightAddedEvent extends DomainEvent {
+    private final String flightNumber;
+    private final String destination;
+    private final LocalDateTime departureTime;
+    private final int availableSeats;
+
+    public FlightAddedEvent(Instant occurredAt, String flightNumber, String destination,
+                            LocalDateTime departureTime, int availableSeats) {
+        super(occurredAt);
+        this.flightNumber = flightNumber;
+        this.destination = destination;
+        this.departureTime = departureTime;
+        this.availableSeats = availableSeats;
+    }
+
+    public static FlightAddedEvent of(Flight flight) {
+        return new FlightAddedEvent(Instant.now(), flight.getFlightNumber(), flight.getDestination(),
+                flight.getDepartureTime(), flight.getAvailableSeats());
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    @Override
+    String[] fields() {
+        return new String[]{flightNumber, destination, departureTime.toString(), Integer.toString(availableSeats)};
+    }
+
+    static FlightAddedEvent fromFields(Instant occurredAt, String[] fields) {
+        return new FlightAddedEvent(occurredAt, fields[0], fields[1], LocalDateTime.parse(fields[2]),
+                Integer.parseInt(fields[3]));
+    }
+
+    @Override
+    public String toString() {
+        return "FlightAdded{" + flightNumber + ", " + destination + ", " + departureTime + ", " + availableSeats + '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.airline.service.event;
+
+import com.airline.model.Reservation;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Raised when a booking succeeds.
+ */
+public class ReservationCreatedEvent extends DomainEvent {
+    private final String customerName;
+    private final String flightNumber;
+    private final int seatsBooked;
+    private final String fareClass;
+    private final List<String> seatNumbers;
+
+    public ReservationCreatedEvent(Instant occurredAt, String customerName, String flightNumber, int seatsBooked,
+                                   String fareClass, List<String> seatNumbers) {
+        super(occurredAt);
+        this.customerName = customerName;
+        this.flightNumber = flightNumber;
+        this.seatsBooked = seatsBooked;
+        this.fareClass = fareClass;
+        this.seatNumbers = Collections.unmodifiableList(seatNumbers);
+    }
+
+    public static ReservationCreatedEvent of(Reservation reservation) {
+        return new ReservationCreatedEvent(Instant.now(), reservation.getCustomerName(),
+                reservation.getFlight().getFlightNumber(), reservation.getSeatsBooked(),
+                reservation.getFareClass(), reservation.getSeatNumbers());
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public int getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    /**
+     * Gets the fare class of the booking.
+     * 
+     * @return the fare class code, or null if booked without one
+     */
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    @Override
+    String[] fields() {
+        return new String[]{customerName, flightNumber, Integer.toString(seatsBooked),
+                fareClass == null ? "" : fareClass, String.join(",", seatNumbers)};
+    }
+
+    static ReservationCreatedEvent fromFields(Instant occurredAt, String[] fields) {
+        List<String> seats = fields[4].isEmpty() ? Collections.emptyList() : Arrays.asList(fields[4].split(","));
+        return new ReservationCreatedEvent(occurredAt, fields[0], fields[1], Integer.parseInt(fields[2]),
+                fields[3].isEmpty() ? null : fields[3], seats);
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationCreated{" + customerName + ", " + flightNumber + ", " + seatsBooked + '}';
+    }
+}
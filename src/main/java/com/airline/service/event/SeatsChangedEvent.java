@@ -0,0 +1,57 @@
+package com.airline.service.event;
+
+import com.airline.model.Flight;
+
+import java.time.Instant;
+
+/**
+ * Raised whenever the available seat count of a flight changes.
+ */
+public class SeatsChangedEvent extends DomainEvent {
+    private final String flightNumber;
+    private final int availableSeats;
+    private final int delta;
+
+    public SeatsChangedEvent(Instant occurredAt, String flightNumber, int availableSeats, int delta) {
+        super(occurredAt);
+        this.flightNumber = flightNumber;
+        this.availableSeats = availableSeats;
+        this.delta = delta;
+    }
+
+    public static SeatsChangedEvent of(Flight flight, int delta) {
+        return new SeatsChangedEvent(Instant.now(), flight.getFlightNumber(), flight.getAvailableSeats(), delta);
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    /**
+     * Gets the seat count right after the change.
+     */
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    /**
+     * Gets how many seats were freed (positive) or taken (negative).
+     */
+    public int getDelta() {
+        return delta;
+    }
+
+    @Override
+    String[] fields() {
+        return new String[]{flightNumber, Integer.toString(availableSeats), Integer.toString(delta)};
+    }
+
+    static SeatsChangedEvent fromFields(Instant occurredAt, String[] fields) {
+        return new SeatsChangedEvent(occurredAt, fields[0], Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+    }
+
+    @Override
+    public String toString() {
+        return "SeatsChanged{" + flightNumber + ", " + availableSeats + ", " + delta + '}';
+    }
+}
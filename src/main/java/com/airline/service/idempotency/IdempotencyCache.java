@@ -0,0 +1,238 @@
+package com.airline.service.idempotency;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the reservation made for each idempotency key, so a client retrying a booking
+ * gets the original reservation back instead of booking again.
+ *
+ * <p>Keys expire after a fixed time and the cache holds at most a fixed number of them,
+ * dropping the oldest completed one first. A key still booking is never dropped, so a
+ * retry cannot book twice; while many bookings are in flight the cache may briefly hold
+ * more keys than that. Every key lives for the same time, so insertion order is
+ * also expiry order and expired keys are dropped from the head of the map in passing.
+ * A retry that arrives while the first request is still booking waits for its result.
+ * Failed bookings are not remembered, since they took no seats and may succeed on retry.
+ *
+ * <p>With a journal, completed bookings survive a restart; the journal is compacted to
+ * the live keys on startup and whenever it grows to twice the cache size. A booking the
+ * journal fails to record is still returned; it is only forgotten by a restart.
+ */
+public class IdempotencyCache {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyCache.class);
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final IdempotencyJournal journal;
+    private final Map<String, CachedBooking> entries;
+
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC(), null);
+    }
+
+    /**
+     * Creates a cache, loading the unexpired keys from the journal if one is given.
+     *
+     * @param maxEntries the maximum number of keys remembered
+     * @param ttl how long a key is remembered
+     * @param clock the clock for expiry
+     * @param journal where completed bookings are kept across restarts, or null
+     */
+    public IdempotencyCache(int maxEntries, Duration ttl, Clock clock, IdempotencyJournal journal) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be greater than zero");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.journal = journal;
+        this.entries = new LinkedHashMap<String, CachedBooking>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedBooking> eldest) {
+                if (size() <= IdempotencyCache.this.maxEntries) {
+                    return false;
+                }
+                Iterator<CachedBooking> iterator = values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().isSettled()) {
+                        iterator.remove();
+                        break;
+                    }
+                }
+                return false;
+            }
+        };
+        if (journal != null) {
+            long now = clock.millis();
+            for (IdempotencyJournal.Record record : journal.readAll()) {
+                if (record.expiresAtMillis > now) {
+                    entries.put(record.key, new CachedBooking(record.fingerprint, record.expiresAtMillis, record));
+                }
+            }
+            journal.rewrite(liveRecords());
+        }
+    }
+
+    /**
+     * Books once per key. The first request with a key runs the booking; later requests
+     * with the same key get its reservation back without running anything.
+     *
+     * @param key the idempotency key chosen by the client
+     * @param fingerprint what was requested, so a key reused for a different booking is caught
+     * @param flightLookup finds a flight by number, for bookings remembered across a restart
+     * @param booking makes the booking
+     * @return the reservation made for the key
+     * @throws IllegalArgumentException if the key was used for a different booking, or the booking fails
+     */
+    public Reservation execute(String key, String fingerprint, Function<String, Flight> flightLookup,
+                               Supplier<Reservation> booking) {
+        if (key == null || key.trim().isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be null or empty");
+        }
+        CachedBooking entry = new CachedBooking(fingerprint, clock.millis() + ttlMillis, null);
+        CachedBooking existing;
+        synchronized (entries) {
+            dropExpired();
+            existing = entries.putIfAbsent(key, entry);
+            if (existing != null && existing.expiresAtMillis <= clock.millis()) {
+                // Only possible if the time to live was shortened across a restart
+                entries.remove(key);
+                entries.put(key, entry);
+                existing = null;
+            }
+        }
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency key " + key + " was already used for a different booking");
+            }
+            return existing.await(flightLookup);
+        }
+
+        Reservation reservation;
+        try {
+            reservation = booking.get();
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        entry.result.complete(reservation);
+        if (journal != null) {
+            // Appends wait while the journal is compacted, so none is lost by the rewrite;
+            // lookups only wait for the snapshot of live keys
+            // The seats are already booked, so a journal failure must not fail the request
+            synchronized (journal) {
+                try {
+                    journal.append(IdempotencyJournal.Record.of(key, entry.expiresAtMillis, fingerprint, reservation));
+                    if (journal.getRecordCount() > 2 * maxEntries) {
+                        List<IdempotencyJournal.Record> live;
+                        synchronized (entries) {
+                            live = liveRecords();
+                        }
+                        journal.rewrite(live);
+                    }
+                } catch (UncheckedIOException e) {
+                    log.error("Could not journal idempotency key {}; it will not be recognized after a restart", key, e);
+                }
+            }
+        }
+        return reservation;
+    }
+
+    /**
+     * Gets the number of keys currently remembered, including ones still booking.
+     */
+    public int size() {
+        synchronized (entries) {
+            dropExpired();
+            return entries.size();
+        }
+    }
+
+    private void dropExpired() {
+        long now = clock.millis();
+        Iterator<CachedBooking> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAtMillis <= now) {
+            iterator.remove();
+        }
+    }
+
+    private List<IdempotencyJournal.Record> liveRecords() {
+        List<IdempotencyJournal.Record> live = new ArrayList<>();
+        long now = clock.millis();
+        for (Map.Entry<String, CachedBooking> e : entries.entrySet()) {
+            CachedBooking entry = e.getValue();
+            if (entry.expiresAtMillis <= now) {
+                continue;
+            }
+            if (entry.record != null) {
+                live.add(entry.record);
+            } else if (entry.result.isDone() && !entry.result.isCompletedExceptionally()) {
+                live.add(IdempotencyJournal.Record.of(e.getKey(), entry.expiresAtMillis, entry.fingerprint,
+                        entry.result.join()));
+            }
+        }
+        return live;
+    }
+
+    private static final class CachedBooking {
+        final String fingerprint;
+        final long expiresAtMillis;
+        final CompletableFuture<Reservation> result = new CompletableFuture<>();
+        // Set for bookings loaded from the journal; their reservation is rebuilt on first use
+        final IdempotencyJournal.Record record;
+
+        CachedBooking(String fingerprint, long expiresAtMillis, IdempotencyJournal.Record record) {
+            this.fingerprint = fingerprint;
+            this.expiresAtMillis = expiresAtMillis;
+            this.record = record;
+        }
+
+        boolean isSettled() {
+            return record != null || result.isDone();
+        }
+
+        Reservation await(Function<String, Flight> flightLookup) {
+            if (record != null && !result.isDone()) {
+                Flight flight = flightLookup.apply(record.flightNumber);
+                if (flight == null) {
+                    throw new IllegalArgumentException("Flight " + record.flightNumber + " of the original booking no longer exists");
+                }
+                Reservation reservation = new Reservation(record.customerName, flight, record.seats, record.fareClass);
+                reservation.setSeatNumbers(record.seatNumbers);
+                reservation.setTotalFare(record.totalFare);
+                result.complete(reservation);
+            }
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
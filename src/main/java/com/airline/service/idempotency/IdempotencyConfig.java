@@ -0,0 +1,46 @@
+package com.airline.service.idempotency;
+
+import com.airline.service.tenant.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Spring configuration for idempotent bookings. Setting
+ * {@code flight.idempotency.journal-file} keeps remembered bookings across restarts.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Value("${flight.idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${flight.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${flight.idempotency.journal-file:}")
+    private String journalFile;
+
+    @Bean
+    public IdempotencyCache idempotencyCache() throws IOException {
+        return newIdempotencyCache(null);
+    }
+
+    /**
+     * Creates a cache set up like the application's own. Each tenant's journal, if
+     * there is one, is a file of its own.
+     *
+     * @param tenantId the tenant id, or null for the default tenant
+     * @return the new cache
+     * @throws IOException if the journal cannot be opened
+     */
+    public IdempotencyCache newIdempotencyCache(String tenantId) throws IOException {
+        IdempotencyJournal journal = journalFile.isEmpty() ? null
+                : new IdempotencyJournal(TenantRegistry.pathFor(journalFile, tenantId));
+        return new IdempotencyCache(maxEntries, Duration.ofMinutes(ttlMinutes), Clock.systemUTC(), journal);
+    }
+}
@@ -0,0 +1,179 @@
+package com.airline.service.idempotency;
+
+import com.airline.model.Reservation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only file of completed idempotent bookings, so retries are still recognized
+ * after a restart. Each record holds the key, its expiry and enough of the reservation
+ * to rebuild it; the flight is kept by number and looked up again when the record is
+ * used. A record torn by a crash ends the file and is dropped on the next rewrite.
+ */
+public class IdempotencyJournal implements Closeable {
+    private final Path file;
+    private DataOutputStream out;
+    private int recordCount;
+
+    /**
+     * Opens the journal file, creating it and its directory if needed.
+     *
+     * @param file the journal file
+     * @throws IOException if the file cannot be opened
+     */
+    public IdempotencyJournal(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = open(file);
+    }
+
+    /**
+     * Appends a completed booking and flushes it to the file.
+     */
+    public synchronized void append(Record record) {
+        try {
+            write(out, record);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to idempotency journal " + file, e);
+        }
+        recordCount++;
+    }
+
+    /**
+     * Reads every complete record in the file, oldest first.
+     */
+    public synchronized List<Record> readAll() {
+        List<Record> records = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                records.add(read(in));
+            }
+        } catch (EOFException e) {
+            // End of file, or a torn last record
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read idempotency journal " + file, e);
+        }
+        recordCount = records.size();
+        return records;
+    }
+
+    /**
+     * Replaces the file with only the given records, e.g. once expired ones pile up.
+     * The new file is moved into place atomically.
+     */
+    public synchronized void rewrite(Collection<Record> live) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream rewritten = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                for (Record record : live) {
+                    write(rewritten, record);
+                }
+            }
+            out.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            out = open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rewrite idempotency journal " + file, e);
+        }
+        recordCount = live.size();
+    }
+
+    /**
+     * Gets the number of records in the file, live or expired.
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private static DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    private static void write(DataOutputStream out, Record record) throws IOException {
+        out.writeUTF(record.key);
+        out.writeLong(record.expiresAtMillis);
+        out.writeUTF(record.fingerprint);
+        out.writeUTF(record.flightNumber);
+        out.writeUTF(record.customerName);
+        out.writeInt(record.seats);
+        out.writeUTF(record.fareClass == null ? "" : record.fareClass);
+        out.writeUTF(String.join(",", record.seatNumbers));
+        out.writeUTF(record.totalFare == null ? "" : record.totalFare.toPlainString());
+    }
+
+    private static Record read(DataInputStream in) throws IOException {
+        String key = in.readUTF();
+        long expiresAtMillis = in.readLong();
+        String fingerprint = in.readUTF();
+        String flightNumber = in.readUTF();
+        String customerName = in.readUTF();
+        int seats = in.readInt();
+        String fareClass = in.readUTF();
+        String seatNumbers = in.readUTF();
+        String totalFare = in.readUTF();
+        return new Record(key, expiresAtMillis, fingerprint, flightNumber, customerName, seats,
+                fareClass.isEmpty() ? null : fareClass,
+                seatNumbers.isEmpty() ? Collections.emptyList() : Arrays.asList(seatNumbers.split(",")),
+                totalFare.isEmpty() ? null : new BigDecimal(totalFare));
+    }
+
+    /**
+     * A completed booking as kept in the journal.
+     */
+    static final class Record {
+        final String key;
+        final long expiresAtMillis;
+        final String fingerprint;
+        final String flightNumber;
+        final String customerName;
+        final int seats;
+        final String fareClass;
+        final List<String> seatNumbers;
+        final BigDecimal totalFare;
+
+        Record(String key, long expiresAtMillis, String fingerprint, String flightNumber, String customerName,
+               int seats, String fareClass, List<String> seatNumbers, BigDecimal totalFare) {
+            this.key = key;
+            this.expiresAtMillis = expiresAtMillis;
+            this.fingerprint = fingerprint;
+            this.flightNumber = flightNumber;
+            this.customerName = customerName;
+            this.seats = seats;
+            this.fareClass = fareClass;
+            this.seatNumbers = seatNumbers;
+            this.totalFare = totalFare;
+        }
+
+        static Record of(String key, long expiresAtMillis, String fingerprint, Reservation reservation) {
+            return new Record(key, expiresAtMillis, fingerprint, reservation.getFlight().getFlightNumber(),
+                    reservation.getCustomerName(), reservation.getSeatsBooked(), reservation.getFareClass(),
+                    reservation.getSeatNumbers(), reservation.getTotalFare());
+        }
+    }
+}
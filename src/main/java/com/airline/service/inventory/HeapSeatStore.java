@@ -0,0 +1,15 @@
+package com.airline.service.inventory;
+
+import com.airline.model.Flight;
+import com.airline.model.SeatCounter;
+
+/**
+ * Default seat store that keeps each flight's seats in its own on-heap counter.
+ */
+public class HeapSeatStore implements SeatStore {
+
+    @Override
+    public SeatCounter bind(Flight flight) {
+        return flight.getSeatCounter();
+    }
+}
@@ -0,0 +1,190 @@
+package com.airline.service.inventory;
+
+import com.airline.model.Flight;
+import com.airline.model.SeatCounter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Seat store backed by a memory-mapped file of int slots, one slot per flight.
+ * Seat counts live outside the Java heap and survive process restarts: when a flight
+ * that already has a slot is bound again, the persisted count wins over the value
+ * the flight was created with.
+ *
+ * <p>File layout (little-endian): a 16 byte header {@code magic, version, capacity, used}
+ * followed by {@code capacity} slots of 32 bytes each. A slot holds the seat count
+ * at offset 0, the flight number length at offset 4 and up to 24 bytes of UTF-8
+ * flight number from offset 8. Seat counts are updated with {@link VarHandle}
+ * compare-and-set, so a booking costs one CAS and a write to the page cache.
+ */
+public class MappedSeatStore implements SeatStore, Closeable {
+    private static final int MAGIC = 0x53454154; // "SEAT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int USED_OFFSET = 12;
+    private static final int SLOT_SIZE = 32;
+    private static final int KEY_LENGTH_OFFSET = 4;
+    private static final int KEY_OFFSET = 8;
+    private static final int MAX_KEY_BYTES = SLOT_SIZE - KEY_OFFSET;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Map<String, Integer> slotsByFlightNumber = new HashMap<>();
+
+    /**
+     * Opens the seat file, creating it with room for {@code capacity} flights if it does not exist.
+     * 
+     * @param file the seat file
+     * @param capacity the number of slots to allocate for a new file
+     * @throws IOException if the file cannot be opened or is not a seat file
+     */
+    public MappedSeatStore(Path file, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than zero");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            int slots = created ? capacity : readCapacity();
+            this.capacity = slots;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+            if (created) {
+                INT.set(buffer, 0, MAGIC);
+                INT.set(buffer, 4, VERSION);
+                INT.set(buffer, CAPACITY_OFFSET, slots);
+                INT.setVolatile(buffer, USED_OFFSET, 0);
+            } else {
+                loadSlots();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized SeatCounter bind(Flight flight) {
+        String flightNumber = flight.getFlightNumber();
+        Integer slot = slotsByFlightNumber.get(flightNumber);
+        if (slot != null) {
+            return new MappedSeatCounter(slotOffset(slot));
+        }
+
+        int used = (int) INT.getVolatile(buffer, USED_OFFSET);
+        if (used >= capacity) {
+            throw new IllegalStateException("Seat file is full (" + capacity + " flights)");
+        }
+        byte[] key = flightNumber.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Flight number is too long for the seat file: " + flightNumber);
+        }
+
+        int offset = slotOffset(used);
+        for (int i = 0; i < key.length; i++) {
+            buffer.put(offset + KEY_OFFSET + i, key[i]);
+        }
+        INT.set(buffer, offset + KEY_LENGTH_OFFSET, key.length);
+        INT.setVolatile(buffer, offset, flight.getAvailableSeats());
+        INT.setVolatile(buffer, USED_OFFSET, used + 1);
+        slotsByFlightNumber.put(flightNumber, used);
+        return new MappedSeatCounter(offset);
+    }
+
+    /**
+     * Gets the number of flights that have a slot in the file.
+     * 
+     * @return the number of used slots
+     */
+    public synchronized int size() {
+        return slotsByFlightNumber.size();
+    }
+
+    /**
+     * Flushes dirty pages to the storage device. Not needed to survive a process
+     * crash, only to survive an operating system crash or power loss.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int readCapacity() throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if ((int) INT.get(header, 0) != MAGIC || (int) INT.get(header, 4) != VERSION) {
+            throw new IOException("Not a seat file");
+        }
+        return (int) INT.get(header, CAPACITY_OFFSET);
+    }
+
+    private void loadSlots() {
+        int used = (int) INT.getVolatile(buffer, USED_OFFSET);
+        for (int slot = 0; slot < used; slot++) {
+            int offset = slotOffset(slot);
+            int length = (int) INT.get(buffer, offset + KEY_LENGTH_OFFSET);
+            byte[] key = new byte[length];
+            for (int i = 0; i < length; i++) {
+                key[i] = buffer.get(offset + KEY_OFFSET + i);
+            }
+            slotsByFlightNumber.put(new String(key, StandardCharsets.UTF_8), slot);
+        }
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private final class MappedSeatCounter implements SeatCounter {
+        private final int offset;
+
+        private MappedSeatCounter(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public int get() {
+            return (int) INT.getVolatile(buffer, offset);
+        }
+
+        @Override
+        public void set(int seats) {
+            INT.setVolatile(buffer, offset, seats);
+        }
+
+        @Override
+        public boolean tryReduce(int seats, int floor) {
+            int current;
+            do {
+                current = (int) INT.getVolatile(buffer, offset);
+                if (current - seats < floor) {
+                    return false;
+                }
+            } while (!INT.compareAndSet(buffer, offset, current, current - seats));
+            return true;
+        }
+
+        @Override
+        public void release(int seats) {
+            INT.getAndAdd(buffer, offset, seats);
+        }
+    }
+}
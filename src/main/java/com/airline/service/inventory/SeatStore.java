@@ -0,0 +1,18 @@
+package com.airline.service.inventory;
+
+import com.airline.model.Flight;
+import com.airline.model.SeatCounter;
+
+/**
+ * Strategy for where the available seat count of each flight is kept.
+ */
+public interface SeatStore {
+
+    /**
+     * Binds a flight to a seat counter in this store.
+     * 
+     * @param flight the flight being added to the system
+     * @return the counter that should hold the flight's available seats from now on
+     */
+    SeatCounter bind(Flight flight);
+}
@@ -0,0 +1,94 @@
+package com.airline.service.pricing;
+
+/**
+ * How a fare moves away from the base fare as a flight fills up and as departure gets
+ * closer. Load is split into {@value #LOAD_BUCKETS} buckets; the load multiplier rises
+ * with the square of the load factor, so fares stay close to the empty-flight price for
+ * most of the sale and climb steeply for the last seats. The time multiplier steps up at
+ * fixed days before departure. Instances are immutable.
+ */
+public final class PriceCurve {
+    public static final int LOAD_BUCKETS = 20;
+    public static final PriceCurve DEFAULT = new PriceCurve(0.8, 2.5);
+
+    /** Days before departure at which each time tier starts, furthest first. */
+    private static final int[] TIER_START_DAYS = {30, 14, 7, 3, 0};
+    private static final double[] TIER_MULTIPLIERS = {1.0, 1.1, 1.25, 1.45, 1.7};
+    static final int TIERS = TIER_START_DAYS.length;
+
+    private final double emptyMultiplier;
+    private final double fullMultiplier;
+
+    /**
+     * Creates a curve running from one multiplier on an empty flight to another on a full one.
+     *
+     * @param emptyMultiplier the base fare multiplier when no seats are sold
+     * @param fullMultiplier the base fare multiplier for the last seat
+     */
+    public PriceCurve(double emptyMultiplier, double fullMultiplier) {
+        if (!(emptyMultiplier > 0) || fullMultiplier < emptyMultiplier) {
+            throw new IllegalArgumentException("Multipliers must be positive and rise with load");
+        }
+        this.emptyMultiplier = emptyMultiplier;
+        this.fullMultiplier = fullMultiplier;
+    }
+
+    /**
+     * Computes every fare for a base fare, indexed by {@code tier * LOAD_BUCKETS + loadBucket}.
+     *
+     * @param baseCents the base fare in cents
+     * @return fares in cents, rounded to whole currency units
+     */
+    long[] fareTable(long baseCents) {
+        long[] table = new long[TIERS * LOAD_BUCKETS];
+        for (int tier = 0; tier < TIERS; tier++) {
+            for (int bucket = 0; bucket < LOAD_BUCKETS; bucket++) {
+                double load = bucket / (double) (LOAD_BUCKETS - 1);
+                double multiplier = (emptyMultiplier + (fullMultiplier - emptyMultiplier) * load * load)
+                        * TIER_MULTIPLIERS[tier];
+                table[tier * LOAD_BUCKETS + bucket] = Math.round(baseCents * multiplier / 100.0) * 100;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Gets the fewest whole days left before departure that still fall in a tier.
+     */
+    static int tierStartDays(int tier) {
+        return TIER_START_DAYS[tier];
+    }
+
+    /**
+     * Gets the time tier for a number of whole days left before departure.
+     */
+    static int tier(long daysToDeparture) {
+        for (int tier = 0; tier < TIERS - 1; tier++) {
+            if (daysToDeparture >= TIER_START_DAYS[tier]) {
+                return tier;
+            }
+        }
+        return TIERS - 1;
+    }
+
+    /**
+     * Gets the load bucket for the seats sold out of a capacity.
+     */
+    static int loadBucket(int soldSeats, int capacity) {
+        if (soldSeats <= 0) {
+            return 0;
+        }
+        if (soldSeats >= capacity) {
+            return LOAD_BUCKETS - 1;
+        }
+        return (int) ((long) soldSeats * (LOAD_BUCKETS - 1) / capacity);
+    }
+
+    public double getEmptyMultiplier() {
+        return emptyMultiplier;
+    }
+
+    public double getFullMultiplier() {
+        return fullMultiplier;
+    }
+}
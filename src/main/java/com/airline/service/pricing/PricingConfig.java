@@ -0,0 +1,36 @@
+package com.airline.service.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+/**
+ * Spring configuration for seat pricing.
+ */
+@Configuration
+public class PricingConfig {
+
+    @Value("${flight.pricing.base-fare:150.00}")
+    private BigDecimal baseFare;
+
+    @Value("${flight.pricing.empty-multiplier:0.8}")
+    private double emptyMultiplier;
+
+    @Value("${flight.pricing.full-multiplier:2.5}")
+    private double fullMultiplier;
+
+    @Bean
+    public PricingEngine pricingEngine() {
+        return newPricingEngine();
+    }
+
+    /**
+     * Creates a pricing engine set up like the application's own, for a tenant's flight
+     * service.
+     */
+    public PricingEngine newPricingEngine() {
+        return new PricingEngine(new PriceCurve(emptyMultiplier, fullMultiplier), baseFare);
+    }
+}
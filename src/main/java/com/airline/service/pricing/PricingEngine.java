@@ -0,0 +1,182 @@
+package com.airline.service.pricing;
+
+import com.airline.model.Flight;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices seats from a flight's load factor and the time left before departure.
+ *
+ * <p>When a flight is registered, its whole fare table (every time tier and load bucket)
+ * is computed once from the {@link PriceCurve}. A quote then only works out which tier and
+ * bucket the flight is in from its live seat count and reads the table, so seat changes
+ * need no recomputation and pricing a search result costs well under a microsecond. Only
+ * a change of base fare rebuilds a flight's table.
+ *
+ * <p>Flights carry no capacity, so the capacity used for the load factor is given at
+ * registration; flights quoted without being registered are taken to be empty and are
+ * priced from the default table without being remembered, so quoting a flight that was
+ * never registered, or was removed once it departed, leaves nothing behind.
+ */
+public class PricingEngine {
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final PriceCurve curve;
+    private final long defaultBaseCents;
+    private final Clock clock;
+    private final long[] defaultTable;
+    private final Map<Flight, FlightFares> fares = new ConcurrentHashMap<>();
+
+    public PricingEngine(PriceCurve curve, BigDecimal defaultBaseFare) {
+        this(curve, defaultBaseFare, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates an engine that reads the current time from the given clock.
+     *
+     * @param curve how fares move with load and time
+     * @param defaultBaseFare the base fare of flights registered without one
+     * @param clock the clock for time to departure
+     */
+    public PricingEngine(PriceCurve curve, BigDecimal defaultBaseFare, Clock clock) {
+        if (curve == null) {
+            throw new IllegalArgumentException("Price curve cannot be null");
+        }
+        this.curve = curve;
+        this.defaultBaseCents = toCents(defaultBaseFare);
+        this.clock = clock;
+        this.defaultTable = curve.fareTable(defaultBaseCents);
+    }
+
+    /**
+     * Registers a flight at the default base fare.
+     *
+     * @param flight the flight
+     * @param capacity the number of seats the flight has when empty
+     */
+    public void register(Flight flight, int capacity) {
+        fares.put(flight, new FlightFares(capacity, defaultBaseCents, defaultTable));
+    }
+
+    /**
+     * Changes a flight's base fare, registering it if needed.
+     *
+     * @param flight the flight
+     * @param baseFare the fare on an empty flight a month or more before departure, before the curve is applied
+     */
+    public void setBaseFare(Flight flight, BigDecimal baseFare) {
+        long baseCents = toCents(baseFare);
+        long[] table = curve.fareTable(baseCents);
+        fares.compute(flight, (key, current) -> new FlightFares(
+                current != null ? current.capacity : capacityOf(flight), baseCents, table));
+    }
+
+    /**
+     * Stops pricing a flight, e.g. once it has departed.
+     *
+     * @param flight the flight
+     */
+    public void remove(Flight flight) {
+        fares.remove(flight);
+    }
+
+    /**
+     * Gets the current price of one seat.
+     *
+     * @param flight the flight
+     * @return the fare per seat
+     */
+    public BigDecimal quote(Flight flight) {
+        return BigDecimal.valueOf(quoteCents(flight, LocalDateTime.now(clock)), 2);
+    }
+
+    /**
+     * Gets the current price of several seats.
+     *
+     * @param flight the flight
+     * @param seats the number of seats
+     * @return the total fare
+     */
+    public BigDecimal quote(Flight flight, int seats) {
+        return BigDecimal.valueOf(quoteCents(flight, LocalDateTime.now(clock)) * seats, 2);
+    }
+
+    long quoteCents(Flight flight, LocalDateTime now) {
+        FlightFares flightFares = fares.get(flight);
+        int capacity = flightFares != null ? flightFares.capacity : capacityOf(flight);
+        long[] table = flightFares != null ? flightFares.table : defaultTable;
+        long secondsLeft = flight.getDepartureTime().toEpochSecond(ZoneOffset.UTC) - now.toEpochSecond(ZoneOffset.UTC);
+        int tier = PriceCurve.tier(Math.max(0, secondsLeft / SECONDS_PER_DAY));
+        int bucket = PriceCurve.loadBucket(capacity - flight.getAvailableSeats(), capacity);
+        return table[tier * PriceCurve.LOAD_BUCKETS + bucket];
+    }
+
+    int registeredFlights() {
+        return fares.size();
+    }
+
+    /**
+     * Gets the last time the fares of flights departing on a day may have moved to a new
+     * time tier, so cached prices for that day can be validated without quoting them.
+     * Each tier boundary is crossed by the day's flights within one day; while that day
+     * is under way, a fare may have moved just now.
+     *
+     * @param departureDate the departure day
+     * @return the time in epoch milliseconds, or 0 if no tier has changed yet
+     */
+    public long tierChangedAt(LocalDate departureDate) {
+        long now = LocalDateTime.now(clock).toEpochSecond(ZoneOffset.UTC);
+        long dayStart = departureDate.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long latest = 0;
+        for (int tier = 0; tier < PriceCurve.TIERS - 1; tier++) {
+            long crossingStart = dayStart - PriceCurve.tierStartDays(tier) * SECONDS_PER_DAY;
+            long crossingEnd = crossingStart + SECONDS_PER_DAY;
+            if (now >= crossingEnd) {
+                latest = Math.max(latest, crossingEnd);
+            } else if (now > crossingStart) {
+                latest = Math.max(latest, now);
+            }
+        }
+        return latest * 1000;
+    }
+
+    /**
+     * Gets a flight's base fare.
+     *
+     * @param flight the flight
+     * @return the base fare, or the default one if the flight is not registered
+     */
+    public BigDecimal getBaseFare(Flight flight) {
+        FlightFares flightFares = fares.get(flight);
+        return BigDecimal.valueOf(flightFares != null ? flightFares.baseCents : defaultBaseCents, 2);
+    }
+
+    private static int capacityOf(Flight flight) {
+        return Math.max(1, flight.getAvailableSeats());
+    }
+
+    private static long toCents(BigDecimal fare) {
+        if (fare == null || fare.signum() <= 0) {
+            throw new IllegalArgumentException("Base fare must be greater than zero");
+        }
+        return fare.movePointRight(2).longValue();
+    }
+
+    private static final class FlightFares {
+        final int capacity;
+        final long baseCents;
+        final long[] table;
+
+        FlightFares(int capacity, long baseCents, long[] table) {
+            this.capacity = Math.max(1, capacity);
+            this.baseCents = baseCents;
+            this.table = table;
+        }
+    }
+}
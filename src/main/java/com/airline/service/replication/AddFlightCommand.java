@@ -0,0 +1,72 @@
+package com.airline.service.replication;
+
+import com.airline.model.FareBucket;
+import com.airline.model.Flight;
+import com.airline.model.SeatMap;
+import com.airline.service.FlightService;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replicated {@link FlightService#addFlight(Flight)}. Carries the flight's values
+ * rather than the instance so each node gets its own copy.
+ */
+public class AddFlightCommand implements ReplicationCommand {
+    private final String flightNumber;
+    private final String origin;
+    private final String destination;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime arrivalTime;
+    private final int availableSeats;
+    private final int overbookingAllowance;
+    private final Map<String, Integer> fareBuckets;
+    private final int seatRows;
+    private final int seatsPerRow;
+
+    /**
+     * Captures a flight as it is now: its route and times, seats, overbooking allowance,
+     * fare classes and seat map layout.
+     * 
+     * @param flight the flight to add
+     */
+    public AddFlightCommand(Flight flight) {
+        this.flightNumber = flight.getFlightNumber();
+        this.origin = flight.getOrigin();
+        this.destination = flight.getDestination();
+        this.departureTime = flight.getDepartureTime();
+        this.arrivalTime = flight.getArrivalTime();
+        this.availableSeats = flight.getAvailableSeats();
+        this.overbookingAllowance = flight.getOverbookingAllowance();
+        this.fareBuckets = new LinkedHashMap<>();
+        for (FareBucket bucket : flight.getFareBuckets()) {
+            fareBuckets.put(bucket.getFareClass(), bucket.getAvailableSeats());
+        }
+        SeatMap seatMap = flight.getSeatMap();
+        this.seatRows = seatMap == null ? 0 : seatMap.getRows();
+        this.seatsPerRow = seatMap == null ? 0 : seatMap.getSeatsPerRow();
+    }
+
+    @Override
+    public Flight apply(FlightService flightService) {
+        Flight flight = new Flight(flightNumber, origin, destination, departureTime, arrivalTime, availableSeats);
+        flight.setOverbookingAllowance(overbookingAllowance);
+        fareBuckets.forEach(flight::addFareBucket);
+        if (seatRows > 0) {
+            flight.setSeatMap(new SeatMap(seatRows, seatsPerRow));
+        }
+        flightService.addFlight(flight);
+        return flight;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "AddFlight{" + flightNumber + ", " + origin + " -> " + destination + ", " + departureTime + ", "
+                + availableSeats + ", " + fareBuckets + '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.airline.service.replication;
+
+import com.airline.service.FlightService;
+
+import java.time.LocalDateTime;
+
+/**
+ * Replicated {@link FlightService#archiveDepartedFlights(LocalDateTime)}. The cutoff is
+ * fixed when the command is submitted, so every node archives the same flights.
+ */
+public class ArchiveDepartedFlightsCommand implements ReplicationCommand {
+    private final LocalDateTime cutoff;
+
+    public ArchiveDepartedFlightsCommand(LocalDateTime cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    /**
+     * Archives the departed flights.
+     * 
+     * @return the number of flights archived
+     */
+    @Override
+    public Integer apply(FlightService flightService) {
+        return flightService.archiveDepartedFlights(cutoff);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchiveDepartedFlights{" + cutoff + '}';
+    }
+}
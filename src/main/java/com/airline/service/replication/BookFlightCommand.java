@@ -0,0 +1,85 @@
+package com.airline.service.replication;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replicated {@link FlightService#bookFlight(String, Flight, String, int)} and
+ * {@link FlightService#bookSeats(String, Flight, String, List)}, addressed by flight number.
+ *
+ * <p>The leader prices the booking and picks the seats; the command it logs carries the
+ * fare charged and the seats assigned, so followers book the same seats at the same fare
+ * whatever their own clocks say.
+ */
+public class BookFlightCommand implements ReplicationCommand {
+    private final String customerName;
+    private final String flightNumber;
+    private final String fareClass;
+    private final int seats;
+    private final List<String> seatNumbers;
+    private final BigDecimal totalFare;
+
+    public BookFlightCommand(String customerName, String flightNumber, int seats) {
+        this(customerName, flightNumber, null, seats, null, null);
+    }
+
+    /**
+     * Creates a booking command.
+     * 
+     * @param customerName the name of the customer
+     * @param flightNumber the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seats the number of seats to book
+     * @param seatNumbers the seats to book, or null to have seats assigned
+     * @param totalFare the fare to charge, or null to charge the current price
+     */
+    public BookFlightCommand(String customerName, String flightNumber, String fareClass, int seats,
+                             List<String> seatNumbers, BigDecimal totalFare) {
+        this.customerName = customerName;
+        this.flightNumber = flightNumber;
+        this.fareClass = fareClass;
+        this.seats = seats;
+        this.seatNumbers = seatNumbers == null ? null : new ArrayList<>(seatNumbers);
+        this.totalFare = totalFare;
+    }
+
+    @Override
+    public Reservation apply(FlightService flightService) {
+        Flight flight = findFlight(flightService, flightNumber);
+        if (seatNumbers != null && !seatNumbers.isEmpty()) {
+            return totalFare == null
+                    ? flightService.bookSeats(customerName, flight, fareClass, seatNumbers)
+                    : flightService.bookSeatsAtFare(customerName, flight, fareClass, seatNumbers, totalFare);
+        }
+        return totalFare == null
+                ? flightService.bookFlight(customerName, flight, fareClass, seats)
+                : flightService.bookFlightAtFare(customerName, flight, fareClass, seats, totalFare);
+    }
+
+    @Override
+    public ReplicationCommand resolve(Object result) {
+        Reservation reservation = (Reservation) result;
+        return new BookFlightCommand(customerName, flightNumber, reservation.getFareClass(),
+                reservation.getSeatsBooked(), reservation.getSeatNumbers(), reservation.getTotalFare());
+    }
+
+    static Flight findFlight(FlightService flightService, String flightNumber) {
+        Flight flight = flightService.findFlight(flightNumber);
+        if (flight == null) {
+            throw new IllegalArgumentException("Flight not found in the system");
+        }
+        return flight;
+    }
+
+    @Override
+    public String toString() {
+        return "BookFlight{" + customerName + ", " + flightNumber + ", " + fareClass + ", " + seats
+                + (seatNumbers == null ? "" : ", " + seatNumbers)
+                + (totalFare == null ? "" : ", " + totalFare) + '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.airline.service.replication;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replicated {@link FlightService#cancelReservation(Reservation)}, followed by promoting
+ * the flight's waitlist into the seats that came back. Nodes in a replication group do
+ * not promote on their own, so promotion happens here, in log order, on every node.
+ *
+ * <p>The reservation is addressed by its values, matched on each node as
+ * {@link com.airline.service.store.ReservationStore#remove} matches them.
+ */
+public class CancelReservationCommand implements ReplicationCommand {
+    private final String customerName;
+    private final String flightNumber;
+    private final String fareClass;
+    private final int seats;
+    private final List<String> seatNumbers;
+    private final List<BigDecimal> promotedFares;
+
+    /**
+     * Captures the reservation to cancel.
+     * 
+     * @param reservation the reservation, from any node
+     */
+    public CancelReservationCommand(Reservation reservation) {
+        this(reservation.getCustomerName(), reservation.getFlight().getFlightNumber(), reservation.getFareClass(),
+                reservation.getSeatsBooked(), reservation.getSeatNumbers(), null);
+    }
+
+    private CancelReservationCommand(String customerName, String flightNumber, String fareClass, int seats,
+                                     List<String> seatNumbers, List<BigDecimal> promotedFares) {
+        this.customerName = customerName;
+        this.flightNumber = flightNumber;
+        this.fareClass = fareClass;
+        this.seats = seats;
+        this.seatNumbers = new ArrayList<>(seatNumbers);
+        this.promotedFares = promotedFares;
+    }
+
+    /**
+     * Cancels the reservation and promotes waiting customers.
+     * 
+     * @return the reservations made for promoted customers
+     */
+    @Override
+    public List<Reservation> apply(FlightService flightService) {
+        Flight flight = BookFlightCommand.findFlight(flightService, flightNumber);
+        Reservation reservation = new Reservation(customerName, flight, seats, fareClass);
+        reservation.setSeatNumbers(seatNumbers);
+        flightService.cancelReservation(reservation);
+        return PromoteWaitlistCommand.promote(flightService, flightNumber, promotedFares);
+    }
+
+    @Override
+    public ReplicationCommand resolve(Object result) {
+        @SuppressWarnings("unchecked")
+        List<Reservation> promoted = (List<Reservation>) result;
+        return new CancelReservationCommand(customerName, flightNumber, fareClass, seats, seatNumbers,
+                PromoteWaitlistCommand.faresOf(promoted));
+    }
+
+    @Override
+    public String toString() {
+        return "CancelReservation{" + customerName + ", " + flightNumber + ", " + fareClass + ", " + seats
+                + (promotedFares == null ? "" : ", promoted at " + promotedFares) + '}';
+    }
+}
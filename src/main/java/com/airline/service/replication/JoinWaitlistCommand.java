@@ -0,0 +1,32 @@
+package com.airline.service.replication;
+
+import com.airline.service.FlightService;
+import com.airline.service.waitlist.WaitlistEntry;
+
+/**
+ * Replicated {@link FlightService#joinWaitlist}, addressed by flight number.
+ */
+public class JoinWaitlistCommand implements ReplicationCommand {
+    private final String customerName;
+    private final String flightNumber;
+    private final String fareClass;
+    private final int seats;
+
+    public JoinWaitlistCommand(String customerName, String flightNumber, String fareClass, int seats) {
+        this.customerName = customerName;
+        this.flightNumber = flightNumber;
+        this.fareClass = fareClass;
+        this.seats = seats;
+    }
+
+    @Override
+    public WaitlistEntry apply(FlightService flightService) {
+        return flightService.joinWaitlist(customerName, BookFlightCommand.findFlight(flightService, flightNumber),
+                fareClass, seats);
+    }
+
+    @Override
+    public String toString() {
+        return "JoinWaitlist{" + customerName + ", " + flightNumber + ", " + fareClass + ", " + seats + '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.airline.service.replication;
+
+import com.airline.service.FlightService;
+import com.airline.service.waitlist.WaitlistEntry;
+
+import java.util.Objects;
+
+/**
+ * Replicated {@link FlightService#leaveWaitlist(WaitlistEntry)}. Each node holds its own
+ * copy of every waitlist, so the entry is addressed by its values and each node takes
+ * off the first of its entries that matches.
+ */
+public class LeaveWaitlistCommand implements ReplicationCommand {
+    private final String customerName;
+    private final String flightNumber;
+    private final String fareClass;
+    private final int seats;
+
+    /**
+     * Captures the waitlist entry to remove.
+     * 
+     * @param entry the entry, from any node
+     */
+    public LeaveWaitlistCommand(WaitlistEntry entry) {
+        this.customerName = entry.getCustomerName();
+        this.flightNumber = entry.getFlightNumber();
+        this.fareClass = entry.getFareClass();
+        this.seats = entry.getSeats();
+    }
+
+    /**
+     * Takes the customer off the waitlist.
+     * 
+     * @return true if the customer was still waiting
+     */
+    @Override
+    public Boolean apply(FlightService flightService) {
+        for (WaitlistEntry entry : flightService.getWaitlist(flightNumber)) {
+            if (entry.getCustomerName().equals(customerName) && entry.getSeats() == seats
+                    && Objects.equals(entry.getFareClass(), fareClass)) {
+                return flightService.leaveWaitlist(entry);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "LeaveWaitlist{" + customerName + ", " + flightNumber + ", " + fareClass + ", " + seats + '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.airline.service.replication;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process transport that calls other nodes directly. Delivery is synchronous,
+ * so once a write returns every registered node has applied it. Intended for tests
+ * and single-JVM setups.
+ */
+public class LoopbackTransport implements ReplicationTransport {
+    private final Map<String, ReplicationNode> nodes = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(ReplicationNode node) {
+        nodes.put(node.getNodeId(), node);
+    }
+
+    @Override
+    public long forward(String leaderId, String originNodeId, ReplicationCommand command) {
+        return node(leaderId).order(originNodeId, command);
+    }
+
+    @Override
+    public void publish(String leaderId, ReplicationEntry entry) {
+        for (ReplicationNode node : nodes.values()) {
+            if (!node.getNodeId().equals(leaderId)) {
+                node.receive(entry);
+            }
+        }
+    }
+
+    @Override
+    public List<ReplicationEntry> fetch(String leaderId, long afterSequence) {
+        return node(leaderId).entriesAfter(afterSequence);
+    }
+
+    private ReplicationNode node(String nodeId) {
+        ReplicationNode node = nodes.get(nodeId);
+        if (node == null) {
+            throw new IllegalStateException("Unknown replication node: " + nodeId);
+        }
+        return node;
+    }
+}
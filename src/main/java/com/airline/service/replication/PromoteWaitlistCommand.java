@@ -0,0 +1,61 @@
+package com.airline.service.replication;
+
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replicated {@link FlightService#promoteWaitlist(String)}. Every node holds the same
+ * waitlists and seats, so every node promotes the same customers; the command the leader
+ * logs carries the fare each of them was charged.
+ */
+public class PromoteWaitlistCommand implements ReplicationCommand {
+    private final String flightNumber;
+    private final List<BigDecimal> totalFares;
+
+    public PromoteWaitlistCommand(String flightNumber) {
+        this(flightNumber, null);
+    }
+
+    private PromoteWaitlistCommand(String flightNumber, List<BigDecimal> totalFares) {
+        this.flightNumber = flightNumber;
+        this.totalFares = totalFares;
+    }
+
+    @Override
+    public List<Reservation> apply(FlightService flightService) {
+        return promote(flightService, flightNumber, totalFares);
+    }
+
+    @Override
+    public ReplicationCommand resolve(Object result) {
+        @SuppressWarnings("unchecked")
+        List<Reservation> promoted = (List<Reservation>) result;
+        return new PromoteWaitlistCommand(flightNumber, faresOf(promoted));
+    }
+
+    /**
+     * Promotes at the given fares, or at current prices on the leader.
+     */
+    static List<Reservation> promote(FlightService flightService, String flightNumber, List<BigDecimal> totalFares) {
+        return totalFares == null
+                ? flightService.promoteWaitlist(flightNumber)
+                : flightService.promoteWaitlist(flightNumber, totalFares);
+    }
+
+    static List<BigDecimal> faresOf(List<Reservation> reservations) {
+        List<BigDecimal> fares = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            fares.add(reservation.getTotalFare());
+        }
+        return fares;
+    }
+
+    @Override
+    public String toString() {
+        return "PromoteWaitlist{" + flightNumber + (totalFares == null ? "" : ", " + totalFares) + '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.airline.service.replication;
+
+import com.airline.service.FlightService;
+
+/**
+ * A state-changing operation that the leader orders and every node applies
+ * to its own {@link FlightService}. Applying the same commands in the same
+ * order must produce the same state on every node.
+ */
+public interface ReplicationCommand {
+
+    /**
+     * Applies the command to a node's local service.
+     * 
+     * @param flightService the local service
+     * @return the result of the operation, e.g. the created reservation
+     * @throws IllegalArgumentException if the command is rejected
+     */
+    Object apply(FlightService flightService);
+
+    /**
+     * Gets the command the followers should apply, once the leader has applied this one.
+     * Commands whose outcome depends on the leader's clock, such as the fare charged,
+     * return a copy that carries the leader's outcome.
+     * 
+     * @param result what {@link #apply} returned on the leader
+     * @return the command to log
+     */
+    default ReplicationCommand resolve(Object result) {
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package com.airline.service.replication;
+
+/**
+ * A command together with the position the leader assigned to it in the replicated log.
+ */
+public class ReplicationEntry {
+    private final long sequence;
+    private final String originNodeId;
+    private final ReplicationCommand command;
+
+    public ReplicationEntry(long sequence, String originNodeId, ReplicationCommand command) {
+        this.sequence = sequence;
+        this.originNodeId = originNodeId;
+        this.command = command;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the node that submitted the command, so it can pick up the result once applied.
+     * 
+     * @return the origin node id
+     */
+    public String getOriginNodeId() {
+        return originNodeId;
+    }
+
+    public ReplicationCommand getCommand() {
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicationEntry{" + sequence + " from " + originNodeId + ": " + command + '}';
+    }
+}
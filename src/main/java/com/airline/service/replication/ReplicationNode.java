@@ -0,0 +1,395 @@
+package com.airline.service.replication;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import com.airline.service.waitlist.WaitlistEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One instance in a group of replicated {@link FlightService}s.
+ *
+ * <p>Writes (adding flights, bookings, cancellations, waitlists and archiving) go through
+ * the leader, which applies each command to its own service first and only assigns it a
+ * sequence number if it succeeds. Followers apply the leader's entries strictly in sequence
+ * order, so every node makes the same seat decisions and no node can oversell. Where the
+ * outcome depends on the leader's clock, as fares do, the logged entry carries the
+ * leader's outcome (see {@link ReplicationCommand#resolve}). Reads are served from the
+ * local service via {@link #getFlightService()}, which must not be written to directly.
+ * The leader keeps only its latest entries for followers that missed some to catch up from.
+ *
+ * <p>Waitlists are promoted as part of each replicated cancellation, so the local services
+ * must not also promote on their own, e.g. through a
+ * {@link com.airline.service.waitlist.WaitlistPromoter} on their event bus.
+ */
+public class ReplicationNode {
+    private static final Logger log = LoggerFactory.getLogger(ReplicationNode.class);
+    private static final long CATCH_UP_MILLIS = 200;
+    private static final int DEFAULT_RETAINED_ENTRIES = 100_000;
+    private static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+    private final String nodeId;
+    private final String leaderId;
+    private final FlightService flightService;
+    private final ReplicationTransport transport;
+    private final int retainedEntries;
+    private final long timeoutMillis;
+
+    private final Object lock = new Object();
+    private long appliedSequence;
+    private final TreeMap<Long, ReplicationEntry> pending = new TreeMap<>();
+    private final Map<Long, Object> results = new HashMap<>();
+    // Entries whose submitter gave up waiting, so their results are not kept
+    private final Set<Long> abandoned = new HashSet<>();
+    // Set once this node fails to apply an entry the leader accepted; it then applies no more
+    private IllegalStateException divergence;
+    // The leader's latest entries, oldest first; older ones are trimmed
+    private final List<ReplicationEntry> entryLog = new ArrayList<>();
+    private long firstLogged = 1;
+
+    public ReplicationNode(String nodeId, String leaderId, FlightService flightService, ReplicationTransport transport) {
+        this(nodeId, leaderId, flightService, transport, DEFAULT_RETAINED_ENTRIES, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Creates a node that, as leader, keeps at least the given number of its latest
+     * entries for followers to catch up from. A follower that falls further behind
+     * can no longer catch up and must be started again from a copy of another node.
+     * 
+     * @param nodeId this node's id
+     * @param leaderId the leader's node id
+     * @param flightService the local service
+     * @param transport how the nodes reach each other
+     * @param retainedEntries how many entries the leader keeps, at least
+     * @param timeoutMillis how long a write waits to be applied on this node before failing
+     */
+    public ReplicationNode(String nodeId, String leaderId, FlightService flightService, ReplicationTransport transport,
+                           int retainedEntries, long timeoutMillis) {
+        if (retainedEntries <= 0) {
+            throw new IllegalArgumentException("Retained entries must be greater than zero");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be greater than zero");
+        }
+        this.nodeId = nodeId;
+        this.leaderId = leaderId;
+        this.flightService = flightService;
+        this.transport = transport;
+        this.retainedEntries = retainedEntries;
+        this.timeoutMillis = timeoutMillis;
+        transport.register(this);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isLeader() {
+        return nodeId.equals(leaderId);
+    }
+
+    /**
+     * Gets the local service for reads such as searches and reservation lookups.
+     * 
+     * @return the local flight service
+     */
+    public FlightService getFlightService() {
+        return flightService;
+    }
+
+    /**
+     * Gets the sequence number of the last entry applied on this node.
+     * 
+     * @return the applied sequence
+     */
+    public long getAppliedSequence() {
+        synchronized (lock) {
+            return appliedSequence;
+        }
+    }
+
+    /**
+     * Checks whether this node still has the same state as the leader. A follower that
+     * fails to apply an entry the leader accepted stops applying entries, since its
+     * copy has diverged, and must be started again from a copy of another node.
+     * 
+     * @return false once this node has diverged
+     */
+    public boolean isHealthy() {
+        synchronized (lock) {
+            return divergence == null;
+        }
+    }
+
+    /**
+     * Adds a flight on every node.
+     * 
+     * @param flight the flight to add
+     * @return this node's copy of the flight
+     */
+    public Flight addFlight(Flight flight) {
+        if (flight == null) {
+            throw new IllegalArgumentException("Flight cannot be null");
+        }
+        return (Flight) submit(new AddFlightCommand(flight));
+    }
+
+    /**
+     * Books a flight on every node.
+     * 
+     * @param customerName the name of the customer
+     * @param flightNumber the flight to book
+     * @param seats the number of seats to book
+     * @return this node's copy of the reservation
+     * @throws IllegalArgumentException if the leader rejected the booking
+     */
+    public Reservation bookFlight(String customerName, String flightNumber, int seats) {
+        return (Reservation) submit(new BookFlightCommand(customerName, flightNumber, seats));
+    }
+
+    /**
+     * Books seats in a fare class on every node, at the fare the leader charges.
+     * 
+     * @param customerName the name of the customer
+     * @param flightNumber the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seats the number of seats to book
+     * @return this node's copy of the reservation
+     * @throws IllegalArgumentException if the leader rejected the booking
+     */
+    public Reservation bookFlight(String customerName, String flightNumber, String fareClass, int seats) {
+        return (Reservation) submit(new BookFlightCommand(customerName, flightNumber, fareClass, seats, null, null));
+    }
+
+    /**
+     * Books specific seats on every node, at the fare the leader charges.
+     * 
+     * @param customerName the name of the customer
+     * @param flightNumber the flight to book
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seatNumbers the seats to book, e.g. "12A"
+     * @return this node's copy of the reservation
+     * @throws IllegalArgumentException if the leader rejected the booking
+     */
+    public Reservation bookSeats(String customerName, String flightNumber, String fareClass, List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat must be selected");
+        }
+        return (Reservation) submit(new BookFlightCommand(customerName, flightNumber, fareClass, seatNumbers.size(),
+                seatNumbers, null));
+    }
+
+    /**
+     * Cancels a reservation on every node and books waiting customers into the seats
+     * that came back.
+     * 
+     * @param reservation the reservation, from this or any other node
+     * @return this node's copies of the reservations made for waiting customers
+     * @throws IllegalArgumentException if the leader has no such reservation
+     */
+    @SuppressWarnings("unchecked")
+    public List<Reservation> cancelReservation(Reservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        return (List<Reservation>) submit(new CancelReservationCommand(reservation));
+    }
+
+    /**
+     * Puts a customer on a full flight's waitlist on every node.
+     * 
+     * @param customerName the name of the customer
+     * @param flightNumber the flight
+     * @param fareClass the fare class code, or null to book without a fare class
+     * @param seats the number of seats wanted
+     * @return this node's copy of the waitlist entry
+     * @throws IllegalArgumentException if the leader rejected the entry
+     */
+    public WaitlistEntry joinWaitlist(String customerName, String flightNumber, String fareClass, int seats) {
+        return (WaitlistEntry) submit(new JoinWaitlistCommand(customerName, flightNumber, fareClass, seats));
+    }
+
+    /**
+     * Takes a customer off a waitlist on every node.
+     * 
+     * @param entry the waitlist entry, from this or any other node
+     * @return true if the customer was still waiting
+     */
+    public boolean leaveWaitlist(WaitlistEntry entry) {
+        return (Boolean) submit(new LeaveWaitlistCommand(entry));
+    }
+
+    /**
+     * Books waiting customers on a flight on every node, at the fares the leader charges.
+     * 
+     * @param flightNumber the flight number
+     * @return this node's copies of the reservations made
+     */
+    @SuppressWarnings("unchecked")
+    public List<Reservation> promoteWaitlist(String flightNumber) {
+        return (List<Reservation>) submit(new PromoteWaitlistCommand(flightNumber));
+    }
+
+    /**
+     * Archives flights that departed before a cutoff on every node.
+     * 
+     * @param cutoff the cutoff time, fixed here so every node archives the same flights
+     * @return the number of flights archived on this node
+     */
+    public int archiveDepartedFlights(LocalDateTime cutoff) {
+        return (Integer) submit(new ArchiveDepartedFlightsCommand(cutoff));
+    }
+
+    /**
+     * Pulls any entries this node has missed from the leader and applies them.
+     */
+    public void catchUp() {
+        if (isLeader()) {
+            return;
+        }
+        long after = getAppliedSequence();
+        for (ReplicationEntry entry : transport.fetch(leaderId, after)) {
+            receive(entry);
+        }
+    }
+
+    private Object submit(ReplicationCommand command) {
+        synchronized (lock) {
+            // Refused before the leader applies it, since this node could not show the outcome
+            if (divergence != null) {
+                throw divergence;
+            }
+        }
+        long sequence = isLeader() ? order(nodeId, command) : transport.forward(leaderId, nodeId, command);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        while (true) {
+            synchronized (lock) {
+                long catchUpAt = Math.min(deadline, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CATCH_UP_MILLIS));
+                long remaining;
+                while (appliedSequence < sequence && divergence == null
+                        && (remaining = catchUpAt - System.nanoTime()) > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        abandoned.add(sequence);
+                        throw new IllegalStateException("Interrupted while waiting for replication", e);
+                    }
+                }
+                if (appliedSequence >= sequence) {
+                    Object result = results.remove(sequence);
+                    if (result instanceof RuntimeException) {
+                        throw (RuntimeException) result;
+                    }
+                    return result;
+                }
+                if (divergence != null) {
+                    throw divergence;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    abandoned.add(sequence);
+                    throw new IllegalStateException("Entry " + sequence + " was not applied on " + nodeId + " within "
+                            + timeoutMillis + " ms; leader " + leaderId + " has accepted it and it may still be applied");
+                }
+            }
+            // Outside the lock, so a slow leader does not hold up entries arriving meanwhile
+            catchUp();
+        }
+    }
+
+    /**
+     * Leader side: applies a command locally and, if it succeeds, appends it to the log
+     * and publishes it to the followers.
+     */
+    long order(String originNodeId, ReplicationCommand command) {
+        if (!isLeader()) {
+            throw new IllegalStateException("Node " + nodeId + " is not the leader");
+        }
+        ReplicationEntry entry;
+        synchronized (lock) {
+            Object result = command.apply(flightService);
+            entry = new ReplicationEntry(appliedSequence + 1, originNodeId, command.resolve(result));
+            appliedSequence = entry.getSequence();
+            entryLog.add(entry);
+            // Trimmed in batches, so on average each entry is moved at most once
+            if (entryLog.size() >= 2 * retainedEntries) {
+                int trimmed = entryLog.size() - retainedEntries;
+                entryLog.subList(0, trimmed).clear();
+                firstLogged += trimmed;
+            }
+            if (originNodeId.equals(nodeId)) {
+                keepResult(entry.getSequence(), result);
+            }
+            lock.notifyAll();
+        }
+        transport.publish(nodeId, entry);
+        return entry.getSequence();
+    }
+
+    /**
+     * Follower side: buffers an entry and applies every entry that is now contiguous.
+     */
+    void receive(ReplicationEntry entry) {
+        synchronized (lock) {
+            if (divergence != null || entry.getSequence() <= appliedSequence) {
+                return;
+            }
+            pending.put(entry.getSequence(), entry);
+            ReplicationEntry next;
+            while ((next = pending.remove(appliedSequence + 1)) != null) {
+                Object result;
+                try {
+                    result = next.getCommand().apply(flightService);
+                } catch (RuntimeException e) {
+                    // The leader accepted this command, so failing here means the replica diverged
+                    divergence = new IllegalStateException("Replica " + nodeId + " could not apply " + next
+                            + " and has stopped applying entries", e);
+                    log.error("Replica {} diverged from leader {} at entry {}; it must be started again from a copy"
+                            + " of another node", nodeId, leaderId, next.getSequence(), e);
+                    pending.clear();
+                    break;
+                }
+                appliedSequence = next.getSequence();
+                if (next.getOriginNodeId().equals(nodeId)) {
+                    keepResult(next.getSequence(), result);
+                }
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void keepResult(long sequence, Object result) {
+        if (!abandoned.remove(sequence)) {
+            results.put(sequence, result);
+        }
+    }
+
+    /**
+     * Leader side: returns log entries after the given sequence.
+     * 
+     * @throws IllegalStateException if some of those entries have been trimmed
+     */
+    List<ReplicationEntry> entriesAfter(long afterSequence) {
+        synchronized (lock) {
+            long next = Math.max(afterSequence, 0) + 1;
+            if (next < firstLogged) {
+                throw new IllegalStateException("Node " + nodeId + " no longer has entries " + next + " to "
+                        + (firstLogged - 1) + "; the follower must be started again from a copy of another node");
+            }
+            int from = (int) Math.min(next - firstLogged, entryLog.size());
+            return new ArrayList<>(entryLog.subList(from, entryLog.size()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.airline.service.replication;
+
+import java.util.List;
+
+/**
+ * Moves commands and log entries between replication nodes.
+ * Implementations may be in-process (see {@link LoopbackTransport}) or networked.
+ */
+public interface ReplicationTransport {
+
+    /**
+     * Makes a node reachable through this transport.
+     * 
+     * @param node the node to register
+     */
+    void register(ReplicationNode node);
+
+    /**
+     * Sends a command to the leader to be ordered and applied.
+     * 
+     * @param leaderId the leader node id
+     * @param originNodeId the node submitting the command
+     * @param command the command
+     * @return the sequence number the leader assigned
+     * @throws IllegalArgumentException if the leader rejected the command
+     */
+    long forward(String leaderId, String originNodeId, ReplicationCommand command);
+
+    /**
+     * Delivers an entry the leader has applied to every other node.
+     * 
+     * @param leaderId the leader node id
+     * @param entry the entry to deliver
+     */
+    void publish(String leaderId, ReplicationEntry entry);
+
+    /**
+     * Fetches entries from the leader's log, used by followers to fill gaps.
+     * 
+     * @param leaderId the leader node id
+     * @param afterSequence the last sequence the follower has applied
+     * @return the entries after that sequence, in order
+     */
+    List<ReplicationEntry> fetch(String leaderId, long afterSequence);
+}
@@ -0,0 +1,397 @@
+package com.airline.service.report;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking totals kept up to date as flights and reservations come and go, so reports
+ * never scan the reservations.
+ *
+ * <p>Seats sold and seats offered are kept per destination and per departure day, seats
+ * held per customer, and seats sold per hour of booking time for a fixed number of
+ * recent hours. Counters are {@link LongAdder}s, so concurrent bookings on a popular
+ * destination do not contend on one counter. A report reads the counters it needs as
+ * they are, so it may miss a booking that is still being recorded.
+ *
+ * <p>The top customers are kept in a small leaderboard that a booking only touches when
+ * it lifts a customer into it. The board tracks twice as many customers as it shows, so
+ * a cancellation for a ranked customer lowers their total in place; the board is only
+ * rebuilt from the per-customer totals, on the next read, once cancellations leave
+ * fewer tracked customers certainly ahead of everyone outside than it shows.
+ */
+public class BookingAggregates {
+    private static final Comparator<CustomerTotal> MOST_SEATS_FIRST =
+            Comparator.comparingLong(CustomerTotal::getSeats).reversed()
+                    .thenComparing(CustomerTotal::getCustomerName);
+
+    private final int retainedHours;
+    private final Clock clock;
+    private final Map<String, Load> byDestination = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Load> byDay = new ConcurrentHashMap<>();
+    private final Map<String, CustomerSeats> byCustomer = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> soldByHour = new ConcurrentHashMap<>();
+    private final Leaderboard leaderboard;
+
+    public BookingAggregates(int leaderboardSize, int retainedHours) {
+        this(leaderboardSize, retainedHours, Clock.systemUTC());
+    }
+
+    /**
+     * Creates empty aggregates.
+     *
+     * @param leaderboardSize how many top customers are kept
+     * @param retainedHours how many hours of hourly sales are kept
+     * @param clock the clock that decides a booking's hour
+     */
+    public BookingAggregates(int leaderboardSize, int retainedHours, Clock clock) {
+        if (leaderboardSize <= 0) {
+            throw new IllegalArgumentException("Leaderboard size must be greater than zero");
+        }
+        if (retainedHours <= 0) {
+            throw new IllegalArgumentException("Retained hours must be greater than zero");
+        }
+        this.retainedHours = retainedHours;
+        this.clock = clock;
+        this.leaderboard = new Leaderboard(leaderboardSize);
+    }
+
+    /**
+     * Counts a flight's seats as offered.
+     *
+     * @param flight the flight
+     * @param capacity its seats, booked or not
+     */
+    public void addFlight(Flight flight, int capacity) {
+        destinationLoad(flight).capacity.add(capacity);
+        dayLoad(flight).capacity.add(capacity);
+    }
+
+    /**
+     * Stops counting a flight, e.g. once it is archived, along with its reservations.
+     *
+     * @param flight the flight
+     * @param reservations the reservations still held on it
+     */
+    public void removeFlight(Flight flight, List<Reservation> reservations) {
+        int capacity = flight.getAvailableSeats();
+        for (Reservation reservation : reservations) {
+            capacity += reservation.getSeatsBooked();
+            removeReservation(reservation);
+        }
+        destinationLoad(flight).capacity.add(-capacity);
+        dayLoad(flight).capacity.add(-capacity);
+    }
+
+    /**
+     * Counts a booking made now, including in the hourly sales.
+     */
+    public void recordBooking(Reservation reservation) {
+        addReservation(reservation);
+        long hour = clock.instant().getEpochSecond() / 3600;
+        LongAdder sold = soldByHour.get(hour);
+        if (sold == null) {
+            sold = soldByHour.computeIfAbsent(hour, h -> new LongAdder());
+            soldByHour.keySet().removeIf(h -> h <= hour - retainedHours);
+        }
+        sold.add(reservation.getSeatsBooked());
+    }
+
+    /**
+     * Counts a reservation that already existed, e.g. one loaded from a store. It was not
+     * sold now, so it is left out of the hourly sales.
+     */
+    public void addReservation(Reservation reservation) {
+        int seats = reservation.getSeatsBooked();
+        Flight flight = reservation.getFlight();
+        destinationLoad(flight).seatsSold.add(seats);
+        dayLoad(flight).seatsSold.add(seats);
+        CustomerSeats customer = byCustomer.computeIfAbsent(key(reservation.getCustomerName()),
+                k -> new CustomerSeats(reservation.getCustomerName().trim()));
+        customer.seats.add(seats);
+        leaderboard.offer(customer);
+    }
+
+    /**
+     * Stops counting a cancelled reservation. Hourly sales are left as they were, since
+     * the seats were still sold in that hour.
+     */
+    public void removeReservation(Reservation reservation) {
+        int seats = reservation.getSeatsBooked();
+        Flight flight = reservation.getFlight();
+        destinationLoad(flight).seatsSold.add(-seats);
+        dayLoad(flight).seatsSold.add(-seats);
+        CustomerSeats customer = byCustomer.get(key(reservation.getCustomerName()));
+        if (customer != null) {
+            customer.seats.add(-seats);
+            leaderboard.withdraw(customer);
+        }
+    }
+
+    /**
+     * Drops every total, e.g. before loading from a different store.
+     */
+    public void clear() {
+        byDestination.clear();
+        byDay.clear();
+        byCustomer.clear();
+        soldByHour.clear();
+        leaderboard.rebuild();
+    }
+
+    /**
+     * Gets the load of every destination that has flights.
+     *
+     * @return the loads, by destination name
+     */
+    public List<LoadSummary> getDestinationLoads() {
+        List<LoadSummary> loads = new ArrayList<>();
+        for (Load load : byDestination.values()) {
+            loads.add(load.summary());
+        }
+        loads.sort(Comparator.comparing(LoadSummary::getKey));
+        return loads;
+    }
+
+    /**
+     * Gets the load of one destination.
+     *
+     * @param destination the destination, ignoring case
+     * @return the load, or null if no flight goes there
+     */
+    public LoadSummary getDestinationLoad(String destination) {
+        Load load = byDestination.get(key(destination));
+        return load == null ? null : load.summary();
+    }
+
+    /**
+     * Gets the load of each departure day in a range that has flights.
+     *
+     * @param from the first day
+     * @param to the last day, inclusive
+     * @return the loads, earliest day first
+     */
+    public List<LoadSummary> getDayLoads(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start day must not be after end day");
+        }
+        List<LoadSummary> loads = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Load load = byDay.get(day);
+            if (load != null) {
+                loads.add(load.summary());
+            }
+        }
+        return loads;
+    }
+
+    /**
+     * Gets the customers holding the most seats.
+     *
+     * @param limit the maximum number of customers, capped at the leaderboard size
+     * @return the customers, most seats first
+     */
+    public List<CustomerTotal> getTopCustomers(int limit) {
+        List<CustomerTotal> top = leaderboard.snapshot();
+        return top.size() <= limit ? top : new ArrayList<>(top.subList(0, Math.max(0, limit)));
+    }
+
+    /**
+     * Gets the seats sold in each recent hour, including the current one.
+     *
+     * @param hours the number of hours, capped at the retained hours
+     * @return one entry per hour, oldest first
+     */
+    public List<HourlySales> getSeatsSoldByHour(int hours) {
+        int count = Math.max(0, Math.min(hours, retainedHours));
+        long current = clock.instant().getEpochSecond() / 3600;
+        List<HourlySales> sales = new ArrayList<>(count);
+        for (long hour = current - count + 1; hour <= current; hour++) {
+            LongAdder sold = soldByHour.get(hour);
+            sales.add(new HourlySales(LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC),
+                    sold == null ? 0 : sold.sum()));
+        }
+        return sales;
+    }
+
+    private Load destinationLoad(Flight flight) {
+        return byDestination.computeIfAbsent(key(flight.getDestination()),
+                k -> new Load(flight.getDestination().trim()));
+    }
+
+    private Load dayLoad(Flight flight) {
+        LocalDate day = flight.getDepartureTime().toLocalDate();
+        return byDay.computeIfAbsent(day, d -> new Load(d.toString()));
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Load {
+        final String name;
+        final LongAdder seatsSold = new LongAdder();
+        final LongAdder capacity = new LongAdder();
+
+        Load(String name) {
+            this.name = name;
+        }
+
+        LoadSummary summary() {
+            return new LoadSummary(name, seatsSold.sum(), capacity.sum());
+        }
+    }
+
+    private static final class CustomerSeats {
+        final String name;
+        final LongAdder seats = new LongAdder();
+        // Only changed under the leaderboard's lock
+        volatile boolean ranked;
+
+        CustomerSeats(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * The customers with the most seats. Bookings by customers below the lowest tracked
+     * total skip the lock entirely.
+     */
+    private final class Leaderboard {
+        private final int size;
+        private final int capacity;
+        private final Map<CustomerSeats, Long> ranked = new HashMap<>();
+        // Lowest tracked total once the board is full; anyone at or below it cannot get in
+        private volatile long threshold = Long.MIN_VALUE;
+        // Highest total anyone outside the board can have: the highest threshold since the last rebuild
+        private long outsideCeiling = Long.MIN_VALUE;
+        private boolean stale;
+
+        Leaderboard(int size) {
+            this.size = size;
+            this.capacity = size > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : 2 * size;
+        }
+
+        void offer(CustomerSeats customer) {
+            if (!customer.ranked && customer.seats.sum() <= threshold) {
+                return;
+            }
+            synchronized (this) {
+                if (stale) {
+                    return;
+                }
+                long seats = customer.seats.sum();
+                if (customer.ranked || ranked.size() < capacity) {
+                    ranked.put(customer, seats);
+                    customer.ranked = true;
+                } else {
+                    CustomerSeats lowest = lowest();
+                    if (seats <= ranked.get(lowest)) {
+                        return;
+                    }
+                    ranked.remove(lowest);
+                    lowest.ranked = false;
+                    ranked.put(customer, seats);
+                    customer.ranked = true;
+                }
+                updateThreshold();
+            }
+        }
+
+        void withdraw(CustomerSeats customer) {
+            if (!customer.ranked) {
+                return;
+            }
+            synchronized (this) {
+                if (stale || !customer.ranked) {
+                    return;
+                }
+                ranked.put(customer, customer.seats.sum());
+                updateThreshold();
+                if (outsideCeiling != Long.MIN_VALUE && countAbove(outsideCeiling) < size) {
+                    stale = true;
+                }
+            }
+        }
+
+        synchronized List<CustomerTotal> snapshot() {
+            if (stale) {
+                rebuild();
+            }
+            List<CustomerTotal> top = new ArrayList<>(ranked.size());
+            for (Map.Entry<CustomerSeats, Long> entry : ranked.entrySet()) {
+                if (entry.getValue() > 0) {
+                    top.add(new CustomerTotal(entry.getKey().name, entry.getValue()));
+                }
+            }
+            top.sort(MOST_SEATS_FIRST);
+            return top.size() <= size ? top : new ArrayList<>(top.subList(0, size));
+        }
+
+        /**
+         * Ranks every customer from scratch, keeping only the top ones in a min-heap.
+         */
+        synchronized void rebuild() {
+            for (CustomerSeats customer : ranked.keySet()) {
+                customer.ranked = false;
+            }
+            ranked.clear();
+            PriorityQueue<Map.Entry<CustomerSeats, Long>> heap =
+                    new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (CustomerSeats customer : byCustomer.values()) {
+                heap.add(new AbstractMap.SimpleEntry<>(customer, customer.seats.sum()));
+                if (heap.size() > capacity) {
+                    heap.poll();
+                }
+            }
+            for (Map.Entry<CustomerSeats, Long> entry : heap) {
+                ranked.put(entry.getKey(), entry.getValue());
+                entry.getKey().ranked = true;
+            }
+            stale = false;
+            outsideCeiling = Long.MIN_VALUE;
+            updateThreshold();
+        }
+
+        private CustomerSeats lowest() {
+            CustomerSeats lowest = null;
+            long lowestSeats = Long.MAX_VALUE;
+            for (Map.Entry<CustomerSeats, Long> entry : ranked.entrySet()) {
+                if (entry.getValue() < lowestSeats) {
+                    lowest = entry.getKey();
+                    lowestSeats = entry.getValue();
+                }
+            }
+            return lowest;
+        }
+
+        private int countAbove(long seats) {
+            int count = 0;
+            for (long tracked : ranked.values()) {
+                if (tracked > seats) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private void updateThreshold() {
+            threshold = ranked.size() < capacity ? Long.MIN_VALUE : ranked.get(lowest());
+            outsideCeiling = Math.max(outsideCeiling, threshold);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.airline.service.report;
+
+/**
+ * The seats a customer currently holds across all flights.
+ */
+public class CustomerTotal {
+    private final String customerName;
+    private final long seats;
+
+    public CustomerTotal(String customerName, long seats) {
+        this.customerName = customerName;
+        this.seats = seats;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public long getSeats() {
+        return seats;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerTotal{" +
+                "customerName='" + customerName + '\'' +
+                ", seats=" + seats +
+                '}';
+    }
+}
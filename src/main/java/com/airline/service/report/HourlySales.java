@@ -0,0 +1,35 @@
+package com.airline.service.report;
+
+import java.time.LocalDateTime;
+
+/**
+ * The seats sold during one hour of booking time.
+ */
+public class HourlySales {
+    private final LocalDateTime hour;
+    private final long seatsSold;
+
+    public HourlySales(LocalDateTime hour, long seatsSold) {
+        this.hour = hour;
+        this.seatsSold = seatsSold;
+    }
+
+    /**
+     * Gets the start of the hour, in UTC.
+     */
+    public LocalDateTime getHour() {
+        return hour;
+    }
+
+    public long getSeatsSold() {
+        return seatsSold;
+    }
+
+    @Override
+    public String toString() {
+        return "HourlySales{" +
+                "hour=" + hour +
+                ", seatsSold=" + seatsSold +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.airline.service.report;
+
+/**
+ * Seats sold against seats offered for one destination or one day.
+ */
+public class LoadSummary {
+    private final String key;
+    private final long seatsSold;
+    private final long capacity;
+
+    public LoadSummary(String key, long seatsSold, long capacity) {
+        this.key = key;
+        this.seatsSold = seatsSold;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the destination, or the day as yyyy-MM-dd.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public long getSeatsSold() {
+        return seatsSold;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the share of seats sold, from 0 to 1, or 0 when no seats are offered.
+     */
+    public double getLoadFactor() {
+        return capacity <= 0 ? 0 : (double) seatsSold / capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadSummary{" +
+                "key='" + key + '\'' +
+                ", seatsSold=" + seatsSold +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
@@ -0,0 +1,31 @@
+package com.airline.service.report;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration for booking reports.
+ */
+@Configuration
+public class ReportConfig {
+
+    @Value("${flight.reports.top-customers:100}")
+    private int topCustomers;
+
+    @Value("${flight.reports.retained-hours:168}")
+    private int retainedHours;
+
+    @Bean
+    public BookingAggregates bookingAggregates() {
+        return newBookingAggregates();
+    }
+
+    /**
+     * Creates empty booking totals set up like the application's own, for a tenant's
+     * flight service.
+     */
+    public BookingAggregates newBookingAggregates() {
+        return new BookingAggregates(topCustomers, retainedHours);
+    }
+}
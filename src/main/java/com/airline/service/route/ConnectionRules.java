@@ -0,0 +1,103 @@
+package com.airline.service.route;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rules for when one flight can connect to another: the minimum time needed to change
+ * planes at an airport, which can differ per airport, and the longest layover a
+ * passenger is offered. Instances are immutable.
+ */
+public final class ConnectionRules {
+    public static final ConnectionRules DEFAULT =
+            new ConnectionRules(Duration.ofMinutes(45), Duration.ofHours(6), Duration.ofHours(24));
+
+    private final Duration minimumConnection;
+    private final Duration maximumLayover;
+    private final Duration searchWindow;
+    private final Map<String, Duration> airportMinimums;
+
+    /**
+     * Creates rules that apply the same minimum connection time everywhere.
+     *
+     * @param minimumConnection the shortest allowed time between arriving and departing
+     * @param maximumLayover the longest allowed time between arriving and departing
+     * @param searchWindow how long after the requested time a first flight may depart
+     */
+    public ConnectionRules(Duration minimumConnection, Duration maximumLayover, Duration searchWindow) {
+        this(minimumConnection, maximumLayover, searchWindow, Collections.emptyMap());
+    }
+
+    private ConnectionRules(Duration minimumConnection, Duration maximumLayover, Duration searchWindow,
+                            Map<String, Duration> airportMinimums) {
+        if (minimumConnection == null || minimumConnection.isNegative()) {
+            throw new IllegalArgumentException("Minimum connection time cannot be negative");
+        }
+        if (maximumLayover == null || maximumLayover.compareTo(minimumConnection) < 0) {
+            throw new IllegalArgumentException("Maximum layover cannot be shorter than the minimum connection time");
+        }
+        if (searchWindow == null || searchWindow.isNegative()) {
+            throw new IllegalArgumentException("Search window cannot be negative");
+        }
+        this.minimumConnection = minimumConnection;
+        this.maximumLayover = maximumLayover;
+        this.searchWindow = searchWindow;
+        this.airportMinimums = airportMinimums;
+    }
+
+    /**
+     * Returns a copy of these rules with a different minimum connection time at one airport.
+     *
+     * @param airport the connecting airport, ignoring case
+     * @param minimumConnection the minimum connection time there
+     * @return the new rules
+     */
+    public ConnectionRules withMinimumConnection(String airport, Duration minimumConnection) {
+        if (airport == null || airport.trim().isEmpty()) {
+            throw new IllegalArgumentException("Airport cannot be null or empty");
+        }
+        if (minimumConnection == null || minimumConnection.isNegative()
+                || minimumConnection.compareTo(maximumLayover) > 0) {
+            throw new IllegalArgumentException("Minimum connection time at " + airport
+                    + " must be between zero and the maximum layover");
+        }
+        Map<String, Duration> updated = new HashMap<>(airportMinimums);
+        updated.put(RouteIndex.airportKey(airport), minimumConnection);
+        return new ConnectionRules(this.minimumConnection, maximumLayover, searchWindow,
+                Collections.unmodifiableMap(updated));
+    }
+
+    /**
+     * Gets the minimum connection time at an airport.
+     *
+     * @param airportKey the normalized airport name
+     * @return the airport's own minimum, or the default one
+     */
+    Duration minimumConnectionAt(String airportKey) {
+        return airportMinimums.getOrDefault(airportKey, minimumConnection);
+    }
+
+    public Duration getMinimumConnection() {
+        return minimumConnection;
+    }
+
+    public Duration getMaximumLayover() {
+        return maximumLayover;
+    }
+
+    public Duration getSearchWindow() {
+        return searchWindow;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionRules{" +
+                "minimumConnection=" + minimumConnection +
+                ", maximumLayover=" + maximumLayover +
+                ", searchWindow=" + searchWindow +
+                ", airportMinimums=" + airportMinimums +
+                '}';
+    }
+}
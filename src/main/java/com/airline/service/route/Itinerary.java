@@ -0,0 +1,75 @@
+package com.airline.service.route;
+
+import com.airline.model.Flight;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A trip made of one or more flights, each departing from where the previous one arrived.
+ */
+public final class Itinerary {
+    private final List<Flight> legs;
+
+    Itinerary(Flight[] legs, int length) {
+        this.legs = Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(legs, length)));
+    }
+
+    public List<Flight> getLegs() {
+        return legs;
+    }
+
+    public String getOrigin() {
+        return legs.get(0).getOrigin();
+    }
+
+    public String getDestination() {
+        return legs.get(legs.size() - 1).getDestination();
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return legs.get(0).getDepartureTime();
+    }
+
+    public LocalDateTime getArrivalTime() {
+        return legs.get(legs.size() - 1).getArrivalTime();
+    }
+
+    /**
+     * Gets the number of connections, zero for a direct flight.
+     */
+    public int getStops() {
+        return legs.size() - 1;
+    }
+
+    /**
+     * Gets the time from the first departure to the last arrival.
+     */
+    public Duration getDuration() {
+        return Duration.between(getDepartureTime(), getArrivalTime());
+    }
+
+    /**
+     * Gets the number of seats that can be booked on every leg.
+     */
+    public int getSellableSeats() {
+        int seats = Integer.MAX_VALUE;
+        for (Flight leg : legs) {
+            seats = Math.min(seats, leg.getSellableSeats());
+        }
+        return seats;
+    }
+
+    @Override
+    public String toString() {
+        return "Itinerary{" +
+                legs.stream().map(Flight::getFlightNumber).collect(Collectors.joining(" > ")) +
+                ", departure=" + getDepartureTime() +
+                ", arrival=" + getArrivalTime() +
+                '}';
+    }
+}
@@ -0,0 +1,45 @@
+package com.airline.service.route;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Spring configuration for itinerary search. Per-airport minimum connection times are
+ * given as a list, e.g. {@code flight.routes.airport-min-connection-minutes=New York=75,Chicago=60}.
+ */
+@Configuration
+public class RouteConfig {
+
+    @Value("${flight.routes.min-connection-minutes:45}")
+    private long minConnectionMinutes;
+
+    @Value("${flight.routes.max-layover-minutes:360}")
+    private long maxLayoverMinutes;
+
+    @Value("${flight.routes.search-window-hours:24}")
+    private long searchWindowHours;
+
+    @Value("${flight.routes.airport-min-connection-minutes:}")
+    private String airportMinConnectionMinutes;
+
+    @Bean
+    public ConnectionRules connectionRules() {
+        ConnectionRules rules = new ConnectionRules(Duration.ofMinutes(minConnectionMinutes),
+                Duration.ofMinutes(maxLayoverMinutes), Duration.ofHours(searchWindowHours));
+        for (String entry : airportMinConnectionMinutes.split(",")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected airport=minutes but got: " + entry.trim());
+            }
+            rules = rules.withMinimumConnection(entry.substring(0, separator),
+                    Duration.ofMinutes(Long.parseLong(entry.substring(separator + 1).trim())));
+        }
+        return rules;
+    }
+}
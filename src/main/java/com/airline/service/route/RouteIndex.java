@@ -0,0 +1,327 @@
+package com.airline.service.route;
+
+import com.airline.model.Flight;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route graph over the flight catalog for finding connecting itineraries.
+ *
+ * <p>Each airport keeps its departures sorted by departure time, so the flights that
+ * can follow an arrival are found with a binary search instead of a scan. A search walks
+ * forward in time from the origin, at each connecting airport only looking at flights
+ * that leave between the minimum connection time and the maximum layover after the
+ * arrival. The best itineraries found so far are kept in a bounded heap; once it is full,
+ * any flight departing after the worst of them cannot lead to a better result, which
+ * cuts most of the search.
+ *
+ * <p>Flights without an origin or arrival time are ignored. Times are compared as given,
+ * so all flights are expected to use the same local time. Updates copy one airport's
+ * departures and never block searches.
+ */
+public class RouteIndex {
+    public static final int MAX_STOPS = 2;
+
+    private static final Comparator<Itinerary> BEST_FIRST = Comparator
+            .comparing(Itinerary::getArrivalTime)
+            .thenComparingInt(Itinerary::getStops)
+            .thenComparing(Itinerary::getDepartureTime, Comparator.reverseOrder());
+
+    private final Map<String, Departures> departuresByAirport = new ConcurrentHashMap<>();
+    private volatile ConnectionRules rules;
+
+    public RouteIndex() {
+        this(ConnectionRules.DEFAULT);
+    }
+
+    public RouteIndex(ConnectionRules rules) {
+        setRules(rules);
+    }
+
+    public ConnectionRules getRules() {
+        return rules;
+    }
+
+    public void setRules(ConnectionRules rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Connection rules cannot be null");
+        }
+        this.rules = rules;
+    }
+
+    /**
+     * Adds a flight to its origin's departures. Flights that cannot be part of an
+     * itinerary are skipped.
+     *
+     * @param flight the flight
+     */
+    public void add(Flight flight) {
+        if (!isRoutable(flight)) {
+            return;
+        }
+        departuresByAirport.compute(airportKey(flight.getOrigin()),
+                (key, departures) -> departures == null ? Departures.of(flight) : departures.with(flight));
+    }
+
+    /**
+     * Removes a flight, e.g. once it has departed.
+     *
+     * @param flight the flight
+     */
+    public void remove(Flight flight) {
+        if (!isRoutable(flight)) {
+            return;
+        }
+        departuresByAirport.computeIfPresent(airportKey(flight.getOrigin()), (airport, departures) -> {
+            Departures remaining = departures.without(flight);
+            return remaining.flights.length == 0 ? null : remaining;
+        });
+    }
+
+    /**
+     * Finds the itineraries from one city to another that arrive first, counting only
+     * flights with seats left.
+     *
+     * @param origin the departure city
+     * @param destination the arrival city
+     * @param earliestDeparture the first flight departs at or after this time, within the search window
+     * @param maxStops the maximum number of connections, from 0 to {@value #MAX_STOPS}
+     * @param limit the maximum number of itineraries
+     * @return the itineraries, earliest arrival first; ties go to fewer stops, then to a later departure
+     */
+    public List<Itinerary> search(String origin, String destination, LocalDateTime earliestDeparture,
+                                  int maxStops, int limit) {
+        if (origin == null || origin.trim().isEmpty()) {
+            throw new IllegalArgumentException("Origin cannot be null or empty");
+        }
+        if (destination == null || destination.trim().isEmpty()) {
+            throw new IllegalArgumentException("Destination cannot be null or empty");
+        }
+        if (earliestDeparture == null) {
+            throw new IllegalArgumentException("Departure time cannot be null");
+        }
+        if (maxStops < 0 || maxStops > MAX_STOPS) {
+            throw new IllegalArgumentException("Stops must be between 0 and " + MAX_STOPS);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero");
+        }
+        String originKey = airportKey(origin);
+        String destinationKey = airportKey(destination);
+        if (originKey.equals(destinationKey)) {
+            return new ArrayList<>();
+        }
+
+        Search search = new Search(rules, destinationKey, maxStops, limit);
+        long from = epochSeconds(earliestDeparture);
+        search.extend(originKey, from, from + search.rules.getSearchWindow().getSeconds(), 0);
+        return search.results();
+    }
+
+    /**
+     * Gets the number of airports with at least one departure.
+     */
+    public int getAirportCount() {
+        return departuresByAirport.size();
+    }
+
+    static String airportKey(String airport) {
+        return airport.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isRoutable(Flight flight) {
+        return flight != null && flight.getOrigin() != null && flight.getDestination() != null
+                && flight.getDepartureTime() != null && flight.getArrivalTime() != null
+                && flight.getArrivalTime().isAfter(flight.getDepartureTime());
+    }
+
+    private static long epochSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private final class Search {
+        final ConnectionRules rules;
+        final String destinationKey;
+        final int maxStops;
+        final int limit;
+        final Flight[] path;
+        final String[] visited;
+        // Worst result on top, so it is the one replaced when a better itinerary turns up
+        final PriorityQueue<Itinerary> best;
+
+        Search(ConnectionRules rules, String destinationKey, int maxStops, int limit) {
+            this.rules = rules;
+            this.destinationKey = destinationKey;
+            this.maxStops = maxStops;
+            this.limit = limit;
+            this.path = new Flight[maxStops + 1];
+            this.visited = new String[maxStops + 1];
+            this.best = new PriorityQueue<>(BEST_FIRST.reversed());
+        }
+
+        void extend(String airportKey, long earliest, long latest, int depth) {
+            Departures departures = departuresByAirport.get(airportKey);
+            if (departures == null) {
+                return;
+            }
+            visited[depth] = airportKey;
+            for (int i = departures.firstAtOrAfter(earliest); i < departures.flights.length; i++) {
+                long departure = departures.departureSeconds[i];
+                if (departure > latest) {
+                    break;
+                }
+                long worst = worstArrival();
+                if (departure > worst) {
+                    // Everything from here on arrives after the worst result, and so does any connection
+                    break;
+                }
+                long arrival = departures.arrivalSeconds[i];
+                String nextKey = departures.destinationKeys[i];
+                Flight flight = departures.flights[i];
+                if (arrival > worst || isVisited(nextKey, depth) || flight.getSellableSeats() <= 0) {
+                    continue;
+                }
+
+                path[depth] = flight;
+                if (nextKey.equals(destinationKey)) {
+                    offer(new Itinerary(path, depth + 1));
+                } else if (depth < maxStops) {
+                    long connectAt = arrival + rules.minimumConnectionAt(nextKey).getSeconds();
+                    extend(nextKey, connectAt, arrival + rules.getMaximumLayover().getSeconds(), depth + 1);
+                }
+            }
+        }
+
+        private boolean isVisited(String airportKey, int depth) {
+            for (int i = 0; i <= depth; i++) {
+                if (visited[i].equals(airportKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long worstArrival() {
+            return best.size() < limit ? Long.MAX_VALUE : epochSeconds(best.peek().getArrivalTime());
+        }
+
+        private void offer(Itinerary itinerary) {
+            if (best.size() < limit) {
+                best.add(itinerary);
+            } else if (BEST_FIRST.compare(itinerary, best.peek()) < 0) {
+                best.poll();
+                best.add(itinerary);
+            }
+        }
+
+        List<Itinerary> results() {
+            List<Itinerary> results = new ArrayList<>(best);
+            results.sort(BEST_FIRST);
+            return results;
+        }
+    }
+
+    /**
+     * Immutable departures of one airport in departure order, with times and destination
+     * keys unpacked into parallel arrays for the search loop.
+     */
+    private static final class Departures {
+        final Flight[] flights;
+        final long[] departureSeconds;
+        final long[] arrivalSeconds;
+        final String[] destinationKeys;
+
+        private Departures(int length) {
+            this.flights = new Flight[length];
+            this.departureSeconds = new long[length];
+            this.arrivalSeconds = new long[length];
+            this.destinationKeys = new String[length];
+        }
+
+        static Departures of(Flight flight) {
+            Departures departures = new Departures(1);
+            departures.set(0, flight);
+            return departures;
+        }
+
+        /**
+         * Returns these departures with one more, placed after any departing at the same
+         * time. Only the new flight's times and key are worked out; the rest are copied.
+         */
+        Departures with(Flight flight) {
+            int at = firstAfter(flight.getDepartureTime());
+            Departures added = new Departures(flights.length + 1);
+            added.copy(this, 0, 0, at);
+            added.set(at, flight);
+            added.copy(this, at, at + 1, flights.length - at);
+            return added;
+        }
+
+        Departures without(Flight flight) {
+            int at = -1;
+            for (int i = 0; i < flights.length; i++) {
+                if (flights[i] == flight) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at < 0) {
+                return this;
+            }
+            Departures remaining = new Departures(flights.length - 1);
+            remaining.copy(this, 0, 0, at);
+            remaining.copy(this, at + 1, at, flights.length - at - 1);
+            return remaining;
+        }
+
+        private void set(int index, Flight flight) {
+            flights[index] = flight;
+            departureSeconds[index] = epochSeconds(flight.getDepartureTime());
+            arrivalSeconds[index] = epochSeconds(flight.getArrivalTime());
+            destinationKeys[index] = airportKey(flight.getDestination());
+        }
+
+        private void copy(Departures from, int fromIndex, int toIndex, int length) {
+            System.arraycopy(from.flights, fromIndex, flights, toIndex, length);
+            System.arraycopy(from.departureSeconds, fromIndex, departureSeconds, toIndex, length);
+            System.arraycopy(from.arrivalSeconds, fromIndex, arrivalSeconds, toIndex, length);
+            System.arraycopy(from.destinationKeys, fromIndex, destinationKeys, toIndex, length);
+        }
+
+        private int firstAfter(LocalDateTime departure) {
+            int low = 0;
+            int high = flights.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (!flights[mid].getDepartureTime().isAfter(departure)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int firstAtOrAfter(long seconds) {
+            int low = 0;
+            int high = departureSeconds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (departureSeconds[mid] < seconds) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
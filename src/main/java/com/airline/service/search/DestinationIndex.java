@@ -0,0 +1,239 @@
+package com.airline.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory typeahead index over flight destinations.
+ *
+ * <p>Prefix matches come from a trie that holds every word start of each destination,
+ * so both "new" and "york" find "New York". When there are not enough prefix matches,
+ * the remaining suggestions come from a trigram index, which tolerates typos such as
+ * "chicgo". Destinations are added incrementally and lookups never block writers.
+ *
+ * <p>The index counts how often each destination was added, one per flight, and drops a
+ * destination when it has been removed as often, i.e. when its last flight is gone.
+ * Trie nodes are left in place once created; only the destination is taken out of them.
+ */
+public class DestinationIndex {
+    private static final int FUZZY_MIN_SHARED_TRIGRAMS = 2;
+
+    private final TrieNode root = new TrieNode();
+    private final Map<String, String> displayNames = new ConcurrentHashMap<>();
+    // Flights per destination; changes to a destination's entries happen under its count
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a destination to the index, or counts one more flight to it if it is already
+     * indexed, keeping the display name it was first added with.
+     * 
+     * @param destination the destination as it should be displayed
+     */
+    public void add(String destination) {
+        if (destination == null || destination.trim().isEmpty()) {
+            return;
+        }
+        String key = normalize(destination);
+        counts.compute(key, (k, count) -> {
+            if (count != null) {
+                return count + 1;
+            }
+            displayNames.put(key, destination.trim());
+            for (int start = 0; start < key.length(); start++) {
+                if (start == 0 || key.charAt(start - 1) == ' ') {
+                    insert(key, start);
+                }
+            }
+            for (String trigram : trigramsOf(key)) {
+                trigrams.compute(trigram, (t, keys) -> {
+                    Set<String> updated = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                    updated.add(key);
+                    return updated;
+                });
+            }
+            return 1;
+        });
+    }
+
+    /**
+     * Counts one flight to a destination less, dropping the destination from the index
+     * once no flight goes there.
+     * 
+     * @param destination the destination, as passed to {@link #add(String)}
+     */
+    public void remove(String destination) {
+        if (destination == null || destination.trim().isEmpty()) {
+            return;
+        }
+        String key = normalize(destination);
+        counts.computeIfPresent(key, (k, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            drop(key);
+            return null;
+        });
+    }
+
+    /**
+     * Drops every destination, e.g. before loading from a different store.
+     */
+    public void clear() {
+        for (String key : counts.keySet()) {
+            counts.computeIfPresent(key, (k, count) -> {
+                drop(key);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Suggests destinations for what the user has typed so far.
+     * 
+     * @param query the partial destination
+     * @param limit the maximum number of suggestions
+     * @return matching destinations, prefix matches first, then close fuzzy matches
+     */
+    public List<String> suggest(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<String> matches = prefixMatches(key, limit);
+        if (matches.size() < limit) {
+            for (String fuzzy : fuzzyMatches(key, limit)) {
+                if (!matches.contains(fuzzy)) {
+                    matches.add(fuzzy);
+                    if (matches.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        // A destination removed meanwhile has no display name left
+        return matches.stream().map(displayNames::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the number of distinct destinations in the index.
+     * 
+     * @return the number of destinations
+     */
+    public int size() {
+        return displayNames.size();
+    }
+
+    private void insert(String key, int start) {
+        TrieNode node = root;
+        for (int i = start; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new TrieNode());
+            node.keys.add(key);
+        }
+    }
+
+    private void unlink(String key, int start) {
+        TrieNode node = root;
+        for (int i = start; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+            if (node != null) {
+                node.keys.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Takes a destination out of the trie and trigram index. Called under its count.
+     */
+    private void drop(String key) {
+        for (int start = 0; start < key.length(); start++) {
+            if (start == 0 || key.charAt(start - 1) == ' ') {
+                unlink(key, start);
+            }
+        }
+        for (String trigram : trigramsOf(key)) {
+            trigrams.computeIfPresent(trigram, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        displayNames.remove(key);
+    }
+
+    private List<String> prefixMatches(String key, int limit) {
+        TrieNode node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return new ArrayList<>();
+        }
+        // Whole-name prefixes rank above word prefixes, then shorter names first.
+        // Keep only the best `limit` keys instead of sorting the whole subtree.
+        Comparator<String> ranking = Comparator.comparing((String k) -> !k.startsWith(key))
+                .thenComparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder());
+        PriorityQueue<String> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (String candidate : node.keys) {
+            best.offer(candidate);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<String> result = new ArrayList<>(best);
+        result.sort(ranking);
+        return result;
+    }
+
+    private List<String> fuzzyMatches(String key, int limit) {
+        List<String> queryTrigrams = trigramsOf(key);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> keys = trigrams.get(trigram);
+            if (keys != null) {
+                for (String candidate : keys) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        int required = Math.min(FUZZY_MIN_SHARED_TRIGRAMS, queryTrigrams.size());
+        return shared.entrySet().stream()
+                .filter(e -> e.getValue() >= required)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> trigramsOf(String key) {
+        String padded = "  " + key + " ";
+        List<String> result = new ArrayList<>(padded.length());
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new ConcurrentHashMap<>();
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -0,0 +1,253 @@
+package com.airline.service.snapshot;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.store.ReservationStore;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The flights and reservations as they stood at one point in time. A snapshot never
+ * changes, so reports and exports can take their time over it while bookings go on,
+ * and every seat count in it agrees with the reservations in it.
+ *
+ * <p>Each change to the catalog produces a new snapshot through one of the
+ * {@code with} methods. Snapshots are built on {@link PersistentSortedMap}s, so a new
+ * snapshot shares almost all of its structure with the one before it and holding an old
+ * snapshot costs only the nodes that have changed since.
+ *
+ * <p>Reservations are the live {@link Reservation} objects, which are not changed once
+ * recorded. Their {@link Reservation#getFlight() flight} is the live flight; use
+ * {@link #getFlight(String)} for the seats available at snapshot time.
+ */
+public final class CatalogSnapshot {
+    private static final CatalogSnapshot EMPTY =
+            new CatalogSnapshot(0, 0, PersistentSortedMap.empty(), PersistentSortedMap.empty());
+
+    private final long version;
+    private final long nextSequence;
+    private final PersistentSortedMap<String, FlightState> flights;
+    private final PersistentSortedMap<ReservationKey, Reservation> reservations;
+
+    private CatalogSnapshot(long version, long nextSequence, PersistentSortedMap<String, FlightState> flights,
+                            PersistentSortedMap<ReservationKey, Reservation> reservations) {
+        this.version = version;
+        this.nextSequence = nextSequence;
+        this.flights = flights;
+        this.reservations = reservations;
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets a number that goes up by one with every change, so two snapshots can be
+     * ordered.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getFlightCount() {
+        return flights.size();
+    }
+
+    public int getReservationCount() {
+        return reservations.size();
+    }
+
+    /**
+     * Finds a flight by its flight number, ignoring case.
+     *
+     * @param flightNumber the flight number
+     * @return the flight as it stood, or null if it was not in the catalog
+     */
+    public FlightState getFlight(String flightNumber) {
+        return flightNumber == null ? null : flights.get(flightKey(flightNumber));
+    }
+
+    /**
+     * Gets every flight, ordered by flight number.
+     */
+    public Iterable<FlightState> getFlights() {
+        return flights;
+    }
+
+    /**
+     * Gets every reservation, grouped by flight number and oldest first within a
+     * flight. Iterating does not copy the reservations.
+     */
+    public Iterable<Reservation> getReservations() {
+        return reservations;
+    }
+
+    /**
+     * Gets the reservations on a flight.
+     *
+     * @param flightNumber the flight number, ignoring case
+     * @return the reservations, oldest first
+     */
+    public List<Reservation> getReservations(String flightNumber) {
+        String key = flightKey(flightNumber);
+        return reservations.valuesInRange(ReservationKey.first(key), ReservationKey.after(key));
+    }
+
+    /**
+     * Returns a snapshot with a flight added, with its current available seats. Like a
+     * lookup by flight number, the snapshot keeps the first flight added with a number.
+     *
+     * @param flight the flight
+     * @return the new snapshot, or this snapshot if it has a flight with that number
+     */
+    public CatalogSnapshot withFlight(Flight flight) {
+        return withFlight(flight, flight.getAvailableSeats());
+    }
+
+    /**
+     * Returns a snapshot with a flight added with the given available seats.
+     *
+     * @param flight the flight
+     * @param availableSeats the seats available when the flight was added
+     * @return the new snapshot, or this snapshot if it has a flight with that number
+     */
+    public CatalogSnapshot withFlight(Flight flight, int availableSeats) {
+        String key = flightKey(flight);
+        if (flights.get(key) != null) {
+            return this;
+        }
+        FlightState state = new FlightState(key, flight, availableSeats);
+        return new CatalogSnapshot(version + 1, nextSequence, flights.put(key, state), reservations);
+    }
+
+    /**
+     * Returns a snapshot without this exact flight instance and its reservations.
+     *
+     * @param flight the flight
+     * @return the new snapshot, or this snapshot if the flight is not in it
+     */
+    public CatalogSnapshot withoutFlight(Flight flight) {
+        String key = flightKey(flight);
+        FlightState state = flights.get(key);
+        if (state == null || state.getFlight() != flight) {
+            return this;
+        }
+        return new CatalogSnapshot(version + 1, nextSequence, flights.remove(key),
+                reservations.removeRange(ReservationKey.first(key), ReservationKey.after(key)));
+    }
+
+    /**
+     * Returns a snapshot with a reservation added and its seats taken from its flight.
+     *
+     * @param reservation the reservation
+     * @return the new snapshot
+     */
+    public CatalogSnapshot withReservation(Reservation reservation) {
+        String key = sharedKey(flightKey(reservation.getFlight()));
+        return new CatalogSnapshot(version + 1, nextSequence + 1,
+                takeSeats(key, reservation.getSeatsBooked()),
+                reservations.put(new ReservationKey(key, nextSequence), reservation));
+    }
+
+    /**
+     * Returns a snapshot without a reservation and with its seats given back to its
+     * flight. The reservation is matched as by {@link ReservationStore#remove}.
+     *
+     * @param reservation the reservation
+     * @return the new snapshot, or this snapshot if the reservation is not in it
+     */
+    public CatalogSnapshot withoutReservation(Reservation reservation) {
+        String key = flightKey(reservation.getFlight());
+        ReservationKey match = null;
+        for (ReservationKey candidate : reservations.keysInRange(ReservationKey.first(key),
+                ReservationKey.after(key))) {
+            Reservation stored = reservations.get(candidate);
+            if (stored == reservation) {
+                match = candidate;
+                break;
+            }
+            if (match == null && ReservationStore.sameBooking(stored, reservation)) {
+                match = candidate;
+            }
+        }
+        if (match == null) {
+            return this;
+        }
+        return new CatalogSnapshot(version + 1, nextSequence,
+                takeSeats(key, -reservations.get(match).getSeatsBooked()),
+                reservations.remove(match));
+    }
+
+    private PersistentSortedMap<String, FlightState> takeSeats(String key, int seats) {
+        FlightState state = flights.get(key);
+        return state == null ? flights : flights.put(key, state.withSeatsTaken(seats));
+    }
+
+    /**
+     * Gets the key instance held by the flight's state, so reservation keys share it
+     * rather than each holding a copy.
+     */
+    private String sharedKey(String key) {
+        FlightState state = flights.get(key);
+        return state == null ? key : state.getKey();
+    }
+
+    private static String flightKey(Flight flight) {
+        return flightKey(flight.getFlightNumber());
+    }
+
+    private static String flightKey(String flightNumber) {
+        return flightNumber.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogSnapshot{" +
+                "version=" + version +
+                ", flights=" + flights.size() +
+                ", reservations=" + reservations.size() +
+                '}';
+    }
+
+    /**
+     * Orders reservations by flight, then by when they were recorded.
+     */
+    private static final class ReservationKey implements Comparable<ReservationKey> {
+        private final String flightKey;
+        private final long sequence;
+
+        ReservationKey(String flightKey, long sequence) {
+            this.flightKey = flightKey;
+            this.sequence = sequence;
+        }
+
+        static ReservationKey first(String flightKey) {
+            return new ReservationKey(flightKey, Long.MIN_VALUE);
+        }
+
+        static ReservationKey after(String flightKey) {
+            return new ReservationKey(flightKey + '\0', Long.MIN_VALUE);
+        }
+
+        @Override
+        public int compareTo(ReservationKey other) {
+            int cmp = flightKey.compareTo(other.flightKey);
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReservationKey that = (ReservationKey) o;
+            return sequence == that.sequence && flightKey.equals(that.flightKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flightKey, sequence);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.airline.service.snapshot;
+
+import com.airline.model.Flight;
+
+import java.time.LocalDateTime;
+
+/**
+ * A flight as it stood in a {@link CatalogSnapshot}. Unlike {@link Flight}, its seat
+ * count never changes.
+ */
+public final class FlightState {
+    private final String key;
+    private final Flight flight;
+    private final int availableSeats;
+
+    FlightState(String key, Flight flight, int availableSeats) {
+        this.key = key;
+        this.flight = flight;
+        this.availableSeats = availableSeats;
+    }
+
+    FlightState withSeatsTaken(int seats) {
+        return new FlightState(key, flight, availableSeats - seats);
+    }
+
+    /**
+     * Gets the lower-case flight number the snapshot files this flight under.
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the live flight, whose seat count may since have changed.
+     */
+    public Flight getFlight() {
+        return flight;
+    }
+
+    public String getFlightNumber() {
+        return flight.getFlightNumber();
+    }
+
+    public String getOrigin() {
+        return flight.getOrigin();
+    }
+
+    public String getDestination() {
+        return flight.getDestination();
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return flight.getDepartureTime();
+    }
+
+    /**
+     * Gets the seats that were available when the snapshot was taken.
+     */
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightState{" +
+                "flightNumber='" + getFlightNumber() + '\'' +
+                ", availableSeats=" + availableSeats +
+                '}';
+    }
+}
@@ -0,0 +1,285 @@
+package com.airline.service.snapshot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An immutable sorted map. Every change returns a new map that shares all untouched
+ * nodes with the old one, so a change copies only the O(log n) nodes on its path and
+ * old versions stay valid for as long as someone holds them.
+ *
+ * <p>The map is a treap whose node priorities are taken from a hash of the key, so its
+ * shape depends only on the keys it holds and sequential keys still give a balanced
+ * tree in expectation.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class PersistentSortedMap<K extends Comparable<? super K>, V> implements Iterable<V> {
+    private static final PersistentSortedMap<?, ?> EMPTY = new PersistentSortedMap<>(null);
+
+    private final Node<K, V> root;
+
+    private PersistentSortedMap(Node<K, V> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+        return (PersistentSortedMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Gets the value for a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is not in the map
+     */
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return node.value;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a map with the key set to the value.
+     *
+     * @param key the key
+     * @param value the value, not null
+     * @return the new map
+     */
+    public PersistentSortedMap<K, V> put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        if (get(key) != null) {
+            return new PersistentSortedMap<>(replace(root, key, value));
+        }
+        Node<K, V> below = split(root, key, false);
+        Node<K, V> atOrAbove = split(root, key, true);
+        Node<K, V> single = new Node<>(key, value, priority(key), null, null);
+        return new PersistentSortedMap<>(merge(merge(below, single), atOrAbove));
+    }
+
+    /**
+     * Returns a map without the key.
+     *
+     * @param key the key
+     * @return the new map, or this map if the key is not in it
+     */
+    public PersistentSortedMap<K, V> remove(K key) {
+        if (get(key) == null) {
+            return this;
+        }
+        return new PersistentSortedMap<>(remove(root, key));
+    }
+
+    /**
+     * Returns a map without the keys from {@code from}, inclusive, to {@code to},
+     * exclusive.
+     *
+     * @param from the lowest key removed
+     * @param to the lowest key kept above the range
+     * @return the new map
+     */
+    public PersistentSortedMap<K, V> removeRange(K from, K to) {
+        Node<K, V> below = split(root, from, false);
+        Node<K, V> above = split(root, to, true);
+        if (size(below) + size(above) == size(root)) {
+            return this;
+        }
+        return new PersistentSortedMap<>(merge(below, above));
+    }
+
+    /**
+     * Gets the values for keys from {@code from}, inclusive, to {@code to}, exclusive.
+     *
+     * @param from the lowest key included
+     * @param to the lowest key excluded above the range
+     * @return the values in key order
+     */
+    public List<V> valuesInRange(K from, K to) {
+        List<V> values = new ArrayList<>();
+        collect(root, from, to, node -> values.add(node.value));
+        return values;
+    }
+
+    /**
+     * Gets the keys from {@code from}, inclusive, to {@code to}, exclusive.
+     *
+     * @param from the lowest key included
+     * @param to the lowest key excluded above the range
+     * @return the keys in order
+     */
+    public List<K> keysInRange(K from, K to) {
+        List<K> keys = new ArrayList<>();
+        collect(root, from, to, node -> keys.add(node.key));
+        return keys;
+    }
+
+    /**
+     * Iterates over the values in key order. The map never changes, so iteration needs
+     * no locking and never fails on concurrent changes.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new ValueIterator<>(root);
+    }
+
+    private void collect(Node<K, V> node, K from, K to, Consumer<Node<K, V>> action) {
+        if (node == null) {
+            return;
+        }
+        boolean aboveFrom = node.key.compareTo(from) >= 0;
+        boolean belowTo = node.key.compareTo(to) < 0;
+        if (aboveFrom) {
+            collect(node.left, from, to, action);
+        }
+        if (aboveFrom && belowTo) {
+            action.accept(node);
+        }
+        if (belowTo) {
+            collect(node.right, from, to, action);
+        }
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> replace(Node<K, V> node, K key, V value) {
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) {
+            return new Node<>(node.key, value, node.priority, node.left, node.right);
+        }
+        return cmp < 0
+                ? node.withChildren(replace(node.left, key, value), node.right)
+                : node.withChildren(node.left, replace(node.right, key, value));
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> remove(Node<K, V> node, K key) {
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        return cmp < 0
+                ? node.withChildren(remove(node.left, key), node.right)
+                : node.withChildren(node.left, remove(node.right, key));
+    }
+
+    /**
+     * Gets the part of a tree with keys below the split key, or at or above it.
+     */
+    private static <K extends Comparable<? super K>, V> Node<K, V> split(Node<K, V> node, K key, boolean upper) {
+        if (node == null) {
+            return null;
+        }
+        boolean nodeBelow = node.key.compareTo(key) < 0;
+        if (nodeBelow == upper) {
+            return split(upper ? node.right : node.left, key, upper);
+        }
+        return upper
+                ? node.withChildren(split(node.left, key, true), node.right)
+                : node.withChildren(node.left, split(node.right, key, false));
+    }
+
+    /**
+     * Joins two trees where every key in the first is below every key in the second.
+     */
+    private static <K extends Comparable<? super K>, V> Node<K, V> merge(Node<K, V> low, Node<K, V> high) {
+        if (low == null) {
+            return high;
+        }
+        if (high == null) {
+            return low;
+        }
+        if (low.priority >= high.priority) {
+            return low.withChildren(low.left, merge(low.right, high));
+        }
+        return high.withChildren(merge(low, high.left), high.right);
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int priority(Object key) {
+        // Murmur3 finalizer, so keys with nearby hash codes get unrelated priorities
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final int priority;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int size;
+
+        Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        Node<K, V> withChildren(Node<K, V> left, Node<K, V> right) {
+            if (left == this.left && right == this.right) {
+                return this;
+            }
+            return new Node<>(key, value, priority, left, right);
+        }
+    }
+
+    private static final class ValueIterator<K, V> implements Iterator<V> {
+        private final Deque<Node<K, V>> path = new ArrayDeque<>();
+
+        ValueIterator(Node<K, V> root) {
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node<K, V> node) {
+            for (; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public V next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = path.pop();
+            pushLeft(node.right);
+            return node.value;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.airline.service.snapshot;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the latest {@link CatalogSnapshot} and builds it lazily. Writers only queue their
+ * change; the changes are applied in the order they were queued when a snapshot is read,
+ * or by the writer that fills the queue to its limit, so a catalog nobody reads from
+ * still does not queue changes without bound.
+ *
+ * <p>Swapping in every new snapshot with a compare-and-set made busy writers retry
+ * against each other, copying tree paths they then threw away. Here a writer's only
+ * shared step is appending to a lock-free queue, and the path copying happens once
+ * per change, in one thread.
+ */
+public final class SnapshotLog {
+    private final Queue<UnaryOperator<CatalogSnapshot>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock publishing = new ReentrantLock();
+    private final int maxPending;
+    private volatile CatalogSnapshot published;
+
+    /**
+     * Creates a log starting from the given snapshot.
+     *
+     * @param initial the snapshot before any change
+     * @param maxPending how many changes may queue up before a writer applies them
+     */
+    public SnapshotLog(CatalogSnapshot initial, int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Maximum pending changes must be greater than zero");
+        }
+        this.published = initial;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Queues a change. It shows in every snapshot read after this returns.
+     *
+     * @param change makes the next snapshot from the one before it
+     */
+    public void record(UnaryOperator<CatalogSnapshot> change) {
+        pending.add(change);
+        // Skipped if another thread is already applying; it or a later reader catches up
+        if (pendingCount.incrementAndGet() >= maxPending && publishing.tryLock()) {
+            try {
+                apply();
+            } finally {
+                publishing.unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets the snapshot with every recorded change applied.
+     */
+    public CatalogSnapshot get() {
+        if (pendingCount.get() == 0) {
+            return published;
+        }
+        publishing.lock();
+        try {
+            apply();
+            return published;
+        } finally {
+            publishing.unlock();
+        }
+    }
+
+    /**
+     * Replaces the snapshot and drops any queued changes. Not to be called while
+     * changes are being recorded.
+     *
+     * @param snapshot the new snapshot
+     */
+    public void reset(CatalogSnapshot snapshot) {
+        publishing.lock();
+        try {
+            pending.clear();
+            pendingCount.set(0);
+            published = snapshot;
+        } finally {
+            publishing.unlock();
+        }
+    }
+
+    private void apply() {
+        CatalogSnapshot current = published;
+        int applied = 0;
+        UnaryOperator<CatalogSnapshot> change;
+        while ((change = pending.poll()) != null) {
+            current = change.apply(current);
+            applied++;
+        }
+        published = current;
+        pendingCount.addAndGet(-applied);
+    }
+}
@@ -0,0 +1,115 @@
+package com.airline.service.store;
+
+import com.airline.service.customer.CustomerRegistry;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Opens the embedded H2 database behind the JDBC stores: a single file on local disk,
+ * no server, reached through a Hikari connection pool.
+ */
+public final class EmbeddedDatabase {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS flights ("
+                    + " flight_key VARCHAR(32) PRIMARY KEY,"
+                    + " flight_number VARCHAR(32) NOT NULL,"
+                    + " destination VARCHAR(128) NOT NULL,"
+                    + " destination_key VARCHAR(128) NOT NULL,"
+                    + " departure_time TIMESTAMP NOT NULL,"
+                    + " available_seats INT NOT NULL,"
+                    + " overbooking_allowance INT NOT NULL)",
+            // Added for itinerary search; nullable so older database files still open
+            "ALTER TABLE flights ADD COLUMN IF NOT EXISTS origin VARCHAR(128)",
+            "ALTER TABLE flights ADD COLUMN IF NOT EXISTS arrival_time TIMESTAMP",
+            // Null when seats on the flight are not assigned individually
+            "ALTER TABLE flights ADD COLUMN IF NOT EXISTS seat_rows INT",
+            "ALTER TABLE flights ADD COLUMN IF NOT EXISTS seats_per_row INT",
+            "CREATE TABLE IF NOT EXISTS fare_buckets ("
+                    + " flight_key VARCHAR(32) NOT NULL,"
+                    + " position INT NOT NULL,"
+                    + " fare_class VARCHAR(16) NOT NULL,"
+                    + " seats INT NOT NULL,"
+                    + " PRIMARY KEY (flight_key, position))",
+            "CREATE INDEX IF NOT EXISTS flights_by_destination ON flights (destination_key, departure_time)",
+            "CREATE INDEX IF NOT EXISTS flights_by_departure ON flights (departure_time)",
+            "CREATE TABLE IF NOT EXISTS reservations ("
+                    + " id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                    + " customer_name VARCHAR(256) NOT NULL,"
+                    + " customer_key VARCHAR(256) NOT NULL,"
+                    + " flight_key VARCHAR(32) NOT NULL,"
+                    + " seats INT NOT NULL,"
+                    + " fare_class VARCHAR(16),"
+                    + " seat_numbers VARCHAR(1024) NOT NULL)",
+            "ALTER TABLE reservations ADD COLUMN IF NOT EXISTS total_fare DECIMAL(12, 2)",
+            "CREATE INDEX IF NOT EXISTS reservations_by_customer ON reservations (customer_key)",
+            "CREATE INDEX IF NOT EXISTS reservations_by_flight ON reservations (flight_key)"
+    };
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Opens (or creates) the database file and makes sure the tables exist.
+     * 
+     * @param file the database file, without H2's ".mv.db" suffix
+     * @param poolSize the maximum number of pooled connections
+     * @return the pooled data source; close it to shut the database down
+     */
+    public static HikariDataSource open(Path file, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + file.toAbsolutePath());
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(poolSize);
+        config.setPoolName("flight-store");
+        HikariDataSource dataSource = new HikariDataSource(config);
+        try {
+            createSchema(dataSource);
+        } catch (RuntimeException e) {
+            dataSource.close();
+            throw e;
+        }
+        return dataSource;
+    }
+
+    static void createSchema(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+            migrateCustomerKeys(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create the flight store schema", e);
+        }
+    }
+
+    /**
+     * Rewrites customer keys stored upper-cased by older versions, which matched "Straße"
+     * and "Strasse" as one customer, to the form {@link CustomerRegistry} matches by.
+     * Current keys are already lower-case, so only older rows are rewritten.
+     */
+    private static void migrateCustomerKeys(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, customer_name FROM reservations WHERE customer_key <> LOWER(customer_key)");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE reservations SET customer_key = ? WHERE id = ?");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                update.setString(1, CustomerRegistry.normalize(rows.getString("customer_name")));
+                update.setLong(2, rows.getLong("id"));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.airline.service.store;
+
+import com.airline.model.Flight;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Where {@code FlightService} keeps its flights.
+ * <p>
+ * Implementations must hand out the same {@link Flight} instance for a flight on every
+ * lookup, since seats are taken lock-free through the instance's seat counter.
+ */
+public interface FlightStore {
+
+    /**
+     * Adds a flight.
+     * 
+     * @param flight the flight
+     */
+    void add(Flight flight);
+
+    /**
+     * Finds a flight by its flight number, ignoring case.
+     * 
+     * @param flightNumber the flight number
+     * @return the flight, or null if there is none
+     */
+    Flight findByNumber(String flightNumber);
+
+    /**
+     * Finds flights to a destination, ignoring case, departing on a date.
+     * 
+     * @param destination the destination city
+     * @param date the departure date
+     * @return the matching flights, whether or not they have seats left
+     */
+    List<Flight> findByDestinationAndDate(String destination, LocalDate date);
+
+    /**
+     * Finds flights departing before a given time.
+     * 
+     * @param cutoff the cutoff time
+     * @return the matching flights
+     */
+    List<Flight> findDepartedBefore(LocalDateTime cutoff);
+
+    /**
+     * Gets every flight.
+     */
+    List<Flight> findAll();
+
+    /**
+     * Persists the flight's current seat count. A no-op for stores that only hold the
+     * live instances.
+     * 
+     * @param flight the flight
+     */
+    void updateSeats(Flight flight);
+
+    /**
+     * Removes this exact flight instance.
+     * 
+     * @param flight the flight
+     */
+    void remove(Flight flight);
+}
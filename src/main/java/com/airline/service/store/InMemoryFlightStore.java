@@ -0,0 +1,98 @@
+package com.airline.service.store;
+
+import com.airline.model.Flight;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps flights in memory, indexed by flight number. Lookups by number are a hash
+ * lookup; searches scan the flights in the order they were added.
+ */
+public class InMemoryFlightStore implements FlightStore {
+    private final ConcurrentMap<String, List<Stored>> byNumber = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Flight> inOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    @Override
+    public void add(Flight flight) {
+        Stored stored = new Stored(flight, nextSequence.getAndIncrement());
+        inOrder.put(stored.sequence, flight);
+        // Numbers are expected to be unique, but like a list the store keeps a second
+        // flight with a number behind the first rather than replacing it
+        byNumber.merge(JdbcFlightStore.key(flight.getFlightNumber()), List.of(stored), (current, added) -> {
+            List<Stored> updated = new ArrayList<>(current);
+            updated.addAll(added);
+            return List.copyOf(updated);
+        });
+    }
+
+    @Override
+    public Flight findByNumber(String flightNumber) {
+        if (flightNumber == null) {
+            return null;
+        }
+        List<Stored> stored = byNumber.get(JdbcFlightStore.key(flightNumber));
+        return stored == null ? null : stored.get(0).flight;
+    }
+
+    @Override
+    public List<Flight> findByDestinationAndDate(String destination, LocalDate date) {
+        return inOrder.values().stream()
+                .filter(flight -> flight.getDestination().equalsIgnoreCase(destination))
+                .filter(flight -> flight.getDepartureTime().toLocalDate().equals(date))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Flight> findDepartedBefore(LocalDateTime cutoff) {
+        return inOrder.values().stream()
+                .filter(flight -> flight.getDepartureTime().isBefore(cutoff))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Flight> findAll() {
+        return new ArrayList<>(inOrder.values());
+    }
+
+    @Override
+    public void updateSeats(Flight flight) {
+        // The live instance is the only copy
+    }
+
+    @Override
+    public void remove(Flight flight) {
+        byNumber.computeIfPresent(JdbcFlightStore.key(flight.getFlightNumber()), (key, current) -> {
+            List<Stored> updated = new ArrayList<>(current);
+            for (Stored stored : current) {
+                if (stored.flight == flight) {
+                    updated.remove(stored);
+                    inOrder.remove(stored.sequence);
+                }
+            }
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
+    /**
+     * A flight with the position it was added at, so it can be taken out of the ordered
+     * view when it is removed.
+     */
+    private static final class Stored {
+        final Flight flight;
+        final long sequence;
+
+        Stored(Flight flight, long sequence) {
+            this.flight = flight;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.airline.service.store;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.customer.CustomerRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps reservations in a lock-free queue in memory, with each customer's reservations
+ * also queued under their customer id. Lookups by customer id read that queue; other
+ * lookups scan all reservations.
+ */
+public class InMemoryReservationStore implements ReservationStore {
+    private final Queue<Reservation> reservations = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Queue<Reservation>> byCustomerId = new ConcurrentHashMap<>();
+    private final Queue<Reservation> unregistered = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void add(Reservation reservation) {
+        reservations.add(reservation);
+        customerQueue(reservation).add(reservation);
+    }
+
+    @Override
+    public List<Reservation> findByCustomer(String customerName) {
+        String key = CustomerRegistry.normalize(customerName);
+        return reservations.stream()
+                .filter(reservation -> CustomerRegistry.normalize(reservation.getCustomerName()).equals(key))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Reservation> findByCustomerId(int customerId, String customerName) {
+        Queue<Reservation> registered = byCustomerId.get(customerId);
+        List<Reservation> found = registered == null ? new ArrayList<>() : new ArrayList<>(registered);
+        // Reservations stored without an id can only be matched by name; they come after the rest
+        if (!unregistered.isEmpty() && customerName != null) {
+            String key = CustomerRegistry.normalize(customerName);
+            for (Reservation reservation : unregistered) {
+                if (CustomerRegistry.normalize(reservation.getCustomerName()).equals(key)) {
+                    found.add(reservation);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Reservation> findByFlight(Flight flight) {
+        return reservations.stream()
+                .filter(reservation -> reservation.getFlight() == flight)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Reservation> findAll() {
+        return new ArrayList<>(reservations);
+    }
+
+    @Override
+    public synchronized boolean remove(Reservation reservation) {
+        // Removals are serialized so two cancellations of one reservation cannot both succeed
+        Reservation stored = reservations.stream()
+                .filter(candidate -> candidate == reservation)
+                .findFirst()
+                .orElseGet(() -> reservations.stream()
+                        .filter(candidate -> ReservationStore.sameBooking(candidate, reservation))
+                        .findFirst()
+                        .orElse(null));
+        if (stored == null || !reservations.removeIf(candidate -> candidate == stored)) {
+            return false;
+        }
+        customerQueue(stored).removeIf(candidate -> candidate == stored);
+        return true;
+    }
+
+    @Override
+    public void removeByFlight(Flight flight) {
+        List<Reservation> removed = new ArrayList<>();
+        reservations.removeIf(reservation -> reservation.getFlight() == flight && removed.add(reservation));
+        for (Reservation reservation : removed) {
+            customerQueue(reservation).removeIf(candidate -> candidate == reservation);
+        }
+    }
+
+    private Queue<Reservation> customerQueue(Reservation reservation) {
+        int customerId = reservation.getCustomerId();
+        return customerId < 0
+                ? unregistered
+                : byCustomerId.computeIfAbsent(customerId, id -> new ConcurrentLinkedQueue<>());
+    }
+}
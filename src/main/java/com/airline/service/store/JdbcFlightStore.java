@@ -0,0 +1,252 @@
+package com.airline.service.store;
+
+import com.airline.model.FareBucket;
+import com.airline.model.Flight;
+import com.airline.model.SeatMap;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps flights in a database table, with a read-through cache of {@link Flight}
+ * instances in front of it.
+ * <p>
+ * A flight row is turned into an instance the first time it is read, and every later
+ * read returns that same instance, so all bookings go through one seat counter. The
+ * cached instance's seat count is the live one; the table is brought up to date when
+ * reservations are stored and through {@link #updateSeats(Flight)}. Fare classes and
+ * seat maps are restored from the reservations, so they need no writes of their own
+ * when seats are booked. Only one process should use a database at a time.
+ */
+public class JdbcFlightStore implements FlightStore {
+    private static final String COLUMNS =
+            "flight_key, flight_number, destination, departure_time, available_seats, overbooking_allowance,"
+                    + " origin, arrival_time, seat_rows, seats_per_row";
+
+    private final DataSource dataSource;
+    private final Map<String, Flight> cache = new ConcurrentHashMap<>();
+
+    public JdbcFlightStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Stores a flight with its fare classes and seat map layout. Each class is stored
+     * with the seats it has left when the flight is added; later bookings are counted
+     * from the reservations table.
+     *
+     * @throws IllegalArgumentException if a flight with that number is already stored
+     */
+    @Override
+    public void add(Flight flight) {
+        String key = key(flight.getFlightNumber());
+        SeatMap seatMap = flight.getSeatMap();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO flights (" + COLUMNS
+                         + ", destination_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement buckets = connection.prepareStatement(
+                         "INSERT INTO fare_buckets (flight_key, position, fare_class, seats) VALUES (?, ?, ?, ?)")) {
+                insert.setString(1, key);
+                insert.setString(2, flight.getFlightNumber());
+                insert.setString(3, flight.getDestination());
+                insert.setTimestamp(4, Timestamp.valueOf(flight.getDepartureTime()));
+                insert.setInt(5, flight.getAvailableSeats());
+                insert.setInt(6, flight.getOverbookingAllowance());
+                insert.setString(7, flight.getOrigin());
+                insert.setTimestamp(8, flight.getArrivalTime() == null ? null
+                        : Timestamp.valueOf(flight.getArrivalTime()));
+                insert.setObject(9, seatMap == null ? null : seatMap.getRows(), Types.INTEGER);
+                insert.setObject(10, seatMap == null ? null : seatMap.getSeatsPerRow(), Types.INTEGER);
+                insert.setString(11, key(flight.getDestination()));
+                insert.executeUpdate();
+                int position = 0;
+                for (FareBucket bucket : flight.getFareBuckets()) {
+                    buckets.setString(1, key);
+                    buckets.setInt(2, position++);
+                    buckets.setString(3, bucket.getFareClass());
+                    buckets.setInt(4, bucket.getAvailableSeats());
+                    buckets.addBatch();
+                }
+                buckets.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            if ("23505".equals(e.getSQLState())) {
+                throw new IllegalArgumentException("Flight " + flight.getFlightNumber() + " already exists");
+            }
+            throw new IllegalStateException("Could not store flight " + flight.getFlightNumber(), e);
+        }
+        cache.put(key, flight);
+    }
+
+    @Override
+    public Flight findByNumber(String flightNumber) {
+        if (flightNumber == null) {
+            return null;
+        }
+        String key = key(flightNumber);
+        Flight cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<Flight> found = query("SELECT " + COLUMNS + " FROM flights WHERE flight_key = ?", key);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public List<Flight> findByDestinationAndDate(String destination, LocalDate date) {
+        return query("SELECT " + COLUMNS + " FROM flights WHERE destination_key = ?"
+                        + " AND departure_time >= ? AND departure_time < ? ORDER BY departure_time",
+                key(destination), Timestamp.valueOf(date.atStartOfDay()),
+                Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+    }
+
+    @Override
+    public List<Flight> findDepartedBefore(LocalDateTime cutoff) {
+        return query("SELECT " + COLUMNS + " FROM flights WHERE departure_time < ?", Timestamp.valueOf(cutoff));
+    }
+
+    @Override
+    public List<Flight> findAll() {
+        return query("SELECT " + COLUMNS + " FROM flights ORDER BY departure_time");
+    }
+
+    @Override
+    public void updateSeats(Flight flight) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE flights SET available_seats = ? WHERE flight_key = ?")) {
+            update.setInt(1, flight.getAvailableSeats());
+            update.setString(2, key(flight.getFlightNumber()));
+            update.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not update seats of flight " + flight.getFlightNumber(), e);
+        }
+    }
+
+    @Override
+    public void remove(Flight flight) {
+        String key = key(flight.getFlightNumber());
+        if (cache.get(key) != flight) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM flights WHERE flight_key = ?");
+             PreparedStatement buckets = connection.prepareStatement("DELETE FROM fare_buckets WHERE flight_key = ?")) {
+            connection.setAutoCommit(false);
+            try {
+                delete.setString(1, key);
+                delete.executeUpdate();
+                buckets.setString(1, key);
+                buckets.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not remove flight " + flight.getFlightNumber(), e);
+        }
+        cache.remove(key, flight);
+    }
+
+    static String key(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private List<Flight> query(String sql, Object... parameters) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            List<Flight> flights = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    flights.add(resolve(connection, rows));
+                }
+            }
+            return flights;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read flights", e);
+        }
+    }
+
+    private Flight resolve(Connection connection, ResultSet row) throws SQLException {
+        String key = row.getString("flight_key");
+        Flight cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Flight flight = new Flight(row.getString("flight_number"), row.getString("destination"),
+                row.getTimestamp("departure_time").toLocalDateTime(), row.getInt("available_seats"));
+        flight.setOverbookingAllowance(row.getInt("overbooking_allowance"));
+        flight.setOrigin(row.getString("origin"));
+        Timestamp arrival = row.getTimestamp("arrival_time");
+        flight.setArrivalTime(arrival == null ? null : arrival.toLocalDateTime());
+        int seatRows = row.getInt("seat_rows");
+        if (!row.wasNull()) {
+            flight.setSeatMap(new SeatMap(seatRows, row.getInt("seats_per_row")));
+        }
+        restoreBookedSeats(connection, key, flight);
+        Flight raced = cache.putIfAbsent(key, flight);
+        return raced != null ? raced : flight;
+    }
+
+    /**
+     * Gives a freshly read flight its fare classes, less the seats booked in each, and
+     * marks the seats its reservations hold as taken on its seat map.
+     */
+    private static void restoreBookedSeats(Connection connection, String key, Flight flight) throws SQLException {
+        Map<String, Integer> allocated = new LinkedHashMap<>();
+        try (PreparedStatement buckets = connection.prepareStatement(
+                "SELECT fare_class, seats FROM fare_buckets WHERE flight_key = ? ORDER BY position")) {
+            buckets.setString(1, key);
+            try (ResultSet rows = buckets.executeQuery()) {
+                while (rows.next()) {
+                    allocated.put(rows.getString("fare_class"), rows.getInt("seats"));
+                }
+            }
+        }
+        SeatMap seatMap = flight.getSeatMap();
+        if (allocated.isEmpty() && seatMap == null) {
+            return;
+        }
+        try (PreparedStatement booked = connection.prepareStatement(
+                "SELECT fare_class, seats, seat_numbers FROM reservations WHERE flight_key = ?")) {
+            booked.setString(1, key);
+            try (ResultSet rows = booked.executeQuery()) {
+                while (rows.next()) {
+                    String fareClass = rows.getString("fare_class");
+                    int seats = rows.getInt("seats");
+                    if (fareClass != null) {
+                        allocated.computeIfPresent(fareClass, (code, left) -> left - seats);
+                    }
+                    String seatNumbers = rows.getString("seat_numbers");
+                    if (seatMap != null && !seatNumbers.isEmpty()) {
+                        seatMap.claim(Arrays.asList(seatNumbers.split(",")));
+                    }
+                }
+            }
+        }
+        allocated.forEach(flight::addFareBucket);
+    }
+}
@@ -0,0 +1,205 @@
+package com.airline.service.store;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.customer.CustomerRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps reservations in a database table.
+ * <p>
+ * Writes use group commit: concurrent bookings queue their reservation, and whichever
+ * thread gets the write lock first inserts everything queued as one prepared-statement
+ * batch, updates the seat counts of the flights involved, and commits once. Each caller
+ * returns only after its own reservation is committed, so under load many bookings
+ * share one transaction without giving up durability.
+ * <p>
+ * Reservations are keyed by customer the way {@link CustomerRegistry} matches names, so
+ * the database and the in-memory stores agree on who a customer is.
+ */
+public class JdbcReservationStore implements ReservationStore {
+    private static final String COLUMNS = "customer_name, flight_key, seats, fare_class, seat_numbers, total_fare";
+
+    private final DataSource dataSource;
+    private final FlightStore flights;
+    private final Queue<PendingWrite> pending = new ConcurrentLinkedQueue<>();
+    private final Object writeLock = new Object();
+
+    /**
+     * Creates a store whose reservations point at flights from the given flight store.
+     * 
+     * @param dataSource the database
+     * @param flights the flight store used to resolve each reservation's flight
+     */
+    public JdbcReservationStore(DataSource dataSource, FlightStore flights) {
+        this.dataSource = dataSource;
+        this.flights = flights;
+    }
+
+    /**
+     * Stores a reservation together with its flight's current seat count.
+     * 
+     * @throws IllegalStateException if the write fails
+     */
+    @Override
+    public void add(Reservation reservation) {
+        PendingWrite write = new PendingWrite(reservation);
+        pending.add(write);
+        synchronized (writeLock) {
+            if (!write.done) {
+                flush();
+            }
+        }
+        if (write.error != null) {
+            throw new IllegalStateException("Could not store reservation for " + reservation.getCustomerName(),
+                    write.error);
+        }
+    }
+
+    private void flush() {
+        List<PendingWrite> batch = new ArrayList<>();
+        PendingWrite next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO reservations (customer_key, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement seats = connection.prepareStatement(
+                         "UPDATE flights SET available_seats = ? WHERE flight_key = ?")) {
+                Map<String, Flight> touched = new LinkedHashMap<>();
+                for (PendingWrite write : batch) {
+                    Reservation reservation = write.reservation;
+                    String flightKey = JdbcFlightStore.key(reservation.getFlight().getFlightNumber());
+                    insert.setString(1, CustomerRegistry.normalize(reservation.getCustomerName()));
+                    insert.setString(2, reservation.getCustomerName());
+                    insert.setString(3, flightKey);
+                    insert.setInt(4, reservation.getSeatsBooked());
+                    insert.setString(5, reservation.getFareClass());
+                    insert.setString(6, String.join(",", reservation.getSeatNumbers()));
+                    insert.setBigDecimal(7, reservation.getTotalFare());
+                    insert.addBatch();
+                    touched.put(flightKey, reservation.getFlight());
+                }
+                insert.executeBatch();
+                // Read the counters now, so the row gets the latest count however the batch interleaved
+                for (Map.Entry<String, Flight> entry : touched.entrySet()) {
+                    seats.setInt(1, entry.getValue().getAvailableSeats());
+                    seats.setString(2, entry.getKey());
+                    seats.addBatch();
+                }
+                seats.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            batch.forEach(write -> write.error = e);
+        } finally {
+            batch.forEach(write -> write.done = true);
+        }
+    }
+
+    @Override
+    public List<Reservation> findByCustomer(String customerName) {
+        return query("SELECT " + COLUMNS + " FROM reservations WHERE customer_key = ? ORDER BY id",
+                CustomerRegistry.normalize(customerName));
+    }
+
+    @Override
+    public List<Reservation> findByFlight(Flight flight) {
+        return query("SELECT " + COLUMNS + " FROM reservations WHERE flight_key = ? ORDER BY id",
+                JdbcFlightStore.key(flight.getFlightNumber()));
+    }
+
+    @Override
+    public List<Reservation> findAll() {
+        return query("SELECT " + COLUMNS + " FROM reservations ORDER BY id", null);
+    }
+
+    @Override
+    public boolean remove(Reservation reservation) {
+        String flightKey = JdbcFlightStore.key(reservation.getFlight().getFlightNumber());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM reservations WHERE id ="
+                     + " (SELECT MIN(id) FROM reservations WHERE customer_key = ? AND flight_key = ? AND seats = ?"
+                     + " AND fare_class IS NOT DISTINCT FROM ? AND seat_numbers = ?)")) {
+            delete.setString(1, CustomerRegistry.normalize(reservation.getCustomerName()));
+            delete.setString(2, flightKey);
+            delete.setInt(3, reservation.getSeatsBooked());
+            delete.setString(4, reservation.getFareClass());
+            delete.setString(5, String.join(",", reservation.getSeatNumbers()));
+            return delete.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not remove reservation for " + reservation.getCustomerName(), e);
+        }
+    }
+
+    @Override
+    public void removeByFlight(Flight flight) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM reservations WHERE flight_key = ?")) {
+            delete.setString(1, JdbcFlightStore.key(flight.getFlightNumber()));
+            delete.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not remove reservations of flight " + flight.getFlightNumber(), e);
+        }
+    }
+
+    private List<Reservation> query(String sql, String parameter) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (parameter != null) {
+                statement.setString(1, parameter);
+            }
+            List<Reservation> reservations = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    Flight flight = flights.findByNumber(rows.getString("flight_key"));
+                    if (flight == null) {
+                        // The flight was removed while its reservations were being read
+                        continue;
+                    }
+                    Reservation reservation = new Reservation(rows.getString("customer_name"), flight,
+                            rows.getInt("seats"), rows.getString("fare_class"));
+                    String seatNumbers = rows.getString("seat_numbers");
+                    if (!seatNumbers.isEmpty()) {
+                        reservation.setSeatNumbers(Arrays.asList(seatNumbers.split(",")));
+                    }
+                    reservation.setTotalFare(rows.getBigDecimal("total_fare"));
+                    reservations.add(reservation);
+                }
+            }
+            return reservations;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read reservations", e);
+        }
+    }
+
+    private static final class PendingWrite {
+        final Reservation reservation;
+        volatile boolean done;
+        volatile SQLException error;
+
+        PendingWrite(Reservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+}
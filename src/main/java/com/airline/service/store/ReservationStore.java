@@ -0,0 +1,93 @@
+package com.airline.service.store;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.customer.CustomerRegistry;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Where {@code FlightService} keeps its reservations.
+ */
+public interface ReservationStore {
+
+    /**
+     * Adds a reservation. Returns once the reservation is stored.
+     * 
+     * @param reservation the reservation
+     */
+    void add(Reservation reservation);
+
+    /**
+     * Finds reservations for a customer, ignoring case.
+     * 
+     * @param customerName the name of the customer
+     * @return the reservations, oldest first
+     */
+    List<Reservation> findByCustomer(String customerName);
+
+    /**
+     * Finds reservations for a customer by the id {@code FlightService} gave them.
+     * Stores that do not keep ids look the customer up by name.
+     * 
+     * @param customerId the customer id
+     * @param customerName the name of the customer
+     * @return the reservations, oldest first
+     */
+    default List<Reservation> findByCustomerId(int customerId, String customerName) {
+        return findByCustomer(customerName);
+    }
+
+    /**
+     * Finds reservations on a flight.
+     * 
+     * @param flight the flight
+     * @return the reservations, oldest first
+     */
+    List<Reservation> findByFlight(Flight flight);
+
+    /**
+     * Gets every reservation, oldest first.
+     */
+    List<Reservation> findAll();
+
+    /**
+     * Removes one reservation, e.g. when it is cancelled. A stored reservation matches
+     * if it is the same object, or has the same customer, flight, seats, fare class and
+     * seat numbers.
+     * 
+     * @param reservation the reservation
+     * @return true if a matching reservation was removed
+     */
+    boolean remove(Reservation reservation);
+
+    /**
+     * Removes every reservation on a flight.
+     * 
+     * @param flight the flight
+     */
+    void removeByFlight(Flight flight);
+
+    /**
+     * Checks whether two reservations describe the same booking.
+     */
+    static boolean sameBooking(Reservation a, Reservation b) {
+        return sameCustomer(a, b)
+                && a.getFlight().getFlightNumber().equalsIgnoreCase(b.getFlight().getFlightNumber())
+                && a.getSeatsBooked() == b.getSeatsBooked()
+                && Objects.equals(a.getFareClass(), b.getFareClass())
+                && a.getSeatNumbers().equals(b.getSeatNumbers());
+    }
+
+    /**
+     * Checks whether two reservations are for the same customer, by id when both have
+     * one and by name, trimmed and ignoring case, otherwise.
+     */
+    static boolean sameCustomer(Reservation a, Reservation b) {
+        if (a.getCustomerId() >= 0 && b.getCustomerId() >= 0) {
+            return a.getCustomerId() == b.getCustomerId();
+        }
+        return CustomerRegistry.normalize(a.getCustomerName()).equals(CustomerRegistry.normalize(b.getCustomerName()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.airline.service.store;
+
+import com.airline.service.tenant.TenantRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration for keeping flights and reservations in the embedded database.
+ * Active when {@code flight.store=h2}; otherwise {@code FlightService} stays in memory.
+ */
+@Configuration
+@ConditionalOnProperty(name = "flight.store", havingValue = "h2")
+public class StoreConfig {
+
+    @Value("${flight.store.h2.file:data/flights}")
+    private String file;
+
+    @Value("${flight.store.pool-size:8}")
+    private int poolSize;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource flightStoreDataSource() {
+        return newDataSource(null);
+    }
+
+    /**
+     * Opens a database set up like the application's own. Each tenant gets a database
+     * file of its own.
+     *
+     * @param tenantId the tenant id, or null for the default tenant
+     * @return the pooled data source, which the caller must close
+     */
+    public HikariDataSource newDataSource(String tenantId) {
+        return EmbeddedDatabase.open(TenantRegistry.pathFor(file, tenantId), poolSize);
+    }
+
+    @Bean
+    public JdbcFlightStore flightStore(HikariDataSource flightStoreDataSource) {
+        return new JdbcFlightStore(flightStoreDataSource);
+    }
+
+    @Bean
+    public JdbcReservationStore reservationStore(HikariDataSource flightStoreDataSource, JdbcFlightStore flightStore) {
+        return new JdbcReservationStore(flightStoreDataSource, flightStore);
+    }
+}
@@ -0,0 +1,106 @@
+package com.airline.service.tenant;
+
+import com.airline.service.FlightService;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One airline brand hosted on the deployment, with its own flight service (catalog,
+ * reservations, indexes and booking totals) and its own request slots.
+ *
+ * <p>Requests take a slot with {@link #tryEnter()} and give it back with {@link #exit()}.
+ * A tenant out of slots turns its own requests away instead of queueing them, so a
+ * sale on one brand cannot take threads from the others. A tenant without a quota, like
+ * the default tenant, lets every request in and holds as much as it is given.
+ */
+public class Tenant {
+    private final String id;
+    private final FlightService flightService;
+    private final TenantQuota quota;
+    private final Semaphore slots;
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a tenant.
+     *
+     * @param id the tenant id
+     * @param flightService the tenant's flight service
+     * @param quota the tenant's quota, or null for no limits
+     */
+    public Tenant(String id, FlightService flightService, TenantQuota quota) {
+        this.id = id;
+        this.flightService = flightService;
+        this.quota = quota;
+        this.slots = quota == null ? null : new Semaphore(quota.getMaxConcurrentRequests());
+        if (quota != null) {
+            flightService.setLimits(quota.getMaxFlights(), quota.getMaxReservations());
+        }
+    }
+
+    /**
+     * Takes a request slot if one is free.
+     *
+     * @return true if the request may run, in which case {@link #exit()} must follow
+     */
+    public boolean tryEnter() {
+        if (slots == null || slots.tryAcquire()) {
+            active.incrementAndGet();
+            admitted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Gives back a slot taken by {@link #tryEnter()}.
+     */
+    public void exit() {
+        active.decrementAndGet();
+        if (slots != null) {
+            slots.release();
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public FlightService getFlightService() {
+        return flightService;
+    }
+
+    /**
+     * Gets the tenant's quota.
+     *
+     * @return the quota, or null if the tenant has no limits
+     */
+    public TenantQuota getQuota() {
+        return quota;
+    }
+
+    /**
+     * Gets the number of requests running now.
+     */
+    public int getActiveRequests() {
+        return active.get();
+    }
+
+    /**
+     * Gets the number of requests let in so far.
+     */
+    public long getAdmittedRequests() {
+        return admitted.sum();
+    }
+
+    /**
+     * Gets the number of requests turned away for lack of a slot so far.
+     */
+    public long getRejectedRequests() {
+        return rejected.sum();
+    }
+}
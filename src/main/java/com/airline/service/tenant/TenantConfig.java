@@ -0,0 +1,62 @@
+package com.airline.service.tenant;
+
+import com.airline.service.FlightService;
+import com.airline.service.archive.ArchiveConfig;
+import com.airline.service.event.EventConfig;
+import com.airline.service.idempotency.IdempotencyConfig;
+import com.airline.service.pricing.PricingConfig;
+import com.airline.service.report.ReportConfig;
+import com.airline.service.route.ConnectionRules;
+import com.airline.service.store.StoreConfig;
+import com.airline.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration for hosting several airline brands, e.g.
+ * {@code flight.tenants.ids=skyhop,bluejet}. Requests pick a tenant with the
+ * {@code X-Tenant-Id} header; requests without one go to the default tenant. Each
+ * listed tenant's flight service is built by a {@link TenantServiceFactory}.
+ */
+@Configuration
+public class TenantConfig {
+
+    @Value("${flight.tenants.ids:}")
+    private String tenantIds;
+
+    @Value("${flight.tenants.max-concurrent-requests:64}")
+    private int maxConcurrentRequests;
+
+    @Value("${flight.tenants.max-flights:100000}")
+    private int maxFlights;
+
+    @Value("${flight.tenants.max-reservations:2000000}")
+    private int maxReservations;
+
+    @Bean(destroyMethod = "close")
+    public TenantServiceFactory tenantServiceFactory(ObjectProvider<EventConfig> eventConfig,
+                                                     ObjectProvider<ArchiveConfig> archiveConfig,
+                                                     ObjectProvider<PricingConfig> pricingConfig,
+                                                     ObjectProvider<ReportConfig> reportConfig,
+                                                     ObjectProvider<IdempotencyConfig> idempotencyConfig,
+                                                     ObjectProvider<StoreConfig> storeConfig,
+                                                     ObjectProvider<Tracer> tracer,
+                                                     ObjectProvider<ConnectionRules> connectionRules) {
+        return new TenantServiceFactory(eventConfig, archiveConfig, pricingConfig, reportConfig, idempotencyConfig,
+                storeConfig, tracer, connectionRules);
+    }
+
+    @Bean
+    public TenantRegistry tenantRegistry(FlightService flightService, TenantServiceFactory tenantServiceFactory) {
+        TenantQuota quota = new TenantQuota(maxConcurrentRequests, maxFlights, maxReservations);
+        TenantRegistry registry = new TenantRegistry(flightService, quota, tenantServiceFactory);
+        for (String id : tenantIds.split(",")) {
+            if (!id.trim().isEmpty()) {
+                registry.register(id);
+            }
+        }
+        return registry;
+    }
+}
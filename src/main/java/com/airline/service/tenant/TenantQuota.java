@@ -0,0 +1,44 @@
+package com.airline.service.tenant;
+
+/**
+ * The share of the deployment one tenant may use: how many of its requests may run at
+ * once, and how many flights and reservations it may hold.
+ */
+public class TenantQuota {
+    private final int maxConcurrentRequests;
+    private final int maxFlights;
+    private final int maxReservations;
+
+    public TenantQuota(int maxConcurrentRequests, int maxFlights, int maxReservations) {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("Maximum concurrent requests must be greater than zero");
+        }
+        if (maxFlights <= 0 || maxReservations <= 0) {
+            throw new IllegalArgumentException("Flight and reservation limits must be greater than zero");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxFlights = maxFlights;
+        this.maxReservations = maxReservations;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getMaxFlights() {
+        return maxFlights;
+    }
+
+    public int getMaxReservations() {
+        return maxReservations;
+    }
+
+    @Override
+    public String toString() {
+        return "TenantQuota{" +
+                "maxConcurrentRequests=" + maxConcurrentRequests +
+                ", maxFlights=" + maxFlights +
+                ", maxReservations=" + maxReservations +
+                '}';
+    }
+}
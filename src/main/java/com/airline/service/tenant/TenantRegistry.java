@@ -0,0 +1,126 @@
+package com.airline.service.tenant;
+
+import com.airline.service.FlightService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The tenants hosted on this deployment, by id.
+ *
+ * <p>The default tenant serves requests that name no tenant and runs on the application's
+ * own flight service with no quota, so a single-brand deployment behaves as before. Every
+ * other tenant gets a flight service of its own, which shares nothing with the others but
+ * the JVM, and is held to a quota.
+ */
+public class TenantRegistry {
+    public static final String DEFAULT_TENANT_ID = "default";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9][a-z0-9-]{0,31}");
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final TenantQuota defaultQuota;
+    private final Function<String, FlightService> serviceFactory;
+
+    /**
+     * Creates a registry holding only the default tenant.
+     *
+     * @param defaultService the flight service of the default tenant
+     * @param defaultQuota the quota of tenants registered without one; the default tenant has none
+     * @param serviceFactory creates the flight service for each new tenant, given its id
+     */
+    public TenantRegistry(FlightService defaultService, TenantQuota defaultQuota,
+                          Function<String, FlightService> serviceFactory) {
+        this.defaultQuota = defaultQuota;
+        this.serviceFactory = serviceFactory;
+        tenants.put(DEFAULT_TENANT_ID, new Tenant(DEFAULT_TENANT_ID, defaultService, null));
+    }
+
+    /**
+     * Adds a tenant with the default quota.
+     *
+     * @param id the tenant id: lowercase letters, digits and dashes, ignoring case
+     * @return the new tenant
+     * @throws IllegalArgumentException if the id is invalid or already taken
+     */
+    public Tenant register(String id) {
+        return register(id, defaultQuota);
+    }
+
+    /**
+     * Adds a tenant with its own quota.
+     *
+     * @param id the tenant id: lowercase letters, digits and dashes, ignoring case
+     * @param quota the tenant's quota
+     * @return the new tenant
+     * @throws IllegalArgumentException if the id is invalid or already taken
+     */
+    public Tenant register(String id, TenantQuota quota) {
+        String key = id == null ? "" : id.trim().toLowerCase(Locale.ROOT);
+        if (!TENANT_ID.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id: " + id);
+        }
+        if (tenants.containsKey(key)) {
+            throw new IllegalArgumentException("Tenant " + key + " is already registered");
+        }
+        Tenant tenant = new Tenant(key, serviceFactory.apply(key), quota);
+        if (tenants.putIfAbsent(key, tenant) != null) {
+            throw new IllegalArgumentException("Tenant " + key + " is already registered");
+        }
+        return tenant;
+    }
+
+    /**
+     * Finds the tenant a request is for.
+     *
+     * @param id the tenant id from the request, ignoring case, or null or blank for the default tenant
+     * @return the tenant, or null if no tenant has that id
+     */
+    public Tenant resolve(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return tenants.get(DEFAULT_TENANT_ID);
+        }
+        return tenants.get(id.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the default tenant.
+     */
+    public Tenant getDefaultTenant() {
+        return tenants.get(DEFAULT_TENANT_ID);
+    }
+
+    /**
+     * Gets every tenant, by id.
+     */
+    public List<Tenant> getTenants() {
+        List<Tenant> all = new ArrayList<>(tenants.values());
+        all.sort(Comparator.comparing(Tenant::getId));
+        return all;
+    }
+
+    /**
+     * Gets where a tenant keeps a file or directory that the default tenant keeps at
+     * {@code base}: next to it, with the tenant id appended to the name, so
+     * {@code data/flights} becomes {@code data/flights-skyhop}.
+     *
+     * @param base the default tenant's path
+     * @param tenantId the tenant id, or null for the default tenant
+     * @return the tenant's path
+     */
+    public static Path pathFor(String base, String tenantId) {
+        Path path = Paths.get(base);
+        if (tenantId == null || DEFAULT_TENANT_ID.equals(tenantId)) {
+            return path;
+        }
+        return path.resolveSibling(path.getFileName() + "-" + tenantId);
+    }
+}
@@ -0,0 +1,124 @@
+package com.airline.service.tenant;
+
+import com.airline.service.FlightService;
+import com.airline.service.archive.ArchiveConfig;
+import com.airline.service.event.EventBus;
+import com.airline.service.event.EventConfig;
+import com.airline.service.idempotency.IdempotencyConfig;
+import com.airline.service.pricing.PricingConfig;
+import com.airline.service.report.ReportConfig;
+import com.airline.service.route.ConnectionRules;
+import com.airline.service.store.JdbcFlightStore;
+import com.airline.service.store.JdbcReservationStore;
+import com.airline.service.store.StoreConfig;
+import com.airline.service.waitlist.WaitlistPromoter;
+import com.airline.tracing.Tracer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds each tenant's flight service the way the application's own is wired: with an
+ * event bus and waitlist promoter, archive, pricing engine, booking totals, idempotency
+ * cache and, when {@code flight.store=h2}, a database of its own. Every collaborator is
+ * a new instance set up from the same configuration as the default tenant's, and those
+ * that keep files keep them apart per tenant (see {@link TenantRegistry#pathFor}).
+ * Collaborators whose configuration is not loaded are left out, as they would be for
+ * the default tenant.
+ *
+ * <p>Closing the factory closes the buses and databases it opened.
+ */
+public class TenantServiceFactory implements Function<String, FlightService>, Closeable {
+    private final ObjectProvider<EventConfig> eventConfig;
+    private final ObjectProvider<ArchiveConfig> archiveConfig;
+    private final ObjectProvider<PricingConfig> pricingConfig;
+    private final ObjectProvider<ReportConfig> reportConfig;
+    private final ObjectProvider<IdempotencyConfig> idempotencyConfig;
+    private final ObjectProvider<StoreConfig> storeConfig;
+    private final ObjectProvider<Tracer> tracer;
+    private final ObjectProvider<ConnectionRules> connectionRules;
+    private final List<Closeable> opened = new ArrayList<>();
+
+    public TenantServiceFactory(ObjectProvider<EventConfig> eventConfig, ObjectProvider<ArchiveConfig> archiveConfig,
+                                ObjectProvider<PricingConfig> pricingConfig, ObjectProvider<ReportConfig> reportConfig,
+                                ObjectProvider<IdempotencyConfig> idempotencyConfig,
+                                ObjectProvider<StoreConfig> storeConfig, ObjectProvider<Tracer> tracer,
+                                ObjectProvider<ConnectionRules> connectionRules) {
+        this.eventConfig = eventConfig;
+        this.archiveConfig = archiveConfig;
+        this.pricingConfig = pricingConfig;
+        this.reportConfig = reportConfig;
+        this.idempotencyConfig = idempotencyConfig;
+        this.storeConfig = storeConfig;
+        this.tracer = tracer;
+        this.connectionRules = connectionRules;
+    }
+
+    /**
+     * Creates the flight service for a new tenant.
+     *
+     * @param tenantId the tenant id
+     * @return the tenant's flight service
+     * @throws UncheckedIOException if one of the tenant's files cannot be opened
+     */
+    @Override
+    public FlightService apply(String tenantId) {
+        FlightService service = new FlightService();
+        try {
+            tracer.ifAvailable(service::setTracer);
+            connectionRules.ifAvailable(service::setConnectionRules);
+            pricingConfig.ifAvailable(config -> service.setPricingEngine(config.newPricingEngine()));
+            reportConfig.ifAvailable(config -> service.setBookingAggregates(config.newBookingAggregates()));
+            EventConfig events = eventConfig.getIfAvailable();
+            if (events != null) {
+                EventBus bus = track(events.newEventBus(tenantId));
+                bus.subscribe(WaitlistPromoter.SUBSCRIBER_NAME, new WaitlistPromoter(service));
+                service.setEventPublisher(bus);
+            }
+            ArchiveConfig archive = archiveConfig.getIfAvailable();
+            if (archive != null) {
+                service.setFlightArchive(archive.newFlightArchive(tenantId));
+            }
+            IdempotencyConfig idempotency = idempotencyConfig.getIfAvailable();
+            if (idempotency != null) {
+                service.setIdempotencyCache(idempotency.newIdempotencyCache(tenantId));
+            }
+            StoreConfig store = storeConfig.getIfAvailable();
+            if (store != null) {
+                HikariDataSource dataSource = track(store.newDataSource(tenantId));
+                JdbcFlightStore flightStore = new JdbcFlightStore(dataSource);
+                service.setStores(flightStore, new JdbcReservationStore(dataSource, flightStore));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the files of tenant " + tenantId, e);
+        }
+        return service;
+    }
+
+    private synchronized <T extends Closeable> T track(T resource) {
+        opened.add(resource);
+        return resource;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (Closeable resource : opened) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        opened.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
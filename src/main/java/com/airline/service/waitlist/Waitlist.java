@@ -0,0 +1,143 @@
+package com.airline.service.waitlist;
+
+import com.airline.model.FareBucket;
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * First-come, first-served waitlists, one per flight.
+ *
+ * <p>Promotion books queued customers in order for as long as the flight has room for
+ * the customer at the head of the queue; a customer who needs more seats than are free
+ * holds up the ones behind, so nobody is overtaken by a smaller party. Each flight's
+ * queue is locked while it is promoted, so concurrent cancellations on one flight
+ * promote every customer exactly once, while different flights promote in parallel.
+ *
+ * <p>Seats come back only through cancellations. There are no seat holds, so there is
+ * no hold expiry to promote on; anything that gives seats back in future must publish a
+ * {@link com.airline.service.event.SeatsChangedEvent} for the promoter to see it.
+ */
+public class Waitlist {
+    private final Map<String, Deque<WaitlistEntry>> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a customer to the end of a flight's waitlist.
+     *
+     * @param entry the waiting customer
+     */
+    public void add(WaitlistEntry entry) {
+        String key = key(entry.getFlightNumber());
+        while (true) {
+            Deque<WaitlistEntry> queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+            synchronized (queue) {
+                // A clear may have detached this queue since it was looked up
+                if (queues.get(key) == queue) {
+                    queue.addLast(entry);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes a customer off a waitlist.
+     *
+     * @param entry the waiting customer
+     * @return true if the customer was still waiting
+     */
+    public boolean remove(WaitlistEntry entry) {
+        Deque<WaitlistEntry> queue = queues.get(key(entry.getFlightNumber()));
+        if (queue == null) {
+            return false;
+        }
+        synchronized (queue) {
+            return queue.removeFirstOccurrence(entry);
+        }
+    }
+
+    /**
+     * Gets the customers waiting for a flight.
+     *
+     * @param flightNumber the flight number, ignoring case
+     * @return the waiting customers, first in line first
+     */
+    public List<WaitlistEntry> getEntries(String flightNumber) {
+        Deque<WaitlistEntry> queue = queues.get(key(flightNumber));
+        if (queue == null) {
+            return new ArrayList<>();
+        }
+        synchronized (queue) {
+            return new ArrayList<>(queue);
+        }
+    }
+
+    /**
+     * Books waiting customers on a flight, in order, until the next one no longer fits.
+     *
+     * @param flight the flight that has seats again
+     * @param booking books a waiting customer; throwing IllegalArgumentException means the seats were taken first
+     * @return the reservations made, in waitlist order
+     */
+    public List<Reservation> promote(Flight flight, Function<WaitlistEntry, Reservation> booking) {
+        List<Reservation> promoted = new ArrayList<>();
+        Deque<WaitlistEntry> queue = queues.get(key(flight.getFlightNumber()));
+        if (queue == null) {
+            return promoted;
+        }
+        synchronized (queue) {
+            WaitlistEntry head;
+            while ((head = queue.peekFirst()) != null && fits(flight, head)) {
+                try {
+                    promoted.add(booking.apply(head));
+                } catch (IllegalArgumentException e) {
+                    // A direct booking took the seats between the check and the booking
+                    break;
+                }
+                queue.pollFirst();
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Drops a flight's waitlist, e.g. once the flight has departed.
+     *
+     * @param flightNumber the flight number, ignoring case
+     * @return the customers who were still waiting
+     */
+    public List<WaitlistEntry> clear(String flightNumber) {
+        Deque<WaitlistEntry> queue = queues.remove(key(flightNumber));
+        if (queue == null) {
+            return new ArrayList<>();
+        }
+        synchronized (queue) {
+            List<WaitlistEntry> dropped = new ArrayList<>(queue);
+            queue.clear();
+            return dropped;
+        }
+    }
+
+    private static boolean fits(Flight flight, WaitlistEntry entry) {
+        if (flight.getSellableSeats() < entry.getSeats()) {
+            return false;
+        }
+        if (entry.getFareClass() == null) {
+            return true;
+        }
+        FareBucket bucket = flight.getFareBucket(entry.getFareClass());
+        return bucket != null && bucket.getAvailableSeats() >= entry.getSeats();
+    }
+
+    private static String key(String flightNumber) {
+        return flightNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
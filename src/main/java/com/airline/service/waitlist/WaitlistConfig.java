@@ -0,0 +1,24 @@
+package com.airline.service.waitlist;
+
+import com.airline.service.FlightService;
+import com.airline.service.event.EventBus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Spring configuration that subscribes the waitlist promoter to the event bus. Never
+ * lazy, since nothing depends on the promoter: created lazily, it would never subscribe.
+ */
+@Configuration
+@Lazy(false)
+public class WaitlistConfig {
+
+    @Bean
+    public WaitlistPromoter waitlistPromoter(FlightService flightService, ObjectProvider<EventBus> eventBus) {
+        WaitlistPromoter promoter = new WaitlistPromoter(flightService);
+        eventBus.ifAvailable(bus -> bus.subscribe(WaitlistPromoter.SUBSCRIBER_NAME, promoter));
+        return promoter;
+    }
+}
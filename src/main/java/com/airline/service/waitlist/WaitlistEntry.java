@@ -0,0 +1,57 @@
+package com.airline.service.waitlist;
+
+import java.time.Instant;
+
+/**
+ * A customer waiting for seats on a full flight.
+ */
+public final class WaitlistEntry {
+    private final String customerName;
+    private final String flightNumber;
+    private final String fareClass;
+    private final int seats;
+    private final Instant joinedAt;
+
+    public WaitlistEntry(String customerName, String flightNumber, String fareClass, int seats, Instant joinedAt) {
+        this.customerName = customerName;
+        this.flightNumber = flightNumber;
+        this.fareClass = fareClass;
+        this.seats = seats;
+        this.joinedAt = joinedAt;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    /**
+     * Gets the fare class the customer wants to book in.
+     * 
+     * @return the fare class code, or null to book without a fare class
+     */
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public Instant getJoinedAt() {
+        return joinedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "customerName='" + customerName + '\'' +
+                ", flightNumber='" + flightNumber + '\'' +
+                (fareClass != null ? ", fareClass='" + fareClass + '\'' : "") +
+                ", seats=" + seats +
+                '}';
+    }
+}
@@ -0,0 +1,39 @@
+package com.airline.service.waitlist;
+
+import com.airline.service.FlightService;
+import com.airline.service.event.DomainEvent;
+import com.airline.service.event.EventSubscriber;
+import com.airline.service.event.SeatsChangedEvent;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Promotes waitlisted customers when seats are freed. Only the flights named in the
+ * batch's seat release events are looked at, each once per batch however many seats
+ * came back on it.
+ */
+public class WaitlistPromoter implements EventSubscriber {
+    public static final String SUBSCRIBER_NAME = "waitlist-promoter";
+
+    private final FlightService flightService;
+
+    public WaitlistPromoter(FlightService flightService) {
+        this.flightService = flightService;
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        Set<String> freed = new LinkedHashSet<>();
+        for (DomainEvent event : events) {
+            if (event instanceof SeatsChangedEvent && ((SeatsChangedEvent) event).getDelta() > 0) {
+                freed.add(((SeatsChangedEvent) event).getFlightNumber().toUpperCase(Locale.ROOT));
+            }
+        }
+        for (String flightNumber : freed) {
+            flightService.promoteWaitlist(flightNumber);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.airline.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recently ended spans in memory, for tests and ad hoc inspection.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final int capacity;
+    private final Deque<Span> spans = new ArrayDeque<>();
+
+    /**
+     * Creates an exporter that keeps at most {@code capacity} spans, dropping the oldest.
+     * 
+     * @param capacity the number of spans kept
+     */
+    public InMemorySpanExporter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void export(Span span) {
+        if (spans.size() == capacity) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * Gets the kept spans in the order they ended.
+     */
+    public synchronized List<Span> getFinishedSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public synchronized void reset() {
+        spans.clear();
+    }
+}
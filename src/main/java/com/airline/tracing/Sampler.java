@@ -0,0 +1,42 @@
+package com.airline.tracing;
+
+/**
+ * Decides whether a new trace is recorded. The decision is made once, at the root span,
+ * and applies to every span in the trace.
+ */
+@FunctionalInterface
+public interface Sampler {
+
+    Sampler ALWAYS = traceId -> true;
+
+    Sampler NEVER = traceId -> false;
+
+    /**
+     * Decides whether to record the trace with the given id.
+     * 
+     * @param traceId the id of the new trace
+     * @return true to record the trace
+     */
+    boolean shouldSample(long traceId);
+
+    /**
+     * Creates a sampler that records roughly the given fraction of traces. The decision
+     * depends only on the trace id, so it costs a comparison and needs no shared state.
+     * 
+     * @param ratio the fraction of traces to record, between 0 and 1
+     * @return the sampler
+     */
+    static Sampler ratio(double ratio) {
+        if (ratio < 0 || ratio > 1 || Double.isNaN(ratio)) {
+            throw new IllegalArgumentException("Sample ratio must be between 0 and 1");
+        }
+        if (ratio == 0) {
+            return NEVER;
+        }
+        if (ratio == 1) {
+            return ALWAYS;
+        }
+        long threshold = (long) (ratio * Long.MAX_VALUE);
+        return traceId -> (traceId & Long.MAX_VALUE) < threshold;
+    }
+}
@@ -0,0 +1,90 @@
+package com.airline.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the spans of each sampled trace and, when the root span took longer than a
+ * threshold, logs the whole trace as an indented tree with per-step timings.
+ */
+public class SlowTraceLogger implements SpanExporter {
+    private static final Logger log = LoggerFactory.getLogger(SlowTraceLogger.class);
+    // Guards against roots that never end; real traces finish long before this fills
+    private static final int MAX_OPEN_TRACES = 10_000;
+
+    private final long thresholdNanos;
+    private final Map<Long, List<Span>> openTraces = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a logger for traces slower than the threshold.
+     * 
+     * @param thresholdMillis root span duration at which a trace is logged
+     */
+    public SlowTraceLogger(long thresholdMillis) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+    }
+
+    @Override
+    public void export(Span span) {
+        if (span.getParentSpanId() != 0) {
+            if (openTraces.size() >= MAX_OPEN_TRACES) {
+                openTraces.clear();
+            }
+            List<Span> spans = openTraces.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>());
+            synchronized (spans) {
+                spans.add(span);
+            }
+            return;
+        }
+        List<Span> children = openTraces.remove(span.getTraceId());
+        if (span.getDurationNanos() >= thresholdNanos && log.isWarnEnabled()) {
+            log.warn("Slow trace {}:\n{}", String.format("%016x", span.getTraceId()),
+                    format(span, children == null ? new ArrayList<>() : children));
+        }
+    }
+
+    /**
+     * Renders a trace as an indented tree, one line per span with its start offset from
+     * the root and its duration.
+     * 
+     * @param root the root span
+     * @param children every other span of the trace
+     * @return the rendered tree
+     */
+    static String format(Span root, List<Span> children) {
+        StringBuilder out = new StringBuilder();
+        List<Span> sorted;
+        synchronized (children) {
+            sorted = new ArrayList<>(children);
+        }
+        sorted.sort(Comparator.comparingLong(Span::getStartNanos));
+        append(out, root, root.getStartNanos(), sorted, 0);
+        return out.toString();
+    }
+
+    private static void append(StringBuilder out, Span span, long origin, List<Span> spans, int depth) {
+        for (int i = 0; i < depth; i++) {
+            out.append("  ");
+        }
+        out.append(String.format("%-40s +%7.2f ms %8.2f ms", span.getName(),
+                (span.getStartNanos() - origin) / 1e6, span.getDurationNanos() / 1e6));
+        if (!span.getAttributes().isEmpty()) {
+            out.append(' ').append(span.getAttributes());
+        }
+        if (span.getError() != null) {
+            out.append(" error=").append(span.getError());
+        }
+        out.append('\n');
+        for (Span child : spans) {
+            if (child.getParentSpanId() == span.getSpanId()) {
+                append(out, child, origin, spans, depth + 1);
+            }
+        }
+    }
+}
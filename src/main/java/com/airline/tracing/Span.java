@@ -0,0 +1,143 @@
+package com.airline.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed step of a traced request. Spans nest: a span started while another is open
+ * on the same thread becomes its child. Close spans in try-with-resources so the
+ * nesting unwinds correctly even when the step throws.
+ */
+public class Span implements AutoCloseable {
+
+    /**
+     * Span handed out when a trace is not sampled. Every method does nothing.
+     */
+    static final Span NOOP = new Span();
+
+    private final Tracer tracer;
+    private final long traceId;
+    private final long spanId;
+    private final Span parent;
+    private final String name;
+    private final long startNanos;
+    private volatile long endNanos;
+    private Map<String, Object> attributes;
+    private Throwable error;
+
+    Span(Tracer tracer, long traceId, long spanId, Span parent, String name) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parent = parent;
+        this.name = name;
+        this.startNanos = System.nanoTime();
+    }
+
+    private Span() {
+        this.tracer = null;
+        this.traceId = 0;
+        this.spanId = 0;
+        this.parent = null;
+        this.name = "";
+        this.startNanos = 0;
+    }
+
+    public boolean isSampled() {
+        return this != NOOP;
+    }
+
+    public long getTraceId() {
+        return traceId;
+    }
+
+    public long getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * Gets the id of the enclosing span.
+     * 
+     * @return the parent span id, or 0 for the root span of a trace
+     */
+    public long getParentSpanId() {
+        return parent == null ? 0 : parent.spanId;
+    }
+
+    Span getParent() {
+        return parent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Gets how long the span was open.
+     * 
+     * @return the duration in nanoseconds, or -1 if the span has not ended
+     */
+    public long getDurationNanos() {
+        long end = endNanos;
+        return end == 0 ? -1 : end - startNanos;
+    }
+
+    public synchronized Map<String, Object> getAttributes() {
+        return attributes == null ? Collections.emptyMap() : new LinkedHashMap<>(attributes);
+    }
+
+    /**
+     * Attaches a key-value detail to the span, such as a flight number or result size.
+     * 
+     * @param key the attribute name
+     * @param value the attribute value
+     * @return this span
+     */
+    public synchronized Span setAttribute(String key, Object value) {
+        if (this != NOOP) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * Marks the span as failed.
+     * 
+     * @param error the failure
+     */
+    public synchronized void recordError(Throwable error) {
+        if (this != NOOP) {
+            this.error = error;
+        }
+    }
+
+    public synchronized Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Ends the span and hands it to the exporter. Ending twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (this == NOOP || endNanos != 0) {
+            return;
+        }
+        endNanos = System.nanoTime();
+        tracer.end(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{trace=%016x, span=%016x, parent=%016x, %d us}",
+                name, traceId, spanId, getParentSpanId(), getDurationNanos() / 1000);
+    }
+}
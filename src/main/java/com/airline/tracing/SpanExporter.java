@@ -0,0 +1,19 @@
+package com.airline.tracing;
+
+/**
+ * Receives spans of sampled traces as they end. Called on the thread that ended the
+ * span, so implementations must be quick and thread-safe.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+    SpanExporter NONE = span -> { };
+
+    /**
+     * Takes an ended span. Children end before their parents, so a trace's root span
+     * is always exported last.
+     * 
+     * @param span the ended span
+     */
+    void export(Span span);
+}
@@ -0,0 +1,121 @@
+package com.airline.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts spans and tracks the open span of each thread, so nested calls form a tree
+ * without passing a context around. Spans do not follow work onto other threads.
+ * <p>
+ * Unsampled traces cost a thread-local lookup per span and allocate nothing.
+ */
+public class Tracer {
+
+    /**
+     * Tracer that never records anything.
+     */
+    public static final Tracer NOOP = new Tracer(Sampler.NEVER, SpanExporter.NONE);
+
+    private final Sampler sampler;
+    private final SpanExporter exporter;
+    private final ThreadLocal<Context> context = ThreadLocal.withInitial(Context::new);
+
+    public Tracer(Sampler sampler, SpanExporter exporter) {
+        this.sampler = sampler;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Starts a span as a child of the thread's open span, or as the root of a new trace
+     * if none is open.
+     * 
+     * @param name what the span covers, such as "FlightService.bookFlight"
+     * @return the span; a no-op span if the trace is not sampled
+     */
+    public Span startSpan(String name) {
+        if (sampler == Sampler.NEVER) {
+            return Span.NOOP;
+        }
+        Context ctx = context.get();
+        if (ctx.unsampledDepth > 0) {
+            ctx.unsampledDepth++;
+            return ctx.unsampledChild;
+        }
+        Span parent = ctx.current;
+        long spanId = ThreadLocalRandom.current().nextLong();
+        Span span;
+        if (parent != null) {
+            span = new Span(this, parent.getTraceId(), spanId, parent, name);
+        } else {
+            long traceId = ThreadLocalRandom.current().nextLong();
+            if (!sampler.shouldSample(traceId)) {
+                ctx.unsampledDepth = 1;
+                return ctx.unsampledChild;
+            }
+            span = new Span(this, traceId, spanId, null, name);
+        }
+        ctx.current = span;
+        return span;
+    }
+
+    /**
+     * Gets the span open on this thread.
+     * 
+     * @return the open span, or a no-op span if none is open or the trace is not sampled
+     */
+    public Span currentSpan() {
+        if (sampler == Sampler.NEVER) {
+            return Span.NOOP;
+        }
+        Span current = context.get().current;
+        return current == null ? Span.NOOP : current;
+    }
+
+    void end(Span span) {
+        Context ctx = context.get();
+        if (ctx.current == span) {
+            ctx.current = span.getParent();
+        }
+        exporter.export(span);
+    }
+
+    private static final class Context {
+        Span current;
+        int unsampledDepth;
+        // Per thread, so closing it only ever touches this thread's depth
+        final Span unsampledChild = new UnsampledSpan(this);
+    }
+
+    /**
+     * Stand-in for every span of an unsampled trace. Counts nesting depth so the thread
+     * goes back to sampling new traces once the unsampled root closes.
+     */
+    private static final class UnsampledSpan extends Span {
+        private final Context ctx;
+
+        UnsampledSpan(Context ctx) {
+            super(null, 0, 0, null, "");
+            this.ctx = ctx;
+        }
+
+        @Override
+        public boolean isSampled() {
+            return false;
+        }
+
+        @Override
+        public Span setAttribute(String key, Object value) {
+            return this;
+        }
+
+        @Override
+        public void recordError(Throwable error) {
+        }
+
+        @Override
+        public void close() {
+            if (ctx.unsampledDepth > 0) {
+                ctx.unsampledDepth--;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.airline.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration for request tracing. One trace in a hundred is recorded by
+ * default, and recorded traces slower than the threshold are logged step by step.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Value("${flight.tracing.sample-ratio:0.01}")
+    private double sampleRatio;
+
+    @Value("${flight.tracing.slow-threshold-ms:500}")
+    private long slowThresholdMillis;
+
+    @Bean
+    public Tracer tracer() {
+        return new Tracer(Sampler.ratio(sampleRatio), new SlowTraceLogger(slowThresholdMillis));
+    }
+}
@@ -0,0 +1,59 @@
+package com.airline.tracing;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Opens the root span of each request and a child span around view rendering. Form
+ * binding happens between the root span starting and the controller's own span, so
+ * it shows up as the gap before the first child.
+ */
+public class TracingInterceptor implements HandlerInterceptor {
+    private static final String ROOT_ATTRIBUTE = TracingInterceptor.class.getName() + ".root";
+    private static final String RENDER_ATTRIBUTE = TracingInterceptor.class.getName() + ".render";
+
+    private final Tracer tracer;
+
+    public TracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Span root = tracer.startSpan(request.getMethod() + " " + request.getRequestURI());
+        request.setAttribute(ROOT_ATTRIBUTE, root);
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null) {
+            Span render = tracer.startSpan("render " + modelAndView.getViewName());
+            request.setAttribute(RENDER_ATTRIBUTE, render);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object render = request.getAttribute(RENDER_ATTRIBUTE);
+        if (render != null) {
+            request.removeAttribute(RENDER_ATTRIBUTE);
+            ((Span) render).close();
+        }
+        Object root = request.getAttribute(ROOT_ATTRIBUTE);
+        if (root != null) {
+            request.removeAttribute(ROOT_ATTRIBUTE);
+            Span span = (Span) root;
+            span.setAttribute("status", response.getStatus());
+            if (ex != null) {
+                span.recordError(ex);
+            }
+            span.close();
+        }
+    }
+}
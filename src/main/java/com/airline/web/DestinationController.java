@@ -0,0 +1,22 @@
+package com.airline.web;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * JSON endpoint backing the destination typeahead on the search page.
+ */
+@RestController
+public class DestinationController extends TenantAwareController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @GetMapping("/api/destinations")
+    public List<String> suggestDestinations(@RequestParam(name = "q", defaultValue = "") String query,
+                                            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return flightService().suggestDestinations(query, Math.max(0, Math.min(limit, MAX_LIMIT)));
+    }
+}
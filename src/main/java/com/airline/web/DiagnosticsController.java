@@ -0,0 +1,52 @@
+package com.airline.web;
+
+import com.airline.service.FlightService;
+import com.airline.service.diagnostics.Footprint;
+import com.airline.service.diagnostics.FootprintEstimator;
+import com.airline.service.diagnostics.GcMonitor;
+import com.airline.web.dto.HeapDiagnosticsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * JSON endpoint for capacity planning: what the flight service holds on the heap, per
+ * structure and per flight and reservation, next to heap usage and recent collections.
+ */
+@RestController
+public class DiagnosticsController {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FootprintEstimator footprintEstimator;
+
+    @Autowired
+    private GcMonitor gcMonitor;
+
+    @GetMapping("/api/diagnostics/heap")
+    public HeapDiagnosticsResponse heap() {
+        List<Footprint> footprints = footprintEstimator.estimate(TenantInterceptor.currentFlightService(flightService));
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        HeapDiagnosticsResponse response = new HeapDiagnosticsResponse();
+        response.setCompressedOops(footprintEstimator.getLayout().isCompressedOops());
+        response.setObjectAlignment(footprintEstimator.getLayout().getAlignment());
+        response.setHeapUsedBytes(heap.getUsed());
+        response.setHeapCommittedBytes(heap.getCommitted());
+        response.setHeapMaxBytes(heap.getMax());
+        response.setAllocationBytesPerSecond(gcMonitor.sampleAllocationRate());
+        response.setGcCollections(gcMonitor.getCollections());
+        response.setGcTotalMillis(gcMonitor.getTotalDurationMillis());
+        response.setGcMaxMillis(gcMonitor.getMaxDurationMillis());
+        response.setEstimatedBytes(footprints.stream().mapToLong(Footprint::getBytes).sum());
+        response.setFootprints(footprints);
+        response.setRecentCollections(gcMonitor.getRecentEvents());
+        return response;
+    }
+}
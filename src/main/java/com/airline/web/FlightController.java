@@ -2,32 +2,53 @@ package com.airline.web;
 
 import com.airline.model.Flight;
 import com.airline.model.Reservation;
-import com.airline.service.FlightService;
+import com.airline.service.waitlist.WaitlistEntry;
+import com.airline.tracing.Span;
+import com.airline.tracing.Tracer;
 import com.airline.web.dto.BookingRequest;
 import com.airline.web.dto.SearchRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Web controller for handling flight reservation operations.
  */
 @Controller
-public class FlightController {
+public class FlightController extends TenantAwareController {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
-    @Autowired
-    private FlightService flightService;
+    @Autowired(required = false)
+    private Tracer tracer = Tracer.NOOP;
+
+    /**
+     * Gives pages the tenant they were rendered for, so their own requests can name it.
+     */
+    @ModelAttribute("tenantId")
+    public String tenantId() {
+        return TenantInterceptor.currentTenantId();
+    }
 
     @GetMapping("/")
     public String index() {
@@ -35,13 +56,50 @@ public class FlightController {
     }
 
     @GetMapping("/search")
-    public String searchPage(Model model) {
-        model.addAttribute("searchRequest", new SearchRequest());
-        return "search";
+    public String searchPage(@ModelAttribute SearchRequest searchRequest, WebRequest webRequest,
+                             HttpServletResponse response, Model model) {
+        if (searchRequest.getDestination() == null && searchRequest.getDateTime() == null) {
+            model.addAttribute("searchRequest", new SearchRequest());
+            return "search";
+        }
+
+        // Results change with the catalog and seat counts, and fares also move as departure
+        // nears, so the validator covers both and is checked before searching. Read first:
+        // a change during the search then only costs a refetch.
+        LocalDate date = parseDate(searchRequest.getDateTime());
+        if (searchRequest.getDestination() == null || date == null) {
+            return performSearch(searchRequest, model);
+        }
+        String etag = "\"" + flightService().getSearchVersion(date) + "\"";
+        long lastModified = flightService().getLastModified(date);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePublic().getHeaderValue());
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return performSearch(searchRequest, model);
+    }
+
+    private static LocalDate parseDate(String dateTimeString) {
+        if (dateTimeString == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(dateTimeString, DATE_TIME_FORMATTER).toLocalDate();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 
     @PostMapping("/search")
     public String performSearch(@ModelAttribute SearchRequest searchRequest, Model model) {
+        try (Span span = tracer.startSpan("FlightController.performSearch")) {
+            String view = search(searchRequest, model);
+            span.setAttribute("view", view);
+            return view;
+        }
+    }
+
+    private String search(SearchRequest searchRequest, Model model) {
         String destination = searchRequest.getDestination();
         String dateTimeString = searchRequest.getDateTime();
 
@@ -63,8 +121,13 @@ public class FlightController {
             return "search";
         }
 
-        List<Flight> flights = flightService.searchFlights(destination, dateTime);
+        String fareClass = searchRequest.getFareClass();
+        List<Flight> flights = fareClass == null || fareClass.trim().isEmpty()
+                ? flightService().searchFlights(destination, dateTime)
+                : flightService().searchFlights(destination, dateTime, fareClass);
         model.addAttribute("flights", flights);
+        model.addAttribute("fares", flightService().getFares(flights));
+        model.addAttribute("soldOutFlights", flightService().searchSoldOutFlights(destination, dateTime, fareClass));
         model.addAttribute("searchRequest", searchRequest);
 
         if (flights.isEmpty()) {
@@ -76,65 +139,136 @@ public class FlightController {
 
     @GetMapping("/book")
     public String bookPage(Model model) {
-        model.addAttribute("bookingRequest", new BookingRequest());
-        model.addAttribute("allFlights", flightService.getAllFlights());
+        BookingRequest bookingRequest = new BookingRequest();
+        // A fresh key per form, so a double-submitted or resent form books only once
+        bookingRequest.setIdempotencyKey(UUID.randomUUID().toString());
+        model.addAttribute("bookingRequest", bookingRequest);
+        model.addAttribute("allFlights", flightService().getAllFlights());
         return "book";
     }
 
     @PostMapping("/book")
     public String performBooking(@ModelAttribute BookingRequest bookingRequest, Model model, RedirectAttributes redirectAttributes) {
+        try (Span span = tracer.startSpan("FlightController.performBooking")) {
+            String view = book(bookingRequest, model, redirectAttributes);
+            span.setAttribute("view", view);
+            return view;
+        }
+    }
+
+    private String book(BookingRequest bookingRequest, Model model, RedirectAttributes redirectAttributes) {
         String customerName = bookingRequest.getCustomerName();
         String flightNumber = bookingRequest.getFlightNumber();
         Integer seats = bookingRequest.getSeats();
+        List<String> seatNumbers = BookingRequest.splitSeatNumbers(bookingRequest.getSeatNumbers());
 
         if (customerName == null || customerName.trim().isEmpty()) {
             model.addAttribute("error", "Please enter your name.");
-            model.addAttribute("allFlights", flightService.getAllFlights());
+            model.addAttribute("allFlights", flightService().getAllFlights());
             return "book";
         }
 
         if (flightNumber == null || flightNumber.trim().isEmpty()) {
             model.addAttribute("error", "Please enter a flight number.");
-            model.addAttribute("allFlights", flightService.getAllFlights());
+            model.addAttribute("allFlights", flightService().getAllFlights());
             return "book";
         }
 
-        if (seats == null || seats <= 0) {
+        if (seatNumbers.isEmpty() && (seats == null || seats <= 0)) {
             model.addAttribute("error", "Please enter a valid number of seats (greater than 0).");
-            model.addAttribute("allFlights", flightService.getAllFlights());
+            model.addAttribute("allFlights", flightService().getAllFlights());
             return "book";
         }
 
         // Find the flight
-        Flight selectedFlight = flightService.getAllFlights().stream()
-                .filter(f -> f.getFlightNumber().equalsIgnoreCase(flightNumber))
-                .findFirst()
-                .orElse(null);
+        Flight selectedFlight = flightService().findFlight(flightNumber);
 
         if (selectedFlight == null) {
             model.addAttribute("error", "Flight not found. Please search for flights first.");
-            model.addAttribute("allFlights", flightService.getAllFlights());
+            model.addAttribute("allFlights", flightService().getAllFlights());
             return "book";
         }
 
         try {
-            Reservation reservation = flightService.bookFlight(customerName, selectedFlight, seats);
+            Reservation reservation = seatNumbers.isEmpty()
+                    ? flightService().bookFlight(customerName, selectedFlight, bookingRequest.getFareClass(), seats,
+                            bookingRequest.getIdempotencyKey())
+                    : flightService().bookSeats(customerName, selectedFlight, bookingRequest.getFareClass(), seatNumbers,
+                            bookingRequest.getIdempotencyKey());
             redirectAttributes.addFlashAttribute("success", "Booking successful! Reservation details have been saved.");
             redirectAttributes.addFlashAttribute("reservation", reservation);
             return "redirect:/book";
         } catch (IllegalArgumentException e) {
             model.addAttribute("error", "Booking failed: " + e.getMessage());
-            model.addAttribute("allFlights", flightService.getAllFlights());
+            model.addAttribute("allFlights", flightService().getAllFlights());
             return "book";
         }
     }
 
+    /**
+     * Puts a customer on the waitlist of a full flight from the search results.
+     */
+    @PostMapping("/waitlist")
+    public String joinWaitlist(@ModelAttribute BookingRequest bookingRequest, RedirectAttributes redirectAttributes) {
+        Flight flight = flightService().findFlight(bookingRequest.getFlightNumber());
+        if (flight == null) {
+            redirectAttributes.addFlashAttribute("error", "Flight not found. Please search for flights first.");
+            return "redirect:/search";
+        }
+
+        Integer seats = bookingRequest.getSeats();
+        try {
+            WaitlistEntry entry = flightService().joinWaitlist(bookingRequest.getCustomerName(), flight,
+                    bookingRequest.getFareClass(), seats == null ? 0 : seats);
+            int position = flightService().getWaitlist(entry.getFlightNumber()).indexOf(entry) + 1;
+            redirectAttributes.addFlashAttribute("success", position > 0
+                    ? "You are number " + position + " on the waitlist for flight " + entry.getFlightNumber()
+                            + ". You will be booked as soon as seats come back."
+                    : "Seats came back on flight " + entry.getFlightNumber() + " and you have been booked.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", "Could not join the waitlist: " + e.getMessage());
+        }
+        return "redirect:/search";
+    }
+
     @GetMapping("/reservations")
-    public String reservationsPage(Model model) {
+    public String reservationsPage(@RequestParam(required = false) String customerName, Model model) {
+        if (customerName != null) {
+            return viewReservations(customerName, model);
+        }
         model.addAttribute("customerName", "");
         return "reservations";
     }
 
+    /**
+     * Cancels one of the reservations listed for a customer, then lists them again.
+     */
+    @PostMapping("/reservations/cancel")
+    public String cancelReservation(@ModelAttribute BookingRequest bookingRequest, RedirectAttributes redirectAttributes) {
+        String customerName = bookingRequest.getCustomerName();
+        if (customerName == null || customerName.trim().isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "Please enter a customer name.");
+            return "redirect:/reservations";
+        }
+
+        redirectAttributes.addAttribute("customerName", customerName);
+        Flight flight = flightService().findFlight(bookingRequest.getFlightNumber());
+        if (flight == null) {
+            redirectAttributes.addFlashAttribute("error", "Cancellation failed: flight "
+                    + bookingRequest.getFlightNumber() + " has departed.");
+            return "redirect:/reservations";
+        }
+
+        try {
+            flightService().cancelReservation(bookingRequest.toReservation(flight));
+            redirectAttributes.addFlashAttribute("success", "Your reservation on flight " + flight.getFlightNumber()
+                    + " has been cancelled.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", "Cancellation failed: " + e.getMessage());
+        }
+        return "redirect:/reservations";
+    }
+
     @PostMapping("/reservations")
     public String viewReservations(String customerName, Model model) {
         if (customerName == null || customerName.trim().isEmpty()) {
@@ -142,8 +276,16 @@ public class FlightController {
             return "reservations";
         }
 
-        List<Reservation> reservations = flightService.getReservationsByCustomer(customerName);
+        List<Reservation> reservations = flightService().getReservationHistory(customerName);
+        // Reservations on archived flights are read back as copies, so they are not the catalog's flight
+        Set<Reservation> departed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Reservation reservation : reservations) {
+            if (flightService().findFlight(reservation.getFlight().getFlightNumber()) != reservation.getFlight()) {
+                departed.add(reservation);
+            }
+        }
         model.addAttribute("reservations", reservations);
+        model.addAttribute("departed", departed);
         model.addAttribute("customerName", customerName);
 
         if (reservations.isEmpty()) {
@@ -0,0 +1,197 @@
+package com.airline.web;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.route.Itinerary;
+import com.airline.service.route.RouteIndex;
+import com.airline.service.waitlist.WaitlistEntry;
+import com.airline.web.dto.BookingRequest;
+import com.airline.web.dto.BookingResponse;
+import com.airline.web.dto.ErrorResponse;
+import com.airline.web.dto.FlightResponse;
+import com.airline.web.dto.ItineraryResponse;
+import com.airline.web.dto.ItinerarySearchResponse;
+import com.airline.web.dto.SearchRequest;
+import com.airline.web.dto.SearchResponse;
+import com.airline.web.dto.WaitlistResponse;
+import com.airline.web.wire.BinaryWireMessageConverter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Machine-to-machine search and booking API for partner agencies.
+ * Accepts and returns JSON or, when negotiated, the compact binary wire format.
+ */
+@RestController
+@RequestMapping(path = "/api",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, BinaryWireMessageConverter.MEDIA_TYPE_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, BinaryWireMessageConverter.MEDIA_TYPE_VALUE})
+public class PartnerApiController extends TenantAwareController {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int DEFAULT_ITINERARIES = 10;
+    private static final int MAX_ITINERARIES = 50;
+
+    @PostMapping("/search")
+    public ResponseEntity<?> search(@RequestBody SearchRequest searchRequest) {
+        String destination = searchRequest.getDestination();
+        String dateTimeString = searchRequest.getDateTime();
+
+        if (destination == null || destination.trim().isEmpty()) {
+            return badRequest("Please enter a destination.");
+        }
+        if (dateTimeString == null || dateTimeString.trim().isEmpty()) {
+            return badRequest("Please enter a date and time.");
+        }
+
+        LocalDateTime dateTime;
+        try {
+            dateTime = LocalDateTime.parse(dateTimeString, DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return badRequest("Invalid date format. Please use yyyy-MM-dd HH:mm (e.g., 2024-12-25 14:30)");
+        }
+
+        String fareClass = searchRequest.getFareClass();
+        List<Flight> flights = fareClass == null || fareClass.trim().isEmpty()
+                ? flightService().searchFlights(destination, dateTime)
+                : flightService().searchFlights(destination, dateTime, fareClass);
+        Map<Flight, BigDecimal> fares = flightService().getFares(flights);
+        return ResponseEntity.ok(new SearchResponse(flights.stream()
+                .map(flight -> FlightResponse.from(flight, fares.get(flight), DATE_TIME_FORMATTER))
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Finds direct and connecting itineraries from an origin to a destination, earliest
+     * arrival first. Only flights with an origin and arrival time can be legs.
+     */
+    @PostMapping("/itineraries")
+    public ResponseEntity<?> searchItineraries(@RequestBody SearchRequest searchRequest) {
+        String origin = searchRequest.getOrigin();
+        String destination = searchRequest.getDestination();
+        String dateTimeString = searchRequest.getDateTime();
+
+        if (origin == null || origin.trim().isEmpty()) {
+            return badRequest("Please enter an origin.");
+        }
+        if (destination == null || destination.trim().isEmpty()) {
+            return badRequest("Please enter a destination.");
+        }
+        if (dateTimeString == null || dateTimeString.trim().isEmpty()) {
+            return badRequest("Please enter a date and time.");
+        }
+
+        LocalDateTime dateTime;
+        try {
+            dateTime = LocalDateTime.parse(dateTimeString, DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return badRequest("Invalid date format. Please use yyyy-MM-dd HH:mm (e.g., 2024-12-25 14:30)");
+        }
+
+        int maxStops = searchRequest.getMaxStops() == null ? RouteIndex.MAX_STOPS : searchRequest.getMaxStops();
+        int limit = searchRequest.getLimit() == null ? DEFAULT_ITINERARIES : searchRequest.getLimit();
+        if (limit > MAX_ITINERARIES) {
+            return badRequest("Please ask for at most " + MAX_ITINERARIES + " itineraries.");
+        }
+
+        try {
+            List<Itinerary> itineraries = flightService().searchItineraries(origin, destination, dateTime, maxStops, limit);
+            return ResponseEntity.ok(new ItinerarySearchResponse(itineraries.stream()
+                    .map(itinerary -> ItineraryResponse.from(itinerary, DATE_TIME_FORMATTER))
+                    .collect(Collectors.toList())));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Itinerary search failed: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/book")
+    public ResponseEntity<?> book(@RequestBody BookingRequest bookingRequest,
+                                  @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        String key = idempotencyKey != null ? idempotencyKey : bookingRequest.getIdempotencyKey();
+        List<String> seatNumbers = BookingRequest.splitSeatNumbers(bookingRequest.getSeatNumbers());
+        if (seatNumbers.isEmpty() && (bookingRequest.getSeats() == null || bookingRequest.getSeats() <= 0)) {
+            return badRequest("Please enter a valid number of seats (greater than 0).");
+        }
+
+        Flight flight = flightService().findFlight(bookingRequest.getFlightNumber());
+        if (flight == null) {
+            return badRequest("Flight not found.");
+        }
+
+        try {
+            Reservation reservation = seatNumbers.isEmpty()
+                    ? flightService().bookFlight(bookingRequest.getCustomerName(), flight,
+                            bookingRequest.getFareClass(), bookingRequest.getSeats(), key)
+                    : flightService().bookSeats(bookingRequest.getCustomerName(), flight,
+                            bookingRequest.getFareClass(), seatNumbers, key);
+            return ResponseEntity.ok(BookingResponse.from(reservation));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Booking failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Puts a customer on the waitlist of a full flight. They are booked when seats come back.
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<?> joinWaitlist(@RequestBody BookingRequest bookingRequest) {
+        if (bookingRequest.getSeats() == null || bookingRequest.getSeats() <= 0) {
+            return badRequest("Please enter a valid number of seats (greater than 0).");
+        }
+
+        Flight flight = flightService().findFlight(bookingRequest.getFlightNumber());
+        if (flight == null) {
+            return badRequest("Flight not found.");
+        }
+
+        try {
+            WaitlistEntry entry = flightService().joinWaitlist(bookingRequest.getCustomerName(), flight,
+                    bookingRequest.getFareClass(), bookingRequest.getSeats());
+            int position = flightService().getWaitlist(entry.getFlightNumber()).indexOf(entry) + 1;
+            return ResponseEntity.ok(WaitlistResponse.from(entry, position));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Could not join the waitlist: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cancels a booking, named by its customer, flight, seats, fare class and seat numbers.
+     * Customers waiting for the flight are booked once the seats come back.
+     */
+    @PostMapping("/cancel")
+    public ResponseEntity<?> cancel(@RequestBody BookingRequest bookingRequest) {
+        if (bookingRequest.getCustomerName() == null || bookingRequest.getCustomerName().trim().isEmpty()) {
+            return badRequest("Please enter your name.");
+        }
+
+        Flight flight = flightService().findFlight(bookingRequest.getFlightNumber());
+        if (flight == null) {
+            return badRequest("Flight not found.");
+        }
+
+        try {
+            Reservation reservation = bookingRequest.toReservation(flight);
+            flightService().cancelReservation(reservation);
+            return ResponseEntity.ok(BookingResponse.from(reservation));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Cancellation failed: " + e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<ErrorResponse> badRequest(String message) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(message));
+    }
+}
@@ -0,0 +1,106 @@
+package com.airline.web;
+
+import com.airline.model.Reservation;
+import com.airline.service.report.CustomerTotal;
+import com.airline.service.report.HourlySales;
+import com.airline.service.report.LoadSummary;
+import com.airline.service.snapshot.CatalogSnapshot;
+import com.airline.web.dto.ErrorResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * JSON reports for operations: load factors, top customers and hourly sales. Answered
+ * from running totals, so their cost does not grow with the number of reservations.
+ * The reservation export is written from a catalog snapshot, so it is consistent however
+ * long it takes and does not hold up bookings.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController extends TenantAwareController {
+
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_LIMIT = 100;
+    static final String SNAPSHOT_VERSION_HEADER = "X-Snapshot-Version";
+
+    @GetMapping("/destinations")
+    public List<LoadSummary> destinationLoads() {
+        return flightService().getBookingAggregates().getDestinationLoads();
+    }
+
+    @GetMapping("/destinations/{destination}")
+    public ResponseEntity<?> destinationLoad(@PathVariable String destination) {
+        LoadSummary load = flightService().getBookingAggregates().getDestinationLoad(destination);
+        return load == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(load);
+    }
+
+    @GetMapping("/days")
+    public ResponseEntity<?> dayLoads(@RequestParam String from, @RequestParam String to) {
+        LocalDate first;
+        LocalDate last;
+        try {
+            first = LocalDate.parse(from);
+            last = LocalDate.parse(to);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid date format. Please use yyyy-MM-dd."));
+        }
+        if (first.isAfter(last) || ChronoUnit.DAYS.between(first, last) >= MAX_DAYS) {
+            return ResponseEntity.badRequest().body(
+                    new ErrorResponse("Please choose a range of 1 to " + MAX_DAYS + " days."));
+        }
+        return ResponseEntity.ok(flightService().getBookingAggregates().getDayLoads(first, last));
+    }
+
+    @GetMapping("/customers/top")
+    public List<CustomerTotal> topCustomers(@RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return flightService().getBookingAggregates().getTopCustomers(Math.max(0, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @GetMapping("/sales/hourly")
+    public List<HourlySales> hourlySales(@RequestParam(name = "hours", defaultValue = "24") int hours) {
+        return flightService().getBookingAggregates().getSeatsSoldByHour(hours);
+    }
+
+    @GetMapping(value = "/reservations", produces = "text/csv")
+    public void exportReservations(HttpServletResponse response) throws IOException {
+        CatalogSnapshot snapshot = flightService().getSnapshot();
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(SNAPSHOT_VERSION_HEADER, String.valueOf(snapshot.getVersion()));
+        Writer writer = response.getWriter();
+        writer.write("flightNumber,destination,departureTime,customerName,seats,fareClass,seatNumbers,totalFare\n");
+        for (Reservation reservation : snapshot.getReservations()) {
+            writer.write(csv(reservation.getFlight().getFlightNumber()) + ','
+                    + csv(reservation.getFlight().getDestination()) + ','
+                    + reservation.getFlight().getDepartureTime() + ','
+                    + csv(reservation.getCustomerName()) + ','
+                    + reservation.getSeatsBooked() + ','
+                    + csv(reservation.getFareClass()) + ','
+                    + csv(String.join(" ", reservation.getSeatNumbers())) + ','
+                    + (reservation.getTotalFare() == null ? "" : reservation.getTotalFare().toPlainString())
+                    + '\n');
+        }
+        writer.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,22 @@
+package com.airline.web;
+
+import com.airline.service.FlightService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Base of the controllers that serve flights. Each request is served by the flight
+ * service of the tenant {@link TenantInterceptor} picked for it, or by the application's
+ * own service outside a tenant request.
+ */
+abstract class TenantAwareController {
+
+    @Autowired
+    private FlightService flightService;
+
+    /**
+     * Gets the flight service of the tenant this request is for.
+     */
+    protected FlightService flightService() {
+        return TenantInterceptor.currentFlightService(flightService);
+    }
+}
@@ -0,0 +1,31 @@
+package com.airline.web;
+
+import com.airline.service.tenant.TenantRegistry;
+import com.airline.web.dto.TenantResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JSON endpoint showing each tenant's usage against its quota, for operations.
+ */
+@RestController
+public class TenantController {
+
+    @Autowired(required = false)
+    private TenantRegistry tenantRegistry;
+
+    @GetMapping("/api/tenants")
+    public List<TenantResponse> tenants() {
+        if (tenantRegistry == null) {
+            return Collections.emptyList();
+        }
+        return tenantRegistry.getTenants().stream()
+                .map(TenantResponse::from)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,93 @@
+package com.airline.web;
+
+import com.airline.service.FlightService;
+import com.airline.service.tenant.Tenant;
+import com.airline.service.tenant.TenantRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Resolves the tenant a request is for from the {@code X-Tenant-Id} header and holds one
+ * of the tenant's request slots while it runs.
+ *
+ * <p>Requests without the header go to the default tenant. An unknown tenant gets
+ * {@code 404 Not Found}; a tenant with no free slot gets {@code 429 Too Many Requests},
+ * leaving the other tenants' slots alone. Controllers pick up the tenant's flight
+ * service through {@link TenantAwareController}.
+ */
+public class TenantInterceptor implements HandlerInterceptor {
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final String TENANT_ATTRIBUTE = TenantInterceptor.class.getName() + ".tenant";
+
+    private final TenantRegistry tenantRegistry;
+
+    public TenantInterceptor(TenantRegistry tenantRegistry) {
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    /**
+     * Gets the flight service of the tenant the current request is for.
+     *
+     * @param fallback the service to use outside a tenant request, e.g. when tenants are not configured
+     * @return the tenant's flight service, or the fallback
+     */
+    public static FlightService currentFlightService(FlightService fallback) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object tenant = attributes == null ? null : attributes.getAttribute(TENANT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return tenant instanceof Tenant ? ((Tenant) tenant).getFlightService() : fallback;
+    }
+
+    /**
+     * Gets the id of the tenant the current request is for.
+     *
+     * @return the tenant id, or null outside a tenant request
+     */
+    public static String currentTenantId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object tenant = attributes == null ? null : attributes.getAttribute(TENANT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return tenant instanceof Tenant ? ((Tenant) tenant).getId() : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // Responses differ per tenant, so caches must not share them
+        response.addHeader(HttpHeaders.VARY, TENANT_HEADER);
+
+        String id = request.getHeader(TENANT_HEADER);
+        Tenant tenant = tenantRegistry.resolve(id);
+        if (tenant == null) {
+            reject(response, HttpStatus.NOT_FOUND, "Unknown tenant: " + id);
+            return false;
+        }
+        if (!tenant.tryEnter()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests for " + tenant.getId() + ". Please try again shortly.");
+            return false;
+        }
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object tenant = request.getAttribute(TENANT_ATTRIBUTE);
+        if (tenant != null) {
+            request.removeAttribute(TENANT_ATTRIBUTE);
+            ((Tenant) tenant).exit();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+}
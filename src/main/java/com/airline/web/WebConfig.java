@@ -0,0 +1,69 @@
+package com.airline.web;
+
+import com.airline.service.tenant.TenantRegistry;
+import com.airline.tracing.Tracer;
+import com.airline.tracing.TracingInterceptor;
+import com.airline.web.ratelimit.AdaptiveConcurrencyLimiter;
+import com.airline.web.ratelimit.AdmissionControlInterceptor;
+import com.airline.web.ratelimit.TokenBucketRateLimiter;
+import com.airline.web.wire.BinaryWireMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration for the web layer.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired(required = false)
+    private Tracer tracer = Tracer.NOOP;
+
+    @Autowired(required = false)
+    private TenantRegistry tenantRegistry;
+
+    @Value("${flight.rate-limit.permits-per-second:20}")
+    private double permitsPerSecond;
+
+    @Value("${flight.rate-limit.burst:40}")
+    private int burst;
+
+    @Value("${flight.rate-limit.max-clients:100000}")
+    private int maxClients;
+
+    @Value("${flight.admission.initial-limit:64}")
+    private int initialConcurrencyLimit;
+
+    @Value("${flight.admission.min-limit:8}")
+    private int minConcurrencyLimit;
+
+    @Value("${flight.admission.max-limit:512}")
+    private int maxConcurrencyLimit;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so shed requests and admission checks are part of the trace
+        registry.addInterceptor(new TracingInterceptor(tracer));
+        if (tenantRegistry != null) {
+            // Before the shared limits, so a tenant over its own quota never takes a shared slot
+            registry.addInterceptor(new TenantInterceptor(tenantRegistry))
+                    .addPathPatterns("/search", "/book", "/reservations", "/api/**")
+                    .excludePathPatterns("/api/tenants");
+        }
+        registry.addInterceptor(new AdmissionControlInterceptor(
+                        new TokenBucketRateLimiter(permitsPerSecond, burst, maxClients),
+                        new AdaptiveConcurrencyLimiter(initialConcurrencyLimit, minConcurrencyLimit, maxConcurrencyLimit)))
+                .addPathPatterns("/search", "/book", "/api/search", "/api/book");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BinaryWireMessageConverter());
+    }
+}
@@ -1,5 +1,12 @@
 package com.airline.web.dto;
 
+import com.airline.model.FareBucket;
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Data Transfer Object for flight booking requests.
  */
@@ -7,6 +14,9 @@ public class BookingRequest {
     private String customerName;
     private String flightNumber;
     private Integer seats;
+    private String fareClass;
+    private String seatNumbers;
+    private String idempotencyKey;
 
     public BookingRequest() {
     }
@@ -40,4 +50,69 @@ public class BookingRequest {
     public void setSeats(Integer seats) {
         this.seats = seats;
     }
+
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public void setFareClass(String fareClass) {
+        this.fareClass = fareClass;
+    }
+
+    /**
+     * Gets the seats the customer selected, as entered, e.g. "12A, 12B".
+     */
+    public String getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(String seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    /**
+     * Gets the key the client chose for this booking, so retries of it are recognized.
+     * 
+     * @return the idempotency key, or null to book every time
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    /**
+     * Describes the booking this request names, e.g. one to cancel.
+     * 
+     * @param flight the flight the booking is on
+     * @return a reservation matching the stored one by customer, flight, seats and fare class
+     */
+    public Reservation toReservation(Flight flight) {
+        FareBucket bucket = flight.getFareBucket(fareClass);
+        String bookedClass = bucket != null ? bucket.getFareClass()
+                : fareClass == null || fareClass.trim().isEmpty() ? null : fareClass;
+        Reservation reservation = new Reservation(customerName, flight, seats == null ? 0 : seats, bookedClass);
+        reservation.setSeatNumbers(splitSeatNumbers(seatNumbers));
+        return reservation;
+    }
+
+    /**
+     * Splits a comma or space separated list of seat numbers.
+     * 
+     * @param seatNumbers the seats as entered, may be null
+     * @return the individual seat numbers, empty if none were entered
+     */
+    public static List<String> splitSeatNumbers(String seatNumbers) {
+        List<String> result = new ArrayList<>();
+        if (seatNumbers != null) {
+            for (String seat : seatNumbers.split("[,\\s]+")) {
+                if (!seat.isEmpty()) {
+                    result.add(seat);
+                }
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,95 @@
+package com.airline.web.dto;
+
+import com.airline.model.Reservation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a completed booking returned by the partner API.
+ */
+public class BookingResponse {
+    private String customerName;
+    private String flightNumber;
+    private int seatsBooked;
+    private int remainingSeats;
+    private String fareClass;
+    private List<String> seatNumbers = new ArrayList<>();
+    private BigDecimal totalFare;
+
+    public BookingResponse() {
+    }
+
+    public BookingResponse(String customerName, String flightNumber, int seatsBooked, int remainingSeats) {
+        this.customerName = customerName;
+        this.flightNumber = flightNumber;
+        this.seatsBooked = seatsBooked;
+        this.remainingSeats = remainingSeats;
+    }
+
+    public static BookingResponse from(Reservation reservation) {
+        BookingResponse response = new BookingResponse(reservation.getCustomerName(), reservation.getFlight().getFlightNumber(),
+                reservation.getSeatsBooked(), reservation.getFlight().getAvailableSeats());
+        response.setFareClass(reservation.getFareClass());
+        response.setSeatNumbers(new ArrayList<>(reservation.getSeatNumbers()));
+        response.setTotalFare(reservation.getTotalFare());
+        return response;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public int getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public void setSeatsBooked(int seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+
+    public int getRemainingSeats() {
+        return remainingSeats;
+    }
+
+    public void setRemainingSeats(int remainingSeats) {
+        this.remainingSeats = remainingSeats;
+    }
+
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public void setFareClass(String fareClass) {
+        this.fareClass = fareClass;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    public BigDecimal getTotalFare() {
+        return totalFare;
+    }
+
+    public void setTotalFare(BigDecimal totalFare) {
+        this.totalFare = totalFare;
+    }
+}
@@ -0,0 +1,23 @@
+package com.airline.web.dto;
+
+/**
+ * Data Transfer Object for errors returned by the partner API.
+ */
+public class ErrorResponse {
+    private String error;
+
+    public ErrorResponse() {
+    }
+
+    public ErrorResponse(String error) {
+        this.error = error;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,96 @@
+package com.airline.web.dto;
+
+import com.airline.model.Flight;
+
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Data Transfer Object for a flight returned by the partner API.
+ */
+public class FlightResponse {
+    private String flightNumber;
+    private String origin;
+    private String destination;
+    private String departureTime;
+    private String arrivalTime;
+    private int availableSeats;
+    private BigDecimal fare;
+
+    public FlightResponse() {
+    }
+
+    public FlightResponse(String flightNumber, String destination, String departureTime, int availableSeats) {
+        this.flightNumber = flightNumber;
+        this.destination = destination;
+        this.departureTime = departureTime;
+        this.availableSeats = availableSeats;
+    }
+
+    public static FlightResponse from(Flight flight, BigDecimal fare, DateTimeFormatter formatter) {
+        FlightResponse response = new FlightResponse(flight.getFlightNumber(), flight.getDestination(),
+                flight.getDepartureTime().format(formatter), flight.getAvailableSeats());
+        response.setFare(fare);
+        response.setOrigin(flight.getOrigin());
+        if (flight.getArrivalTime() != null) {
+            response.setArrivalTime(flight.getArrivalTime().format(formatter));
+        }
+        return response;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public String getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(String departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public String getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(String arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(int availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public BigDecimal getFare() {
+        return fare;
+    }
+
+    public void setFare(BigDecimal fare) {
+        this.fare = fare;
+    }
+}
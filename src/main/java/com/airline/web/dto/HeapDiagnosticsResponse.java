@@ -0,0 +1,132 @@
+package com.airline.web.dto;
+
+import com.airline.service.diagnostics.Footprint;
+import com.airline.service.diagnostics.GcEvent;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for heap usage, estimated footprints and recent collections.
+ */
+public class HeapDiagnosticsResponse {
+    private boolean compressedOops;
+    private int objectAlignment;
+    private long heapUsedBytes;
+    private long heapCommittedBytes;
+    private long heapMaxBytes;
+    private long allocationBytesPerSecond;
+    private long gcCollections;
+    private long gcTotalMillis;
+    private long gcMaxMillis;
+    private long estimatedBytes;
+    private List<Footprint> footprints;
+    private List<GcEvent> recentCollections;
+
+    public HeapDiagnosticsResponse() {
+    }
+
+    public boolean isCompressedOops() {
+        return compressedOops;
+    }
+
+    public void setCompressedOops(boolean compressedOops) {
+        this.compressedOops = compressedOops;
+    }
+
+    public int getObjectAlignment() {
+        return objectAlignment;
+    }
+
+    public void setObjectAlignment(int objectAlignment) {
+        this.objectAlignment = objectAlignment;
+    }
+
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    public void setHeapUsedBytes(long heapUsedBytes) {
+        this.heapUsedBytes = heapUsedBytes;
+    }
+
+    public long getHeapCommittedBytes() {
+        return heapCommittedBytes;
+    }
+
+    public void setHeapCommittedBytes(long heapCommittedBytes) {
+        this.heapCommittedBytes = heapCommittedBytes;
+    }
+
+    /**
+     * Gets the most the heap may grow to, or -1 if there is no limit.
+     */
+    public long getHeapMaxBytes() {
+        return heapMaxBytes;
+    }
+
+    public void setHeapMaxBytes(long heapMaxBytes) {
+        this.heapMaxBytes = heapMaxBytes;
+    }
+
+    /**
+     * Gets the allocation rate since the previous request, or -1 if unknown.
+     */
+    public long getAllocationBytesPerSecond() {
+        return allocationBytesPerSecond;
+    }
+
+    public void setAllocationBytesPerSecond(long allocationBytesPerSecond) {
+        this.allocationBytesPerSecond = allocationBytesPerSecond;
+    }
+
+    public long getGcCollections() {
+        return gcCollections;
+    }
+
+    public void setGcCollections(long gcCollections) {
+        this.gcCollections = gcCollections;
+    }
+
+    public long getGcTotalMillis() {
+        return gcTotalMillis;
+    }
+
+    public void setGcTotalMillis(long gcTotalMillis) {
+        this.gcTotalMillis = gcTotalMillis;
+    }
+
+    public long getGcMaxMillis() {
+        return gcMaxMillis;
+    }
+
+    public void setGcMaxMillis(long gcMaxMillis) {
+        this.gcMaxMillis = gcMaxMillis;
+    }
+
+    /**
+     * Gets the sum of the footprints.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public List<Footprint> getFootprints() {
+        return footprints;
+    }
+
+    public void setFootprints(List<Footprint> footprints) {
+        this.footprints = footprints;
+    }
+
+    public List<GcEvent> getRecentCollections() {
+        return recentCollections;
+    }
+
+    public void setRecentCollections(List<GcEvent> recentCollections) {
+        this.recentCollections = recentCollections;
+    }
+}
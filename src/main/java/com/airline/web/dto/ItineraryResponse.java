@@ -0,0 +1,56 @@
+package com.airline.web.dto;
+
+import com.airline.service.route.Itinerary;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Data Transfer Object for a direct or connecting itinerary returned by the partner API.
+ */
+public class ItineraryResponse {
+    private List<FlightResponse> legs = new ArrayList<>();
+    private int stops;
+    private int sellableSeats;
+
+    public ItineraryResponse() {
+    }
+
+    public ItineraryResponse(List<FlightResponse> legs, int sellableSeats) {
+        this.legs = legs;
+        this.stops = legs.size() - 1;
+        this.sellableSeats = sellableSeats;
+    }
+
+    public static ItineraryResponse from(Itinerary itinerary, DateTimeFormatter formatter) {
+        return new ItineraryResponse(itinerary.getLegs().stream()
+                .map(leg -> FlightResponse.from(leg, null, formatter))
+                .collect(Collectors.toList()), itinerary.getSellableSeats());
+    }
+
+    public List<FlightResponse> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<FlightResponse> legs) {
+        this.legs = legs;
+    }
+
+    public int getStops() {
+        return stops;
+    }
+
+    public void setStops(int stops) {
+        this.stops = stops;
+    }
+
+    public int getSellableSeats() {
+        return sellableSeats;
+    }
+
+    public void setSellableSeats(int sellableSeats) {
+        this.sellableSeats = sellableSeats;
+    }
+}
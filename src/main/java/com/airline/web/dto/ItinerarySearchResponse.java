@@ -0,0 +1,26 @@
+package com.airline.web.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for itinerary search results returned by the partner API.
+ */
+public class ItinerarySearchResponse {
+    private List<ItineraryResponse> itineraries = new ArrayList<>();
+
+    public ItinerarySearchResponse() {
+    }
+
+    public ItinerarySearchResponse(List<ItineraryResponse> itineraries) {
+        this.itineraries = itineraries;
+    }
+
+    public List<ItineraryResponse> getItineraries() {
+        return itineraries;
+    }
+
+    public void setItineraries(List<ItineraryResponse> itineraries) {
+        this.itineraries = itineraries;
+    }
+}
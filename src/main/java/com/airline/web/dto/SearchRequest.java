@@ -1,11 +1,16 @@
 package com.airline.web.dto;
 
 /**
- * Data Transfer Object for flight search requests.
+ * Data Transfer Object for flight search requests. Itinerary searches also name the
+ * origin and may limit the number of stops and results.
  */
 public class SearchRequest {
+    private String origin;
     private String destination;
     private String dateTime;
+    private String fareClass;
+    private Integer maxStops;
+    private Integer limit;
 
     public SearchRequest() {
     }
@@ -15,6 +20,14 @@ public class SearchRequest {
         this.dateTime = dateTime;
     }
 
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
     public String getDestination() {
         return destination;
     }
@@ -30,4 +43,28 @@ public class SearchRequest {
     public void setDateTime(String dateTime) {
         this.dateTime = dateTime;
     }
+
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public void setFareClass(String fareClass) {
+        this.fareClass = fareClass;
+    }
+
+    public Integer getMaxStops() {
+        return maxStops;
+    }
+
+    public void setMaxStops(Integer maxStops) {
+        this.maxStops = maxStops;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
 }
@@ -0,0 +1,26 @@
+package com.airline.web.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for flight search results returned by the partner API.
+ */
+public class SearchResponse {
+    private List<FlightResponse> flights = new ArrayList<>();
+
+    public SearchResponse() {
+    }
+
+    public SearchResponse(List<FlightResponse> flights) {
+        this.flights = flights;
+    }
+
+    public List<FlightResponse> getFlights() {
+        return flights;
+    }
+
+    public void setFlights(List<FlightResponse> flights) {
+        this.flights = flights;
+    }
+}
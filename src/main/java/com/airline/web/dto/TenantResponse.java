@@ -0,0 +1,74 @@
+package com.airline.web.dto;
+
+import com.airline.service.tenant.Tenant;
+import com.airline.service.tenant.TenantQuota;
+
+/**
+ * Data Transfer Object for a tenant's usage against its quota. The caps are null for a
+ * tenant without a quota.
+ */
+public class TenantResponse {
+    private String id;
+    private int activeRequests;
+    private Integer maxConcurrentRequests;
+    private long admittedRequests;
+    private long rejectedRequests;
+    private int flights;
+    private Integer maxFlights;
+    private int reservations;
+    private Integer maxReservations;
+
+    public TenantResponse() {
+    }
+
+    public static TenantResponse from(Tenant tenant) {
+        TenantResponse response = new TenantResponse();
+        response.id = tenant.getId();
+        response.activeRequests = tenant.getActiveRequests();
+        TenantQuota quota = tenant.getQuota();
+        response.maxConcurrentRequests = quota == null ? null : quota.getMaxConcurrentRequests();
+        response.admittedRequests = tenant.getAdmittedRequests();
+        response.rejectedRequests = tenant.getRejectedRequests();
+        response.flights = tenant.getFlightService().getFlightCount();
+        response.maxFlights = quota == null ? null : quota.getMaxFlights();
+        response.reservations = tenant.getFlightService().getReservationCount();
+        response.maxReservations = quota == null ? null : quota.getMaxReservations();
+        return response;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getActiveRequests() {
+        return activeRequests;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public long getAdmittedRequests() {
+        return admittedRequests;
+    }
+
+    public long getRejectedRequests() {
+        return rejectedRequests;
+    }
+
+    public int getFlights() {
+        return flights;
+    }
+
+    public Integer getMaxFlights() {
+        return maxFlights;
+    }
+
+    public int getReservations() {
+        return reservations;
+    }
+
+    public Integer getMaxReservations() {
+        return maxReservations;
+    }
+}
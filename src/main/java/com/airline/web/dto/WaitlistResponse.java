@@ -0,0 +1,76 @@
+package com.airline.web.dto;
+
+import com.airline.service.waitlist.WaitlistEntry;
+
+/**
+ * Data Transfer Object for a customer's place on a waitlist, returned by the partner API.
+ */
+public class WaitlistResponse {
+    private String customerName;
+    private String flightNumber;
+    private String fareClass;
+    private int seats;
+    private int position;
+
+    public WaitlistResponse() {
+    }
+
+    public WaitlistResponse(String customerName, String flightNumber, int seats, int position) {
+        this.customerName = customerName;
+        this.flightNumber = flightNumber;
+        this.seats = seats;
+        this.position = position;
+    }
+
+    public static WaitlistResponse from(WaitlistEntry entry, int position) {
+        WaitlistResponse response = new WaitlistResponse(entry.getCustomerName(), entry.getFlightNumber(),
+                entry.getSeats(), position);
+        response.setFareClass(entry.getFareClass());
+        return response;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public String getFareClass() {
+        return fareClass;
+    }
+
+    public void setFareClass(String fareClass) {
+        this.fareClass = fareClass;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public void setSeats(int seats) {
+        this.seats = seats;
+    }
+
+    /**
+     * Gets the customer's place in line.
+     * 
+     * @return 1 for first in line, or 0 if seats came back and the customer is already booked
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+}
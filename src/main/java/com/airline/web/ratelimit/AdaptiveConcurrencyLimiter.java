@@ -0,0 +1,88 @@
+package com.airline.web.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of a gradient limiter.
+ *
+ * <p>The limiter tracks the lowest recent latency as an estimate of the no-queueing
+ * service time. When latency rises above it, requests are queueing somewhere, so the
+ * limit shrinks in proportion; when latency is back at the baseline the limit grows by
+ * roughly its square root, leaving headroom to discover extra capacity. Requests beyond
+ * the limit are rejected immediately instead of waiting.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double SMOOTHING = 0.2;
+    private static final double MAX_BASELINE_DRIFT = 1.001;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double baselineNanos = Double.MAX_VALUE;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Claims a slot for a request.
+     * 
+     * @return true if the request was admitted and {@link #release(long)} must be called when it completes
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Frees the slot of an admitted request and feeds its latency into the limit.
+     * 
+     * @param latencyNanos how long the request took
+     */
+    public void release(long latencyNanos) {
+        int observedInFlight = inFlight.getAndDecrement();
+        update(latencyNanos, observedInFlight);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long latencyNanos, int observedInFlight) {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        // Let the baseline drift up slowly so a one-off fast request does not pin it forever
+        baselineNanos = Math.min(baselineNanos * MAX_BASELINE_DRIFT, latencyNanos);
+
+        // Only grow when the limit is actually being used; idle periods say nothing about capacity
+        if (observedInFlight < estimatedLimit / 2 && latencyNanos <= baselineNanos * 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, baselineNanos / latencyNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = (1 - SMOOTHING) * estimatedLimit + SMOOTHING * target;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,69 @@
+package com.airline.web.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Sheds search and booking requests before they reach the controllers.
+ *
+ * <p>Each request first has to get a token from the client's rate-limit bucket and then a
+ * slot from the adaptive concurrency limit. Requests that fail either check get an
+ * immediate {@code 429 Too Many Requests} with a {@code Retry-After} header rather than
+ * queueing behind work the service cannot keep up with. Plain page loads (GET without a
+ * query) are never shed.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public AdmissionControlInterceptor(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!isSheddable(request)) {
+            return true;
+        }
+
+        String client = request.getRemoteAddr();
+        if (!rateLimiter.tryAcquire(client)) {
+            reject(response, rateLimiter.secondsUntilNextPermit(client), "Rate limit exceeded. Please slow down.");
+            return false;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, 1, "The service is busy. Please try again shortly.");
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            concurrencyLimiter.release(System.nanoTime() - (Long) start);
+        }
+    }
+
+    private static boolean isSheddable(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || request.getQueryString() != null;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,149 @@
+package com.airline.web.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket. Each client may burst up to {@code burst} requests and is
+ * then refilled at {@code permitsPerSecond}. At most {@code maxClients} clients get a
+ * bucket of their own. While the table is full, buckets of clients that have been idle
+ * long enough to be full again are dropped, scanning the table once per batch of new
+ * clients rather than on each one; clients that still find no room share one overflow
+ * bucket.
+ */
+public class TokenBucketRateLimiter {
+    private final double permitsPerNano;
+    private final double burst;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final int scanInterval;
+    private final AtomicInteger missesSinceScan = new AtomicInteger();
+    private final Bucket overflow;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+        this(permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be greater than zero");
+        }
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("Maximum number of clients must be greater than zero");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+        // A full scan every maxClients / 16 misses costs a constant amount per new client
+        this.scanInterval = Math.max(1, maxClients / 16);
+        this.overflow = new Bucket(burst, nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one token from the client's bucket.
+     * 
+     * @param clientKey identifies the client, e.g. its address
+     * @return true if the request may proceed
+     */
+    public boolean tryAcquire(String clientKey) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = track(clientKey, now);
+        }
+        return bucket.tryTake(now);
+    }
+
+    private Bucket track(String clientKey, long now) {
+        if (!reserveSlot()) {
+            if (missesSinceScan.incrementAndGet() < scanInterval) {
+                return overflow;
+            }
+            missesSinceScan.set(0);
+            evictIdle(now);
+            if (!reserveSlot()) {
+                return overflow;
+            }
+        }
+        Bucket bucket = new Bucket(burst, now);
+        Bucket existing = buckets.putIfAbsent(clientKey, bucket);
+        if (existing != null) {
+            tracked.decrementAndGet();
+            return existing;
+        }
+        return bucket;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = tracked.get();
+            if (current >= maxClients) {
+                return false;
+            }
+            if (tracked.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Estimates how long the client must wait for its next token.
+     * 
+     * @param clientKey identifies the client
+     * @return the wait in whole seconds, at least 1
+     */
+    public long secondsUntilNextPermit(String clientKey) {
+        Bucket bucket = buckets.getOrDefault(clientKey, overflow);
+        double missing = Math.max(0, 1 - bucket.available());
+        return Math.max(1, (long) Math.ceil(missing / permitsPerNano / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private void evictIdle(long now) {
+        long refillNanos = (long) (burst / permitsPerNano);
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            if (entry.getValue().idleFor(now) >= refillNanos && buckets.remove(entry.getKey(), entry.getValue())) {
+                tracked.decrementAndGet();
+            }
+        }
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        private synchronized boolean tryTake(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+                lastRefill = now;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized long idleFor(long now) {
+            return now - lastRefill;
+        }
+
+        private synchronized double available() {
+            return tokens;
+        }
+    }
+}
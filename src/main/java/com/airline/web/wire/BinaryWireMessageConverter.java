@@ -0,0 +1,46 @@
+package com.airline.web.wire;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+
+/**
+ * Reads and writes partner API messages in the {@link WireCodec} binary format when the
+ * client sends or accepts {@value #MEDIA_TYPE_VALUE}. JSON stays the default.
+ */
+public class BinaryWireMessageConverter extends AbstractHttpMessageConverter<Object> {
+    public static final String MEDIA_TYPE_VALUE = "application/x-airline-wire";
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf(MEDIA_TYPE_VALUE);
+
+    public BinaryWireMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return WireCodec.supports(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = StreamUtils.copyToByteArray(inputMessage.getBody());
+        try {
+            return WireCodec.decode(clazz, body);
+        } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+            throw new HttpMessageNotReadableException("Malformed " + MEDIA_TYPE_VALUE + " message", e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object message, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = WireCodec.encode(message);
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
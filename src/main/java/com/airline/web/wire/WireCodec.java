@@ -0,0 +1,328 @@
+package com.airline.web.wire;
+
+import com.airline.web.dto.BookingRequest;
+import com.airline.web.dto.BookingResponse;
+import com.airline.web.dto.ErrorResponse;
+import com.airline.web.dto.FlightResponse;
+import com.airline.web.dto.ItineraryResponse;
+import com.airline.web.dto.ItinerarySearchResponse;
+import com.airline.web.dto.SearchRequest;
+import com.airline.web.dto.SearchResponse;
+import com.airline.web.dto.WaitlistResponse;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of the partner API messages.
+ *
+ * <p>Messages use Protobuf-style tagged fields (see {@link WireWriter}), so fields can be
+ * added later without breaking older readers. Date-times in the {@code yyyy-MM-dd HH:mm}
+ * format travel as a varint of minutes since the epoch instead of a 16 byte string;
+ * values in any other format are sent as strings unchanged. Fares travel as decimal
+ * strings so no precision is lost.
+ */
+public final class WireCodec {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private WireCodec() {
+    }
+
+    /**
+     * Checks whether a message type has a binary encoding.
+     */
+    public static boolean supports(Class<?> type) {
+        return type == SearchRequest.class || type == BookingRequest.class || type == SearchResponse.class
+                || type == FlightResponse.class || type == BookingResponse.class || type == WaitlistResponse.class
+                || type == ItinerarySearchResponse.class || type == ItineraryResponse.class
+                || type == ErrorResponse.class;
+    }
+
+    public static byte[] encode(Object message) {
+        WireWriter writer = new WireWriter();
+        if (message instanceof SearchRequest) {
+            SearchRequest request = (SearchRequest) message;
+            writer.writeString(1, request.getDestination());
+            writeDateTime(writer, 2, 3, request.getDateTime());
+            writer.writeString(4, request.getFareClass());
+            writer.writeString(5, request.getOrigin());
+            if (request.getMaxStops() != null) {
+                writer.writeInt(6, request.getMaxStops());
+            }
+            if (request.getLimit() != null) {
+                writer.writeInt(7, request.getLimit());
+            }
+        } else if (message instanceof BookingRequest) {
+            BookingRequest request = (BookingRequest) message;
+            writer.writeString(1, request.getCustomerName());
+            writer.writeString(2, request.getFlightNumber());
+            if (request.getSeats() != null) {
+                writer.writeInt(3, request.getSeats());
+            }
+            writer.writeString(4, request.getFareClass());
+            writer.writeString(5, request.getSeatNumbers());
+            writer.writeString(6, request.getIdempotencyKey());
+        } else if (message instanceof SearchResponse) {
+            for (FlightResponse flight : ((SearchResponse) message).getFlights()) {
+                writer.writeBytes(1, encode(flight));
+            }
+        } else if (message instanceof FlightResponse) {
+            FlightResponse flight = (FlightResponse) message;
+            writer.writeString(1, flight.getFlightNumber());
+            writer.writeString(2, flight.getDestination());
+            writeDateTime(writer, 3, 4, flight.getDepartureTime());
+            writer.writeInt(5, flight.getAvailableSeats());
+            writeDecimal(writer, 6, flight.getFare());
+            writer.writeString(7, flight.getOrigin());
+            writeDateTime(writer, 8, 9, flight.getArrivalTime());
+        } else if (message instanceof ItinerarySearchResponse) {
+            for (ItineraryResponse itinerary : ((ItinerarySearchResponse) message).getItineraries()) {
+                writer.writeBytes(1, encode(itinerary));
+            }
+        } else if (message instanceof ItineraryResponse) {
+            ItineraryResponse itinerary = (ItineraryResponse) message;
+            for (FlightResponse leg : itinerary.getLegs()) {
+                writer.writeBytes(1, encode(leg));
+            }
+            writer.writeInt(2, itinerary.getStops());
+            writer.writeInt(3, itinerary.getSellableSeats());
+        } else if (message instanceof BookingResponse) {
+            BookingResponse response = (BookingResponse) message;
+            writer.writeString(1, response.getCustomerName());
+            writer.writeString(2, response.getFlightNumber());
+            writer.writeInt(3, response.getSeatsBooked());
+            writer.writeInt(4, response.getRemainingSeats());
+            writer.writeString(5, response.getFareClass());
+            for (String seatNumber : response.getSeatNumbers()) {
+                writer.writeString(6, seatNumber);
+            }
+            writeDecimal(writer, 7, response.getTotalFare());
+        } else if (message instanceof WaitlistResponse) {
+            WaitlistResponse response = (WaitlistResponse) message;
+            writer.writeString(1, response.getCustomerName());
+            writer.writeString(2, response.getFlightNumber());
+            writer.writeString(3, response.getFareClass());
+            writer.writeInt(4, response.getSeats());
+            writer.writeInt(5, response.getPosition());
+        } else if (message instanceof ErrorResponse) {
+            writer.writeString(1, ((ErrorResponse) message).getError());
+        } else {
+            throw new IllegalArgumentException("No binary encoding for " + message.getClass().getName());
+        }
+        return writer.toByteArray();
+    }
+
+    public static <T> T decode(Class<T> type, byte[] bytes) {
+        return type.cast(decode(type, new WireReader(bytes)));
+    }
+
+    private static Object decode(Class<?> type, WireReader reader) {
+        if (type == SearchRequest.class) {
+            SearchRequest request = new SearchRequest();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                switch (field) {
+                    case 1: request.setDestination(reader.readString()); break;
+                    case 2: request.setDateTime(readMinutes(reader)); break;
+                    case 3: request.setDateTime(reader.readString()); break;
+                    case 4: request.setFareClass(reader.readString()); break;
+                    case 5: request.setOrigin(reader.readString()); break;
+                    case 6: request.setMaxStops(reader.readInt()); break;
+                    case 7: request.setLimit(reader.readInt()); break;
+                    default: reader.skip();
+                }
+            }
+            return request;
+        } else if (type == BookingRequest.class) {
+            BookingRequest request = new BookingRequest();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                switch (field) {
+                    case 1: request.setCustomerName(reader.readString()); break;
+                    case 2: request.setFlightNumber(reader.readString()); break;
+                    case 3: request.setSeats(reader.readInt()); break;
+                    case 4: request.setFareClass(reader.readString()); break;
+                    case 5: request.setSeatNumbers(reader.readString()); break;
+                    case 6: request.setIdempotencyKey(reader.readString()); break;
+                    default: reader.skip();
+                }
+            }
+            return request;
+        } else if (type == SearchResponse.class) {
+            List<FlightResponse> flights = new ArrayList<>();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                if (field == 1) {
+                    flights.add((FlightResponse) decode(FlightResponse.class, reader.readMessage()));
+                } else {
+                    reader.skip();
+                }
+            }
+            return new SearchResponse(flights);
+        } else if (type == FlightResponse.class) {
+            FlightResponse flight = new FlightResponse();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                switch (field) {
+                    case 1: flight.setFlightNumber(reader.readString()); break;
+                    case 2: flight.setDestination(reader.readString()); break;
+                    case 3: flight.setDepartureTime(readMinutes(reader)); break;
+                    case 4: flight.setDepartureTime(reader.readString()); break;
+                    case 5: flight.setAvailableSeats(reader.readInt()); break;
+                    case 6: flight.setFare(new BigDecimal(reader.readString())); break;
+                    case 7: flight.setOrigin(reader.readString()); break;
+                    case 8: flight.setArrivalTime(readMinutes(reader)); break;
+                    case 9: flight.setArrivalTime(reader.readString()); break;
+                    default: reader.skip();
+                }
+            }
+            return flight;
+        } else if (type == ItinerarySearchResponse.class) {
+            List<ItineraryResponse> itineraries = new ArrayList<>();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                if (field == 1) {
+                    itineraries.add((ItineraryResponse) decode(ItineraryResponse.class, reader.readMessage()));
+                } else {
+                    reader.skip();
+                }
+            }
+            return new ItinerarySearchResponse(itineraries);
+        } else if (type == ItineraryResponse.class) {
+            ItineraryResponse itinerary = new ItineraryResponse();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                switch (field) {
+                    case 1: itinerary.getLegs().add((FlightResponse) decode(FlightResponse.class, reader.readMessage())); break;
+                    case 2: itinerary.setStops(reader.readInt()); break;
+                    case 3: itinerary.setSellableSeats(reader.readInt()); break;
+                    default: reader.skip();
+                }
+            }
+            return itinerary;
+        } else if (type == BookingResponse.class) {
+            BookingResponse response = new BookingResponse();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                switch (field) {
+                    case 1: response.setCustomerName(reader.readString()); break;
+                    case 2: response.setFlightNumber(reader.readString()); break;
+                    case 3: response.setSeatsBooked(reader.readInt()); break;
+                    case 4: response.setRemainingSeats(reader.readInt()); break;
+                    case 5: response.setFareClass(reader.readString()); break;
+                    case 6: response.getSeatNumbers().add(reader.readString()); break;
+                    case 7: response.setTotalFare(new BigDecimal(reader.readString())); break;
+                    default: reader.skip();
+                }
+            }
+            return response;
+        } else if (type == WaitlistResponse.class) {
+            WaitlistResponse response = new WaitlistResponse();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                switch (field) {
+                    case 1: response.setCustomerName(reader.readString()); break;
+                    case 2: response.setFlightNumber(reader.readString()); break;
+                    case 3: response.setFareClass(reader.readString()); break;
+                    case 4: response.setSeats(reader.readInt()); break;
+                    case 5: response.setPosition(reader.readInt()); break;
+                    default: reader.skip();
+                }
+            }
+            return response;
+        } else if (type == ErrorResponse.class) {
+            ErrorResponse response = new ErrorResponse();
+            for (int field; (field = reader.nextField()) != -1; ) {
+                if (field == 1) {
+                    response.setError(reader.readString());
+                } else {
+                    reader.skip();
+                }
+            }
+            return response;
+        }
+        throw new IllegalArgumentException("No binary encoding for " + type.getName());
+    }
+
+    private static void writeDateTime(WireWriter writer, int minutesField, int stringField, String value) {
+        if (value == null) {
+            return;
+        }
+        long minutes = parseMinutes(value);
+        if (minutes != Long.MIN_VALUE) {
+            writer.writeInt(minutesField, minutes);
+        } else {
+            writer.writeString(stringField, value);
+        }
+    }
+
+    private static void writeDecimal(WireWriter writer, int field, BigDecimal value) {
+        if (value != null) {
+            writer.writeString(field, value.toPlainString());
+        }
+    }
+
+    private static String readMinutes(WireReader reader) {
+        long minutes = reader.readLong();
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(minutes, MINUTES_PER_DAY));
+        int minuteOfDay = (int) Math.floorMod(minutes, MINUTES_PER_DAY);
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            return LocalDateTime.of(date, LocalTime.ofSecondOfDay(minuteOfDay * 60L)).format(DATE_TIME_FORMATTER);
+        }
+        char[] chars = new char[16];
+        putDigits(chars, 0, date.getYear(), 4);
+        chars[4] = '-';
+        putDigits(chars, 5, date.getMonthValue(), 2);
+        chars[7] = '-';
+        putDigits(chars, 8, date.getDayOfMonth(), 2);
+        chars[10] = ' ';
+        putDigits(chars, 11, minuteOfDay / 60, 2);
+        chars[13] = ':';
+        putDigits(chars, 14, minuteOfDay % 60, 2);
+        return new String(chars);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd HH:mm} without going through {@link DateTimeFormatter},
+     * which dominates encode time otherwise.
+     * 
+     * @return minutes since the epoch, or {@link Long#MIN_VALUE} if the value is not in that format
+     */
+    private static long parseMinutes(String value) {
+        if (value.length() != 16 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != ' ' || value.charAt(13) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return LocalDate.of(year, month, day).toEpochDay() * MINUTES_PER_DAY + hour * 60 + minute;
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static int digits(String value, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static void putDigits(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.airline.web.wire;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads fields written by {@link WireWriter}. Call {@link #nextField()} until it
+ * returns -1, then read the value with the method matching the field, or
+ * {@link #skip()} fields the reader does not know.
+ */
+public class WireReader {
+    /** Highest field number a key can carry, as in protobuf. */
+    public static final int MAX_FIELD_NUMBER = (1 << 29) - 1;
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private int wireType;
+
+    public WireReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    public WireReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Advances to the next field.
+     * 
+     * @return the field number, or -1 at the end of the message
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public int nextField() {
+        if (position >= limit) {
+            return -1;
+        }
+        long key = readVarint();
+        wireType = (int) (key & 0x7);
+        if (wireType != WireWriter.VARINT && wireType != WireWriter.LENGTH_DELIMITED) {
+            throw new IllegalArgumentException("Unsupported wire type " + wireType);
+        }
+        long field = key >>> 3;
+        if (field > MAX_FIELD_NUMBER) {
+            throw new IllegalArgumentException("Field number " + field + " out of range");
+        }
+        return (int) field;
+    }
+
+    public long readLong() {
+        expect(WireWriter.VARINT);
+        long raw = readVarint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public int readInt() {
+        return Math.toIntExact(readLong());
+    }
+
+    public String readString() {
+        expect(WireWriter.LENGTH_DELIMITED);
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads a nested message and returns a reader positioned over it.
+     */
+    public WireReader readMessage() {
+        expect(WireWriter.LENGTH_DELIMITED);
+        int length = readLength();
+        WireReader nested = new WireReader(buffer, position, length);
+        position += length;
+        return nested;
+    }
+
+    public byte[] readBytes() {
+        expect(WireWriter.LENGTH_DELIMITED);
+        int length = readLength();
+        byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Skips the value of the current field.
+     */
+    public void skip() {
+        if (wireType == WireWriter.VARINT) {
+            readVarint();
+        } else {
+            int length = readLength();
+            position += length;
+        }
+    }
+
+    private int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Truncated message");
+        }
+        return (int) length;
+    }
+
+    private long readVarint() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Truncated message");
+            }
+            byte b = buffer[position++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private void expect(int expectedWireType) {
+        if (wireType != expectedWireType) {
+            throw new IllegalArgumentException("Unexpected wire type " + wireType);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.airline.web.wire;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes Protobuf-style tagged fields into a growable byte array.
+ * Every field starts with a varint key {@code (fieldNumber << 3) | wireType}.
+ */
+public class WireWriter {
+    static final int VARINT = 0;
+    static final int LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int position;
+
+    public WireWriter() {
+        this(64);
+    }
+
+    public WireWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Writes a non-negative or negative integer field using zig-zag varint encoding.
+     */
+    public void writeInt(int field, long value) {
+        writeKey(field, VARINT);
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a UTF-8 string field. Null values are omitted.
+     */
+    public void writeString(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        writeBytes(field, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a nested message or raw byte field.
+     */
+    public void writeBytes(int field, byte[] value) {
+        writeKey(field, LENGTH_DELIMITED);
+        writeVarint(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public int size() {
+        return position;
+    }
+
+    private void writeKey(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.airline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time to ready for the web application in three setups: the default profile,
+ * the fast-start profile, and the fast-start profile with the AppCDS archive. Each run
+ * is a fresh JVM that exits as soon as the application is ready. Not a unit test; build
+ * the thin jar, classpath file and archive first, then run:
+ * <pre>
+ * mvn -Pfast-start -DskipTests package
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass="com.airline.StartupBenchmark"
+ * </pre>
+ */
+public class StartupBenchmark {
+    private static final int RUNS = 5;
+    private static final Pattern STARTED = Pattern.compile("Started FlightReservationApplication in ([0-9.]+) seconds");
+
+    public static void main(String[] args) throws Exception {
+        Path classpathFile = Paths.get("target", "classpath.txt");
+        Path archive = Paths.get("target", "app-cds.jsa");
+        if (!Files.exists(classpathFile)) {
+            System.err.println("Missing target/classpath.txt; run mvn -Pfast-start -DskipTests package first");
+            return;
+        }
+        String classpath = Files.readString(classpathFile).trim();
+        Path archiveDir = Files.createTempDirectory("startup-benchmark");
+
+        report("default", classpath, archiveDir, Collections.emptyList(), Collections.emptyList());
+        report("fast-start", classpath, archiveDir, Collections.emptyList(),
+                List.of("--spring.profiles.active=fast-start"));
+        if (Files.exists(archive)) {
+            report("fast-start + AppCDS", classpath, archiveDir,
+                    List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off"),
+                    List.of("--spring.profiles.active=fast-start"));
+        }
+    }
+
+    private static void report(String name, String classpath, Path archiveDir, List<String> jvmArgs,
+                               List<String> appArgs) throws Exception {
+        // One untimed run so the OS file cache is warm for every setup alike
+        start(classpath, archiveDir, jvmArgs, appArgs);
+        double[] ready = new double[RUNS];
+        double[] wall = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long begin = System.nanoTime();
+            ready[i] = start(classpath, archiveDir, jvmArgs, appArgs);
+            wall[i] = (System.nanoTime() - begin) / 1e9;
+        }
+        Arrays.sort(ready);
+        Arrays.sort(wall);
+        System.out.printf("%-20s ready (Spring): %5.2f s  process wall: %5.2f s  (median of %d)%n",
+                name, ready[RUNS / 2], wall[RUNS / 2], RUNS);
+    }
+
+    private static double start(String classpath, Path archiveDir, List<String> jvmArgs, List<String> appArgs)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(FlightReservationApplication.class.getName());
+        command.add("--server.port=0");
+        command.add("--flight.startup.exit-after-ready=true");
+        command.add("--flight.archive.dir=" + archiveDir);
+        command.addAll(appArgs);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        double seconds = Double.NaN;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    seconds = Double.parseDouble(matcher.group(1));
+                }
+            }
+        }
+        if (process.waitFor() != 0 || Double.isNaN(seconds)) {
+            throw new IllegalStateException("Application did not start cleanly: " + command);
+        }
+        return seconds;
+    }
+}
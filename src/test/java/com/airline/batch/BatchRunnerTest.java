@@ -0,0 +1,151 @@
+package com.airline.batch;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchRunner class.
+ */
+class BatchRunnerTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    private FlightService flightService;
+
+    @BeforeEach
+    void setUp() {
+        flightService = new FlightService();
+        flightService.addFlight(new Flight("AA101", "New York", DEPARTURE, 50));
+    }
+
+    private static ReadableByteChannel channel(String script) {
+        return Channels.newChannel(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testRun_Script_OneResultLinePerCommand() throws Exception {
+        // Arrange
+        String script = "# bookings for the back office\n"
+                + "search|New York|2030-12-25 08:00\n"
+                + "\n"
+                + "book|John Doe|aa101|2\n"
+                + "reservations|John Doe\n";
+        StringWriter output = new StringWriter();
+
+        // Act
+        BatchRunner.Summary summary = new BatchRunner(flightService).run(channel(script), output);
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("2 OK 1 flights: AA101 (2030-12-25 14:30, 50 seats)", lines[0]);
+        assertTrue(lines[1].startsWith("4 OK booked 2 on AA101 for John Doe"));
+        assertTrue(lines[1].endsWith(", 48 left"));
+        assertEquals("5 OK 1 reservations: AA101 x2", lines[2]);
+        assertEquals(3, summary.getCommands());
+        assertEquals(0, summary.getFailed());
+    }
+
+    @Test
+    void testRun_AddWithOriginAndArrival_FlightUsableAsLeg() throws Exception {
+        // Arrange
+        String script = "add|AA201|Miami|2030-12-25 18:00|30|New York|2030-12-25 21:00\n"
+                + "add|AA202|Miami|2030-12-25 18:00|30|New York\n";
+        StringWriter output = new StringWriter();
+
+        // Act
+        BatchRunner.Summary summary = new BatchRunner(flightService).run(channel(script), output);
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals("1 OK added AA201", lines[0]);
+        assertTrue(lines[1].startsWith("2 ERROR Expected add|"));
+        assertEquals(1, summary.getFailed());
+        Flight added = flightService.findFlight("AA201");
+        assertEquals("New York", added.getOrigin());
+        assertEquals(LocalDateTime.of(2030, 12, 25, 21, 0), added.getArrivalTime());
+        assertEquals(1, flightService.searchItineraries("New York", "Miami", DEPARTURE.minusHours(12), 0, 5).size());
+    }
+
+    @Test
+    void testRun_BadCommands_ReportedAndBatchContinues() throws Exception {
+        // Arrange
+        String script = "book|John Doe|ZZ999|1\n"
+                + "search|New York|tomorrow\n"
+                + "fly|John Doe\n"
+                + "book|John Doe|AA101|51\n"
+                + "book|John Doe|AA101|1\n";
+        StringWriter output = new StringWriter();
+
+        // Act
+        BatchRunner.Summary summary = new BatchRunner(flightService).run(channel(script), output);
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals("1 ERROR Flight ZZ999 not found", lines[0]);
+        assertTrue(lines[1].startsWith("2 ERROR Invalid date tomorrow"));
+        assertEquals("3 ERROR Unknown command: fly", lines[2]);
+        assertTrue(lines[3].startsWith("4 ERROR "));
+        assertTrue(lines[4].startsWith("5 OK booked 1"));
+        assertEquals(5, summary.getCommands());
+        assertEquals(4, summary.getFailed());
+        assertEquals(49, flightService.findFlight("AA101").getAvailableSeats());
+    }
+
+    @Test
+    void testRun_ServiceFailure_ReportedAndBatchContinues() throws Exception {
+        // Arrange
+        FlightService failingArchive = new FlightService() {
+            @Override
+            public List<Reservation> getReservationHistory(String customerName) {
+                throw new UncheckedIOException(new IOException("Archive unreadable"));
+            }
+        };
+        failingArchive.addFlight(new Flight("AA101", "New York", DEPARTURE, 50));
+        String script = "reservations|John Doe\n"
+                + "book|John Doe|AA101|1\n";
+        StringWriter output = new StringWriter();
+
+        // Act
+        BatchRunner.Summary summary = new BatchRunner(failingArchive).run(channel(script), output);
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertTrue(lines[0].startsWith("1 ERROR java.io.UncheckedIOException"));
+        assertTrue(lines[1].startsWith("2 OK booked 1"));
+        assertEquals(1, summary.getFailed());
+    }
+
+    @Test
+    void testRun_TinyBuffer_SplitsCharactersAndLineEndingsCorrectly() throws Exception {
+        // Arrange
+        String script = "add|LH400|München|2030-12-25 09:15|20\r\n"
+                + "book|Zoë Ünal|LH400|3\r\n"
+                + "reservations|Zoë Ünal";
+        StringWriter output = new StringWriter();
+
+        // Act
+        new BatchRunner(flightService, 5).run(channel(script), output);
+
+        // Assert
+        String[] lines = output.toString().split("\n");
+        assertEquals("1 OK added LH400", lines[0]);
+        assertTrue(lines[1].startsWith("2 OK booked 3 on LH400 for Zoë Ünal"));
+        assertEquals("3 OK 1 reservations: LH400 x3", lines[2]);
+        assertEquals("München", flightService.findFlight("LH400").getDestination());
+    }
+}
@@ -0,0 +1,123 @@
+package com.airline.gui;
+
+import com.airline.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RowTableModel class.
+ */
+class RowTableModelTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    private RowTableModel<Flight> model;
+    private List<TableModelEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        model = new RowTableModel<>(Flight::getFlightNumber, Arrays.asList(
+                new RowTableModel.Column<>("Flight Number", Flight::getFlightNumber),
+                new RowTableModel.Column<>("Available Seats", Flight::getAvailableSeats)));
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    private static List<Flight> flights(int from, int to) {
+        List<Flight> flights = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            flights.add(new Flight("AA" + (100 + i), "New York", DEPARTURE, 50));
+        }
+        return flights;
+    }
+
+    private static String describe(TableModelEvent event) {
+        return event.getType() + ":" + event.getFirstRow() + "-" + event.getLastRow();
+    }
+
+    @Test
+    void testSetRows_ManyNewRows_OneInsertEvent() {
+        // Act
+        model.setRows(flights(0, 500));
+
+        // Assert
+        assertEquals(500, model.getRowCount());
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.INSERT + ":0-499", describe(events.get(0)));
+        assertEquals("AA599", model.getValueAt(499, 0));
+    }
+
+    @Test
+    void testSetRows_OverlappingResults_FiresOnlyDiff() {
+        // Arrange
+        List<Flight> before = flights(0, 10);
+        model.setRows(before);
+        events.clear();
+        List<Flight> after = new ArrayList<>(before.subList(2, 6));
+        after.addAll(flights(20, 23));
+        after.addAll(before.subList(8, 10));
+        after.get(1).setAvailableSeats(7);
+
+        // Act
+        model.setRows(after);
+
+        // Assert
+        List<String> fired = new ArrayList<>();
+        events.forEach(event -> fired.add(describe(event)));
+        assertEquals(Arrays.asList(
+                TableModelEvent.DELETE + ":6-7",
+                TableModelEvent.DELETE + ":0-1",
+                TableModelEvent.INSERT + ":4-6",
+                TableModelEvent.UPDATE + ":1-1"), fired);
+        for (int row = 0; row < after.size(); row++) {
+            assertEquals(after.get(row).getFlightNumber(), model.getValueAt(row, 0));
+        }
+        assertEquals(7, model.getValueAt(1, 1));
+    }
+
+    @Test
+    void testSetRows_Reordered_ReloadsOnce() {
+        // Arrange
+        List<Flight> rows = flights(0, 5);
+        model.setRows(rows);
+        events.clear();
+        Collections.reverse(rows);
+
+        // Act
+        model.setRows(rows);
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals(Integer.MAX_VALUE, events.get(0).getLastRow());
+        assertEquals("AA104", model.getValueAt(0, 0));
+    }
+
+    @Test
+    void testRefresh_SeatsChangedInPlace_UpdatesChangedRowsOnly() {
+        // Arrange
+        List<Flight> rows = flights(0, 10);
+        model.setRows(rows);
+        events.clear();
+        rows.get(3).setAvailableSeats(40);
+        rows.get(4).setAvailableSeats(41);
+        rows.get(8).setAvailableSeats(42);
+
+        // Act
+        model.refresh(Arrays.asList("AA108", "AA104", "AA103", "AA105", "ZZ999"));
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals(TableModelEvent.UPDATE + ":3-4", describe(events.get(0)));
+        assertEquals(TableModelEvent.UPDATE + ":8-8", describe(events.get(1)));
+        assertEquals(41, model.getValueAt(4, 1));
+        assertEquals(50, model.getValueAt(5, 1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.airline.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram class.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testGetValueAtPercentile_UniformValues_WithinPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        // Act
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+
+        // Assert
+        assertEquals(10_000, histogram.getTotalCount());
+        assertEquals(5_000_000, p50, 5_000_000 * 0.016);
+        assertEquals(9_900_000, p99, 9_900_000 * 0.016);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(10_000_000, histogram.getMaxValue());
+    }
+
+    @Test
+    void testIndexOf_BucketBoundaries_AreContiguous() {
+        // Assert
+        assertEquals(0, LatencyHistogram.indexOf(0));
+        assertEquals(127, LatencyHistogram.indexOf(127));
+        assertEquals(128, LatencyHistogram.indexOf(128));
+        assertEquals(128, LatencyHistogram.indexOf(129));
+        for (int index = 0; index < 2000; index++) {
+            long highest = LatencyHistogram.highestValueIn(index);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+            assertEquals(index + 1, LatencyHistogram.indexOf(highest + 1));
+        }
+        assertDoesNotThrow(() -> new LatencyHistogram().record(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testAdd_MergesCounts() {
+        // Arrange
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(100);
+        second.record(1_000_000);
+        second.record(-5);
+
+        // Act
+        first.add(second);
+
+        // Assert
+        assertEquals(3, first.getTotalCount());
+        assertEquals(1_000_000, first.getMaxValue());
+        assertEquals(0, first.getValueAtPercentile(1));
+    }
+}
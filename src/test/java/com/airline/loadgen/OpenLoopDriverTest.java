@@ -0,0 +1,99 @@
+package com.airline.loadgen;
+
+import com.airline.model.Flight;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OpenLoopDriver class.
+ */
+class OpenLoopDriverTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2024, 12, 25, 14, 30);
+    private static final List<Flight> CATALOG = List.of(
+            new Flight("AA101", "New York", DEPARTURE, 50),
+            new Flight("UA201", "Los Angeles", DEPARTURE, 50));
+
+    @Test
+    void testRun_TargetStalls_CorrectedLatencyShowsQueueing() throws Exception {
+        // Arrange
+        AtomicBoolean stalled = new AtomicBoolean();
+        LoadTarget target = new LoadTarget() {
+            @Override
+            public Outcome search(String destination, LocalDateTime date) {
+                if (stalled.compareAndSet(false, true)) {
+                    sleep(300);
+                }
+                return Outcome.OK;
+            }
+
+            @Override
+            public Outcome book(String customerName, String flightNumber, int seats) {
+                return Outcome.REJECTED;
+            }
+        };
+        WorkloadProfile workload = new WorkloadProfile(CATALOG, 1.0, 0, 1);
+        OpenLoopDriver driver = new OpenLoopDriver(target, workload, new ArrivalSchedule(200, false), 1);
+
+        // Act
+        LoadReport report = driver.run(Duration.ofSeconds(1));
+
+        // Assert
+        LoadReport.OperationStats search = report.getStats(WorkloadProfile.Operation.SEARCH);
+        assertEquals(report.getRequestsSent(), search.getCount(LoadTarget.Outcome.OK));
+        // One slow call, but every request queued behind it waited too
+        assertTrue(search.getUncorrected().getValueAtPercentile(90) < 50_000_000L);
+        assertTrue(search.getCorrected().getValueAtPercentile(90) > 50_000_000L);
+        assertTrue(search.getCorrected().getMaxValue() >= 300_000_000L);
+    }
+
+    @Test
+    void testWorkloadProfile_FollowsSearchRatioAndSkew() {
+        // Arrange
+        WorkloadProfile workload = new WorkloadProfile(CATALOG, 0.95, 3.0, 2);
+        Random random = new Random(1);
+        AtomicInteger searches = new AtomicInteger();
+        int[] perFlight = new int[2];
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            WorkloadProfile.Request request = workload.next(random);
+            if (request.getOperation() == WorkloadProfile.Operation.SEARCH) {
+                searches.incrementAndGet();
+            }
+            perFlight[request.getFlight() == CATALOG.get(0) ? 0 : 1]++;
+            assertTrue(request.getSeats() >= 1 && request.getSeats() <= 2);
+        }
+
+        // Assert
+        assertEquals(9_500, searches.get(), 200);
+        assertTrue(Math.max(perFlight[0], perFlight[1]) > 5 * Math.min(perFlight[0], perFlight[1]));
+    }
+
+    @Test
+    void testArrivalSchedule_BurstMultipliesRate() {
+        // Arrange
+        ArrivalSchedule schedule = new ArrivalSchedule(100, 10, 2, 5, false);
+        Random random = new Random(1);
+
+        // Assert
+        assertEquals(2_000_000, schedule.nextGapNanos(1_000_000_000L, random));
+        assertEquals(10_000_000, schedule.nextGapNanos(5_000_000_000L, random));
+        assertThrows(IllegalArgumentException.class, () -> new ArrivalSchedule(100, 1, 2, 5, false));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
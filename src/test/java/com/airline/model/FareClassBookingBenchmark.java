@@ -0,0 +1,68 @@
+package com.airline.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the lock-free booking path with one seat counter against the fare-class path
+ * (class counter plus flight counter), single-threaded and under contention.
+ * Not a unit test; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass="com.airline.model.FareClassBookingBenchmark"
+ * </pre>
+ */
+public class FareClassBookingBenchmark {
+    private static final int SEATS = 1_000_000;
+    private static final long DURATION_NANOS = 2_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads : new int[]{1, maxThreads}) {
+            // Warm up both paths before measuring
+            run(threads, false);
+            run(threads, true);
+            double single = run(threads, false);
+            double classed = run(threads, true);
+            System.out.printf("threads=%d  single counter: %6.1f ns/op  fare class: %6.1f ns/op%n",
+                    threads, single, classed);
+        }
+    }
+
+    private static double run(int threads, boolean withFareClass) throws Exception {
+        Flight flight = new Flight("AA101", "New York", LocalDateTime.now(), SEATS);
+        flight.addFareBucket("Y", SEATS);
+        LongAdder operations = new LongAdder();
+        long deadline = System.nanoTime() + DURATION_NANOS;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long count = 0;
+                while ((count & 1023) != 0 || System.nanoTime() < deadline) {
+                    if (withFareClass) {
+                        if (!flight.tryReduceAvailableSeats("Y", 1)) {
+                            throw new IllegalStateException("Ran out of seats");
+                        }
+                        flight.releaseSeats("Y", 1);
+                    } else {
+                        if (!flight.tryReduceAvailableSeats(1)) {
+                            throw new IllegalStateException("Ran out of seats");
+                        }
+                        flight.releaseSeats(1);
+                    }
+                    count++;
+                }
+                operations.add(count);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // Each operation books and releases; report the cost per booking+release pair per thread
+        return (double) DURATION_NANOS * threads / operations.sum();
+    }
+}
@@ -0,0 +1,116 @@
+package com.airline.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SeatMap class.
+ */
+class SeatMapTest {
+
+    @Test
+    void testClaim_SpecificSeats() {
+        SeatMap seatMap = new SeatMap(10, 6);
+
+        assertTrue(seatMap.claim(List.of("3A", "3B")));
+
+        assertTrue(seatMap.isTaken("3A"));
+        assertTrue(seatMap.isTaken("3b"));
+        assertFalse(seatMap.isTaken("3C"));
+        assertEquals(58, seatMap.getFreeSeats());
+    }
+
+    @Test
+    void testClaim_WhenOneSeatTaken_ClaimsNothing() {
+        SeatMap seatMap = new SeatMap(10, 6);
+        seatMap.claim(List.of("5C"));
+
+        assertFalse(seatMap.claim(List.of("1A", "5C")));
+
+        assertFalse(seatMap.isTaken("1A"));
+        assertEquals(59, seatMap.getFreeSeats());
+    }
+
+    @Test
+    void testClaim_InvalidSeat_ThrowsException() {
+        SeatMap seatMap = new SeatMap(10, 6);
+
+        assertThrows(IllegalArgumentException.class, () -> seatMap.claim(List.of("11A")));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.claim(List.of("1G")));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.claim(List.of("A")));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.claim(List.of("1A", "1a")));
+    }
+
+    @Test
+    void testClaimAdjacent_SkipsRowsWithoutRoom() {
+        SeatMap seatMap = new SeatMap(3, 4);
+        seatMap.claim(List.of("1B", "1C"));
+
+        List<String> seats = seatMap.claimAdjacent(3);
+
+        assertEquals(List.of("2A", "2B", "2C"), seats);
+    }
+
+    @Test
+    void testClaimAdjacent_NoRowHasRoom_ReturnsNull() {
+        SeatMap seatMap = new SeatMap(2, 4);
+        seatMap.claim(List.of("1B", "2C"));
+
+        assertNull(seatMap.claimAdjacent(3));
+        assertEquals(6, seatMap.getFreeSeats());
+    }
+
+    @Test
+    void testClaimAny_SpansRows() {
+        SeatMap seatMap = new SeatMap(2, 2);
+        seatMap.claim(List.of("1A"));
+
+        assertEquals(List.of("1B", "2A"), seatMap.claimAny(2));
+        assertNull(seatMap.claimAny(2));
+        assertEquals(1, seatMap.getFreeSeats());
+    }
+
+    @Test
+    void testRelease_FreesSeats() {
+        SeatMap seatMap = new SeatMap(2, 2);
+        seatMap.claim(List.of("1A", "1B"));
+
+        seatMap.release(List.of("1A"));
+
+        assertFalse(seatMap.isTaken("1A"));
+        assertTrue(seatMap.isTaken("1B"));
+    }
+
+    @Test
+    void testConcurrentClaims_EachSeatClaimedOnce() throws Exception {
+        SeatMap seatMap = new SeatMap(50, 6);
+        List<String> claimed = Collections.synchronizedList(new ArrayList<>());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                List<String> seats;
+                while ((seats = seatMap.claimAdjacent(2)) != null) {
+                    claimed.addAll(seats);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<String> unique = new HashSet<>(claimed);
+        assertEquals(300, claimed.size());
+        assertEquals(300, unique.size());
+        assertEquals(0, seatMap.getFreeSeats());
+    }
+}
@@ -0,0 +1,40 @@
+package com.airline.service;
+
+import com.airline.model.Flight;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogLoader class.
+ */
+class CatalogLoaderTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2024, 12, 25, 14, 30);
+
+    @Test
+    void testLoadInBackground_AddsFlightsSoonestDepartureFirst() throws Exception {
+        // Arrange
+        FlightService flightService = new FlightService();
+        CatalogLoader loader = new CatalogLoader(flightService);
+        List<Flight> flights = List.of(
+                new Flight("DL301", "Chicago", DEPARTURE.plusDays(2), 60),
+                new Flight("AA101", "New York", DEPARTURE, 50),
+                new Flight("UA201", "Los Angeles", DEPARTURE.plusDays(1), 40));
+
+        // Act
+        loader.loadInBackground(flights);
+
+        // Assert
+        assertTrue(loader.awaitComplete(5, TimeUnit.SECONDS));
+        assertTrue(loader.isComplete());
+        assertEquals(3, loader.getLoadedCount());
+        List<Flight> loaded = flightService.getAllFlights();
+        assertEquals("AA101", loaded.get(0).getFlightNumber());
+        assertEquals("UA201", loaded.get(1).getFlightNumber());
+        assertEquals("DL301", loaded.get(2).getFlightNumber());
+    }
+}
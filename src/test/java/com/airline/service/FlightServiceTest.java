@@ -2,9 +2,11 @@ package com.airline.service;
 
 import com.airline.model.Flight;
 import com.airline.model.Reservation;
+import com.airline.model.SeatMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -103,6 +105,22 @@ class FlightServiceTest {
         assertEquals(47, flight.getAvailableSeats());
     }
 
+    @Test
+    void testBookFlight_RecordsFareQuotedBeforeBooking() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 10);
+        flightService.addFlight(flight);
+        BigDecimal quoted = flightService.getFare(flight);
+
+        // Act
+        Reservation reservation = flightService.bookFlight("John Doe", flight, 8);
+
+        // Assert
+        assertEquals(quoted.multiply(BigDecimal.valueOf(8)), reservation.getTotalFare());
+        assertTrue(flightService.getFare(flight).compareTo(quoted) > 0);
+        assertEquals(flightService.getFare(flight), flightService.getFares(List.of(flight)).get(flight));
+    }
+
     @Test
     void testBookFlight_WithExactAvailableSeats_Succeeds() {
         // Arrange
@@ -283,7 +301,183 @@ class FlightServiceTest {
         // Assert
         assertTrue(results.isEmpty());
     }
-}
 
+    @Test
+    void testCatalogVersion_ChangesOnAddFlightAndBooking() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 5);
+        long initial = flightService.getCatalogVersion();
+
+        // Act & Assert
+        flightService.addFlight(flight);
+        long afterAdd = flightService.getCatalogVersion();
+        assertNotEquals(initial, afterAdd);
+
+        flightService.bookFlight("John Doe", flight, 2);
+        long afterBooking = flightService.getCatalogVersion();
+        assertNotEquals(afterAdd, afterBooking);
+
+        assertThrows(IllegalArgumentException.class, () -> flightService.bookFlight("John Doe", flight, 10));
+        assertEquals(afterBooking, flightService.getCatalogVersion());
+    }
+
+    @Test
+    void testBookFlight_WithFareClass_ReducesClassAndFlightSeats() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 10);
+        flight.addFareBucket("Y", 8);
+        flight.addFareBucket("J", 2);
+        flightService.addFlight(flight);
+
+        // Act
+        Reservation reservation = flightService.bookFlight("John Doe", flight, "j", 2);
+
+        // Assert
+        assertEquals("J", reservation.getFareClass());
+        assertEquals(0, flight.getFareBucket("J").getAvailableSeats());
+        assertEquals(8, flight.getFareBucket("Y").getAvailableSeats());
+        assertEquals(8, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testBookFlight_WithFullFareClass_ThrowsExceptionAndKeepsSeats() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 10);
+        flight.addFareBucket("J", 1);
+        flightService.addFlight(flight);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> flightService.bookFlight("John Doe", flight, "J", 2)
+        );
+
+        assertTrue(exception.getMessage().contains("Not enough seats available in fare class J"));
+        assertEquals(1, flight.getFareBucket("J").getAvailableSeats());
+        assertEquals(10, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testBookFlight_WithUnknownFareClass_ThrowsException() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 10);
+        flight.addFareBucket("Y", 10);
+        flightService.addFlight(flight);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> flightService.bookFlight("John Doe", flight, "F", 1));
+        assertEquals(10, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testBookFlight_ClassSeatsLeftButFlightFull_ReleasesClassSeats() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 3);
+        flight.addFareBucket("Y", 5);
+        flightService.addFlight(flight);
 
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> flightService.bookFlight("John Doe", flight, "Y", 4));
+        assertEquals(5, flight.getFareBucket("Y").getAvailableSeats());
+        assertEquals(3, flight.getAvailableSeats());
+    }
 
+    @Test
+    void testBookFlight_WithOverbookingAllowance_SellsBeyondCapacity() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 5);
+        flight.setOverbookingAllowance(2);
+        flightService.addFlight(flight);
+
+        // Act
+        flightService.bookFlight("John Doe", flight, 7);
+
+        // Assert
+        assertEquals(-2, flight.getAvailableSeats());
+        assertEquals(0, flight.getSellableSeats());
+        assertTrue(flightService.searchFlights("New York", testDateTime).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> flightService.bookFlight("Jane Smith", flight, 1));
+    }
+
+    @Test
+    void testSearchFlights_WithFareClass_ExcludesFlightsWithoutClassSeats() {
+        // Arrange
+        Flight flight1 = new Flight("AA101", "New York", testDateTime, 50);
+        flight1.addFareBucket("J", 0);
+        flight1.addFareBucket("Y", 50);
+        Flight flight2 = new Flight("AA102", "New York", testDateTime, 50);
+        flight2.addFareBucket("J", 4);
+        Flight flight3 = new Flight("AA103", "New York", testDateTime, 50);
+        flightService.addFlight(flight1);
+        flightService.addFlight(flight2);
+        flightService.addFlight(flight3);
+
+        // Act
+        List<Flight> results = flightService.searchFlights("New York", testDateTime, "J");
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("AA102", results.get(0).getFlightNumber());
+    }
+
+    @Test
+    void testBookFlight_WithSeatMap_AssignsAdjacentSeats() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 12);
+        flight.setSeatMap(new SeatMap(2, 6));
+        flightService.addFlight(flight);
+
+        // Act
+        Reservation reservation = flightService.bookFlight("John Doe", flight, 3);
+
+        // Assert
+        assertEquals(List.of("1A", "1B", "1C"), reservation.getSeatNumbers());
+        assertEquals(9, flight.getAvailableSeats());
+        assertEquals(9, flight.getSeatMap().getFreeSeats());
+    }
+
+    @Test
+    void testBookSeats_WithSpecificSeats_Succeeds() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 12);
+        flight.setSeatMap(new SeatMap(2, 6));
+        flightService.addFlight(flight);
+
+        // Act
+        Reservation reservation = flightService.bookSeats("John Doe", flight, null, List.of("2E", "2F"));
+
+        // Assert
+        assertEquals(List.of("2E", "2F"), reservation.getSeatNumbers());
+        assertEquals(2, reservation.getSeatsBooked());
+        assertEquals(10, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testBookSeats_WithTakenSeat_ThrowsExceptionAndKeepsSeats() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 12);
+        flight.setSeatMap(new SeatMap(2, 6));
+        flightService.addFlight(flight);
+        flightService.bookSeats("John Doe", flight, null, List.of("1A"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> flightService.bookSeats("Jane Smith", flight, null, List.of("1A", "1B")));
+        assertEquals(11, flight.getAvailableSeats());
+        assertFalse(flight.getSeatMap().isTaken("1B"));
+    }
+
+    @Test
+    void testBookSeats_WhenFlightFull_ReleasesClaimedSeats() {
+        // Arrange
+        Flight flight = new Flight("AA101", "New York", testDateTime, 1);
+        flight.setSeatMap(new SeatMap(2, 6));
+        flightService.addFlight(flight);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> flightService.bookSeats("John Doe", flight, null, List.of("1A", "1B")));
+        assertFalse(flight.getSeatMap().isTaken("1A"));
+        assertEquals(1, flight.getAvailableSeats());
+    }
+}
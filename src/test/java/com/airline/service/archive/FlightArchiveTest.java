@@ -0,0 +1,238 @@
+package com.airline.service.archive;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightArchive class.
+ */
+class FlightArchiveTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 25, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private FlightService flightService;
+    private FlightArchive archive;
+    private Flight departed;
+    private Flight upcoming;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        archive = new FlightArchive(tempDir);
+        flightService = new FlightService();
+        flightService.setFlightArchive(archive);
+        departed = new Flight("AA101", "New York", NOW.minusDays(1), 50);
+        upcoming = new Flight("AA102", "New York", NOW.plusDays(1), 50);
+        flightService.addFlight(departed);
+        flightService.addFlight(upcoming);
+    }
+
+    @Test
+    void testArchiveDepartedFlights_MovesFlightAndReservationsToArchive() {
+        // Arrange
+        flightService.bookFlight("John Doe", departed, 2);
+        flightService.bookFlight("John Doe", upcoming, 1);
+
+        // Act
+        int archived = flightService.archiveDepartedFlights(NOW);
+
+        // Assert
+        assertEquals(1, archived);
+        assertEquals(1, archive.getSegmentCount());
+        assertEquals(1, flightService.getAllFlights().size());
+        assertSame(upcoming, flightService.getAllFlights().get(0));
+        List<Reservation> current = flightService.getReservationsByCustomer("John Doe");
+        assertEquals(1, current.size());
+        assertSame(upcoming, current.get(0).getFlight());
+    }
+
+    @Test
+    void testFindReservationsByCustomer_PaddedOrUpperCaseName_MatchesLikeCurrentReservations() {
+        // Arrange
+        flightService.bookFlight("John Doe", departed, 2);
+        flightService.bookFlight(" JOHN DOE ", departed, 1);
+        flightService.bookFlight("Jane Smith", departed, 1);
+
+        // Act
+        flightService.archiveDepartedFlights(NOW);
+
+        // Assert
+        assertEquals(2, archive.findReservationsByCustomer("john doe  ").size());
+        assertEquals(2, flightService.getReservationHistory("  John Doe").size());
+        assertTrue(archive.findReservationsByCustomer(null).isEmpty());
+    }
+
+    @Test
+    void testArchiveDepartedFlights_ConcurrentBookings_NoneLost() throws Exception {
+        // Arrange
+        Flight busy = new Flight("DL303", "Boston", NOW.minusHours(1), 10_000);
+        flightService.addFlight(busy);
+        AtomicInteger booked = new AtomicInteger();
+        List<Thread> bookers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String customer = "Customer " + t;
+            bookers.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    try {
+                        flightService.bookFlight(customer, busy, 1);
+                        booked.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+
+        // Act
+        bookers.forEach(Thread::start);
+        while (booked.get() < 50) {
+            Thread.onSpinWait();
+        }
+        flightService.archiveDepartedFlights(NOW);
+        for (Thread booker : bookers) {
+            booker.join();
+        }
+
+        // Assert
+        int archived = 0;
+        for (int t = 0; t < 4; t++) {
+            archived += archive.findReservationsByCustomer("Customer " + t).size();
+        }
+        assertEquals(booked.get(), archived);
+        assertTrue(flightService.getAllReservations().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> flightService.bookFlight("Late", busy, 1));
+    }
+
+    @Test
+    void testGetReservationHistory_IncludesArchivedReservations() {
+        // Arrange
+        flightService.addFlight(new Flight("UA202", "Los Angeles", NOW.minusHours(3), 100));
+        flightService.bookFlight("Jane Smith", departed, 2);
+        flightService.bookFlight("Jane Smith", upcoming, 1);
+        flightService.archiveDepartedFlights(NOW);
+
+        // Act
+        List<Reservation> history = flightService.getReservationHistory("jane smith");
+
+        // Assert
+        assertEquals(2, history.size());
+        Reservation archived = history.get(0);
+        assertEquals("AA101", archived.getFlight().getFlightNumber());
+        assertEquals(NOW.minusDays(1), archived.getFlight().getDepartureTime());
+        assertEquals(48, archived.getFlight().getAvailableSeats());
+        assertEquals(2, archived.getSeatsBooked());
+        assertSame(upcoming, history.get(1).getFlight());
+    }
+
+    @Test
+    void testFindFlight_ReturnsArchivedFlight() {
+        // Arrange
+        flightService.archiveDepartedFlights(NOW);
+
+        // Act
+        Flight flight = archive.findFlight("aa101");
+
+        // Assert
+        assertNotNull(flight);
+        assertEquals(NOW.minusDays(1), flight.getDepartureTime());
+        assertNull(archive.findFlight("ZZ999"));
+    }
+
+    @Test
+    void testArchiveDepartedFlights_NothingDeparted_WritesNoSegment() {
+        // Act
+        int archived = flightService.archiveDepartedFlights(NOW.minusDays(2));
+
+        // Assert
+        assertEquals(0, archived);
+        assertEquals(0, archive.getSegmentCount());
+        assertEquals(2, flightService.getAllFlights().size());
+    }
+
+    @Test
+    void testArchiveDepartedFlights_WithoutArchive_DropsFlights() {
+        // Arrange
+        FlightService service = new FlightService();
+        service.addFlight(new Flight("DL303", "Chicago", NOW.minusDays(1), 20));
+        long versionBefore = service.getCatalogVersion();
+
+        // Act
+        int archived = service.archiveDepartedFlights(NOW);
+
+        // Assert
+        assertEquals(1, archived);
+        assertTrue(service.getAllFlights().isEmpty());
+        assertTrue(service.getCatalogVersion() > versionBefore);
+    }
+
+    @Test
+    void testArchiveDepartedFlights_KeepsRouteTimesAndFares() {
+        // Arrange
+        Flight routed = new Flight("UA500", "Chicago", "Denver", NOW.minusDays(2), NOW.minusDays(2).plusHours(3), 20);
+        flightService.addFlight(routed);
+        Reservation booked = flightService.bookFlight("John Doe", routed, 2);
+
+        // Act
+        flightService.archiveDepartedFlights(NOW);
+
+        // Assert
+        Flight archived = archive.findFlight("UA500");
+        assertEquals("Chicago", archived.getOrigin());
+        assertEquals(routed.getArrivalTime(), archived.getArrivalTime());
+        List<Reservation> history = flightService.getReservationHistory("John Doe");
+        assertEquals(1, history.size());
+        assertNotNull(booked.getTotalFare());
+        assertEquals(booked.getTotalFare(), history.get(0).getTotalFare());
+    }
+
+    @Test
+    void testFindReservationsByCustomer_VersionOneSegment_ReadWithoutNewFields() throws Exception {
+        // Arrange
+        Path segment = tempDir.resolve("segment-0000000000001-0000.gz");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(segment)))) {
+            out.writeInt(0x41524348);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeUTF("OLD1");
+            out.writeUTF("Boston");
+            out.writeUTF(NOW.minusYears(1).toString());
+            out.writeInt(10);
+            out.writeInt(0);
+            out.writeInt(1);
+            out.writeUTF("John Doe");
+            out.writeUTF("OLD1");
+            out.writeInt(3);
+            out.writeBoolean(true);
+            out.writeUTF("Y");
+            out.writeUTF("1A,1B,1C");
+        }
+
+        // Act
+        List<Reservation> found = archive.findReservationsByCustomer("John Doe");
+
+        // Assert
+        assertEquals(1, found.size());
+        Reservation old = found.get(0);
+        assertEquals("OLD1", old.getFlight().getFlightNumber());
+        assertNull(old.getFlight().getOrigin());
+        assertEquals("Y", old.getFareClass());
+        assertEquals(List.of("1A", "1B", "1C"), old.getSeatNumbers());
+        assertNull(old.getTotalFare());
+    }
+}
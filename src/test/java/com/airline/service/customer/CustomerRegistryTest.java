@@ -0,0 +1,103 @@
+package com.airline.service.customer;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import com.airline.service.store.InMemoryReservationStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CustomerRegistry class.
+ */
+class CustomerRegistryTest {
+
+    @Test
+    void testRegister_SameNameAnyCase_SameId() {
+        // Arrange
+        CustomerRegistry registry = new CustomerRegistry();
+
+        // Act
+        int john = registry.register("John Doe");
+        int shouting = registry.register("  JOHN DOE ");
+        int jane = registry.register("Jane Smith");
+
+        // Assert
+        assertEquals(john, shouting);
+        assertNotEquals(john, jane);
+        assertEquals(jane, registry.idOf("jane smith"));
+        assertEquals(-1, registry.idOf("Bob Wilson"));
+        assertEquals(-1, registry.idOf(null));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testIntern_EqualSpellings_SameInstance() {
+        CustomerRegistry registry = new CustomerRegistry();
+        String first = registry.intern(new String("John Doe"));
+
+        assertSame(first, registry.intern(new String("John Doe")));
+        assertEquals("JOHN DOE", registry.intern("JOHN DOE"));
+    }
+
+    @Test
+    void testFlightService_RepeatCustomer_SharesNameAndMatchesById() {
+        // Arrange
+        FlightService flightService = new FlightService();
+        Flight flight = new Flight("AA101", "New York", LocalDateTime.of(2030, 12, 25, 14, 30), 100);
+        flightService.addFlight(flight);
+
+        // Act
+        Reservation first = flightService.bookFlight(new String("John Doe"), flight, 1);
+        Reservation second = flightService.bookFlight(new String("John Doe"), flight, 2);
+        Reservation shouted = flightService.bookFlight("JOHN DOE", flight, 3);
+        flightService.bookFlight("Jane Smith", flight, 1);
+
+        // Assert
+        assertSame(first.getCustomerName(), second.getCustomerName());
+        assertEquals("JOHN DOE", shouted.getCustomerName());
+        assertEquals(first.getCustomerId(), shouted.getCustomerId());
+        List<Reservation> johns = flightService.getReservationsByCustomer("john doe");
+        assertEquals(List.of(first, second, shouted), johns);
+        assertTrue(flightService.getReservationsByCustomer("Bob Wilson").isEmpty());
+
+        Reservation copy = new Reservation("john doe", flight, 2);
+        flightService.cancelReservation(copy);
+        assertEquals(List.of(first, shouted), flightService.getReservationsByCustomer("John Doe"));
+    }
+
+    @Test
+    void testInMemoryStore_FindByCustomerId_ReadsOnlyThatCustomer() {
+        // Arrange
+        CustomerRegistry registry = new CustomerRegistry();
+        InMemoryReservationStore store = new InMemoryReservationStore();
+        Flight flight = new Flight("AA101", "New York", LocalDateTime.of(2030, 12, 25, 14, 30), 100);
+        Flight other = new Flight("AA102", "Boston", LocalDateTime.of(2030, 12, 26, 9, 0), 100);
+        Reservation first = new Reservation("John Doe", flight, 1);
+        first.setCustomerId(registry.register("John Doe"));
+        Reservation second = new Reservation("JOHN DOE", other, 2);
+        second.setCustomerId(registry.register("JOHN DOE"));
+        Reservation jane = new Reservation("Jane Smith", flight, 1);
+        jane.setCustomerId(registry.register("Jane Smith"));
+        Reservation unregistered = new Reservation(" john doe", flight, 3);
+
+        // Act
+        store.add(first);
+        store.add(jane);
+        store.add(second);
+        store.add(unregistered);
+        store.removeByFlight(other);
+
+        // Assert
+        assertEquals(List.of(first, unregistered), store.findByCustomerId(registry.idOf("John Doe"), "John Doe"));
+        assertEquals(List.of(jane), store.findByCustomerId(registry.idOf("Jane Smith"), "Jane Smith"));
+        assertTrue(store.remove(new Reservation("john doe ", flight, 3)));
+        assertTrue(store.remove(first));
+        assertTrue(store.findByCustomerId(registry.idOf("John Doe"), "John Doe").isEmpty());
+        assertEquals(List.of(jane), store.findAll());
+    }
+}
@@ -0,0 +1,29 @@
+package com.airline.service.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DiagnosticsConfig class.
+ */
+class DiagnosticsConfigTest {
+
+    @Test
+    void testGcMonitor_LazyInitialization_StillCreatedAtStartup() {
+        // Arrange
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+            context.register(DiagnosticsConfig.class);
+
+            // Act
+            context.refresh();
+
+            // Assert
+            assertTrue(context.getBeanFactory().containsSingleton("gcMonitor"));
+            assertFalse(context.getBeanFactory().containsSingleton("footprintEstimator"));
+        }
+    }
+}
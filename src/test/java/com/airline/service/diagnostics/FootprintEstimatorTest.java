@@ -0,0 +1,100 @@
+package com.airline.service.diagnostics;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FootprintEstimator and ObjectLayout classes.
+ */
+class FootprintEstimatorTest {
+    private static final ObjectLayout COMPRESSED = new ObjectLayout(true, true, 8);
+
+    private FlightService flightService;
+
+    @BeforeEach
+    void setUp() {
+        flightService = new FlightService();
+        for (int i = 0; i < 20; i++) {
+            flightService.addFlight(new Flight("FL" + i, "City " + i, LocalDateTime.of(2030, 12, 25, 14, 30), 500));
+        }
+    }
+
+    @Test
+    void testObjectLayout_CompressedOops_KnownSizes() {
+        assertEquals(16, COMPRESSED.objectSize(0, 0));
+        assertEquals(24, COMPRESSED.objectSize(2, 4));
+        assertEquals(16, COMPRESSED.arraySize(byte.class, 0));
+        assertEquals(56, COMPRESSED.arraySize(Object.class, 10));
+        // String object plus a Latin-1 byte array of 8 characters
+        assertEquals(COMPRESSED.instanceSize(String.class) + 24, COMPRESSED.stringSize("John Doe"));
+        assertEquals(8, new ObjectLayout(false, false, 8).getReferenceBytes());
+        assertThrows(IllegalArgumentException.class, () -> new ObjectLayout(true, true, 12));
+    }
+
+    @Test
+    void testEstimate_MoreReservations_ScalesWithCount() {
+        // Arrange
+        FootprintEstimator estimator = new FootprintEstimator(COMPRESSED, 100);
+        book(1000);
+        Map<String, Footprint> before = byName(estimator.estimate(flightService));
+
+        // Act
+        book(4000);
+        Map<String, Footprint> after = byName(estimator.estimate(flightService));
+
+        // Assert
+        Footprint reservations = after.get("Reservation");
+        assertEquals(5000, reservations.getObjects());
+        assertTrue(reservations.getBytesPerObject() >= 40 && reservations.getBytesPerObject() <= 200,
+                "bytes per reservation: " + reservations.getBytesPerObject());
+        assertEquals(20, after.get("Flight").getObjects());
+        assertTrue(after.get("reservations").getBytes() > 3 * before.get("reservations").getBytes());
+        assertTrue(after.get("snapshot").getBytes() > 3 * before.get("snapshot").getBytes());
+        assertTrue(after.containsKey("destinationIndex"));
+    }
+
+    @Test
+    void testEstimate_EmptyService_NoReservationBytes() {
+        Map<String, Footprint> footprints = byName(new FootprintEstimator(COMPRESSED, 10).estimate(new FlightService()));
+
+        assertEquals(0, footprints.get("Reservation").getBytes());
+        assertEquals(0, footprints.get("Flight").getObjects());
+    }
+
+    @Test
+    void testGcMonitor_AllocationTracked() throws Exception {
+        try (GcMonitor monitor = new GcMonitor(5)) {
+            byte[][] garbage = new byte[64][];
+            for (int i = 0; i < garbage.length; i++) {
+                garbage[i] = new byte[64 * 1024];
+            }
+            Thread.sleep(5);
+
+            assertTrue(garbage[63].length > 0);
+            assertTrue(monitor.getAllocatedBytes() != 0);
+            assertTrue(monitor.sampleAllocationRate() != 0);
+            assertTrue(monitor.getRecentEvents().size() <= 5);
+        }
+    }
+
+    private void book(int reservations) {
+        for (int i = 0; i < reservations; i++) {
+            Flight flight = flightService.findFlight("FL" + (i % 20));
+            flightService.bookFlight("Customer " + i, flight, 1);
+        }
+    }
+
+    private static Map<String, Footprint> byName(List<Footprint> footprints) {
+        return footprints.stream().collect(Collectors.toMap(Footprint::getName, Function.identity()));
+    }
+}
@@ -0,0 +1,340 @@
+package com.airline.service.event;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventBus class.
+ */
+class EventBusTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2024, 12, 25, 14, 30);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFlightService_PublishesEventsInOrder() throws Exception {
+        // Arrange
+        List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        try (EventBus bus = new EventBus(16, 8, 50)) {
+            bus.subscribe("audit", events -> {
+                received.addAll(events);
+                events.forEach(e -> latch.countDown());
+            });
+            FlightService flightService = new FlightService();
+            flightService.setEventPublisher(bus);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+
+            // Act
+            flightService.addFlight(flight);
+            flightService.bookFlight("John Doe", flight, 2);
+
+            // Assert
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(received.get(0) instanceof FlightAddedEvent);
+            ReservationCreatedEvent created = (ReservationCreatedEvent) received.get(1);
+            assertEquals("John Doe", created.getCustomerName());
+            assertEquals(2, created.getSeatsBooked());
+            SeatsChangedEvent changed = (SeatsChangedEvent) received.get(2);
+            assertEquals(48, changed.getAvailableSeats());
+            assertEquals(-2, changed.getDelta());
+        }
+    }
+
+    @Test
+    void testFlightService_FailingPublisher_BookingStillCommitted() {
+        // Arrange
+        FlightService flightService = new FlightService();
+        flightService.setEventPublisher(event -> {
+            throw new UncheckedIOException(new IOException("disk full"));
+        });
+        Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+        flightService.addFlight(flight);
+
+        // Act
+        Reservation reservation = flightService.bookFlight("John Doe", flight, 2);
+
+        // Assert
+        assertEquals(48, flight.getAvailableSeats());
+        assertEquals(List.of(reservation), flightService.getReservationsByCustomer("John Doe"));
+        flightService.cancelReservation(reservation);
+        assertEquals(50, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testPublish_DeliversInBatches() throws Exception {
+        // Arrange
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger total = new AtomicInteger();
+        try (EventBus bus = new EventBus(100, 10, 50)) {
+            bus.subscribe("batcher", events -> {
+                firstBatchStarted.countDown();
+                release.await();
+                batchSizes.add(events.size());
+                total.addAndGet(events.size());
+            });
+
+            // Act
+            bus.publish(seatsChanged(0));
+            assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= 25; i++) {
+                bus.publish(seatsChanged(i));
+            }
+            release.countDown();
+        }
+
+        // Assert
+        assertEquals(26, total.get());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+        assertEquals(4, batchSizes.size());
+    }
+
+    @Test
+    void testPublish_FullQueueWithoutJournal_DropsEvents() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        try (EventBus bus = new EventBus(2, 1, 1)) {
+            bus.subscribe("stuck", events -> release.await());
+
+            // Act
+            for (int i = 0; i < 10; i++) {
+                bus.publish(seatsChanged(i));
+            }
+            release.countDown();
+
+            // Assert
+            assertTrue(bus.getDroppedCount() > 0);
+        }
+    }
+
+    @Test
+    void testPublish_FullQueueWithJournal_DoesNotWaitAndCatchesUpInOrder() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch all = new CountDownLatch(10);
+        try (EventBus bus = new EventBus(1, 1, 60_000, new EventJournal(tempDir))) {
+            bus.subscribe("stuck", events -> {
+                release.await();
+                events.forEach(e -> {
+                    received.add(((SeatsChangedEvent) e).getAvailableSeats());
+                    all.countDown();
+                });
+            });
+
+            // Act
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 10; i++) {
+                    bus.publish(seatsChanged(i));
+                }
+            });
+            release.countDown();
+
+            // Assert
+            assertTrue(all.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), received);
+        }
+    }
+
+    @Test
+    void testSubscriber_FailingBatch_IsRetried() throws Exception {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+        try (EventBus bus = new EventBus(16, 8, 50)) {
+            bus.subscribe("flaky", events -> {
+                if (attempts.incrementAndGet() < 2) {
+                    throw new IllegalStateException("Mail server unavailable");
+                }
+                delivered.countDown();
+            });
+
+            // Act
+            bus.publish(seatsChanged(1));
+
+            // Assert
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(2, attempts.get());
+            assertEquals(0, bus.getDroppedCount());
+        }
+    }
+
+    @Test
+    void testJournal_UnacknowledgedEvents_ReplayedAfterRestart() throws Exception {
+        // Arrange
+        try (EventBus bus = new EventBus(16, 8, 50, new EventJournal(tempDir))) {
+            bus.subscribe("loyalty", events -> {
+                throw new IllegalStateException("Loyalty service down");
+            });
+            bus.publish(new ReservationCreatedEvent(Instant.now(), "Jane\tSmith", "AA101", 2, "Y",
+                    List.of("12A", "12B")));
+            bus.publish(seatsChanged(48));
+        }
+
+        // Act
+        List<DomainEvent> replayed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(2);
+        try (EventBus bus = new EventBus(16, 8, 50, new EventJournal(tempDir))) {
+            bus.subscribe("loyalty", events -> {
+                replayed.addAll(events);
+                events.forEach(e -> latch.countDown());
+            });
+
+            // Assert
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+        ReservationCreatedEvent created = (ReservationCreatedEvent) replayed.get(0);
+        assertEquals("Jane\tSmith", created.getCustomerName());
+        assertEquals("Y", created.getFareClass());
+        assertEquals(List.of("12A", "12B"), created.getSeatNumbers());
+        assertEquals(48, ((SeatsChangedEvent) replayed.get(1)).getAvailableSeats());
+    }
+
+    @Test
+    void testJournal_AcknowledgedEvents_NotReplayed() throws Exception {
+        // Arrange
+        CountDownLatch first = new CountDownLatch(1);
+        try (EventBus bus = new EventBus(16, 8, 50, new EventJournal(tempDir))) {
+            bus.subscribe("analytics", events -> first.countDown());
+            bus.publish(seatsChanged(10));
+            assertTrue(first.await(5, TimeUnit.SECONDS));
+        }
+
+        // Act
+        List<DomainEvent> replayed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch second = new CountDownLatch(1);
+        try (EventBus bus = new EventBus(16, 8, 50, new EventJournal(tempDir))) {
+            bus.subscribe("analytics", events -> {
+                replayed.addAll(events);
+                second.countDown();
+            });
+            bus.publish(seatsChanged(9));
+            assertTrue(second.await(5, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertEquals(1, replayed.size());
+        assertEquals(9, ((SeatsChangedEvent) replayed.get(0)).getAvailableSeats());
+    }
+
+    @Test
+    void testPublish_ConcurrentPublishers_DeliveredInJournalOrder() throws Exception {
+        // Arrange
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch all = new CountDownLatch(400);
+        EventJournal journal = new EventJournal(tempDir);
+        try (EventBus bus = new EventBus(1000, 16, 1000, journal)) {
+            bus.subscribe("audit", events -> events.forEach(e -> {
+                received.add(((SeatsChangedEvent) e).getAvailableSeats());
+                all.countDown();
+            }));
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int base = t * 1000;
+                publishers.add(new Thread(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        bus.publish(seatsChanged(base + i));
+                    }
+                }));
+            }
+
+            // Act
+            publishers.forEach(Thread::start);
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+
+            // Assert
+            assertTrue(all.await(5, TimeUnit.SECONDS));
+            List<Integer> journaled = new ArrayList<>();
+            for (EventJournal.Entry entry : journal.readAfter(0)) {
+                journaled.add(((SeatsChangedEvent) entry.getEvent()).getAvailableSeats());
+            }
+            assertEquals(journaled, received);
+        }
+    }
+
+    @Test
+    void testJournal_AcknowledgedSegments_Deleted() throws Exception {
+        // Arrange
+        try (EventJournal journal = new EventJournal(tempDir, 3)) {
+            for (int i = 1; i <= 10; i++) {
+                journal.append(seatsChanged(i));
+            }
+            journal.readOffset("slow");
+            assertEquals(4, journal.getSegmentCount());
+
+            // Act
+            journal.writeOffset("fast", 10);
+            journal.writeOffset("slow", 7);
+
+            // Assert
+            assertEquals(2, journal.getSegmentCount());
+            assertEquals(7, journal.readAfter(0).get(0).getSequence());
+            assertEquals(List.of(9L, 10L), sequences(journal.readAfter(8)));
+        }
+        try (EventJournal reopened = new EventJournal(tempDir, 3)) {
+            assertEquals(11, reopened.append(seatsChanged(11)));
+            assertEquals(List.of(9L, 10L, 11L), sequences(reopened.readAfter(8)));
+        }
+    }
+
+    @Test
+    void testJournal_SingleFileLog_ReadAfterUpgrade() throws Exception {
+        // Arrange
+        try (EventJournal journal = new EventJournal(tempDir)) {
+            journal.append(seatsChanged(1));
+            journal.append(seatsChanged(2));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            segment = files.filter(file -> file.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        Files.move(segment, tempDir.resolve("events.log"));
+
+        // Act
+        try (EventJournal journal = new EventJournal(tempDir)) {
+            long next = journal.append(seatsChanged(3));
+
+            // Assert
+            assertEquals(3, next);
+            assertEquals(List.of(1L, 2L, 3L), sequences(journal.readAfter(0)));
+            assertFalse(Files.exists(tempDir.resolve("events.log")));
+        }
+    }
+
+    private static List<Long> sequences(List<EventJournal.Entry> entries) {
+        List<Long> sequences = new ArrayList<>();
+        for (EventJournal.Entry entry : entries) {
+            sequences.add(entry.getSequence());
+        }
+        return sequences;
+    }
+
+    private static SeatsChangedEvent seatsChanged(int available) {
+        return new SeatsChangedEvent(Instant.now(), "AA101", available, -1);
+    }
+}
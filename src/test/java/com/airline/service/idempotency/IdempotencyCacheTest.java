@@ -0,0 +1,239 @@
+package com.airline.service.idempotency;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyCache class.
+ */
+class IdempotencyCacheTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private FlightService flightService;
+    private Flight flight;
+    private ManualClock clock;
+
+    @BeforeEach
+    void setUp() {
+        flightService = new FlightService();
+        flight = new Flight("AA101", "New York", DEPARTURE, 50);
+        flightService.addFlight(flight);
+        clock = new ManualClock();
+    }
+
+    @Test
+    void testBookFlight_SameKey_ReturnsOriginalReservation() {
+        // Arrange
+        flightService.setIdempotencyCache(new IdempotencyCache(100, Duration.ofMinutes(10), clock, null));
+
+        // Act
+        Reservation first = flightService.bookFlight("John Doe", flight, null, 2, "key-1");
+        Reservation retry = flightService.bookFlight("John Doe", flight, null, 2, "key-1");
+
+        // Assert
+        assertSame(first, retry);
+        assertEquals(48, flight.getAvailableSeats());
+        assertEquals(1, flightService.getReservationsByCustomer("John Doe").size());
+        assertThrows(IllegalArgumentException.class,
+                () -> flightService.bookFlight("John Doe", flight, null, 3, "key-1"));
+    }
+
+    @Test
+    void testExecute_KeyExpiredOrEvicted_BooksAgain() {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(10), clock, null);
+        flightService.setIdempotencyCache(cache);
+        flightService.bookFlight("John Doe", flight, null, 1, "key-1");
+
+        // Act
+        clock.advance(Duration.ofMinutes(11));
+        flightService.bookFlight("John Doe", flight, null, 1, "key-1");
+        flightService.bookFlight("John Doe", flight, null, 1, "key-2");
+        flightService.bookFlight("John Doe", flight, null, 1, "key-3");
+        flightService.bookFlight("John Doe", flight, null, 1, "key-1");
+
+        // Assert
+        assertEquals(45, flight.getAvailableSeats());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testExecute_BookingFails_NotRemembered() {
+        // Arrange
+        flightService.setIdempotencyCache(new IdempotencyCache(100, Duration.ofMinutes(10), clock, null));
+        flight.setAvailableSeats(1);
+        assertThrows(IllegalArgumentException.class,
+                () -> flightService.bookFlight("John Doe", flight, null, 2, "key-1"));
+
+        // Act
+        flight.setAvailableSeats(5);
+        Reservation retry = flightService.bookFlight("John Doe", flight, null, 2, "key-1");
+
+        // Assert
+        assertEquals(2, retry.getSeatsBooked());
+        assertEquals(3, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testExecute_ConcurrentRetries_BookOnce() throws Exception {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(10), clock, null);
+        AtomicInteger bookings = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Reservation>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.execute("key-1", "same", flightService::findFlight, () -> {
+                    bookings.incrementAndGet();
+                    return flightService.bookFlight("John Doe", flight, 1);
+                });
+            }));
+        }
+        start.countDown();
+        Reservation first = results.get(0).get();
+        for (Future<Reservation> result : results) {
+            assertSame(first, result.get());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, bookings.get());
+        assertEquals(49, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testExecute_WithJournal_RemembersAcrossRestart() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("idempotency.journal");
+        try (IdempotencyJournal journal = new IdempotencyJournal(file)) {
+            flightService.setIdempotencyCache(new IdempotencyCache(100, Duration.ofMinutes(10), clock, journal));
+            flightService.bookFlight("John Doe", flight, null, 4, "key-1");
+            flightService.bookFlight("John Doe", flight, null, 1, "key-2");
+        }
+        clock.advance(Duration.ofMinutes(5));
+
+        // Act
+        Reservation retry;
+        try (IdempotencyJournal journal = new IdempotencyJournal(file)) {
+            flightService.setIdempotencyCache(new IdempotencyCache(100, Duration.ofMinutes(10), clock, journal));
+            retry = flightService.bookFlight("John Doe", flight, null, 4, "key-1");
+        }
+
+        // Assert
+        assertEquals(45, flight.getAvailableSeats());
+        assertEquals(4, retry.getSeatsBooked());
+        assertSame(flight, retry.getFlight());
+        assertEquals(flightService.getReservationsByCustomer("John Doe").get(0).getTotalFare(), retry.getTotalFare());
+    }
+
+    @Test
+    void testExecute_CacheFullOfBookingsInFlight_KeepsThemAll() throws Exception {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(1, Duration.ofMinutes(10), clock, null);
+        CountDownLatch booking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger bookings = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Reservation> first = executor.submit(() -> cache.execute("key-1", "same", flightService::findFlight, () -> {
+            bookings.incrementAndGet();
+            booking.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return flightService.bookFlight("John Doe", flight, 1);
+        }));
+        booking.await();
+
+        // Act
+        cache.execute("key-2", "other", flightService::findFlight, () -> flightService.bookFlight("Jane Smith", flight, 1));
+        Future<Reservation> retry = executor.submit(() -> cache.execute("key-1", "same", flightService::findFlight, () -> {
+            bookings.incrementAndGet();
+            return flightService.bookFlight("John Doe", flight, 1);
+        }));
+        release.countDown();
+
+        // Assert
+        assertSame(first.get(), retry.get());
+        executor.shutdown();
+        assertEquals(1, bookings.get());
+        assertEquals(48, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testExecute_JournalAppendFails_StillReturnsReservation() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("idempotency.journal");
+        try (IdempotencyJournal journal = new IdempotencyJournal(file) {
+            @Override
+            public synchronized void append(Record record) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+        }) {
+            flightService.setIdempotencyCache(new IdempotencyCache(100, Duration.ofMinutes(10), clock, journal));
+
+            // Act
+            Reservation reservation = flightService.bookFlight("John Doe", flight, null, 2, "key-1");
+            Reservation retry = flightService.bookFlight("John Doe", flight, null, 2, "key-1");
+
+            // Assert
+            assertEquals(2, reservation.getSeatsBooked());
+            assertSame(reservation, retry);
+            assertEquals(48, flight.getAvailableSeats());
+        }
+    }
+
+    private static final class ManualClock extends Clock {
+        private volatile Instant now = LocalDateTime.of(2030, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
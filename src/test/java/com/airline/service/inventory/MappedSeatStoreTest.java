@@ -0,0 +1,101 @@
+package com.airline.service.inventory;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedSeatStore class.
+ */
+class MappedSeatStoreTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2024, 12, 25, 14, 30);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBookFlight_ReducesMappedSeats() throws Exception {
+        try (MappedSeatStore store = new MappedSeatStore(tempDir.resolve("seats.dat"), 16)) {
+            FlightService flightService = new FlightService(store);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+            flightService.addFlight(flight);
+
+            flightService.bookFlight("John Doe", flight, 3);
+
+            assertEquals(47, flight.getAvailableSeats());
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void testSeatCounts_SurviveReopen() throws Exception {
+        Path file = tempDir.resolve("seats.dat");
+        try (MappedSeatStore store = new MappedSeatStore(file, 16)) {
+            FlightService flightService = new FlightService(store);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+            flightService.addFlight(flight);
+            flightService.addFlight(new Flight("UA201", "Los Angeles", DEPARTURE, 40));
+            flightService.bookFlight("John Doe", flight, 10);
+        }
+
+        try (MappedSeatStore store = new MappedSeatStore(file, 16)) {
+            FlightService flightService = new FlightService(store);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+            Flight other = new Flight("UA201", "Los Angeles", DEPARTURE, 40);
+            flightService.addFlight(flight);
+            flightService.addFlight(other);
+
+            assertEquals(40, flight.getAvailableSeats());
+            assertEquals(40, other.getAvailableSeats());
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void testBind_WhenFileIsFull_ThrowsException() throws Exception {
+        try (MappedSeatStore store = new MappedSeatStore(tempDir.resolve("seats.dat"), 1)) {
+            store.bind(new Flight("AA101", "New York", DEPARTURE, 50));
+
+            assertThrows(IllegalStateException.class, () ->
+                store.bind(new Flight("AA102", "New York", DEPARTURE, 50))
+            );
+        }
+    }
+
+    @Test
+    void testConcurrentBookings_NeverOversell() throws Exception {
+        try (MappedSeatStore store = new MappedSeatStore(tempDir.resolve("seats.dat"), 16)) {
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 1000);
+            flight.setSeatCounter(store.bind(flight));
+            AtomicInteger booked = new AtomicInteger();
+
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (flight.tryReduceAvailableSeats(1)) {
+                            booked.incrementAndGet();
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(1000, booked.get());
+            assertEquals(0, flight.getAvailableSeats());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.airline.service.pricing;
+
+import com.airline.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PricingEngine class.
+ */
+class PricingEngineTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        flight = new Flight("AA101", "New York", DEPARTURE, 100);
+    }
+
+    private static PricingEngine engineAt(LocalDateTime now) {
+        Clock clock = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new PricingEngine(new PriceCurve(0.8, 2.5), new BigDecimal("100.00"), clock);
+    }
+
+    @Test
+    void testQuote_EmptyFlightFarFromDeparture_DiscountedBaseFare() {
+        // Arrange
+        PricingEngine engine = engineAt(DEPARTURE.minusDays(60));
+        engine.register(flight, 100);
+
+        // Act
+        BigDecimal fare = engine.quote(flight);
+
+        // Assert
+        assertEquals(new BigDecimal("80.00"), fare);
+    }
+
+    @Test
+    void testQuote_SeatsSold_FareRisesWithLoad() {
+        // Arrange
+        PricingEngine engine = engineAt(DEPARTURE.minusDays(60));
+        engine.register(flight, 100);
+
+        // Act
+        BigDecimal empty = engine.quote(flight);
+        flight.tryReduceAvailableSeats(50);
+        BigDecimal half = engine.quote(flight);
+        flight.tryReduceAvailableSeats(50);
+        BigDecimal full = engine.quote(flight);
+
+        // Assert
+        assertTrue(half.compareTo(empty) > 0);
+        assertEquals(new BigDecimal("118.00"), half);
+        assertEquals(new BigDecimal("250.00"), full);
+    }
+
+    @Test
+    void testQuote_CloserToDeparture_FareRises() {
+        // Arrange
+        PricingEngine farOut = engineAt(DEPARTURE.minusDays(40));
+        PricingEngine twoWeeks = engineAt(DEPARTURE.minusDays(14));
+        PricingEngine lastDay = engineAt(DEPARTURE.minusHours(5));
+
+        // Act & Assert
+        assertEquals(new BigDecimal("80.00"), farOut.quote(flight));
+        assertEquals(new BigDecimal("88.00"), twoWeeks.quote(flight));
+        assertEquals(new BigDecimal("136.00"), lastDay.quote(flight));
+        assertEquals(new BigDecimal("136.00"), engineAt(DEPARTURE.plusHours(1)).quote(flight));
+    }
+
+    @Test
+    void testSetBaseFare_RebuildsFaresAndKeepsCapacity() {
+        // Arrange
+        PricingEngine engine = engineAt(DEPARTURE.minusDays(60));
+        engine.register(flight, 200);
+        flight.tryReduceAvailableSeats(100);
+        BigDecimal before = engine.quote(flight);
+
+        // Act
+        engine.setBaseFare(flight, new BigDecimal("200.00"));
+
+        // Assert
+        assertEquals(new BigDecimal("200.00"), engine.getBaseFare(flight));
+        assertEquals(before.multiply(BigDecimal.valueOf(2)), engine.quote(flight));
+        assertEquals(engine.quote(flight).multiply(BigDecimal.valueOf(3)), engine.quote(flight, 3));
+    }
+
+    @Test
+    void testQuote_UnregisteredOrRemovedFlight_NotRemembered() {
+        // Arrange
+        PricingEngine engine = engineAt(DEPARTURE.minusDays(60));
+        Flight departed = new Flight("AA102", "New York", DEPARTURE, 100);
+        engine.register(departed, 100);
+        engine.remove(departed);
+
+        // Act
+        BigDecimal unregisteredFare = engine.quote(flight);
+        engine.quote(departed);
+
+        // Assert
+        assertEquals(new BigDecimal("80.00"), unregisteredFare);
+        assertEquals(0, engine.registeredFlights());
+    }
+
+    @Test
+    void testInvalidSettings_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new PriceCurve(2.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new PriceCurve(0, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PricingEngine(PriceCurve.DEFAULT, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> engineAt(DEPARTURE).setBaseFare(flight, new BigDecimal("-1")));
+    }
+
+    @Test
+    void testTierChangedAt_BetweenBoundaries_StableUntilNextBoundaryDay() {
+        // Arrange
+        LocalDate day = DEPARTURE.toLocalDate();
+        long crossedThirtyDays = day.minusDays(29).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        // Act
+        long early = engineAt(DEPARTURE.minusDays(40)).tierChangedAt(day);
+        long afterThirty = engineAt(DEPARTURE.minusDays(20)).tierChangedAt(day);
+        long laterAfterThirty = engineAt(DEPARTURE.minusDays(15)).tierChangedAt(day);
+        long duringFourteen = engineAt(DEPARTURE.minusDays(14)).tierChangedAt(day);
+
+        // Assert
+        assertEquals(0, early);
+        assertEquals(crossedThirtyDays, afterThirty);
+        assertEquals(afterThirty, laterAfterThirty);
+        assertEquals(DEPARTURE.minusDays(14).toInstant(ZoneOffset.UTC).toEpochMilli(), duringFourteen);
+    }
+
+    @Test
+    void testTierChangedAt_FareMovedTier_ChangedAfterLastValidation() {
+        // Arrange
+        PricingEngine before = engineAt(DEPARTURE.minusDays(7).minusMinutes(1));
+        PricingEngine after = engineAt(DEPARTURE.minusDays(7).plusMinutes(1));
+        before.register(flight, 100);
+        after.register(flight, 100);
+
+        // Act
+        long validatedAt = before.tierChangedAt(DEPARTURE.toLocalDate());
+        long changedAt = after.tierChangedAt(DEPARTURE.toLocalDate());
+
+        // Assert
+        assertNotEquals(before.quote(flight), after.quote(flight));
+        assertTrue(changedAt > validatedAt);
+    }
+}
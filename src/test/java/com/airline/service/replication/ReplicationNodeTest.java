@@ -0,0 +1,279 @@
+package com.airline.service.replication;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.model.SeatMap;
+import com.airline.service.FlightService;
+import com.airline.service.pricing.PriceCurve;
+import com.airline.service.pricing.PricingEngine;
+import com.airline.service.waitlist.WaitlistEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReplicationNode class using the loopback transport.
+ */
+class ReplicationNodeTest {
+    private LoopbackTransport transport;
+    private ReplicationNode leader;
+    private ReplicationNode follower1;
+    private ReplicationNode follower2;
+    private LocalDateTime testDateTime;
+
+    @BeforeEach
+    void setUp() {
+        transport = new LoopbackTransport();
+        leader = new ReplicationNode("node-1", "node-1", new FlightService(), transport);
+        follower1 = new ReplicationNode("node-2", "node-1", new FlightService(), transport);
+        follower2 = new ReplicationNode("node-3", "node-1", new FlightService(), transport);
+        testDateTime = LocalDateTime.of(2024, 12, 25, 14, 30);
+    }
+
+    @Test
+    void testAddFlight_ThroughFollower_ReplicatesToAllNodes() {
+        Flight flight = follower1.addFlight(new Flight("AA101", "New York", testDateTime, 50));
+
+        assertEquals("AA101", flight.getFlightNumber());
+        for (ReplicationNode node : List.of(leader, follower1, follower2)) {
+            assertEquals(1, node.getFlightService().searchFlights("New York", testDateTime).size());
+            assertEquals(1, node.getAppliedSequence());
+        }
+    }
+
+    @Test
+    void testBookFlight_ThroughFollower_ReturnsLocalReservation() {
+        leader.addFlight(new Flight("AA101", "New York", testDateTime, 50));
+
+        Reservation reservation = follower2.bookFlight("John Doe", "AA101", 3);
+
+        assertEquals("John Doe", reservation.getCustomerName());
+        assertSame(follower2.getFlightService().findFlight("AA101"), reservation.getFlight());
+        for (ReplicationNode node : List.of(leader, follower1, follower2)) {
+            assertEquals(47, node.getFlightService().findFlight("AA101").getAvailableSeats());
+            assertEquals(1, node.getFlightService().getReservationsByCustomer("John Doe").size());
+        }
+    }
+
+    @Test
+    void testBookFlight_Overbooking_RejectedOnEveryNode() {
+        leader.addFlight(new Flight("AA101", "New York", testDateTime, 5));
+        follower1.bookFlight("John Doe", "AA101", 4);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> follower2.bookFlight("Jane Smith", "AA101", 2)
+        );
+
+        assertTrue(exception.getMessage().contains("Not enough seats available"));
+        for (ReplicationNode node : List.of(leader, follower1, follower2)) {
+            assertEquals(1, node.getFlightService().findFlight("AA101").getAvailableSeats());
+            assertEquals(2, node.getAppliedSequence());
+        }
+    }
+
+    @Test
+    void testConcurrentBookings_AcrossNodes_KeepSeatInvariant() throws Exception {
+        leader.addFlight(new Flight("AA101", "New York", testDateTime, 100));
+        List<ReplicationNode> nodes = List.of(leader, follower1, follower2);
+        AtomicInteger booked = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (ReplicationNode node : nodes) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 60; i++) {
+                    try {
+                        node.bookFlight("Customer " + node.getNodeId(), "AA101", 1);
+                        booked.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // sold out
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, booked.get());
+        for (ReplicationNode node : nodes) {
+            assertEquals(0, node.getFlightService().findFlight("AA101").getAvailableSeats());
+            assertEquals(100, node.getFlightService().getAllReservations().size());
+        }
+    }
+
+    @Test
+    void testBookSeats_FollowerPricesDifferently_GetsLeaderFareAndSeats() {
+        // Arrange
+        FlightService cheap = new FlightService();
+        cheap.setPricingEngine(new PricingEngine(new PriceCurve(0.5, 1.0), new BigDecimal("10.00")));
+        ReplicationNode cheapFollower = new ReplicationNode("node-4", "node-1", cheap, transport);
+        Flight flight = new Flight("AA101", "Boston", "New York", testDateTime, testDateTime.plusHours(2), 12);
+        flight.addFareBucket("J", 2);
+        flight.addFareBucket("Y", 10);
+        flight.setSeatMap(new SeatMap(2, 6));
+        flight.setOverbookingAllowance(1);
+        leader.addFlight(flight);
+
+        // Act
+        Reservation chosen = cheapFollower.bookSeats("John Doe", "AA101", "J", List.of("1A", "1B"));
+        Reservation assigned = follower1.bookFlight("Jane Smith", "AA101", "y", 3);
+
+        // Assert
+        Reservation onLeader = leader.getFlightService().getReservationsByCustomer("John Doe").get(0);
+        assertEquals(onLeader.getTotalFare(), chosen.getTotalFare());
+        for (ReplicationNode node : List.of(leader, follower1, follower2, cheapFollower)) {
+            Flight copy = node.getFlightService().findFlight("AA101");
+            assertEquals("Boston", copy.getOrigin());
+            assertEquals(1, copy.getOverbookingAllowance());
+            assertEquals(0, copy.getFareBucket("J").getAvailableSeats());
+            assertEquals(7, copy.getFareBucket("Y").getAvailableSeats());
+            assertTrue(copy.getSeatMap().isTaken("1B"));
+            Reservation jane = node.getFlightService().getReservationsByCustomer("Jane Smith").get(0);
+            assertEquals(assigned.getSeatNumbers(), jane.getSeatNumbers());
+            assertEquals(assigned.getTotalFare(), jane.getTotalFare());
+            assertEquals("Y", jane.getFareClass());
+        }
+    }
+
+    @Test
+    void testCancelReservation_WaitlistPromotedOnEveryNode() {
+        // Arrange
+        leader.addFlight(new Flight("AA101", "New York", testDateTime, 4));
+        Reservation john = follower1.bookFlight("John Doe", "AA101", 4);
+        follower2.joinWaitlist("Jane Smith", "AA101", null, 2);
+        WaitlistEntry bob = leader.joinWaitlist("Bob Wilson", "AA101", null, 3);
+        follower1.leaveWaitlist(bob);
+
+        // Act
+        List<Reservation> promoted = follower2.cancelReservation(john);
+
+        // Assert
+        assertEquals(1, promoted.size());
+        for (ReplicationNode node : List.of(leader, follower1, follower2)) {
+            FlightService service = node.getFlightService();
+            assertTrue(service.getReservationsByCustomer("John Doe").isEmpty());
+            assertEquals(2, service.findFlight("AA101").getAvailableSeats());
+            assertEquals(promoted.get(0).getTotalFare(),
+                    service.getReservationsByCustomer("Jane Smith").get(0).getTotalFare());
+            assertTrue(service.getWaitlist("AA101").isEmpty());
+        }
+    }
+
+    @Test
+    void testArchiveDepartedFlights_ReplicatedWithLeaderCutoff() {
+        leader.addFlight(new Flight("AA101", "New York", testDateTime, 50));
+        leader.addFlight(new Flight("AA102", "New York", testDateTime.plusDays(2), 50));
+
+        int archived = follower1.archiveDepartedFlights(testDateTime.plusDays(1));
+
+        assertEquals(1, archived);
+        for (ReplicationNode node : List.of(leader, follower1, follower2)) {
+            assertNull(node.getFlightService().findFlight("AA101"));
+            assertNotNull(node.getFlightService().findFlight("AA102"));
+        }
+    }
+
+    @Test
+    void testCatchUp_LateFollower_AppliesMissedEntries() {
+        leader.addFlight(new Flight("AA101", "New York", testDateTime, 50));
+        leader.bookFlight("John Doe", "AA101", 2);
+
+        ReplicationNode late = new ReplicationNode("node-4", "node-1", new FlightService(), transport);
+        late.catchUp();
+
+        assertEquals(2, late.getAppliedSequence());
+        assertEquals(48, late.getFlightService().findFlight("AA101").getAvailableSeats());
+    }
+
+    @Test
+    void testOrder_BeyondRetainedEntries_TrimsLeaderLog() {
+        // Arrange
+        LoopbackTransport small = new LoopbackTransport();
+        ReplicationNode trimming = new ReplicationNode("node-1", "node-1", new FlightService(), small, 3, 1000);
+        ReplicationNode follower = new ReplicationNode("node-2", "node-1", new FlightService(), small);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            trimming.addFlight(new Flight("AA" + (100 + i), "New York", testDateTime, 50));
+        }
+
+        // Assert
+        assertEquals(10, follower.getAppliedSequence());
+        List<ReplicationEntry> retained = trimming.entriesAfter(6);
+        assertEquals(List.of(7L, 8L, 9L, 10L), retained.stream().map(ReplicationEntry::getSequence)
+                .collect(Collectors.toList()));
+        assertThrows(IllegalStateException.class, () -> trimming.entriesAfter(0));
+        ReplicationNode late = new ReplicationNode("node-3", "node-1", new FlightService(), small);
+        assertThrows(IllegalStateException.class, late::catchUp);
+    }
+
+    @Test
+    void testReceive_FollowerCannotApply_StopsAndReportsDivergence() {
+        // Arrange
+        leader.addFlight(new Flight("AA101", "New York", testDateTime, 50));
+        FlightService written = follower1.getFlightService();
+        written.bookFlight("Local Write", written.findFlight("AA101"), 50);
+
+        // Act
+        leader.bookFlight("John Doe", "AA101", 10);
+        leader.addFlight(new Flight("AA102", "New York", testDateTime, 50));
+
+        // Assert
+        assertFalse(follower1.isHealthy());
+        assertEquals(1, follower1.getAppliedSequence());
+        assertNull(follower1.getFlightService().findFlight("AA102"));
+        assertThrows(IllegalStateException.class, () -> follower1.bookFlight("John Doe", "AA102", 1));
+        assertTrue(follower2.isHealthy());
+        assertEquals(3, follower2.getAppliedSequence());
+    }
+
+    @Test
+    void testSubmit_EntriesNeverArrive_TimesOut() {
+        // Arrange
+        LoopbackTransport delivering = new LoopbackTransport();
+        ReplicationTransport lossy = new ReplicationTransport() {
+            @Override
+            public void register(ReplicationNode node) {
+                delivering.register(node);
+            }
+
+            @Override
+            public long forward(String leaderId, String originNodeId, ReplicationCommand command) {
+                return delivering.forward(leaderId, originNodeId, command);
+            }
+
+            @Override
+            public void publish(String leaderId, ReplicationEntry entry) {
+            }
+
+            @Override
+            public List<ReplicationEntry> fetch(String leaderId, long afterSequence) {
+                return List.of();
+            }
+        };
+        ReplicationNode lossyLeader = new ReplicationNode("node-1", "node-1", new FlightService(), lossy);
+        ReplicationNode cutOff = new ReplicationNode("node-2", "node-1", new FlightService(), lossy, 100, 300);
+
+        // Act
+        long start = System.nanoTime();
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> cutOff.addFlight(new Flight("AA101", "New York", testDateTime, 50)));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("within 300 ms"));
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertNotNull(lossyLeader.getFlightService().findFlight("AA101"));
+        assertEquals(0, cutOff.getAppliedSequence());
+    }
+}
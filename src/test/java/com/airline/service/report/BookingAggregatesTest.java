@@ -0,0 +1,201 @@
+package com.airline.service.report;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BookingAggregates class.
+ */
+class BookingAggregatesTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    private FlightService flightService;
+    private Flight newYork;
+    private Flight newYorkLater;
+    private Flight chicago;
+    private ManualClock clock;
+
+    @BeforeEach
+    void setUp() {
+        flightService = new FlightService();
+        clock = new ManualClock();
+        flightService.setBookingAggregates(new BookingAggregates(2, 3, clock));
+        newYork = new Flight("AA101", "New York", DEPARTURE, 40);
+        newYorkLater = new Flight("AA102", "new york", DEPARTURE.plusDays(1), 60);
+        chicago = new Flight("UA201", "Chicago", DEPARTURE, 50);
+        flightService.addFlight(newYork);
+        flightService.addFlight(newYorkLater);
+        flightService.addFlight(chicago);
+    }
+
+    @Test
+    void testBookAndCancel_DestinationLoadsFollow() {
+        // Arrange
+        flightService.bookFlight("John Doe", newYork, 10);
+        Reservation cancelled = flightService.bookFlight("Jane Roe", newYorkLater, 20);
+        flightService.bookFlight("Jane Roe", chicago, 5);
+
+        // Act
+        flightService.cancelReservation(cancelled);
+        List<LoadSummary> loads = flightService.getBookingAggregates().getDestinationLoads();
+
+        // Assert
+        assertEquals(2, loads.size());
+        assertEquals("Chicago", loads.get(0).getKey());
+        assertEquals(0.1, loads.get(0).getLoadFactor(), 1e-9);
+        LoadSummary newYorkLoad = flightService.getBookingAggregates().getDestinationLoad("NEW YORK");
+        assertEquals(10, newYorkLoad.getSeatsSold());
+        assertEquals(100, newYorkLoad.getCapacity());
+    }
+
+    @Test
+    void testGetDayLoads_RangeSkipsDaysWithoutFlights() {
+        // Arrange
+        flightService.bookFlight("John Doe", newYork, 30);
+        flightService.bookFlight("John Doe", newYorkLater, 6);
+
+        // Act
+        List<LoadSummary> days = flightService.getBookingAggregates()
+                .getDayLoads(LocalDate.of(2030, 12, 20), LocalDate.of(2030, 12, 31));
+
+        // Assert
+        assertEquals(2, days.size());
+        assertEquals("2030-12-25", days.get(0).getKey());
+        assertEquals(30, days.get(0).getSeatsSold());
+        assertEquals(90, days.get(0).getCapacity());
+        assertEquals(0.1, days.get(1).getLoadFactor(), 1e-9);
+    }
+
+    @Test
+    void testGetTopCustomers_CancellationReranks() {
+        // Arrange
+        flightService.bookFlight("A", chicago, 3);
+        flightService.bookFlight("B", chicago, 1);
+        Reservation big = flightService.bookFlight("C", newYork, 9);
+        flightService.bookFlight("B", newYork, 1);
+        List<CustomerTotal> before = flightService.getBookingAggregates().getTopCustomers(10);
+
+        // Act
+        flightService.cancelReservation(big);
+        List<CustomerTotal> after = flightService.getBookingAggregates().getTopCustomers(10);
+
+        // Assert
+        assertEquals("C", before.get(0).getCustomerName());
+        assertEquals("A", before.get(1).getCustomerName());
+        assertEquals(2, before.size());
+        assertEquals("A", after.get(0).getCustomerName());
+        assertEquals("B", after.get(1).getCustomerName());
+        assertEquals(2, after.get(1).getSeats());
+    }
+
+    @Test
+    void testGetTopCustomers_RandomBookingsAndCancellations_MatchFullRanking() {
+        // Arrange
+        BookingAggregates aggregates = new BookingAggregates(3, 3, clock);
+        Random random = new Random(42);
+        List<Reservation> held = new ArrayList<>();
+        Map<String, Long> totals = new HashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            // Act
+            if (!held.isEmpty() && random.nextInt(3) == 0) {
+                Reservation cancelled = held.remove(random.nextInt(held.size()));
+                aggregates.removeReservation(cancelled);
+                totals.merge(cancelled.getCustomerName(), (long) -cancelled.getSeatsBooked(), Long::sum);
+            } else {
+                Reservation booked = new Reservation("Customer " + random.nextInt(20), chicago, 1 + random.nextInt(5));
+                aggregates.recordBooking(booked);
+                held.add(booked);
+                totals.merge(booked.getCustomerName(), (long) booked.getSeatsBooked(), Long::sum);
+            }
+
+            // Assert
+            List<Long> expected = totals.values().stream().filter(seats -> seats > 0)
+                    .sorted(Comparator.reverseOrder()).limit(3).collect(Collectors.toList());
+            List<Long> actual = aggregates.getTopCustomers(3).stream().map(CustomerTotal::getSeats)
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, "after operation " + i);
+        }
+    }
+
+    @Test
+    void testGetSeatsSoldByHour_KeepsRecentHoursOnly() {
+        // Arrange
+        flightService.bookFlight("A", chicago, 2);
+        clock.advance(Duration.ofHours(1));
+        flightService.bookFlight("B", chicago, 3);
+        flightService.bookFlight("C", chicago, 4);
+        clock.advance(Duration.ofHours(2));
+        flightService.bookFlight("D", chicago, 1);
+
+        // Act
+        List<HourlySales> sales = flightService.getBookingAggregates().getSeatsSoldByHour(24);
+
+        // Assert
+        assertEquals(3, sales.size());
+        assertEquals(7, sales.get(0).getSeatsSold());
+        assertEquals(0, sales.get(1).getSeatsSold());
+        assertEquals(1, sales.get(2).getSeatsSold());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 3, 0), sales.get(2).getHour());
+    }
+
+    @Test
+    void testArchiveDepartedFlights_RemovesTheirTotals() {
+        // Arrange
+        flightService.bookFlight("John Doe", newYork, 10);
+        flightService.bookFlight("John Doe", newYorkLater, 5);
+
+        // Act
+        flightService.archiveDepartedFlights(DEPARTURE.plusHours(1));
+
+        // Assert
+        LoadSummary newYorkLoad = flightService.getBookingAggregates().getDestinationLoad("New York");
+        assertEquals(5, newYorkLoad.getSeatsSold());
+        assertEquals(60, newYorkLoad.getCapacity());
+        assertEquals(0, flightService.getBookingAggregates().getDestinationLoad("Chicago").getCapacity());
+        assertEquals(5, flightService.getBookingAggregates().getTopCustomers(1).get(0).getSeats());
+    }
+
+    private static final class ManualClock extends Clock {
+        private volatile Instant now = LocalDateTime.of(2030, 1, 1, 0, 15).toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
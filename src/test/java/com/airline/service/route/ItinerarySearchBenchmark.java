@@ -0,0 +1,54 @@
+package com.airline.service.route;
+
+import com.airline.model.Flight;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures itinerary search latency over a generated day of flights between many
+ * airports, with up to two stops.
+ * Not a unit test; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass="com.airline.service.route.ItinerarySearchBenchmark"
+ * </pre>
+ */
+public class ItinerarySearchBenchmark {
+    private static final int AIRPORTS = 60;
+    private static final int FLIGHTS = 6_000;
+    private static final int SEARCHES = 20_000;
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        RouteIndex routeIndex = new RouteIndex();
+        for (int i = 0; i < FLIGHTS; i++) {
+            // A third of the flights touch one of a few hubs, as in a real network
+            int origin = random.nextInt(AIRPORTS);
+            int destination = random.nextInt(3) == 0 ? random.nextInt(4) : random.nextInt(AIRPORTS);
+            if (destination == origin) {
+                destination = (destination + 1) % AIRPORTS;
+            }
+            LocalDateTime departure = DAY.plusMinutes(5L * random.nextInt(12 * 20));
+            routeIndex.add(new Flight(String.format("RT%05d", i), "Airport " + origin, "Airport " + destination,
+                    departure, departure.plusMinutes(60 + random.nextInt(300)), 150));
+        }
+
+        for (int round = 0; round < 2; round++) {
+            long[] nanos = new long[SEARCHES];
+            int found = 0;
+            for (int i = 0; i < SEARCHES; i++) {
+                String from = "Airport " + random.nextInt(AIRPORTS);
+                String to = "Airport " + random.nextInt(AIRPORTS);
+                long start = System.nanoTime();
+                found += routeIndex.search(from, to, DAY.plusHours(random.nextInt(12)), 2, 5).size();
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%s  p50: %6.3f ms  p99: %6.3f ms  max: %6.3f ms  itineraries/search: %.1f%n",
+                    round == 0 ? "warm-up" : "measured", nanos[SEARCHES / 2] / 1e6, nanos[SEARCHES * 99 / 100] / 1e6,
+                    nanos[SEARCHES - 1] / 1e6, found / (double) SEARCHES);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.airline.service.route;
+
+import com.airline.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RouteIndex class.
+ */
+class RouteIndexTest {
+    private static final LocalDateTime MORNING = LocalDateTime.of(2030, 3, 1, 6, 0);
+
+    private RouteIndex routeIndex;
+
+    @BeforeEach
+    void setUp() {
+        routeIndex = new RouteIndex(new ConnectionRules(Duration.ofMinutes(45), Duration.ofHours(4), Duration.ofHours(24)));
+    }
+
+    private Flight flight(String number, String origin, String destination, int departHour, int departMinute,
+                          int arriveHour, int arriveMinute) {
+        Flight flight = new Flight(number, origin, destination, MORNING.withHour(departHour).withMinute(departMinute),
+                MORNING.withHour(arriveHour).withMinute(arriveMinute), 100);
+        routeIndex.add(flight);
+        return flight;
+    }
+
+    private static List<String> numbers(Itinerary itinerary) {
+        return itinerary.getLegs().stream().map(Flight::getFlightNumber).collect(Collectors.toList());
+    }
+
+    @Test
+    void testSearch_DirectAndConnecting_OrderedByArrival() {
+        // Arrange
+        flight("D1", "Boston", "Denver", 7, 0, 13, 0);
+        flight("C1", "Boston", "Chicago", 6, 30, 8, 30);
+        flight("C2", "Chicago", "Denver", 9, 30, 11, 30);
+
+        // Act
+        List<Itinerary> itineraries = routeIndex.search("boston", "DENVER", MORNING, 1, 5);
+
+        // Assert
+        assertEquals(2, itineraries.size());
+        assertEquals(List.of("C1", "C2"), numbers(itineraries.get(0)));
+        assertEquals(1, itineraries.get(0).getStops());
+        assertEquals(Duration.ofHours(5), itineraries.get(0).getDuration());
+        assertEquals(List.of("D1"), numbers(itineraries.get(1)));
+    }
+
+    @Test
+    void testSearch_ConnectionTooShort_NotOffered() {
+        // Arrange
+        flight("C1", "Boston", "Chicago", 6, 30, 8, 30);
+        flight("C2", "Chicago", "Denver", 9, 0, 11, 0);
+        flight("C3", "Chicago", "Denver", 9, 15, 11, 15);
+        routeIndex.setRules(routeIndex.getRules().withMinimumConnection("Chicago", Duration.ofMinutes(40)));
+
+        // Act
+        List<Itinerary> itineraries = routeIndex.search("Boston", "Denver", MORNING, 1, 5);
+
+        // Assert
+        assertEquals(1, itineraries.size());
+        assertEquals(List.of("C1", "C3"), numbers(itineraries.get(0)));
+    }
+
+    @Test
+    void testSearch_TwoStopsAndLimit_KeepsEarliestArrivals() {
+        // Arrange
+        flight("A1", "Boston", "Chicago", 6, 0, 8, 0);
+        flight("A2", "Chicago", "Denver", 9, 0, 11, 0);
+        flight("A3", "Denver", "Seattle", 12, 0, 14, 0);
+        flight("B1", "Boston", "Seattle", 8, 0, 15, 0);
+        flight("B2", "Boston", "Seattle", 9, 0, 16, 0);
+
+        // Act
+        List<Itinerary> twoStops = routeIndex.search("Boston", "Seattle", MORNING, 2, 2);
+        List<Itinerary> oneStop = routeIndex.search("Boston", "Seattle", MORNING, 1, 5);
+
+        // Assert
+        assertEquals(2, twoStops.size());
+        assertEquals(List.of("A1", "A2", "A3"), numbers(twoStops.get(0)));
+        assertEquals(List.of("B1"), numbers(twoStops.get(1)));
+        assertEquals(2, oneStop.size());
+        assertTrue(oneStop.stream().allMatch(itinerary -> itinerary.getStops() == 0));
+    }
+
+    @Test
+    void testSearch_SoldOutLegOrRemovedFlight_Skipped() {
+        // Arrange
+        Flight full = flight("C1", "Boston", "Chicago", 6, 30, 8, 30);
+        flight("C2", "Chicago", "Denver", 9, 30, 11, 30);
+        Flight direct = flight("D1", "Boston", "Denver", 7, 0, 13, 0);
+        full.setAvailableSeats(0);
+
+        // Act
+        List<Itinerary> withoutFull = routeIndex.search("Boston", "Denver", MORNING, 1, 5);
+        routeIndex.remove(direct);
+        List<Itinerary> withoutDirect = routeIndex.search("Boston", "Denver", MORNING, 1, 5);
+
+        // Assert
+        assertEquals(1, withoutFull.size());
+        assertEquals(List.of("D1"), numbers(withoutFull.get(0)));
+        assertTrue(withoutDirect.isEmpty());
+    }
+
+    @Test
+    void testSearch_NoLoopsAndFlightsWithoutRoute_Ignored() {
+        // Arrange
+        flight("A1", "Boston", "Chicago", 6, 0, 8, 0);
+        flight("A2", "Chicago", "Boston", 9, 0, 11, 0);
+        flight("A3", "Boston", "Denver", 12, 0, 15, 0);
+        routeIndex.add(new Flight("X1", "Denver", MORNING, 100));
+
+        // Act
+        List<Itinerary> itineraries = routeIndex.search("Boston", "Denver", MORNING, 2, 5);
+
+        // Assert
+        assertEquals(1, itineraries.size());
+        assertEquals(List.of("A3"), numbers(itineraries.get(0)));
+        assertEquals(2, routeIndex.getAirportCount());
+    }
+
+    @Test
+    void testAdd_OutOfOrderThenRemoved_SearchSeesDepartureOrder() {
+        // Arrange
+        List<Flight> added = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 60; i++) {
+            added.add(flight("F" + i, "Boston", "Denver", 6 + random.nextInt(12), random.nextInt(60), 20, 0));
+        }
+        for (int i = 0; i < 60; i += 3) {
+            routeIndex.remove(added.get(i));
+        }
+        LocalDateTime noon = MORNING.withHour(12);
+
+        // Act
+        List<Itinerary> itineraries = routeIndex.search("Boston", "Denver", noon, 0, 100);
+
+        // Assert
+        long expected = added.stream()
+                .filter(flight -> added.indexOf(flight) % 3 != 0 && !flight.getDepartureTime().isBefore(noon))
+                .count();
+        assertEquals(expected, itineraries.size());
+        assertTrue(itineraries.stream().noneMatch(itinerary -> itinerary.getDepartureTime().isBefore(noon)));
+    }
+
+    @Test
+    void testSearch_InvalidArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> routeIndex.search("Boston", "Denver", MORNING, 3, 5));
+        assertThrows(IllegalArgumentException.class, () -> routeIndex.search("Boston", "Denver", MORNING, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> routeIndex.search(" ", "Denver", MORNING, 1, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> routeIndex.getRules().withMinimumConnection("Chicago", Duration.ofHours(5)));
+    }
+}
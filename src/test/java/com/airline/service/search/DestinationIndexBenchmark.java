@@ -0,0 +1,61 @@
+package com.airline.service.search;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Latency benchmark for DestinationIndex typeahead lookups over 10k destinations.
+ * Not a unit test; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass="com.airline.service.search.DestinationIndexBenchmark"
+ * </pre>
+ */
+public class DestinationIndexBenchmark {
+    private static final int DESTINATIONS = 10_000;
+    private static final int WARMUP = 200_000;
+    private static final int MEASURED = 200_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        DestinationIndex index = new DestinationIndex();
+        String[] names = new String[DESTINATIONS];
+        for (int i = 0; i < DESTINATIONS; i++) {
+            names[i] = randomWord(random) + (random.nextBoolean() ? " " + randomWord(random) : "");
+            index.add(names[i]);
+        }
+
+        String[] queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String name = names[random.nextInt(DESTINATIONS)];
+            queries[i] = name.substring(0, 1 + random.nextInt(Math.min(name.length(), 6)));
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            index.suggest(queries[i & 1023], 10);
+        }
+        long[] latencies = new long[MEASURED];
+        for (int i = 0; i < MEASURED; i++) {
+            long start = System.nanoTime();
+            index.suggest(queries[i & 1023], 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("destinations=%d lookups=%d%n", index.size(), MEASURED);
+        System.out.printf("p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus%n",
+                latencies[MEASURED / 2] / 1000.0,
+                latencies[(int) (MEASURED * 0.99)] / 1000.0,
+                latencies[(int) (MEASURED * 0.999)] / 1000.0,
+                latencies[MEASURED - 1] / 1000.0);
+    }
+
+    private static String randomWord(Random random) {
+        int length = 4 + random.nextInt(6);
+        StringBuilder word = new StringBuilder(length);
+        word.append((char) ('A' + random.nextInt(26)));
+        for (int i = 1; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.airline.service.search;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DestinationIndex class.
+ */
+class DestinationIndexTest {
+    private DestinationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DestinationIndex();
+        index.add("New York");
+        index.add("Newark");
+        index.add("Los Angeles");
+        index.add("Chicago");
+        index.add("York");
+    }
+
+    @Test
+    void testSuggest_WithPrefix_ReturnsWholeNameMatchesFirst() {
+        List<String> results = index.suggest("new", 10);
+
+        assertEquals(List.of("Newark", "New York"), results);
+    }
+
+    @Test
+    void testSuggest_MatchesStartOfAnyWord() {
+        List<String> results = index.suggest("york", 10);
+
+        assertEquals("York", results.get(0));
+        assertTrue(results.contains("New York"));
+    }
+
+    @Test
+    void testSuggest_CaseInsensitive() {
+        assertEquals(List.of("Los Angeles"), index.suggest("LOS a", 10));
+    }
+
+    @Test
+    void testSuggest_WithTypo_ReturnsFuzzyMatch() {
+        assertEquals("Chicago", index.suggest("chicgo", 10).get(0));
+    }
+
+    @Test
+    void testSuggest_RespectsLimit() {
+        assertEquals(1, index.suggest("new", 1).size());
+        assertTrue(index.suggest("new", 0).isEmpty());
+    }
+
+    @Test
+    void testAdd_DuplicateDestination_IsIgnored() {
+        index.add("new york");
+
+        assertEquals(5, index.size());
+        assertEquals(1, index.suggest("new y", 10).stream().filter("New York"::equals).count());
+    }
+
+    @Test
+    void testAddFlight_UpdatesServiceIndex() {
+        FlightService flightService = new FlightService();
+        flightService.addFlight(new Flight("AA101", "Miami", LocalDateTime.of(2024, 12, 25, 14, 30), 50));
+
+        assertEquals(List.of("Miami"), flightService.suggestDestinations("mi", 10));
+    }
+
+    @Test
+    void testArchiveDepartedFlights_LastFlightGone_DestinationDropped() {
+        // Arrange
+        FlightService flightService = new FlightService();
+        LocalDateTime now = LocalDateTime.of(2030, 12, 25, 12, 0);
+        flightService.addFlight(new Flight("AA101", "Denver", now.minusHours(2), 50));
+        flightService.addFlight(new Flight("AA102", "Denver", now.plusHours(2), 50));
+        flightService.addFlight(new Flight("AA103", "Dallas", now.minusHours(1), 50));
+
+        // Act
+        flightService.archiveDepartedFlights(now);
+
+        // Assert
+        assertEquals(List.of("Denver"), flightService.suggestDestinations("d", 10));
+        assertTrue(flightService.suggestDestinations("dalas", 10).isEmpty());
+    }
+
+    @Test
+    void testRemove_AddedTwice_KeptUntilRemovedTwice() {
+        index.add("new york");
+
+        index.remove("New York");
+        assertTrue(index.suggest("new y", 10).contains("New York"));
+
+        index.remove("NEW YORK");
+        assertEquals(List.of("Newark"), index.suggest("new", 10));
+        assertEquals(4, index.size());
+    }
+}
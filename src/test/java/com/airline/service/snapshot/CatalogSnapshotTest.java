@@ -0,0 +1,176 @@
+package com.airline.service.snapshot;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogSnapshot, SnapshotLog and PersistentSortedMap classes.
+ */
+class CatalogSnapshotTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    private FlightService flightService;
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        flightService = new FlightService();
+        flight = new Flight("AA101", "New York", DEPARTURE, 100);
+        flightService.addFlight(flight);
+    }
+
+    @Test
+    void testPersistentSortedMap_RandomChanges_MatchTreeMapAndKeepOldVersions() {
+        // Arrange
+        Random random = new Random(42);
+        PersistentSortedMap<Integer, Integer> map = PersistentSortedMap.empty();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        PersistentSortedMap<Integer, Integer> halfway = null;
+        Map<Integer, Integer> expectedHalfway = null;
+
+        // Act
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(1000);
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(key, i);
+                expected.put(key, i);
+            }
+            if (i == 2500) {
+                halfway = map;
+                expectedHalfway = new TreeMap<>(expected);
+            }
+        }
+        PersistentSortedMap<Integer, Integer> trimmed = map.removeRange(100, 200);
+
+        // Assert
+        assertEquals(new ArrayList<>(expected.values()), toList(map));
+        assertEquals(new ArrayList<>(expectedHalfway.values()), toList(halfway));
+        assertEquals(new ArrayList<>(expected.subMap(300, 400).keySet()), map.keysInRange(300, 400));
+        expected.subMap(100, 200).clear();
+        assertEquals(new ArrayList<>(expected.values()), toList(trimmed));
+        assertEquals(expected.size(), trimmed.size());
+    }
+
+    @Test
+    void testGetSnapshot_HeldSnapshot_UnchangedByLaterBookings() {
+        // Arrange
+        flightService.bookFlight("John Doe", flight, 2);
+        CatalogSnapshot before = flightService.getSnapshot();
+
+        // Act
+        Reservation later = flightService.bookFlight("Jane Smith", flight, 5);
+        flightService.cancelReservation(flightService.getReservationsByCustomer("John Doe").get(0));
+        CatalogSnapshot after = flightService.getSnapshot();
+
+        // Assert
+        assertEquals(98, before.getFlight("aa101").getAvailableSeats());
+        assertEquals(1, before.getReservationCount());
+        assertEquals("John Doe", before.getReservations("AA101").get(0).getCustomerName());
+        assertEquals(95, after.getFlight("AA101").getAvailableSeats());
+        assertEquals(List.of(later), after.getReservations("AA101"));
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    void testArchive_RemovesFlightAndReservationsFromNewSnapshotsOnly() {
+        // Arrange
+        Flight departed = new Flight("ZZ001", "Boston", LocalDateTime.of(2020, 1, 1, 8, 0), 10);
+        flightService.addFlight(departed);
+        flightService.bookFlight("John Doe", departed, 3);
+        flightService.bookFlight("Jane Smith", flight, 1);
+        CatalogSnapshot before = flightService.getSnapshot();
+
+        // Act
+        flightService.archiveDepartedFlights(LocalDateTime.of(2025, 1, 1, 0, 0));
+        CatalogSnapshot after = flightService.getSnapshot();
+
+        // Assert
+        assertEquals(2, before.getReservationCount());
+        assertEquals(7, before.getFlight("ZZ001").getAvailableSeats());
+        assertNull(after.getFlight("ZZ001"));
+        assertEquals(1, after.getReservationCount());
+        assertEquals("AA101", toList(after.getFlights()).get(0).getFlightNumber());
+    }
+
+    @Test
+    void testGetSnapshot_ConcurrentBookings_SeatsAgreeWithReservations() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> bookers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String customer = "Customer " + t;
+            bookers.add(executor.submit(() -> {
+                for (int i = 0; i < 25; i++) {
+                    flightService.bookFlight(customer, flight, 1);
+                }
+            }));
+        }
+
+        // Act & Assert
+        boolean done = false;
+        while (!done) {
+            done = bookers.stream().allMatch(Future::isDone);
+            CatalogSnapshot snapshot = flightService.getSnapshot();
+            int booked = 0;
+            for (Reservation reservation : snapshot.getReservations()) {
+                booked += reservation.getSeatsBooked();
+            }
+            assertEquals(100, snapshot.getFlight("AA101").getAvailableSeats() + booked);
+        }
+        for (Future<?> booker : bookers) {
+            booker.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, flightService.getSnapshot().getFlight("AA101").getAvailableSeats());
+        assertEquals(100, flightService.getSnapshot().getReservationCount());
+    }
+
+    @Test
+    void testSnapshotLog_ChangesAppliedOnReadOrAtLimit() {
+        // Arrange
+        Flight other = new Flight("BA202", "London", DEPARTURE, 10);
+        SnapshotLog log = new SnapshotLog(CatalogSnapshot.empty(), 3);
+
+        // Act
+        log.record(current -> current.withFlight(other, 10));
+        other.setAvailableSeats(8);
+        log.record(current -> current.withReservation(new Reservation("John Doe", other, 2)));
+        CatalogSnapshot read = log.get();
+        log.record(current -> current.withReservation(new Reservation("Jane Smith", other, 1)));
+        log.record(current -> current.withReservation(new Reservation("Bob Wilson", other, 1)));
+        log.record(current -> current.withReservation(new Reservation("Ann Lee", other, 1)));
+
+        // Assert
+        assertEquals(8, read.getFlight("BA202").getAvailableSeats());
+        assertEquals(2, read.getVersion());
+        assertEquals(5, log.get().getVersion());
+        assertEquals(5, log.get().getFlight("BA202").getAvailableSeats());
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotLog(CatalogSnapshot.empty(), 0));
+    }
+
+    private static <T> List<T> toList(Iterable<T> values) {
+        List<T> list = new ArrayList<>();
+        values.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,271 @@
+package com.airline.service.store;
+
+import com.airline.model.FareBucket;
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.model.SeatMap;
+import com.airline.service.FlightService;
+import com.airline.service.inventory.HeapSeatStore;
+import com.airline.service.route.Itinerary;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcFlightStore and JdbcReservationStore classes.
+ */
+class JdbcStoreTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2024, 12, 25, 14, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private FlightService open(HikariDataSource dataSource) {
+        JdbcFlightStore flightStore = new JdbcFlightStore(dataSource);
+        return new FlightService(new HeapSeatStore(), flightStore, new JdbcReservationStore(dataSource, flightStore));
+    }
+
+    @Test
+    void testBookFlight_SurvivesReopen() {
+        // Arrange
+        Path file = tempDir.resolve("flights");
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+            flightService.addFlight(flight);
+
+            // Act
+            flightService.bookFlight("John Doe", flight, 3);
+        }
+
+        // Assert
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            Flight reloaded = flightService.findFlight("aa101");
+            assertNotNull(reloaded);
+            assertEquals(47, reloaded.getAvailableSeats());
+            assertEquals(DEPARTURE, reloaded.getDepartureTime());
+            List<Reservation> reservations = flightService.getReservationsByCustomer("JOHN DOE");
+            assertEquals(1, reservations.size());
+            assertSame(reloaded, reservations.get(0).getFlight());
+            assertEquals(1, flightService.searchFlights("new york", DEPARTURE).size());
+            assertEquals(List.of("New York"), flightService.suggestDestinations("new", 5));
+        }
+    }
+
+    @Test
+    void testSearchItineraries_RouteSurvivesReopen() {
+        // Arrange
+        Path file = tempDir.resolve("flights");
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            flightService.addFlight(new Flight("AA101", "Boston", "New York", DEPARTURE, DEPARTURE.plusHours(1), 50));
+            flightService.addFlight(new Flight("AA202", "New York", "Miami", DEPARTURE.plusHours(2),
+                    DEPARTURE.plusHours(5), 50));
+        }
+
+        // Act
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            List<Itinerary> itineraries = flightService.searchItineraries("Boston", "Miami", DEPARTURE, 1, 3);
+
+            // Assert
+            assertEquals(1, itineraries.size());
+            assertEquals(DEPARTURE.plusHours(5), itineraries.get(0).getArrivalTime());
+            assertEquals("Boston", flightService.findFlight("AA101").getOrigin());
+        }
+    }
+
+    @Test
+    void testCancelReservation_SurvivesReopen() {
+        // Arrange
+        Path file = tempDir.resolve("flights");
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+            flightService.addFlight(flight);
+            flightService.bookFlight("John Doe", flight, 3);
+            flightService.bookFlight("John Doe", flight, 2);
+
+            // Act
+            flightService.cancelReservation(flightService.getReservationsByCustomer("John Doe").get(0));
+        }
+
+        // Assert
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            assertEquals(48, flightService.findFlight("AA101").getAvailableSeats());
+            List<Reservation> reservations = flightService.getReservationsByCustomer("John Doe");
+            assertEquals(1, reservations.size());
+            assertEquals(2, reservations.get(0).getSeatsBooked());
+        }
+    }
+
+    @Test
+    void testBookSeats_FareBucketsAndSeatMapSurviveReopen() {
+        // Arrange
+        Path file = tempDir.resolve("flights");
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 60);
+            flight.addFareBucket("J", 12);
+            flight.addFareBucket("Y", 48);
+            flight.setSeatMap(new SeatMap(10, 6));
+            flightService.addFlight(flight);
+
+            // Act
+            flightService.bookSeats("John Doe", flight, "J", List.of("1A", "1B"));
+            flightService.bookFlight("Jane Smith", flight, "Y", 3);
+        }
+
+        // Assert
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+            Flight reloaded = flightService.findFlight("AA101");
+            assertEquals(List.of("J", "Y"), reloaded.getFareBuckets().stream()
+                    .map(FareBucket::getFareClass).collect(Collectors.toList()));
+            assertEquals(10, reloaded.getFareBucket("J").getAvailableSeats());
+            assertEquals(45, reloaded.getFareBucket("Y").getAvailableSeats());
+            SeatMap seatMap = reloaded.getSeatMap();
+            assertNotNull(seatMap);
+            assertEquals(60, seatMap.getCapacity());
+            assertTrue(seatMap.isTaken("1A"));
+            assertTrue(seatMap.isTaken("1B"));
+            assertEquals(55, seatMap.getFreeSeats());
+            assertThrows(IllegalArgumentException.class,
+                    () -> flightService.bookSeats("Bob Wilson", reloaded, "J", List.of("1A")));
+            assertNull(flightService.findFlight("AA101").getFareBucket("F"));
+        }
+    }
+
+    @Test
+    void testFindByNumber_ReturnsSameInstance() {
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(tempDir.resolve("flights"), 2)) {
+            // Arrange
+            new JdbcFlightStore(dataSource).add(new Flight("AA101", "New York", DEPARTURE, 50));
+            JdbcFlightStore store = new JdbcFlightStore(dataSource);
+
+            // Act
+            Flight first = store.findByNumber("AA101");
+            Flight second = store.findByDestinationAndDate("New York", DEPARTURE.toLocalDate()).get(0);
+
+            // Assert
+            assertSame(first, second);
+            assertSame(first, store.findAll().get(0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.add(new Flight("aa101", "Boston", DEPARTURE, 10)));
+        }
+    }
+
+    @Test
+    void testBookFlight_ConcurrentBookings_AllCommitted() throws Exception {
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(tempDir.resolve("flights"), 4)) {
+            // Arrange
+            FlightService flightService = open(dataSource);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 1000);
+            flightService.addFlight(flight);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+
+            // Act
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String customer = "Customer " + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        flightService.bookFlight(customer, flight, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            // Assert
+            assertEquals(200, flightService.getAllReservations().size());
+            assertEquals(800, flight.getAvailableSeats());
+            // A fresh store has an empty cache, so this reads the committed row
+            assertEquals(800, new JdbcFlightStore(dataSource).findByNumber("AA101").getAvailableSeats());
+        }
+    }
+
+    @Test
+    void testFindByCustomer_NamesThatUpperCaseAlike_KeptApart() {
+        // Arrange
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(tempDir.resolve("flights"), 2)) {
+            FlightService flightService = open(dataSource);
+            Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+            flightService.addFlight(flight);
+
+            // Act
+            flightService.bookFlight("Anna Straße", flight, 1);
+            flightService.bookFlight("Anna Strasse", flight, 2);
+
+            // Assert
+            JdbcReservationStore store = new JdbcReservationStore(dataSource, new JdbcFlightStore(dataSource));
+            assertEquals(1, store.findByCustomer(" anna straße").get(0).getSeatsBooked());
+            assertEquals(2, store.findByCustomer("ANNA STRASSE").get(0).getSeatsBooked());
+            assertTrue(store.remove(store.findByCustomer("Anna Straße").get(0)));
+            assertTrue(store.findByCustomer("Anna Straße").isEmpty());
+            assertEquals(1, store.findByCustomer("Anna Strasse").size());
+        }
+    }
+
+    @Test
+    void testOpen_UpperCaseCustomerKeys_MigratedOnOpen() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("flights");
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            open(dataSource).addFlight(new Flight("AA101", "New York", DEPARTURE, 50));
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO reservations (customer_key, customer_name, flight_key, seats, seat_numbers)"
+                        + " VALUES ('ANNA STRASSE', 'Anna Straße', 'AA101', 3, '')");
+            }
+        }
+
+        // Act
+        try (HikariDataSource dataSource = EmbeddedDatabase.open(file, 2)) {
+            FlightService flightService = open(dataSource);
+
+            // Assert
+            List<Reservation> reservations = flightService.getReservationsByCustomer("anna straße");
+            assertEquals(1, reservations.size());
+            assertEquals(3, reservations.get(0).getSeatsBooked());
+            assertTrue(flightService.getReservationsByCustomer("Anna Strasse").isEmpty());
+        }
+    }
+
+    @Test
+    void testBookFlight_StoreFails_SeatsReturned() {
+        // Arrange
+        ReservationStore failing = new InMemoryReservationStore() {
+            @Override
+            public void add(Reservation reservation) {
+                throw new IllegalStateException("Disk full");
+            }
+        };
+        FlightService flightService = new FlightService(new HeapSeatStore(), new InMemoryFlightStore(), failing);
+        Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+        flight.addFareBucket("Y", 20);
+        flightService.addFlight(flight);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> flightService.bookFlight("John Doe", flight, "Y", 2));
+        assertEquals(50, flight.getAvailableSeats());
+        assertEquals(20, flight.getFareBucket("Y").getAvailableSeats());
+    }
+}
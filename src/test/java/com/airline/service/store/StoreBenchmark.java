@@ -0,0 +1,83 @@
+package com.airline.service.store;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import com.airline.service.inventory.HeapSeatStore;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the same booking and search mix against FlightService on the in-memory stores
+ * and on the embedded database, with one thread and with several.
+ * Not a unit test; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass="com.airline.service.store.StoreBenchmark"
+ * </pre>
+ */
+public class StoreBenchmark {
+    private static final int FLIGHTS = 2_000;
+    private static final String[] DESTINATIONS = {"New York", "Los Angeles", "Chicago", "Miami", "Seattle"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 6, 0);
+    private static final long DURATION_NANOS = 3_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("store-benchmark");
+        for (int threads : new int[]{1, 8}) {
+            report("memory", threads, new FlightService());
+            try (HikariDataSource dataSource = EmbeddedDatabase.open(dir.resolve("flights-" + threads), threads)) {
+                JdbcFlightStore flightStore = new JdbcFlightStore(dataSource);
+                report("h2", threads, new FlightService(new HeapSeatStore(), flightStore,
+                        new JdbcReservationStore(dataSource, flightStore)));
+            }
+        }
+    }
+
+    private static void report(String name, int threads, FlightService flightService) throws Exception {
+        List<Flight> flights = new ArrayList<>(FLIGHTS);
+        for (int i = 0; i < FLIGHTS; i++) {
+            Flight flight = new Flight(String.format("BM%04d", i), DESTINATIONS[i % DESTINATIONS.length],
+                    BASE.plusDays(i / 100), 1_000_000);
+            flightService.addFlight(flight);
+            flights.add(flight);
+        }
+        // Warm up, then measure
+        run(flightService, flights, threads, true);
+        double bookings = run(flightService, flights, threads, true);
+        double searches = run(flightService, flights, threads, false);
+        System.out.printf("%-6s threads=%d  bookings: %8.0f/s  searches: %8.0f/s%n", name, threads, bookings, searches);
+    }
+
+    private static double run(FlightService flightService, List<Flight> flights, int threads, boolean book)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        long deadline = System.nanoTime() + DURATION_NANOS;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Flight flight = flights.get(random.nextInt(flights.size()));
+                    if (book) {
+                        flightService.bookFlight("Customer " + random.nextInt(10_000), flight, 1);
+                    } else {
+                        flightService.searchFlights(flight.getDestination(), flight.getDepartureTime());
+                    }
+                    operations.increment();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() / (DURATION_NANOS / 1e9);
+    }
+}
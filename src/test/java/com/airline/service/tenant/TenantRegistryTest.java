@@ -0,0 +1,124 @@
+package com.airline.service.tenant;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TenantRegistry and Tenant classes.
+ */
+class TenantRegistryTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    private FlightService defaultService;
+    private TenantRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        defaultService = new FlightService();
+        registry = new TenantRegistry(defaultService, new TenantQuota(2, 3, 2), id -> new FlightService());
+    }
+
+    @Test
+    void testResolve_EachTenantHasItsOwnCatalog() {
+        // Arrange
+        Tenant skyhop = registry.register("SkyHop");
+        Flight defaultFlight = new Flight("AA101", "New York", DEPARTURE, 10);
+        Flight skyhopFlight = new Flight("AA101", "New York", DEPARTURE, 10);
+        defaultService.addFlight(defaultFlight);
+        skyhop.getFlightService().addFlight(skyhopFlight);
+
+        // Act
+        skyhop.getFlightService().bookFlight("John Doe", skyhopFlight, 4);
+
+        // Assert
+        assertSame(skyhop, registry.resolve(" skyhop "));
+        assertSame(defaultService, registry.resolve(null).getFlightService());
+        assertNull(registry.resolve("bluejet"));
+        assertEquals(10, defaultService.findFlight("AA101").getAvailableSeats());
+        assertEquals(6, skyhop.getFlightService().findFlight("AA101").getAvailableSeats());
+        assertTrue(defaultService.getReservationsByCustomer("John Doe").isEmpty());
+    }
+
+    @Test
+    void testTryEnter_SlotsUsedUp_OnlyThatTenantRejected() {
+        // Arrange
+        Tenant busy = registry.register("busy");
+        Tenant quiet = registry.register("quiet");
+        assertTrue(busy.tryEnter());
+        assertTrue(busy.tryEnter());
+
+        // Act
+        boolean busyAdmitted = busy.tryEnter();
+        boolean quietAdmitted = quiet.tryEnter();
+        busy.exit();
+
+        // Assert
+        assertFalse(busyAdmitted);
+        assertTrue(quietAdmitted);
+        assertTrue(busy.tryEnter());
+        assertEquals(1, busy.getRejectedRequests());
+        assertEquals(3, busy.getAdmittedRequests());
+        assertEquals(2, busy.getActiveRequests());
+    }
+
+    @Test
+    void testLimits_FlightsAndReservationsCapped() {
+        // Arrange
+        FlightService service = registry.register("small").getFlightService();
+        for (int i = 0; i < 3; i++) {
+            service.addFlight(new Flight("SM" + i, "Miami", DEPARTURE, 10));
+        }
+        Flight flight = service.findFlight("SM0");
+        service.bookFlight("A", flight, 1);
+        service.bookFlight("B", flight, 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> service.addFlight(new Flight("SM3", "Miami", DEPARTURE, 10)));
+        assertThrows(IllegalArgumentException.class, () -> service.bookFlight("C", flight, 1));
+        assertEquals(8, flight.getAvailableSeats());
+        service.cancelReservation(service.getReservationsByCustomer("A").get(0));
+        service.bookFlight("C", flight, 1);
+        assertEquals(2, service.getReservationCount());
+        assertEquals(3, service.getFlightCount());
+    }
+
+    @Test
+    void testDefaultTenant_NoQuota_NeverRejects() {
+        // Arrange
+        Tenant defaultTenant = registry.getDefaultTenant();
+        for (int i = 0; i < 5; i++) {
+            defaultService.addFlight(new Flight("DF" + i, "Miami", DEPARTURE, 10));
+        }
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(defaultTenant.tryEnter());
+        }
+
+        // Assert
+        assertNull(defaultTenant.getQuota());
+        assertEquals(10, defaultTenant.getActiveRequests());
+        assertEquals(0, defaultTenant.getRejectedRequests());
+        defaultService.bookFlight("A", defaultService.findFlight("DF0"), 1);
+        defaultService.bookFlight("B", defaultService.findFlight("DF0"), 1);
+        defaultService.bookFlight("C", defaultService.findFlight("DF0"), 1);
+        assertEquals(5, defaultService.getFlightCount());
+        assertEquals(3, defaultService.getReservationCount());
+    }
+
+    @Test
+    void testRegister_InvalidOrTakenId_ThrowsException() {
+        registry.register("skyhop");
+        assertThrows(IllegalArgumentException.class, () -> registry.register("SKYHOP"));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("default"));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("sky hop"));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(""));
+    }
+}
@@ -0,0 +1,81 @@
+package com.airline.service.tenant;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import com.airline.service.archive.ArchiveConfig;
+import com.airline.service.event.EventConfig;
+import com.airline.service.idempotency.IdempotencyConfig;
+import com.airline.service.pricing.PricingConfig;
+import com.airline.service.report.ReportConfig;
+import com.airline.service.store.StoreConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TenantServiceFactory class.
+ */
+class TenantServiceFactoryTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private ApplicationContextRunner runner() {
+        return new ApplicationContextRunner()
+                .withUserConfiguration(FlightService.class, TenantConfig.class, EventConfig.class, ArchiveConfig.class,
+                        PricingConfig.class, ReportConfig.class, IdempotencyConfig.class, StoreConfig.class)
+                .withPropertyValues("flight.tenants.ids=skyhop",
+                        "flight.store=h2",
+                        "flight.store.h2.file=" + tempDir.resolve("flights"),
+                        "flight.archive.dir=" + tempDir.resolve("archive"),
+                        "flight.pricing.base-fare=99.00");
+    }
+
+    @Test
+    void testApply_TenantWiredLikeDefault() {
+        runner().run(context -> {
+            // Arrange
+            TenantRegistry registry = context.getBean(TenantRegistry.class);
+            FlightService defaultService = registry.getDefaultTenant().getFlightService();
+            FlightService skyhop = registry.resolve("skyhop").getFlightService();
+            Flight defaultFlight = new Flight("AA101", "New York", DEPARTURE, 50);
+            Flight skyhopFlight = new Flight("AA101", "New York", DEPARTURE, 50);
+
+            // Act
+            defaultService.addFlight(defaultFlight);
+            skyhop.addFlight(skyhopFlight);
+
+            // Assert
+            assertEquals(defaultService.getFare(defaultFlight), skyhop.getFare(skyhopFlight));
+            assertNotEquals(new FlightService().getFare(skyhopFlight), skyhop.getFare(skyhopFlight));
+            assertTrue(Files.isDirectory(tempDir.resolve("archive-skyhop")));
+        });
+    }
+
+    @Test
+    void testApply_TenantCatalogSurvivesRestart() {
+        // Arrange
+        runner().run(context -> {
+            FlightService skyhop = context.getBean(TenantRegistry.class).resolve("skyhop").getFlightService();
+            Flight flight = new Flight("SH1", "Miami", DEPARTURE, 20);
+            skyhop.addFlight(flight);
+            skyhop.bookFlight("John Doe", flight, 2);
+        });
+
+        // Act & Assert
+        runner().run(context -> {
+            TenantRegistry registry = context.getBean(TenantRegistry.class);
+            FlightService skyhop = registry.resolve("skyhop").getFlightService();
+            assertEquals(18, skyhop.findFlight("SH1").getAvailableSeats());
+            assertEquals(1, skyhop.getReservationsByCustomer("John Doe").size());
+            assertNull(registry.getDefaultTenant().getFlightService().findFlight("SH1"));
+        });
+    }
+}
@@ -0,0 +1,206 @@
+package com.airline.service.waitlist;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.FlightReservationApplication;
+import com.airline.service.FlightService;
+import com.airline.service.event.EventBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Waitlist and WaitlistPromoter classes.
+ */
+class WaitlistTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 12, 25, 14, 30);
+
+    private FlightService flightService;
+    private Flight flight;
+    private EventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        flightService = new FlightService();
+        flight = new Flight("AA101", "New York", DEPARTURE, 4);
+        flightService.addFlight(flight);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (eventBus != null) {
+            eventBus.close();
+        }
+    }
+
+    private void startPromoter() {
+        eventBus = new EventBus(1024, 64, 50);
+        eventBus.subscribe(WaitlistPromoter.SUBSCRIBER_NAME, new WaitlistPromoter(flightService));
+        flightService.setEventPublisher(eventBus);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void testCancelReservation_WaitingCustomer_PromotedByEvent() throws Exception {
+        // Arrange
+        startPromoter();
+        Reservation original = flightService.bookFlight("John Doe", flight, 4);
+        flightService.joinWaitlist("Jane Roe", flight, null, 2);
+
+        // Act
+        flightService.cancelReservation(original);
+
+        // Assert
+        awaitTrue(() -> flightService.getReservationsByCustomer("Jane Roe").size() == 1);
+        assertEquals(2, flight.getAvailableSeats());
+        assertTrue(flightService.getWaitlist("aa101").isEmpty());
+        assertTrue(flightService.getReservationsByCustomer("John Doe").isEmpty());
+    }
+
+    @Test
+    void testFastStartProfile_WaitingCustomer_PromotedByEvent(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FlightReservationApplication.class)
+                .profiles("fast-start")
+                .run("--server.port=0", "--flight.archive.dir=" + tempDir)) {
+            FlightService service = context.getBean(FlightService.class);
+            Flight full = new Flight("WL900", "Denver", DEPARTURE, 2);
+            service.addFlight(full);
+            Reservation original = service.bookFlight("John Doe", full, 2);
+            service.joinWaitlist("Jane Roe", full, null, 1);
+
+            // Act
+            service.cancelReservation(original);
+
+            // Assert
+            awaitTrue(() -> service.getReservationsByCustomer("Jane Roe").size() == 1);
+            assertTrue(service.getWaitlist("WL900").isEmpty());
+        }
+    }
+
+    @Test
+    void testPromote_HeadDoesNotFit_LaterCustomersWait() {
+        // Arrange
+        Reservation first = flightService.bookFlight("A", flight, 1);
+        Reservation second = flightService.bookFlight("B", flight, 1);
+        flightService.bookFlight("C", flight, 2);
+        flightService.joinWaitlist("Big Party", flight, null, 2);
+        flightService.joinWaitlist("Solo", flight, null, 1);
+
+        // Act
+        flightService.cancelReservation(first);
+        List<Reservation> afterOne = flightService.promoteWaitlist("AA101");
+        flightService.cancelReservation(second);
+        List<Reservation> afterTwo = flightService.promoteWaitlist("AA101");
+
+        // Assert
+        assertTrue(afterOne.isEmpty());
+        assertEquals(1, afterTwo.size());
+        assertEquals("Big Party", afterTwo.get(0).getCustomerName());
+        assertEquals(1, flightService.getWaitlist("AA101").size());
+    }
+
+    @Test
+    void testJoinWaitlist_SeatsAvailable_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> flightService.joinWaitlist("Jane Roe", flight, null, 2));
+        assertThrows(IllegalArgumentException.class, () -> flightService.joinWaitlist("Jane Roe", flight, "Y", 9));
+    }
+
+    @Test
+    void testCancelReservation_Twice_ThrowsException() {
+        // Arrange
+        Reservation reservation = flightService.bookFlight("John Doe", flight, 2);
+        flightService.cancelReservation(reservation);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> flightService.cancelReservation(reservation));
+        assertEquals(4, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testConcurrentCancellations_EachSeatPromotedOnce() throws Exception {
+        // Arrange
+        Flight busy = new Flight("AA200", "Chicago", DEPARTURE, 40);
+        flightService.addFlight(busy);
+        List<Reservation> booked = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            booked.add(flightService.bookFlight("Passenger " + i, busy, 1));
+        }
+        for (int i = 0; i < 30; i++) {
+            flightService.joinWaitlist("Waiting " + i, busy, null, 1);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> cancellations = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            Reservation reservation = booked.get(i);
+            cancellations.add(executor.submit(() -> {
+                start.await();
+                flightService.cancelReservation(reservation);
+                flightService.promoteWaitlist("AA200");
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> cancellation : cancellations) {
+            cancellation.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(0, busy.getAvailableSeats());
+        assertEquals(10, flightService.getWaitlist("AA200").size());
+        assertEquals("Waiting 20", flightService.getWaitlist("AA200").get(0).getCustomerName());
+        long promoted = flightService.getAllReservations().stream()
+                .filter(reservation -> reservation.getCustomerName().startsWith("Waiting"))
+                .count();
+        assertEquals(20, promoted);
+    }
+
+    @Test
+    void testAdd_ConcurrentWithClear_EveryEntryKeptOrDropped() throws Exception {
+        // Arrange
+        Waitlist waitlist = new Waitlist();
+        List<WaitlistEntry> dropped = new ArrayList<>();
+        Thread adder = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                waitlist.add(new WaitlistEntry("Customer " + i, "AA300", null, 1, Instant.now()));
+            }
+        });
+
+        // Act
+        adder.start();
+        while (adder.isAlive()) {
+            dropped.addAll(waitlist.clear("AA300"));
+        }
+        adder.join();
+
+        // Assert
+        assertEquals(20_000, dropped.size() + waitlist.getEntries("AA300").size());
+    }
+}
@@ -0,0 +1,170 @@
+package com.airline.tracing;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Tracer class.
+ */
+class TracerTest {
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2024, 12, 25, 14, 30);
+
+    private InMemorySpanExporter exporter;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new InMemorySpanExporter(100);
+        tracer = new Tracer(Sampler.ALWAYS, exporter);
+    }
+
+    @Test
+    void testStartSpan_NestedSpans_FormTree() {
+        // Act
+        try (Span root = tracer.startSpan("request")) {
+            try (Span child = tracer.startSpan("lookup")) {
+                child.setAttribute("flight", "AA101");
+            }
+            try (Span child = tracer.startSpan("render")) {
+                assertSame(child, tracer.currentSpan());
+            }
+            assertSame(root, tracer.currentSpan());
+        }
+
+        // Assert
+        List<Span> spans = exporter.getFinishedSpans();
+        assertEquals(3, spans.size());
+        Span root = spans.get(2);
+        assertEquals("request", root.getName());
+        assertEquals(0, root.getParentSpanId());
+        for (Span child : spans.subList(0, 2)) {
+            assertEquals(root.getTraceId(), child.getTraceId());
+            assertEquals(root.getSpanId(), child.getParentSpanId());
+            assertTrue(child.getDurationNanos() >= 0);
+        }
+        assertEquals("AA101", spans.get(0).getAttributes().get("flight"));
+        assertFalse(tracer.currentSpan().isSampled());
+    }
+
+    @Test
+    void testStartSpan_UnsampledTrace_RecordsNothingAndResets() {
+        // Arrange
+        Tracer unsampled = new Tracer(Sampler.ratio(0.0), exporter);
+        InMemorySpanExporter sometimesExporter = new InMemorySpanExporter(1000);
+        Tracer sometimes = new Tracer(traceId -> traceId % 2 == 0, sometimesExporter);
+
+        // Act
+        try (Span root = unsampled.startSpan("request")) {
+            try (Span child = unsampled.startSpan("lookup")) {
+                assertFalse(child.isSampled());
+            }
+            assertFalse(root.isSampled());
+        }
+        int sampledRoots = 0;
+        for (int i = 0; i < 200; i++) {
+            try (Span root = sometimes.startSpan("request")) {
+                try (Span child = sometimes.startSpan("lookup")) {
+                    assertEquals(root.isSampled(), child.isSampled());
+                }
+                if (root.isSampled()) {
+                    sampledRoots++;
+                }
+            }
+        }
+
+        // Assert
+        assertTrue(exporter.getFinishedSpans().isEmpty());
+        assertTrue(sampledRoots > 0 && sampledRoots < 200);
+        assertEquals(sampledRoots * 2, sometimesExporter.getFinishedSpans().size());
+    }
+
+    @Test
+    void testRatioSampler_SamplesAboutTheGivenFraction() {
+        // Arrange
+        Sampler sampler = Sampler.ratio(0.1);
+        Random random = new Random(42);
+
+        // Act
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.shouldSample(random.nextLong())) {
+                sampled++;
+            }
+        }
+
+        // Assert
+        assertEquals(10_000, sampled, 500);
+        assertThrows(IllegalArgumentException.class, () -> Sampler.ratio(1.5));
+    }
+
+    @Test
+    void testFlightService_BookFlight_SpansEachStep() {
+        // Arrange
+        FlightService flightService = new FlightService();
+        flightService.setTracer(tracer);
+        Flight flight = new Flight("AA101", "New York", DEPARTURE, 50);
+        flightService.addFlight(flight);
+
+        // Act
+        flightService.bookFlight("John Doe", flight, 2);
+        assertThrows(IllegalArgumentException.class, () -> flightService.bookFlight("John Doe", flight, 100));
+
+        // Assert
+        List<Span> spans = exporter.getFinishedSpans();
+        Map<Long, Span> byId = spans.stream().collect(Collectors.toMap(Span::getSpanId, Function.identity()));
+        List<Span> bookings = spans.stream()
+                .filter(span -> span.getName().equals("FlightService.bookFlight"))
+                .collect(Collectors.toList());
+        assertEquals(2, bookings.size());
+        assertNull(bookings.get(0).getError());
+        assertNotNull(bookings.get(1).getError());
+        assertEquals("AA101", bookings.get(0).getAttributes().get("flight"));
+        List<String> stepsOfFirst = spans.stream()
+                .filter(span -> span.getParentSpanId() == bookings.get(0).getSpanId())
+                .map(Span::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("FlightService.lookupFlight", "FlightService.takeSeats"), stepsOfFirst);
+        assertTrue(spans.stream()
+                .filter(span -> span.getParentSpanId() != 0)
+                .allMatch(span -> byId.containsKey(span.getParentSpanId())));
+    }
+
+    @Test
+    void testSlowTraceLogger_Format_IndentsChildren() {
+        // Arrange
+        try (Span root = tracer.startSpan("POST /book")) {
+            root.setAttribute("view", "redirect:/confirmation");
+            try (Span child = tracer.startSpan("FlightService.bookFlight")) {
+                child.setAttribute("flight", "AA101");
+                try (Span grandchild = tracer.startSpan("FlightService.takeSeats")) {
+                    grandchild.setAttribute("seats", 2);
+                }
+            }
+        }
+        List<Span> spans = exporter.getFinishedSpans();
+
+        // Act
+        String tree = SlowTraceLogger.format(spans.get(2), spans.subList(0, 2));
+
+        // Assert
+        String[] lines = tree.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("POST /book"));
+        assertTrue(lines[0].endsWith("{view=redirect:/confirmation}"));
+        assertTrue(lines[1].startsWith("  FlightService.bookFlight"));
+        assertTrue(lines[1].endsWith("{flight=AA101}"));
+        assertTrue(lines[2].startsWith("    FlightService.takeSeats"));
+        assertTrue(lines[2].endsWith("{seats=2}"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.airline.web;
+
+import com.airline.model.Flight;
+import com.airline.model.Reservation;
+import com.airline.service.FlightService;
+import com.airline.service.archive.FlightArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Web layer tests for FlightController.
+ */
+@WebMvcTest(FlightController.class)
+@Import(FlightService.class)
+class FlightControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightService flightService;
+
+    @BeforeEach
+    void setUp() {
+        if (flightService.findFlight("TS100") == null) {
+            flightService.addFlight(new Flight("TS100", "New York", LocalDateTime.of(2024, 12, 25, 10, 0), 50));
+        }
+    }
+
+    @Test
+    void testSearch_Get_ReturnsEtagAndResults() throws Exception {
+        mockMvc.perform(get("/search").param("destination", "New York").param("dateTime", "2024-12-25 08:00"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + flightService.getCatalogVersion() + "-")))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(model().attributeExists("flights"));
+    }
+
+    @Test
+    void testSearch_Get_WithCurrentLastModified_ReturnsNotModified() throws Exception {
+        // Arrange
+        String lastModified = mockMvc.perform(get("/search").param("destination", "New York")
+                        .param("dateTime", "2024-12-25 08:00"))
+                .andReturn().getResponse().getHeader("Last-Modified");
+
+        // Act & Assert
+        mockMvc.perform(get("/search").param("destination", "New York").param("dateTime", "2024-12-25 08:00")
+                        .header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testSearch_Get_WithMatchingEtag_ReturnsNotModified() throws Exception {
+        String etag = searchEtag();
+
+        mockMvc.perform(get("/search").param("destination", "New York").param("dateTime", "2024-12-25 08:00")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testSearch_Get_AfterBooking_ReturnsNewContent() throws Exception {
+        String etag = searchEtag();
+        flightService.bookFlight("John Doe", flightService.findFlight("TS100"), 1);
+
+        mockMvc.perform(get("/search").param("destination", "New York").param("dateTime", "2024-12-25 08:00")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testSearch_Get_AfterFareChange_ReturnsNewContent() throws Exception {
+        String etag = searchEtag();
+        Flight flight = flightService.findFlight("TS100");
+        flightService.setBaseFare(flight, new BigDecimal("999.00"));
+
+        mockMvc.perform(get("/search").param("destination", "New York").param("dateTime", "2024-12-25 08:00")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    private String searchEtag() throws Exception {
+        return mockMvc.perform(get("/search").param("destination", "New York").param("dateTime", "2024-12-25 08:00"))
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    @Test
+    void testSearch_GetWithoutParameters_ShowsEmptyForm() throws Exception {
+        mockMvc.perform(get("/search"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(model().attributeDoesNotExist("flights"));
+    }
+
+    @Test
+    void testSearch_FullFlight_OfferedWaitlist() throws Exception {
+        // Arrange
+        Flight full = new Flight("TS200", "Boston", LocalDateTime.of(2024, 12, 26, 9, 0), 1);
+        flightService.addFlight(full);
+        flightService.bookFlight("John Doe", full, 1);
+
+        // Act & Assert
+        mockMvc.perform(get("/search").param("destination", "Boston").param("dateTime", "2024-12-26 08:00"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("soldOutFlights", contains(hasProperty("flightNumber", is("TS200")))));
+        mockMvc.perform(post("/waitlist").param("customerName", "Jane Roe").param("flightNumber", "TS200")
+                        .param("seats", "1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("success", startsWith("You are number 1 on the waitlist")));
+        assertEquals("Jane Roe", flightService.getWaitlist("TS200").get(0).getCustomerName());
+    }
+
+    @Test
+    void testCancelReservation_ListedReservation_RemovedAndSeatsReturned() throws Exception {
+        // Arrange
+        Flight flight = new Flight("TS300", "Denver", LocalDateTime.of(2024, 12, 27, 9, 0), 10);
+        flightService.addFlight(flight);
+        Reservation reservation = flightService.bookFlight("Ann Lee", flight, 3);
+        mockMvc.perform(get("/reservations").param("customerName", "ann lee"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("action=\"/reservations/cancel\"")));
+
+        // Act
+        mockMvc.perform(post("/reservations/cancel").param("customerName", "Ann Lee").param("flightNumber", "TS300")
+                        .param("seats", "3").param("seatNumbers", String.join(",", reservation.getSeatNumbers())))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/reservations?customerName=Ann+Lee"))
+                .andExpect(flash().attributeExists("success"));
+
+        // Assert
+        assertTrue(flightService.getReservationsByCustomer("Ann Lee").isEmpty());
+        assertEquals(10, flight.getAvailableSeats());
+        mockMvc.perform(post("/reservations/cancel").param("customerName", "Ann Lee").param("flightNumber", "TS300")
+                        .param("seats", "3"))
+                .andExpect(flash().attribute("error", startsWith("Cancellation failed")));
+    }
+
+    @Test
+    void testViewReservations_ArchivedBooking_ListedWithoutCancel(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        Flight flight = new Flight("TS400", "Boston", LocalDateTime.of(2020, 1, 10, 9, 0), 10);
+        flightService.addFlight(flight);
+        flightService.bookFlight("Mia Chen", flight, 2);
+        flightService.setFlightArchive(new FlightArchive(tempDir));
+        try {
+            flightService.archiveDepartedFlights(LocalDateTime.of(2020, 1, 11, 0, 0));
+
+            // Act & Assert
+            mockMvc.perform(get("/reservations").param("customerName", "Mia Chen"))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attribute("reservations",
+                            contains(hasProperty("flight", hasProperty("flightNumber", is("TS400"))))))
+                    .andExpect(content().string(containsString("Departed")))
+                    .andExpect(content().string(not(containsString("action=\"/reservations/cancel\""))));
+        } finally {
+            flightService.setFlightArchive(null);
+        }
+    }
+}
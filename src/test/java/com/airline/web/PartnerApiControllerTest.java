@@ -0,0 +1,219 @@
+package com.airline.web;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import com.airline.web.dto.BookingRequest;
+import com.airline.web.dto.BookingResponse;
+import com.airline.web.dto.ItinerarySearchResponse;
+import com.airline.web.dto.SearchRequest;
+import com.airline.web.dto.SearchResponse;
+import com.airline.web.dto.WaitlistResponse;
+import com.airline.web.wire.BinaryWireMessageConverter;
+import com.airline.web.wire.WireCodec;
+import com.airline.web.wire.WireWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Web layer tests for PartnerApiController content negotiation.
+ */
+@WebMvcTest(PartnerApiController.class)
+@Import({FlightService.class, WebConfig.class})
+class PartnerApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightService flightService;
+
+    @BeforeEach
+    void setUp() {
+        if (flightService.findFlight("TS100") == null) {
+            flightService.addFlight(new Flight("TS100", "New York", LocalDateTime.of(2024, 12, 25, 10, 0), 50));
+        }
+    }
+
+    @Test
+    void testSearch_Json() throws Exception {
+        mockMvc.perform(post("/api/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"destination\":\"New York\",\"dateTime\":\"2024-12-25 08:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flights[0].flightNumber").value("TS100"))
+                .andExpect(jsonPath("$.flights[0].departureTime").value("2024-12-25 10:00"));
+    }
+
+    @Test
+    void testSearch_Binary() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/search")
+                        .contentType(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .accept(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .content(WireCodec.encode(new SearchRequest("New York", "2024-12-25 08:00"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryWireMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        SearchResponse response = WireCodec.decode(SearchResponse.class, body);
+        assertEquals("TS100", response.getFlights().get(0).getFlightNumber());
+    }
+
+    @Test
+    void testItineraries_Json_ConnectingFlights() throws Exception {
+        // Arrange
+        flightService.addFlight(new Flight("TS501", "Boston", "Denver", LocalDateTime.of(2024, 12, 26, 8, 0),
+                LocalDateTime.of(2024, 12, 26, 11, 0), 20));
+        flightService.addFlight(new Flight("TS502", "Denver", "Seattle", LocalDateTime.of(2024, 12, 26, 12, 30),
+                LocalDateTime.of(2024, 12, 26, 14, 30), 10));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/itineraries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"origin\":\"Boston\",\"destination\":\"Seattle\",\"dateTime\":\"2024-12-26 06:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itineraries[0].stops").value(1))
+                .andExpect(jsonPath("$.itineraries[0].sellableSeats").value(10))
+                .andExpect(jsonPath("$.itineraries[0].legs[0].flightNumber").value("TS501"))
+                .andExpect(jsonPath("$.itineraries[0].legs[1].origin").value("Denver"))
+                .andExpect(jsonPath("$.itineraries[0].legs[1].arrivalTime").value("2024-12-26 14:30"));
+    }
+
+    @Test
+    void testItineraries_Binary_DirectOnly() throws Exception {
+        // Arrange
+        flightService.addFlight(new Flight("TS503", "Boston", "Austin", LocalDateTime.of(2024, 12, 27, 8, 0),
+                LocalDateTime.of(2024, 12, 27, 12, 0), 20));
+        SearchRequest request = new SearchRequest("Austin", "2024-12-27 06:00");
+        request.setOrigin("Boston");
+        request.setMaxStops(0);
+
+        // Act
+        byte[] body = mockMvc.perform(post("/api/itineraries")
+                        .contentType(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .accept(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .content(WireCodec.encode(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        ItinerarySearchResponse response = WireCodec.decode(ItinerarySearchResponse.class, body);
+        assertEquals(1, response.getItineraries().size());
+        assertEquals("TS503", response.getItineraries().get(0).getLegs().get(0).getFlightNumber());
+    }
+
+    @Test
+    void testItineraries_Json_MissingOrigin_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/itineraries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"destination\":\"Seattle\",\"dateTime\":\"2024-12-26 06:00\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Please enter an origin."));
+    }
+
+    @Test
+    void testBook_Binary() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/book")
+                        .contentType(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .accept(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .content(WireCodec.encode(new BookingRequest("John Doe", "TS100", 2))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BookingResponse response = WireCodec.decode(BookingResponse.class, body);
+        assertEquals("John Doe", response.getCustomerName());
+        assertEquals(2, response.getSeatsBooked());
+    }
+
+    @Test
+    void testBook_Json_RetryWithIdempotencyKey_BooksOnce() throws Exception {
+        int seatsBefore = flightService.findFlight("TS100").getAvailableSeats();
+        String request = "{\"customerName\":\"Jane Roe\",\"flightNumber\":\"TS100\",\"seats\":3}";
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/api/book")
+                            .header("Idempotency-Key", "retry-test-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(request))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.seatsBooked").value(3));
+        }
+
+        assertEquals(seatsBefore - 3, flightService.findFlight("TS100").getAvailableSeats());
+        assertEquals(1, flightService.getReservationsByCustomer("Jane Roe").size());
+    }
+
+    @Test
+    void testBook_Json_Overbooking_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/book")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"John Doe\",\"flightNumber\":\"AA101\",\"seats\":500}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void testSearch_Binary_DateOutOfRange_ReturnsBadRequest() throws Exception {
+        WireWriter writer = new WireWriter();
+        writer.writeString(1, "New York");
+        writer.writeInt(2, Long.MAX_VALUE / 2);
+
+        mockMvc.perform(post("/api/search")
+                        .contentType(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .content(writer.toByteArray()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testWaitlist_Binary_FullFlight_ReturnsPosition() throws Exception {
+        // Arrange
+        Flight full = new Flight("TS200", "Boston", LocalDateTime.of(2024, 12, 26, 9, 0), 2);
+        flightService.addFlight(full);
+        flightService.bookFlight("John Doe", full, 2);
+
+        // Act
+        byte[] body = mockMvc.perform(post("/api/waitlist")
+                        .contentType(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .accept(BinaryWireMessageConverter.MEDIA_TYPE)
+                        .content(WireCodec.encode(new BookingRequest("Jane Roe", "TS200", 1))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        WaitlistResponse response = WireCodec.decode(WaitlistResponse.class, body);
+        assertEquals("Jane Roe", response.getCustomerName());
+        assertEquals(1, response.getPosition());
+        assertEquals(1, flightService.getWaitlist("TS200").size());
+    }
+
+    @Test
+    void testCancel_Json_ReturnsSeatsAndRejectsSecondCancel() throws Exception {
+        // Arrange
+        Flight flight = new Flight("TS300", "Denver", LocalDateTime.of(2024, 12, 27, 9, 0), 10);
+        flightService.addFlight(flight);
+        flightService.bookFlight("Ann Lee", flight, 4);
+        String request = "{\"customerName\":\"ann lee\",\"flightNumber\":\"ts300\",\"seats\":4}";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cancel").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.remainingSeats").value(10));
+        mockMvc.perform(post("/api/cancel").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+        assertTrue(flightService.getReservationsByCustomer("Ann Lee").isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package com.airline.web;
+
+import com.airline.model.Flight;
+import com.airline.service.FlightService;
+import com.airline.service.tenant.TenantConfig;
+import com.airline.service.tenant.TenantRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Web layer tests for routing partner API requests to tenants.
+ */
+@WebMvcTest(PartnerApiController.class)
+@Import({FlightService.class, WebConfig.class, TenantConfig.class})
+@TestPropertySource(properties = "flight.tenants.ids=skyhop")
+class TenantInterceptorTest {
+    private static final String SEARCH = "{\"destination\":\"Lisbon\",\"dateTime\":\"2030-12-25 08:00\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @BeforeEach
+    void setUp() {
+        FlightService skyhop = tenantRegistry.resolve("skyhop").getFlightService();
+        if (skyhop.findFlight("SH100") == null) {
+            skyhop.addFlight(new Flight("SH100", "Lisbon", LocalDateTime.of(2030, 12, 25, 10, 0), 50));
+        }
+    }
+
+    @Test
+    void testSearch_TenantHeader_SearchesThatTenantOnly() throws Exception {
+        mockMvc.perform(post("/api/search")
+                        .header(TenantInterceptor.TENANT_HEADER, "SkyHop")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(SEARCH))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", containsString(TenantInterceptor.TENANT_HEADER)))
+                .andExpect(jsonPath("$.flights[0].flightNumber").value("SH100"));
+
+        mockMvc.perform(post("/api/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(SEARCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flights").isEmpty());
+    }
+
+    @Test
+    void testSearch_UnknownTenant_NotFound() throws Exception {
+        mockMvc.perform(post("/api/search")
+                        .header(TenantInterceptor.TENANT_HEADER, "bluejet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(SEARCH))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,62 @@
+package com.airline.web.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter class.
+ */
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void testTryAcquire_RejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void testRelease_RisingLatency_ShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 4, 200);
+        saturate(limiter, FAST, 5);
+        int before = limiter.getLimit();
+
+        saturate(limiter, SLOW, 3);
+
+        assertTrue(limiter.getLimit() < before, "limit should shrink: " + before + " -> " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void testRelease_SteadyLatency_GrowsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 200);
+
+        saturate(limiter, FAST, 30);
+
+        assertTrue(limiter.getLimit() > 10);
+        assertTrue(limiter.getLimit() <= 200);
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long latency, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(latency);
+            }
+        }
+        assertEquals(0, limiter.getInFlight());
+    }
+}
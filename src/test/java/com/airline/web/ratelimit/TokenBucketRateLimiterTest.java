@@ -0,0 +1,88 @@
+package com.airline.web.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucketRateLimiter class.
+ */
+class TokenBucketRateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRejects() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, clock::get);
+
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 100, clock::get);
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    void testTryAcquire_ClientsAreIndependent() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, clock::get);
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+
+        assertTrue(limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void testTryAcquire_EvictsIdleClientsWhenFull() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 2, clock::get);
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.2");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        limiter.tryAcquire("10.0.0.3");
+
+        assertEquals(1, limiter.trackedClients());
+    }
+
+    @Test
+    void testTryAcquire_TableFullOfActiveClients_NewClientsShareOverflowBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 2, clock::get);
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.2");
+
+        assertTrue(limiter.tryAcquire("10.0.0.3"));
+        assertFalse(limiter.tryAcquire("10.0.0.4"));
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    @Test
+    void testTryAcquire_ManyNewClients_NeverTracksMoreThanMax() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 64, clock::get);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("10.0." + (i / 256) + "." + (i % 256));
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertTrue(limiter.trackedClients() <= 64);
+    }
+
+    @Test
+    void testSecondsUntilNextPermit() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.25, 1, 100, clock::get);
+        limiter.tryAcquire("10.0.0.1");
+
+        assertEquals(4, limiter.secondsUntilNextPermit("10.0.0.1"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.airline.web.wire;
+
+import com.airline.web.dto.BookingRequest;
+import com.airline.web.dto.FlightResponse;
+import com.airline.web.dto.ItineraryResponse;
+import com.airline.web.dto.ItinerarySearchResponse;
+import com.airline.web.dto.SearchRequest;
+import com.airline.web.dto.SearchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WireCodec class.
+ */
+class WireCodecTest {
+
+    @Test
+    void testSearchRequest_RoundTrip() {
+        SearchRequest decoded = WireCodec.decode(SearchRequest.class,
+                WireCodec.encode(new SearchRequest("New York", "2024-12-25 14:30")));
+
+        assertEquals("New York", decoded.getDestination());
+        assertEquals("2024-12-25 14:30", decoded.getDateTime());
+    }
+
+    @Test
+    void testSearchRequest_WithUnparseableDate_KeepsString() {
+        SearchRequest decoded = WireCodec.decode(SearchRequest.class,
+                WireCodec.encode(new SearchRequest("New York", "tomorrow")));
+
+        assertEquals("tomorrow", decoded.getDateTime());
+    }
+
+    @Test
+    void testBookingRequest_RoundTrip() {
+        BookingRequest decoded = WireCodec.decode(BookingRequest.class,
+                WireCodec.encode(new BookingRequest("Zoë Smith", "AA101", 3)));
+
+        assertEquals("Zoë Smith", decoded.getCustomerName());
+        assertEquals("AA101", decoded.getFlightNumber());
+        assertEquals(3, decoded.getSeats());
+    }
+
+    @Test
+    void testBookingRequest_WithoutSeats_DecodesNull() {
+        BookingRequest decoded = WireCodec.decode(BookingRequest.class,
+                WireCodec.encode(new BookingRequest("John Doe", "AA101", null)));
+
+        assertNull(decoded.getSeats());
+    }
+
+    @Test
+    void testSearchResponse_RoundTrip() {
+        FlightResponse priced = new FlightResponse("AA101", "New York", "2024-12-25 10:00", 50);
+        priced.setFare(new BigDecimal("189.50"));
+        SearchResponse response = new SearchResponse(List.of(
+                priced,
+                new FlightResponse("AA102", "New York", "2024-12-25 15:30", 0)));
+
+        SearchResponse decoded = WireCodec.decode(SearchResponse.class, WireCodec.encode(response));
+
+        assertEquals(2, decoded.getFlights().size());
+        assertEquals("AA102", decoded.getFlights().get(1).getFlightNumber());
+        assertEquals("2024-12-25 15:30", decoded.getFlights().get(1).getDepartureTime());
+        assertEquals(0, decoded.getFlights().get(1).getAvailableSeats());
+        assertEquals(new BigDecimal("189.50"), decoded.getFlights().get(0).getFare());
+        assertNull(decoded.getFlights().get(1).getFare());
+    }
+
+    @Test
+    void testItinerarySearchResponse_RoundTrip() {
+        FlightResponse first = new FlightResponse("AA101", "New York", "2024-12-25 10:00", 50);
+        first.setOrigin("Boston");
+        first.setArrivalTime("2024-12-25 11:30");
+        FlightResponse second = new FlightResponse("SW401", "Miami", "2024-12-25 14:00", 20);
+        second.setOrigin("New York");
+        second.setArrivalTime("2024-12-25 17:00");
+        ItinerarySearchResponse response = new ItinerarySearchResponse(List.of(
+                new ItineraryResponse(List.of(first, second), 20)));
+
+        ItinerarySearchResponse decoded = WireCodec.decode(ItinerarySearchResponse.class, WireCodec.encode(response));
+
+        ItineraryResponse itinerary = decoded.getItineraries().get(0);
+        assertEquals(1, itinerary.getStops());
+        assertEquals(20, itinerary.getSellableSeats());
+        assertEquals("Boston", itinerary.getLegs().get(0).getOrigin());
+        assertEquals("2024-12-25 11:30", itinerary.getLegs().get(0).getArrivalTime());
+        assertEquals("SW401", itinerary.getLegs().get(1).getFlightNumber());
+    }
+
+    @Test
+    void testDecode_SkipsUnknownFields() {
+        WireWriter writer = new WireWriter();
+        writer.writeString(1, "New York");
+        writer.writeInt(99, 12345);
+        writer.writeString(98, "future field");
+
+        assertEquals("New York", WireCodec.decode(SearchRequest.class, writer.toByteArray()).getDestination());
+    }
+
+    @Test
+    void testDecode_TruncatedMessage_ThrowsException() {
+        byte[] bytes = WireCodec.encode(new BookingRequest("John Doe", "AA101", 3));
+        byte[] truncated = Arrays.copyOf(bytes, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> WireCodec.decode(BookingRequest.class, truncated));
+    }
+
+    @Test
+    void testDecode_FieldNumberTooLarge_ThrowsException() {
+        // Key for varint field 2^32 + 1, which wraps to field 1 if cast to int
+        byte[] bytes = {(byte) 0x88, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x01, 0x00};
+
+        assertThrows(IllegalArgumentException.class, () -> WireCodec.decode(SearchRequest.class, bytes));
+    }
+}
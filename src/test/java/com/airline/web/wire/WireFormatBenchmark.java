@@ -0,0 +1,77 @@
+package com.airline.web.wire;
+
+import com.airline.web.dto.BookingRequest;
+import com.airline.web.dto.FlightResponse;
+import com.airline.web.dto.SearchResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares payload size and encode/decode time of the binary wire format against JSON.
+ * Not a unit test; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass="com.airline.web.wire.WireFormatBenchmark"
+ * </pre>
+ */
+public class WireFormatBenchmark {
+    private static final int WARMUP = 200_000;
+    private static final int MEASURED = 500_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        BookingRequest booking = new BookingRequest("John Doe", "AA101", 2);
+        List<FlightResponse> flights = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            flights.add(new FlightResponse("AA" + (100 + i), "New York", "2024-12-25 " + (10 + i % 10) + ":30", 50 - i));
+        }
+        SearchResponse search = new SearchResponse(flights);
+
+        run("BookingRequest", booking, BookingRequest.class, objectMapper);
+        run("SearchResponse(20 flights)", search, SearchResponse.class, objectMapper);
+    }
+
+    private static <T> void run(String name, T message, Class<T> type, ObjectMapper objectMapper) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(message);
+        byte[] wire = WireCodec.encode(message);
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += objectMapper.writeValueAsBytes(message).length;
+            sink += objectMapper.readValue(json, type).hashCode();
+            sink += WireCodec.encode(message).length;
+            sink += WireCodec.decode(type, wire).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            sink += objectMapper.writeValueAsBytes(message).length;
+        }
+        double jsonEncode = (System.nanoTime() - start) / (double) MEASURED;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            sink += objectMapper.readValue(json, type).hashCode();
+        }
+        double jsonDecode = (System.nanoTime() - start) / (double) MEASURED;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            sink += WireCodec.encode(message).length;
+        }
+        double wireEncode = (System.nanoTime() - start) / (double) MEASURED;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            sink += WireCodec.decode(type, wire).hashCode();
+        }
+        double wireDecode = (System.nanoTime() - start) / (double) MEASURED;
+
+        System.out.printf("%s%n", name);
+        System.out.printf("  json: %5d bytes  encode %8.0f ns  decode %8.0f ns%n", json.length, jsonEncode, jsonDecode);
+        System.out.printf("  wire: %5d bytes  encode %8.0f ns  decode %8.0f ns%n", wire.length, wireEncode, wireDecode);
+        System.out.printf("  (ignore: %d)%n", sink & 1);
+    }
+}